@@ -1,5 +1,6 @@
 package life.qbic.portal.offermanager
 
+import com.vaadin.ui.UI
 import groovy.util.logging.Log4j2
 import life.qbic.business.offers.create.CreateOffer
 import life.qbic.business.offers.create.CreateOfferDataSource
@@ -17,6 +18,7 @@ import life.qbic.business.persons.create.CreatePerson
 import life.qbic.business.persons.create.CreatePersonDataSource
 import life.qbic.business.persons.list.ListPersonsDataSource
 import life.qbic.business.persons.search.SearchPersonDataSource
+import life.qbic.business.products.ProductFingerprintIndex
 import life.qbic.business.products.archive.ArchiveProduct
 import life.qbic.business.products.archive.ArchiveProductDataSource
 import life.qbic.business.products.create.CreateProduct
@@ -79,9 +81,12 @@ import life.qbic.portal.offermanager.components.product.copy.CopyProductView
 import life.qbic.portal.offermanager.components.product.copy.CopyProductViewModel
 import life.qbic.portal.offermanager.components.product.create.CreateProductView
 import life.qbic.portal.offermanager.components.product.create.CreateProductViewModel
+import life.qbic.portal.offermanager.dataresources.ReadOnlyResourcesService
 import life.qbic.portal.offermanager.dataresources.ResourcesService
-import life.qbic.portal.offermanager.dataresources.database.DatabaseSession
-import life.qbic.portal.offermanager.dataresources.database.DatabaseSessionV2
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
+import life.qbic.portal.offermanager.dataresources.database.ConnectionProvider
+import life.qbic.portal.offermanager.dataresources.database.EntityCache
+import life.qbic.portal.offermanager.dataresources.database.PersistenceBootstrap
 import life.qbic.portal.offermanager.dataresources.database.SessionProvider
 import life.qbic.portal.offermanager.dataresources.offers.*
 import life.qbic.portal.offermanager.dataresources.persons.*
@@ -95,6 +100,9 @@ import life.qbic.portal.offermanager.security.Role
 import life.qbic.portal.utils.ConfigurationManager
 import life.qbic.portal.utils.ConfigurationManagerFactory
 
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicBoolean
+
 /**
  * Class that manages all the dependency injections and class instance creations
  *
@@ -108,8 +116,29 @@ import life.qbic.portal.utils.ConfigurationManagerFactory
 @Log4j2
 class DependencyManager {
 
+    /**
+     * Active products known to all portlet UIs, so products created or archived in one UI are
+     * recognized as duplicates in every other UI
+     */
+    private static final ProductFingerprintIndex PRODUCT_INDEX = new ProductFingerprintIndex()
+
+    /**
+     * The product index is rebuilt from every new snapshot of the shared products once it follows them
+     */
+    private static final AtomicBoolean PRODUCT_INDEX_FOLLOWED = new AtomicBoolean(false)
+
+    /**
+     * The age after which the shared resources are loaded again when a portlet UI starts
+     */
+    private static final Duration SHARED_RESOURCE_MAX_AGE = Duration.ofMinutes(10)
+
     private final Role userRole
 
+    /**
+     * The portlet UI of the session the dependencies are created for
+     */
+    private final UI ui
+
     private ConfigurationManager configurationManager
 
     private AppPresenter presenter
@@ -117,13 +146,13 @@ class DependencyManager {
     private AppViewModel viewModel
 
     private ResourcesService<Affiliation> affiliationService
-    private ResourcesService<Customer> customerResourceService
+    private ReadOnlyResourcesService<Customer> customerResourceService
     private ResourcesService<Offer> offerService
     private ResourcesService<OfferOverview> overviewService
-    private ResourcesService<Person> personResourceService
+    private ReadOnlyResourcesService<Person> personResourceService
     private ResourcesService<Product> productsResourcesService
     private ResourcesService<ProjectIdentifier> projectResourceService
-    private ResourcesService<ProjectManager> managerResourceService
+    private ReadOnlyResourcesService<ProjectManager> managerResourceService
     private ResourcesService<ProjectSpace> projectSpaceResourceService
 
     /**
@@ -164,10 +193,14 @@ class DependencyManager {
      *
      * This constructor creates a dependency manager with all the instances of required classes.
      * It ensures that the {@link #portletView} field is set.
+     *
+     * @param userRole the role of the user of the session
+     * @param ui the portlet UI of the session
      */
-    DependencyManager(Role userRole) {
+    DependencyManager(Role userRole, UI ui) {
         configurationManager = ConfigurationManagerFactory.getInstance()
         this.userRole = userRole
+        this.ui = Objects.requireNonNull(ui, "UI must not be null.")
         initializeDependencies()
     }
 
@@ -187,29 +220,25 @@ class DependencyManager {
 
     private void setupDbConnections() {
         try {
-            String user = Objects.requireNonNull(configurationManager.getMysqlUser(), "Mysql user missing.")
-            String password = Objects.requireNonNull(configurationManager.getMysqlPass(), "Mysql password missing.")
-            String host = Objects.requireNonNull(configurationManager.getMysqlHost(), "Mysql host missing.")
-            String port = Objects.requireNonNull(configurationManager.getMysqlPort(), "Mysql port missing.")
-            String sqlDatabase = Objects.requireNonNull(configurationManager.getMysqlDB(), "Mysql database name missing.")
-
-            // Setup Hibernate session
-            String dbFullUrl = "jdbc:mysql://" + host + ":" + port + "/" + sqlDatabase
-            sessionProvider = new DatabaseSessionV2(dbFullUrl, user, password, "com.mysql.cj.jdbc.Driver", "org.hibernate.dialect.MariaDBDialect")
-
-            DatabaseSession.init(user, password, host, port, sqlDatabase)
-            PersonDbConnector personDbConnector = new PersonDbConnector(sessionProvider)
+            // The Hibernate session factory and the connection pool are shared by all portlet UIs
+            PersistenceBootstrap persistence = PersistenceBootstrap.initialize(configurationManager)
+            log.info("Shared persistence layer pool usage: ${persistence.getPoolStatistics()}")
+            sessionProvider = persistence.getSessionProvider()
+            ConnectionProvider connectionProvider = persistence.getConnectionProvider()
+            EntityCache entityCache = persistence.getEntityCache()
+
+            PersonDbConnector personDbConnector = new PersonDbConnector(sessionProvider, entityCache)
             createPersonDataSource = personDbConnector
             searchPersonDataSource = personDbConnector
             listPersonsDataSource = personDbConnector
 
-            AffiliationDbConnector affiliationDbConnector = new AffiliationDbConnector(sessionProvider)
+            AffiliationDbConnector affiliationDbConnector = new AffiliationDbConnector(sessionProvider, entityCache)
             createAffiliationDataSource = affiliationDbConnector
             updateAffiliationDataSource = affiliationDbConnector
             listAffiliationsDataSource = affiliationDbConnector
             archiveAffiliationDataSource = affiliationDbConnector
 
-            ProductsDbConnector productsDbConnector = new ProductsDbConnector(DatabaseSession.getInstance())
+            ProductsDbConnector productsDbConnector = new ProductsDbConnector(connectionProvider, entityCache)
             archiveProductDataSource = productsDbConnector
             createProductDataSource = productsDbConnector
             listProductsDataSource = productsDbConnector
@@ -219,7 +248,7 @@ class DependencyManager {
              *  life.qbic.portal.offermanager.dataresources.persons.PersonDbConnector nor
              *  life.qbic.portal.offermanager.dataresources.products.ProductsDbConnector
             */
-            OfferDbConnector offerDbConnector = new OfferDbConnector(DatabaseSession.getInstance(),
+            OfferDbConnector offerDbConnector = new OfferDbConnector(connectionProvider,
                     personDbConnector, productsDbConnector, sessionProvider)
             createOfferDataSource = offerDbConnector
             fetchOfferDataSource = offerDbConnector
@@ -231,7 +260,7 @@ class DependencyManager {
              *  cannot be decoupled by interfaces from
              *  life.qbic.portal.offermanager.dataresources.persons.PersonDbConnector
              */
-            ProjectDbConnector projectDbConnector = new ProjectDbConnector(DatabaseSession.getInstance(), personDbConnector)
+            ProjectDbConnector projectDbConnector = new ProjectDbConnector(connectionProvider, personDbConnector)
 
             final String openbisURL = configurationManager.getDataSourceUrl() + "/openbis/openbis"
             OpenBisClient openbisClient = new OpenBisClient(configurationManager.getDataSourceUser(), configurationManager.getDataSourcePassword(), openbisURL)
@@ -264,13 +293,37 @@ class DependencyManager {
      * </ul>
      */
     private void setupServices() {
-        this.affiliationService = new AffiliationResourcesService(listAffiliationsDataSource)
-        this.customerResourceService = new CustomerResourceService(listPersonsDataSource)
-        this.managerResourceService = new ProjectManagerResourceService(listPersonsDataSource)
+        // The resources are loaded once and shared with all portlet UIs
+        SharedResourceRegistry sharedResources = SharedResourceRegistry.getInstance()
+        // Changes made by other applications are loaded when a portlet UI starts after the resources expired
+        List<String> reloadedResources = sharedResources.reloadExpired(SHARED_RESOURCE_MAX_AGE)
+        if (reloadedResources) {
+            log.info("Reloaded expired shared resources $reloadedResources")
+        }
+        AffiliationResourcesService affiliations = new AffiliationResourcesService(listAffiliationsDataSource, sharedResources)
+        CustomerResourceService customers = new CustomerResourceService(listPersonsDataSource, sharedResources)
+        ProjectManagerResourceService managers = new ProjectManagerResourceService(listPersonsDataSource, sharedResources)
+        PersonResourceService persons = new PersonResourceService(listPersonsDataSource, sharedResources)
+        ProductsResourcesService products = new ProductsResourcesService(listProductsDataSource, sharedResources)
+        // Changes made in other portlet UIs are presented in this UI until it is detached
+        affiliations.followSharedChanges(ui)
+        customers.followSharedChanges(ui)
+        managers.followSharedChanges(ui)
+        persons.followSharedChanges(ui)
+        products.followSharedChanges(ui)
+        // The first portlet UI binds the product index to the shared products
+        if (PRODUCT_INDEX_FOLLOWED.compareAndSet(false, true)) {
+            products.indexActiveProducts(PRODUCT_INDEX)
+        }
+        log.info("Shared resource subscriptions: ${sharedResources.getStatistics()}")
+
+        this.affiliationService = affiliations
+        this.customerResourceService = customers
+        this.managerResourceService = managers
         this.offerService = new OfferResourcesService()
-        this.overviewService = new OverviewService(offerOverviewDataSource, offerService, projectCreatedEvent)
-        this.personResourceService = new PersonResourceService(listPersonsDataSource)
-        this.productsResourcesService = new ProductsResourcesService(listProductsDataSource)
+        this.overviewService = new OverviewService(offerOverviewDataSource, offerService, projectCreatedEvent, sharedResources)
+        this.personResourceService = persons
+        this.productsResourcesService = products
         this.projectResourceService = new ProjectResourceService(listProjectsDataSource)
         this.projectSpaceResourceService = new ProjectSpaceResourceService(listProjectSpacesDataSource)
     }
@@ -352,7 +405,8 @@ class DependencyManager {
 
     private UpdateAffiliationView createUpdateAffiliationView() {
         UpdateAffiliationController updateAffiliationController = new UpdateAffiliationController()
-        UpdateAffiliationPresenter updateAffiliationPresenter = new UpdateAffiliationPresenter(affiliationService, viewModel)
+        UpdateAffiliationPresenter updateAffiliationPresenter = new UpdateAffiliationPresenter(affiliationService, viewModel,
+                SharedPersons.of(listPersonsDataSource, SharedResourceRegistry.getInstance()))
         UpdateAffiliation updateAffiliation = new UpdateAffiliation(updateAffiliationPresenter, updateAffiliationDataSource)
         updateAffiliationController.setUseCaseInput(updateAffiliation)
         return new UpdateAffiliationView(viewModel, updateAffiliationController, affiliationService)
@@ -378,9 +432,9 @@ class DependencyManager {
 
         AppViewModel sharedViewModel = this.viewModel
         ResourcesService<Affiliation> affiliationResourcesService = this.affiliationService
-        ResourcesService<Customer> customerResourcesService = this.customerResourceService
-        ResourcesService<Person> personResourcesService = this.personResourceService
-        ResourcesService<ProjectManager> projectManagerResourcesService = this.managerResourceService
+        ReadOnlyResourcesService<Customer> customerResourcesService = this.customerResourceService
+        ReadOnlyResourcesService<Person> personResourcesService = this.personResourceService
+        ReadOnlyResourcesService<ProjectManager> projectManagerResourcesService = this.managerResourceService
         CreatePersonDataSource createPersonDataSource = this.createPersonDataSource
 
         CreatePersonViewModel createPersonViewModel = new CreatePersonViewModel(
@@ -391,7 +445,8 @@ class DependencyManager {
         )
         createPersonViewModel.academicTitles.addAll(AcademicTitle.values().collect { it.value })
 
-        CreatePersonPresenter createPersonPresenter = new CreatePersonPresenter(sharedViewModel, createPersonViewModel)
+        CreatePersonPresenter createPersonPresenter = new CreatePersonPresenter(sharedViewModel, createPersonViewModel,
+                SharedPersons.of(listPersonsDataSource, SharedResourceRegistry.getInstance()))
         CreatePerson createPerson = new CreatePerson(createPersonPresenter, createPersonDataSource)
         CreatePersonController createPersonController = new CreatePersonController(createPerson)
 
@@ -427,10 +482,10 @@ class DependencyManager {
         AppViewModel sharedViewModel = this.viewModel
         CreateOfferDataSource createOfferDataSource = this.createOfferDataSource
         FetchOfferDataSource fetchOfferDataSource = this.fetchOfferDataSource
-        ResourcesService<Customer> customerResourcesService = this.customerResourceService
+        ReadOnlyResourcesService<Customer> customerResourcesService = this.customerResourceService
         ResourcesService<Offer> offerResourcesService = this.offerService
         ResourcesService<Product> productResourcesService = this.productsResourcesService
-        ResourcesService<ProjectManager> projectManagerResourcesService = this.managerResourceService
+        ReadOnlyResourcesService<ProjectManager> projectManagerResourcesService = this.managerResourceService
 
 
         CreateOfferViewModel createOfferViewModel = new CreateOfferViewModel(
@@ -449,7 +504,7 @@ class DependencyManager {
         CreateOffer createOffer = new CreateOffer(createOfferDataSource, createOfferPresenter)
         FetchOffer fetchOffer = new FetchOffer(fetchOfferDataSource, createOfferPresenter)
 
-        CreateOfferController createOfferController = new CreateOfferController(createOffer, fetchOffer, createOfferPresenter)
+        CreateOfferController createOfferController = new CreateOfferController(createOffer, fetchOffer, createOfferPresenter, createOfferPresenter)
 
         CreatePersonView createPersonView = createCreatePersonView()
         UpdatePersonView updatePersonView = createUpdatePersonView(personUpdateEvent)
@@ -535,9 +590,9 @@ class DependencyManager {
     private UpdateOfferView createUpdateOfferView(EventEmitter<Offer> offerUpdateEvent, EventEmitter<Person> updatePersonEvent) {
 
         AppViewModel sharedViewModel = this.viewModel
-        ResourcesService<Customer> customerResourcesService = this.customerResourceService
+        ReadOnlyResourcesService<Customer> customerResourcesService = this.customerResourceService
         ResourcesService<Offer> offerResourcesService = this.offerService
-        ResourcesService<ProjectManager> projectManagerResourcesService = this.managerResourceService
+        ReadOnlyResourcesService<ProjectManager> projectManagerResourcesService = this.managerResourceService
         ResourcesService<Product> productResourcesService = this.productsResourcesService
         CreateOfferDataSource createOfferDataSource = this.createOfferDataSource
         FetchOfferDataSource fetchOfferDataSource = this.fetchOfferDataSource
@@ -583,7 +638,7 @@ class DependencyManager {
      */
     private SearchPersonView createSearchPersonView() {
 
-        ResourcesService<Person> personResourcesService = this.personResourceService
+        ReadOnlyResourcesService<Person> personResourcesService = this.personResourceService
 
         // this event emitter is used to communicate between the search person view and the
         // update person view. The SearchPersonView emits persons to be updated. They are consumed
@@ -617,9 +672,9 @@ class DependencyManager {
 
         AppViewModel sharedViewModel = this.viewModel
         ResourcesService<Affiliation> affiliationResourcesService = this.affiliationService
-        ResourcesService<Customer> customerResourcesService = this.customerResourceService
-        ResourcesService<ProjectManager> projectManagerResourcesService = this.managerResourceService
-        ResourcesService<Person> personResourcesService = this.personResourceService
+        ReadOnlyResourcesService<Customer> customerResourcesService = this.customerResourceService
+        ReadOnlyResourcesService<ProjectManager> projectManagerResourcesService = this.managerResourceService
+        ReadOnlyResourcesService<Person> personResourcesService = this.personResourceService
         CreatePersonDataSource createPersonDataSource = this.createPersonDataSource
 
         CreateAffiliationView createAffiliationView = createCreateAffiliationView()
@@ -632,7 +687,8 @@ class DependencyManager {
         )
         updatePersonViewModel.academicTitles.addAll(AcademicTitle.values().collect { it.value })
 
-        CreatePersonPresenter updatePersonPresenter = new CreatePersonPresenter(sharedViewModel, updatePersonViewModel)
+        CreatePersonPresenter updatePersonPresenter = new CreatePersonPresenter(sharedViewModel, updatePersonViewModel,
+                SharedPersons.of(listPersonsDataSource, SharedResourceRegistry.getInstance()))
         CreatePerson updatePerson = new CreatePerson(updatePersonPresenter, createPersonDataSource)
         CreatePersonController updatePersonController = new CreatePersonController(updatePerson)
 
@@ -669,8 +725,9 @@ class DependencyManager {
         MaintainProductsViewModel maintainProductsViewModel = new MaintainProductsViewModel(productResourcesService, productSelectEvent)
         MaintainProductsPresenter maintainProductsPresenter = new MaintainProductsPresenter(maintainProductsViewModel, sharedViewModel)
 
-        ArchiveProduct archiveProduct = new ArchiveProduct(archiveProductDataSource, maintainProductsPresenter)
-        CreateProduct createProduct = new CreateProduct(createProductDataSource, maintainProductsPresenter)
+        // products created outside of the application since the last reload are still found by the duplicate query of the data source
+        ArchiveProduct archiveProduct = new ArchiveProduct(archiveProductDataSource, maintainProductsPresenter, PRODUCT_INDEX)
+        CreateProduct createProduct = new CreateProduct(createProductDataSource, maintainProductsPresenter, PRODUCT_INDEX)
 
         MaintainProductsController maintainProductsController = new MaintainProductsController(createProduct, archiveProduct)
 
@@ -1,12 +1,29 @@
 package life.qbic.portal.offermanager;
 
+import static org.apache.logging.log4j.LogManager.getLogger;
+
 import com.vaadin.server.StreamResource.StreamSource;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import life.qbic.business.offers.OfferV2;
+import org.apache.logging.log4j.Logger;
 
 /**
  * Provides export functionality for all offers
@@ -17,6 +34,25 @@ public class ExportAllOffers implements StreamSource {
 
   static final List<Column> tsvColumns = setColumns();
 
+  /**
+   * The number of bytes buffered between the thread writing the export and the download
+   */
+  private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The number of exports that are written at the same time, every export holds a thread
+   */
+  private static final int MAXIMUM_RUNNING_EXPORTS = 2;
+
+  /**
+   * The number of exports waiting for a thread, further exports are rejected
+   */
+  private static final int MAXIMUM_QUEUED_EXPORTS = 8;
+
+  private static final Logger log = getLogger(ExportAllOffers.class);
+
+  private static final ThreadPoolExecutor EXPORT_EXECUTOR = createExportExecutor();
+
   private final ExportOffersDataSource exportOffersDataSource;
 
   public ExportAllOffers(ExportOffersDataSource exportOffersDataSource) {
@@ -77,22 +113,100 @@ public class ExportAllOffers implements StreamSource {
         offerV2 -> String.valueOf(offerV2.getPriceAfterTax())));
     return columns;
   }
+  /**
+   * Exports all offers as UTF-8 encoded tab separated values.
+   * <p>
+   * The rows are written by a thread of the export executor while the returned stream is read.
+   * The offers are loaded chunk by chunk, so the memory needed does not grow with the number of
+   * offers. If the export fails, reading the stream fails after the rows written so far, so an
+   * incomplete export is never mistaken for a complete one.
+   *
+   * @return a stream providing the tsv content
+   */
   public InputStream exportOffersToTsv() {
-    StringBuilder fileContent = new StringBuilder();
+    ExportStream tsvContent = new ExportStream(PIPE_BUFFER_SIZE);
+    PipedOutputStream tsvSink;
+    try {
+      tsvSink = new PipedOutputStream(tsvContent);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    try {
+      EXPORT_EXECUTOR.execute(() -> writeTsv(tsvSink, tsvContent));
+    } catch (RejectedExecutionException e) {
+      log.warn("Offer export rejected, too many exports are running.");
+      tsvContent.fail(new IOException("Too many offer exports are running.", e));
+      closeQuietly(tsvSink);
+    }
+    return tsvContent;
+  }
 
+  /**
+   * Stops the running offer exports. Exports started afterwards fail.
+   * <p>
+   * Should be called once the application is undeployed.
+   *
+   * @since 1.11.0
+   */
+  public static void shutdown() {
+    EXPORT_EXECUTOR.shutdownNow();
+  }
+
+  private static ThreadPoolExecutor createExportExecutor() {
+    AtomicInteger threadNumber = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(MAXIMUM_RUNNING_EXPORTS,
+        MAXIMUM_RUNNING_EXPORTS, 60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(MAXIMUM_QUEUED_EXPORTS), task -> {
+      Thread thread = new Thread(task, "offer-export-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private void writeTsv(OutputStream outputStream, ExportStream tsvContent) {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    try {
+      writer.write(toTsvHeader());
+      exportOffersDataSource.forEachOffer(offerV2 -> {
+        try {
+          writer.write(toTsvLine(offerV2));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (IOException | UncheckedIOException e) {
+      // the download was cancelled and the reading end of the pipe is closed
+      log.warn("Offer export aborted: " + e.getMessage());
+      log.debug("Offer export aborted.", e);
+    } catch (RuntimeException e) {
+      log.error("Unable to export offers.", e);
+      // the failure has to be known before the reader reaches the end of the pipe
+      tsvContent.fail(new IOException("Unable to export offers.", e));
+    } finally {
+      closeQuietly(writer);
+    }
+  }
+
+  private static void closeQuietly(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      log.debug("Closing the offer export failed.", e);
+    }
+  }
+
+  private static String toTsvHeader() {
+    StringBuilder header = new StringBuilder();
     for (int i = 0; i < tsvColumns.size(); i++) {
-      String columnName = tsvColumns.get(i).getName();
+      header.append(tsvColumns.get(i).getName());
       if (i + 1 < tsvColumns.size()) {
-        columnName += "\t";
+        header.append("\t");
       }
-      fileContent.append(columnName);
     }
-    fileContent.append("\n");
-    List<OfferV2> allOffers = exportOffersDataSource.findAllOffers();
-    allOffers.stream()
-        .map(this::toTsvLine)
-        .forEach(fileContent::append);
-    return new ByteArrayInputStream(fileContent.toString().getBytes());
+    header.append("\n");
+    return header.toString();
   }
 
   private String toTsvLine(OfferV2 offerV2) {
@@ -132,4 +246,44 @@ public class ExportAllOffers implements StreamSource {
   public InputStream getStream() {
     return exportOffersToTsv();
   }
+
+  /**
+   * The reading end of an export. It reports a failed export instead of the end of the content.
+   */
+  private static final class ExportStream extends PipedInputStream {
+
+    private volatile IOException failure;
+
+    private ExportStream(int pipeSize) {
+      super(pipeSize);
+    }
+
+    private void fail(IOException failure) {
+      this.failure = failure;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+      int content = super.read();
+      if (content < 0) {
+        throwIfFailed();
+      }
+      return content;
+    }
+
+    @Override
+    public synchronized int read(byte[] buffer, int offset, int length) throws IOException {
+      int count = super.read(buffer, offset, length);
+      if (count < 0) {
+        throwIfFailed();
+      }
+      return count;
+    }
+
+    private void throwIfFailed() throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
 }
@@ -1,6 +1,7 @@
 package life.qbic.portal.offermanager;
 
 import java.util.List;
+import java.util.function.Consumer;
 import life.qbic.business.offers.OfferV2;
 
 /**
@@ -13,4 +14,17 @@ public interface ExportOffersDataSource {
    * @return a list containing all offers
    */
   List<OfferV2> findAllOffers();
+
+  /**
+   * Passes all offers to a consumer, one after the other.
+   * <p>
+   * Implementations should load the offers in chunks, so the memory needed does not grow with the
+   * number of offers.
+   *
+   * @param offerConsumer the consumer receiving every offer
+   * @since 1.11.0
+   */
+  default void forEachOffer(Consumer<OfferV2> offerConsumer) {
+    findAllOffers().forEach(offerConsumer);
+  }
 }
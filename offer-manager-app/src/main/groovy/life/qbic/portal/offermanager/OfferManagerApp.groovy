@@ -44,7 +44,7 @@ class OfferManagerApp extends QBiCPortletUI {
 
     private void create() {
         final Role userRole = determineUserRole()
-        this.dependencyManager = new DependencyManager(userRole)
+        this.dependencyManager = new DependencyManager(userRole, this)
     }
 
     private static Role determineUserRole() {
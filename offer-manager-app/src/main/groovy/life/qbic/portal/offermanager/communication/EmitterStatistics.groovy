@@ -0,0 +1,58 @@
+package life.qbic.portal.offermanager.communication
+
+import groovy.transform.EqualsAndHashCode
+import groovy.transform.ToString
+
+/**
+ * A snapshot of the subscriptions and dispatches of an event emitter at a given time.
+ *
+ * @since 1.11.0
+ */
+@ToString(includeNames = true)
+@EqualsAndHashCode
+class EmitterStatistics {
+
+    /**
+     * The number of subscriptions currently registered
+     */
+    final int subscriptions
+
+    /**
+     * The number of registered subscriptions that are cancelled when their UI detaches
+     */
+    final int sessionSubscriptions
+
+    /**
+     * The number of events emitted since the emitter was created
+     */
+    final long emittedEvents
+
+    /**
+     * The number of deliveries that failed in a subscription
+     */
+    final long failedDeliveries
+
+    /**
+     * The average time in milliseconds from emitting an event until all subscriptions were notified
+     */
+    final double averageDispatchMillis
+
+    /**
+     * The longest time in milliseconds from emitting an event until all subscriptions were notified
+     */
+    final double maximumDispatchMillis
+
+    EmitterStatistics(int subscriptions,
+                      int sessionSubscriptions,
+                      long emittedEvents,
+                      long failedDeliveries,
+                      double averageDispatchMillis,
+                      double maximumDispatchMillis) {
+        this.subscriptions = subscriptions
+        this.sessionSubscriptions = sessionSubscriptions
+        this.emittedEvents = emittedEvents
+        this.failedDeliveries = failedDeliveries
+        this.averageDispatchMillis = averageDispatchMillis
+        this.maximumDispatchMillis = maximumDispatchMillis
+    }
+}
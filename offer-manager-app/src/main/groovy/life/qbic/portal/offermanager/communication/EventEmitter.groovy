@@ -1,17 +1,69 @@
 package life.qbic.portal.offermanager.communication
 
+import com.vaadin.server.ClientConnector
+import com.vaadin.shared.Registration
+import com.vaadin.ui.UI
+import com.vaadin.ui.UIDetachedException
+import groovy.util.logging.Log4j2
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executor
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.atomic.LongAccumulator
+import java.util.concurrent.atomic.LongAdder
+import java.util.function.LongBinaryOperator
+
 /**
  * A class that can can emit communication of a given type T
  * to registered subscriptions.
  *
+ * Subscriptions can be registered, cancelled and notified from any thread. An event is delivered
+ * to the subscriptions registered at the time it is emitted.
+ *
+ * A subscription registered for a UI is cancelled when the UI detaches and is notified with the
+ * lock of the UI's session held. Emitters used by several sessions must only hold such
+ * subscriptions, otherwise closed sessions remain reachable through the emitter.
+ *
  * @since 1.0.0
  */
+@Log4j2
 class EventEmitter<T> {
 
-    private final List<Subscription<T>> subscriptions
+    private final List<Receiver<T>> receivers
+
+    /**
+     * Notifies the subscriptions, if events are dispatched asynchronously
+     */
+    private final Executor dispatcher
+
+    private final LongAdder emittedEvents = new LongAdder()
+
+    private final LongAdder failedDeliveries = new LongAdder()
+
+    private final LongAdder dispatches = new LongAdder()
+
+    private final LongAdder dispatchNanos = new LongAdder()
+
+    private final LongAccumulator maximumDispatchNanos = new LongAccumulator({ long current, long update -> Math.max(current, update) } as LongBinaryOperator, 0L)
 
     EventEmitter() {
-        subscriptions = new LinkedList<>()
+        this.receivers = new CopyOnWriteArrayList<>()
+        this.dispatcher = null
+    }
+
+    /**
+     * Creates an emitter that notifies its subscriptions on the given executor.
+     *
+     * Emitting an event returns immediately. Subscriptions registered for a UI other than the
+     * current one are notified through {@link UI#access}, so the emitting thread never waits for
+     * the lock of another session.
+     *
+     * @param dispatcher the executor notifying the subscriptions
+     * @since 1.11.0
+     */
+    EventEmitter(Executor dispatcher) {
+        this.receivers = new CopyOnWriteArrayList<>()
+        this.dispatcher = Objects.requireNonNull(dispatcher, "Dispatcher must not be null")
     }
 
     /**
@@ -20,7 +72,24 @@ class EventEmitter<T> {
      * @param s The subscription to register
      */
     void register(Subscription s) {
-        this.subscriptions.add(s)
+        this.receivers.add(new Receiver<T>(s, null))
+    }
+
+    /**
+     * Registers a new subscription for the session of a UI. The subscription is notified with the
+     * session lock held and is cancelled when the UI detaches.
+     *
+     * @param s The subscription to register
+     * @param ui The UI the subscription belongs to
+     * @since 1.11.0
+     */
+    void register(Subscription s, UI ui) {
+        Objects.requireNonNull(ui, "UI must not be null")
+        Receiver<T> receiver = new Receiver<T>(s, ui)
+        this.receivers.add(receiver)
+        receiver.detachRegistration = ui.addDetachListener({
+            cancel(receiver)
+        } as ClientConnector.DetachListener)
     }
 
     /**
@@ -28,7 +97,15 @@ class EventEmitter<T> {
      * @param s The subscription to cancel
      */
     void unregister(Subscription s) {
-        this.subscriptions.remove(s)
+        Receiver<T> receiver = this.receivers.find { it.subscription.equals(s) }
+        if (receiver != null && cancel(receiver)) {
+            receiver.detachRegistration?.remove()
+        }
+    }
+
+    private boolean cancel(Receiver<T> receiver) {
+        receiver.active = false
+        return this.receivers.remove(receiver)
     }
 
     /**
@@ -37,8 +114,95 @@ class EventEmitter<T> {
      * subscriptions.
      */
     void emit(T t) {
-        for (Subscription s : subscriptions) {
-            s.receive(t)
+        emittedEvents.increment()
+        long emittedAt = System.nanoTime()
+        if (dispatcher == null) {
+            dispatch(t, emittedAt)
+            return
+        }
+        try {
+            dispatcher.execute({ dispatch(t, emittedAt) } as Runnable)
+        } catch (RejectedExecutionException e) {
+            log.warn("Event ${t} was not dispatched, the dispatcher does not accept events anymore.", e)
+        }
+    }
+
+    private void dispatch(T t, long emittedAt) {
+        try {
+            for (Receiver<T> receiver : receivers) {
+                deliver(receiver, t)
+            }
+        } finally {
+            long elapsedNanos = System.nanoTime() - emittedAt
+            dispatches.increment()
+            dispatchNanos.add(elapsedNanos)
+            maximumDispatchNanos.accumulate(elapsedNanos)
+        }
+    }
+
+    private void deliver(Receiver<T> receiver, T t) {
+        if (receiver.ui == null || receiver.ui.is(UI.getCurrent())) {
+            if (dispatcher == null) {
+                // subscriptions notified by the emitting thread fail the emission as before
+                receiver.subscription.receive(t)
+            } else {
+                receiveSafely(receiver, t)
+            }
+            return
+        }
+        try {
+            receiver.ui.access({
+                if (receiver.active) {
+                    receiveSafely(receiver, t)
+                }
+            } as Runnable)
+        } catch (UIDetachedException ignored) {
+            // the UI is not attached yet or has already been closed
+        }
+    }
+
+    private void receiveSafely(Receiver<T> receiver, T t) {
+        try {
+            receiver.subscription.receive(t)
+        } catch (Exception e) {
+            failedDeliveries.increment()
+            log.error("Subscription failed to receive event ${t}.", e)
+        }
+    }
+
+    /**
+     * @return the current subscriptions and the dispatches of this emitter
+     * @since 1.11.0
+     */
+    EmitterStatistics getStatistics() {
+        List<Receiver<T>> currentReceivers = new ArrayList<>(receivers)
+        int sessionSubscriptions = currentReceivers.count { it.ui != null } as int
+        long dispatchCount = dispatches.sum()
+        double averageDispatchMillis = dispatchCount == 0 ? 0d : dispatchNanos.sum() / dispatchCount / 1_000_000d
+        return new EmitterStatistics(currentReceivers.size(),
+                sessionSubscriptions,
+                emittedEvents.sum(),
+                failedDeliveries.sum(),
+                averageDispatchMillis,
+                maximumDispatchNanos.get() / 1_000_000d)
+    }
+
+    /**
+     * A registered subscription and the UI it belongs to, if any
+     */
+    private static class Receiver<T> {
+
+        final Subscription<T> subscription
+
+        final UI ui
+
+        Registration detachRegistration
+
+        volatile boolean active = true
+
+        Receiver(Subscription<T> subscription, UI ui) {
+            this.subscription = subscription
+            this.ui = ui
         }
     }
 }
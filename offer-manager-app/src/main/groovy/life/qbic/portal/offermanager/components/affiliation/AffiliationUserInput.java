@@ -52,7 +52,8 @@ public class AffiliationUserInput extends VerticalLayout implements Resettable,
   }
 
   private void subscribeToAffiliationService() {
-    affiliationResourcesService.subscribe(it -> loadOrganisationsFromResourceService());
+    // a reload of the affiliations is published as one change set, the organisations are loaded once per change
+    affiliationResourcesService.subscribeToChanges(changes -> loadOrganisationsFromResourceService());
   }
 
   private void loadOrganisationsFromResourceService() {
@@ -47,12 +47,12 @@ class SearchAffiliationViewModel extends Observable {
     }
 
     /**
-     * As we can not distinguish on the type of event.
-     * Therefore, we reset the whole list.
+     * The selection has to be cleared for removed affiliations as well.
+     * Therefore, we reset the whole list once per change of the resource.
      * @see #resetAffiliations
      */
     private void subscribeToResources() {
-        this.affiliationResourcesService.subscribe({
+        this.affiliationResourcesService.subscribeToChanges({
             resetAffiliations()
         })
     }
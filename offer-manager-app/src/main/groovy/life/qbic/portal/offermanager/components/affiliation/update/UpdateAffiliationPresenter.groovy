@@ -4,20 +4,26 @@ import life.qbic.business.persons.affiliation.update.UpdateAffiliationOutput
 import life.qbic.datamodel.dtos.business.Affiliation
 import life.qbic.portal.offermanager.components.AppViewModel
 import life.qbic.portal.offermanager.dataresources.ResourcesService
+import life.qbic.portal.offermanager.dataresources.SharedResource
 
 class UpdateAffiliationPresenter implements UpdateAffiliationOutput {
 
   private final ResourcesService<Affiliation> affiliationResourcesService
   private final AppViewModel sharedViewModel
+  private final SharedResource<life.qbic.business.persons.Person> sharedPersons
 
-  UpdateAffiliationPresenter(ResourcesService<Affiliation> affiliationResourcesService, AppViewModel sharedViewModel) {
+  UpdateAffiliationPresenter(ResourcesService<Affiliation> affiliationResourcesService, AppViewModel sharedViewModel,
+                             SharedResource<life.qbic.business.persons.Person> sharedPersons) {
     this.affiliationResourcesService = affiliationResourcesService
     this.sharedViewModel = sharedViewModel
+    this.sharedPersons = sharedPersons
   }
 
   @Override
   void updatedAffiliation(life.qbic.business.persons.affiliation.Affiliation affiliation) {
     affiliationResourcesService.reloadResources()
+    // the persons hold their affiliations
+    sharedPersons.reload()
     def affiliationString = "${affiliation.getOrganization()}${affiliation.getAddressAddition() != null && !affiliation.getAddressAddition().isEmpty() ? " - ${affiliation.getAddressAddition()}" : ""}"
     sharedViewModel.successNotifications.add("Successfully updated affiliation " + affiliationString)
   }
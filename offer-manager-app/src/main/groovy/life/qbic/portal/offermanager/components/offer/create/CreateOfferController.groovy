@@ -6,6 +6,10 @@ import life.qbic.business.offers.OfferV2
 import life.qbic.business.offers.create.CalculatePriceOutput
 import life.qbic.business.offers.create.CreateOfferInput
 import life.qbic.business.offers.fetch.FetchOfferInput
+import life.qbic.business.offers.simulation.DraftItem
+import life.qbic.business.offers.simulation.PriceMatrix
+import life.qbic.business.offers.simulation.PriceSimulationOutput
+import life.qbic.business.offers.simulation.PriceSimulator
 import life.qbic.datamodel.dtos.business.*
 
 /**
@@ -22,13 +26,22 @@ class CreateOfferController {
     private final CreateOfferInput input
     private final FetchOfferInput fetchOfferInput
     private final CalculatePriceOutput priceCalculationResultsOutput
+    private final PriceSimulationOutput priceSimulationOutput
 
     private static final RefactorConverter refactorConverter = new RefactorConverter()
 
-    CreateOfferController(CreateOfferInput input, FetchOfferInput fetchOfferInput, CalculatePriceOutput priceCalculationResultsOutput) {
+    /**
+     * The offer priced for the items selected in the view
+     */
+    private final OfferPriceDraft priceDraft = new OfferPriceDraft()
+
+    CreateOfferController(CreateOfferInput input, FetchOfferInput fetchOfferInput,
+                          CalculatePriceOutput priceCalculationResultsOutput,
+                          PriceSimulationOutput priceSimulationOutput) {
         this.input = input
         this.fetchOfferInput = fetchOfferInput
         this.priceCalculationResultsOutput = priceCalculationResultsOutput
+        this.priceSimulationOutput = priceSimulationOutput
     }
 
     /**
@@ -71,9 +84,34 @@ class CreateOfferController {
     }
 
 
+    /**
+     * Prices the selected items for the customer affiliation. The items are applied to the price draft
+     * of the view, so only the items changed since the last calculation are priced.
+     *
+     * @param productItems the items currently selected in the view
+     * @param affiliation the affiliation of the customer
+     */
     void calculatePriceForItems(List<ProductItem> productItems, Affiliation affiliation) {
-        OfferV2 offer = new OfferV2(refactorConverter.toAffiliation(affiliation), new life.qbic.business.offers.identifier.OfferId("price", 1))
-        offer.setItems(productItems.stream().map(it -> refactorConverter.toProductItem(offer, it)).collect() as List<life.qbic.business.products.ProductItem>)
+        OfferV2 offer = priceDraft.update(productItems, affiliation)
         priceCalculationResultsOutput.calculatedPrice(offer.salePrice.doubleValue(), offer.taxAmount.doubleValue(), offer.overhead, offer.priceAfterTax.doubleValue(), offer.totalDiscountAmount.doubleValue())
     }
+
+    /**
+     * Simulates the prices of an offer with the given items for several sample counts and all
+     * affiliation categories. Data generation and data analysis items are priced per sample, all
+     * other items keep their quantity.
+     *
+     * @param productItems the items of the offer
+     * @param sampleCounts the sample counts to simulate
+     * @param countries the countries of the customer affiliation to simulate
+     * @since 1.11.0
+     */
+    void simulatePrices(List<ProductItem> productItems, List<Double> sampleCounts, List<String> countries) {
+        List<DraftItem> draftItems = productItems.collect {
+            DraftItem.of(refactorConverter.toProduct(it.product), it.quantity)
+        }
+        PriceMatrix priceMatrix = new PriceSimulator(draftItems).simulate(sampleCounts,
+                life.qbic.business.persons.affiliation.AffiliationCategory.values().toList(), countries)
+        priceSimulationOutput.simulatedPrices(priceMatrix)
+    }
 }
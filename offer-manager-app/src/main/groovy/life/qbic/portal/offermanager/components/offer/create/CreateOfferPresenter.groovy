@@ -5,6 +5,8 @@ import life.qbic.business.offers.OfferV2
 import life.qbic.business.offers.create.CalculatePriceOutput
 import life.qbic.business.offers.create.CreateOfferOutput
 import life.qbic.business.offers.fetch.FetchOfferOutput
+import life.qbic.business.offers.simulation.PriceMatrix
+import life.qbic.business.offers.simulation.PriceSimulationOutput
 import life.qbic.datamodel.dtos.business.Offer
 import life.qbic.portal.offermanager.components.AppViewModel
 import life.qbic.portal.offermanager.dataresources.ResourcesService
@@ -16,7 +18,7 @@ import life.qbic.portal.offermanager.dataresources.ResourcesService
  *
  * @since: 1.0.0
  */
-class CreateOfferPresenter implements CreateOfferOutput, FetchOfferOutput, CalculatePriceOutput{
+class CreateOfferPresenter implements CreateOfferOutput, FetchOfferOutput, CalculatePriceOutput, PriceSimulationOutput {
 
     private final AppViewModel viewModel
     private final CreateOfferViewModel createOfferViewModel
@@ -54,6 +56,14 @@ class CreateOfferPresenter implements CreateOfferOutput, FetchOfferOutput, Calcu
         this.createOfferViewModel.totalPrice = totalPrice
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void simulatedPrices(PriceMatrix priceMatrix) {
+        this.createOfferViewModel.priceMatrix = priceMatrix
+    }
+
     /**
      * {@inheritDoc}
      */
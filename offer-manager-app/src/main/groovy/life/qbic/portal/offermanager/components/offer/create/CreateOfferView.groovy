@@ -22,6 +22,11 @@ import life.qbic.portal.offermanager.components.person.update.UpdatePersonView
  */
 class CreateOfferView extends FormLayout implements Observer {
 
+    /**
+     * The sample counts the offer prices are simulated for in the offer overview
+     */
+    private static final List<Double> SIMULATED_SAMPLE_COUNTS = [1d, 6d, 12d, 24d, 48d, 96d]
+
     final private AppViewModel sharedViewModel
     final CreateOfferViewModel viewModel
 
@@ -160,6 +165,7 @@ class CreateOfferView extends FormLayout implements Observer {
         this.selectItemsView.next.addClickListener({
             controller.calculatePriceForItems(getProductItems(viewModel.productItems),
                     viewModel.customerAffiliation)
+            simulatePrices()
             overviewView.fillPanel()
             viewHistory.loadNewView(overviewView)
             navigationView.showNextStep()
@@ -247,6 +253,19 @@ class CreateOfferView extends FormLayout implements Observer {
         controller.calculatePriceForItems(getProductItems(viewModel.productItems),
                 viewModel.customerAffiliation)
         this.overviewView.refreshPricePanel()
+        simulatePrices()
+    }
+
+    /**
+     * Simulates the prices of the selected items for the customer's country and several sample
+     * counts, so the prices for other sample counts and affiliation categories can be compared
+     */
+    private void simulatePrices() {
+        if (!viewModel.customerAffiliation) {
+            return
+        }
+        controller.simulatePrices(getProductItems(viewModel.productItems),
+                SIMULATED_SAMPLE_COUNTS, [viewModel.customerAffiliation.country])
     }
 /*
      * Small helper class that assists us keeping track of the view components
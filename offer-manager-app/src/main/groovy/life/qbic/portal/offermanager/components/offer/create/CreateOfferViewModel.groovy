@@ -3,11 +3,14 @@ package life.qbic.portal.offermanager.components.offer.create
 import groovy.beans.Bindable
 import life.qbic.business.logging.Logger
 import life.qbic.business.logging.Logging
+import life.qbic.business.offers.simulation.PriceMatrix
 import life.qbic.datamodel.dtos.business.*
 import life.qbic.datamodel.dtos.business.services.*
 import life.qbic.datamodel.dtos.general.Person
 import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.communication.Subscription
+import life.qbic.portal.offermanager.dataresources.ChangeSet
+import life.qbic.portal.offermanager.dataresources.ReadOnlyResourcesService
 import life.qbic.portal.offermanager.dataresources.ResourcesService
 
 /**
@@ -69,6 +72,12 @@ class CreateOfferViewModel extends Observable {
     double totalPrice = 0
     @Bindable
     double totalDiscountAmount = 0
+    /**
+     * The simulated prices of the current items for several sample counts, affiliation categories
+     * and countries, null until a simulation was requested
+     */
+    @Bindable
+    PriceMatrix priceMatrix
 
     @Bindable
     Boolean sequencingGridSelected
@@ -109,9 +118,9 @@ class CreateOfferViewModel extends Observable {
 
     Optional<Offer> savedOffer = Optional.empty()
 
-    private final ResourcesService<Customer> customerResourceService
+    private final ReadOnlyResourcesService<Customer> customerResourceService
     private final ResourcesService<Product> productsResourcesService
-    private final ResourcesService<ProjectManager> managerResourceService
+    private final ReadOnlyResourcesService<ProjectManager> managerResourceService
     // where to emit selection for updatable person to
     private final EventEmitter<Person> personUpdateEvent
 
@@ -120,8 +129,8 @@ class CreateOfferViewModel extends Observable {
 
     private final Logging log = Logger.getLogger(this.class)
 
-    CreateOfferViewModel(ResourcesService<Customer> customerResourceService,
-                         ResourcesService<ProjectManager> managerResourceService,
+    CreateOfferViewModel(ReadOnlyResourcesService<Customer> customerResourceService,
+                         ReadOnlyResourcesService<ProjectManager> managerResourceService,
                          ResourcesService<Product> productsResourcesService,
                          EventEmitter<Person> personUpdateEvent) {
         this.customerResourceService = customerResourceService
@@ -196,6 +205,7 @@ class CreateOfferViewModel extends Observable {
         overheads = 0
         totalPrice = 0
         totalDiscountAmount = 0
+        priceMatrix = null
 
         projectTitleValid = false
         projectObjectiveValid = false
@@ -215,36 +225,36 @@ class CreateOfferViewModel extends Observable {
     }
 
     private void subscribeToResources() {
-        Subscription<Customer> customerSubscription = new Subscription<Customer>() {
+        Subscription<ChangeSet<Customer>> customerSubscription = new Subscription<ChangeSet<Customer>>() {
             @Override
-            void receive(Customer customer) {
-                refreshCustomers()
+            void receive(ChangeSet<Customer> changes) {
+                changes.applyTo(foundCustomers)
             }
         }
-        this.customerResourceService.subscribe(customerSubscription)
+        this.customerResourceService.subscribeToChanges(customerSubscription)
 
-        Subscription<ProjectManager> managerSubscription = new Subscription<ProjectManager>() {
+        Subscription<ChangeSet<ProjectManager>> managerSubscription = new Subscription<ChangeSet<ProjectManager>>() {
             @Override
-            void receive(ProjectManager projectManager) {
-                refreshManagers()
+            void receive(ChangeSet<ProjectManager> changes) {
+                changes.applyTo(availableProjectManagers)
             }
         }
-        this.managerResourceService.subscribe(managerSubscription)
+        this.managerResourceService.subscribeToChanges(managerSubscription)
 
-        Subscription<Product> productSubscription = new Subscription<Product>() {
+        Subscription<ChangeSet<Product>> productSubscription = new Subscription<ChangeSet<Product>>() {
             @Override
-            void receive(Product product) {
-                refreshProducts()
+            void receive(ChangeSet<Product> changes) {
+                applyProductChanges(changes)
             }
         }
-        this.productsResourcesService.subscribe(productSubscription)
+        this.productsResourcesService.subscribeToChanges(productSubscription)
     }
 
     /**
      * This method replaces the foundCustomer list with the list provided by the customerResourceService
      *
-     * This method will be triggered when a service event is triggered and is intended
-     * to refresh the customers shown in the grid with the ones currently stored in tce service
+     * This method is intended to refresh the customers shown in the grid with the ones
+     * currently stored in the service
      */
     protected void refreshCustomers() {
         List<Customer> customers = customerResourceService.iterator().toList()
@@ -255,8 +265,8 @@ class CreateOfferViewModel extends Observable {
     /**
      * This method replaces the availableProjectManager list with the list provided by the managerResourceService
      *
-     * This method will be triggered when a service event is triggered and is intended
-     * to refresh the project managers shown in the grid with the ones currently stored in the service
+     * This method is intended to refresh the project managers shown in the grid with the ones
+     * currently stored in the service
      */
     protected void refreshManagers() {
         List<ProjectManager> projectManagers = managerResourceService.iterator().toList()
@@ -264,9 +274,34 @@ class CreateOfferViewModel extends Observable {
         availableProjectManagers.addAll(projectManagers)
     }
 
-    private void refreshProducts() {
-        List<Product> products = productsResourcesService.iterator().toList()
-        populateProductLists(products)
+    /**
+     * Applies the changes of the products to the product lists of their categories
+     *
+     * Only the lists of the changed categories are modified. An updated product keeps its position,
+     * unless its category has changed.
+     *
+     * @param changes the changes of the product resource
+     */
+    private void applyProductChanges(ChangeSet<Product> changes) {
+        changes.removed.each { product ->
+            productListOf(product).removeElement(product)
+        }
+        changes.updated.each { update ->
+            List<Product> previousProducts = productListOf(update.previous)
+            List<Product> currentProducts = productListOf(update.current)
+            int position = previousProducts.indexOf(update.previous)
+            if (position >= 0 && previousProducts.is(currentProducts)) {
+                currentProducts.set(position, update.current)
+            } else {
+                if (position >= 0) {
+                    previousProducts.remove(position)
+                }
+                currentProducts.add(update.current)
+            }
+        }
+        changes.added.each { product ->
+            productListOf(product).add(product)
+        }
     }
 
     private void populateProductLists(List<Product> products) {
@@ -280,36 +315,31 @@ class CreateOfferViewModel extends Observable {
         this.externalServiceProduct.clear()
 
         products.each { product ->
+            productListOf(product).add(product)
+        }
+    }
 
-            switch (product) {
-                case Sequencing:
-                    sequencingProducts.add(product)
-                    break
-                case ProjectManagement:
-                    managementProducts.add(product)
-                    break
-                case PrimaryAnalysis:
-                    primaryAnalysisProducts.add(product)
-                    break
-                case SecondaryAnalysis:
-                    secondaryAnalysisProducts.add(product)
-                    break
-                case DataStorage:
-                    storageProducts.add(product)
-                    break
-                case ProteomicAnalysis:
-                    proteomicAnalysisProducts.add(product)
-                    break
-                case MetabolomicAnalysis:
-                    metabolomicAnalysisProduct.add(product)
-                    break
-                case ExternalServiceProduct:
-                    externalServiceProduct.add(product)
-                    break
-                default:
-                    // this should not happen
-                    throw new RuntimeException("Unknown product category '${product.getClass().getSimpleName()}'")
-            }
+    private List<Product> productListOf(Product product) {
+        switch (product) {
+            case Sequencing:
+                return sequencingProducts
+            case ProjectManagement:
+                return managementProducts
+            case PrimaryAnalysis:
+                return primaryAnalysisProducts
+            case SecondaryAnalysis:
+                return secondaryAnalysisProducts
+            case DataStorage:
+                return storageProducts
+            case ProteomicAnalysis:
+                return proteomicAnalysisProducts
+            case MetabolomicAnalysis:
+                return metabolomicAnalysisProduct
+            case ExternalServiceProduct:
+                return externalServiceProduct
+            default:
+                // this should not happen
+                throw new RuntimeException("Unknown product category '${product.getClass().getSimpleName()}'")
         }
     }
 
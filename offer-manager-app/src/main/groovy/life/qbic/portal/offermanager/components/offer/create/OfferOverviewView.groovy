@@ -8,6 +8,8 @@ import com.vaadin.ui.renderers.NumberRenderer
 import com.vaadin.ui.themes.ValoTheme
 import groovy.util.logging.Log4j2
 import life.qbic.business.offers.Currency
+import life.qbic.business.offers.simulation.PriceMatrix
+import life.qbic.business.persons.affiliation.AffiliationCategory
 import life.qbic.portal.offermanager.components.GridUtils
 
 /**
@@ -30,6 +32,7 @@ class OfferOverviewView extends VerticalLayout {
     Button previous
     Button save
     Grid priceFieldGrid
+    Grid<Double> priceSimulationGrid
 
     OfferOverviewView(CreateOfferViewModel viewModel) {
         this.createOfferViewModel = viewModel
@@ -91,6 +94,9 @@ class OfferOverviewView extends VerticalLayout {
                 save.setEnabled(false)
             }
         })
+        createOfferViewModel.addPropertyChangeListener("priceMatrix", {
+            refreshPriceSimulation()
+        })
     }
 
     /**
@@ -149,6 +155,9 @@ class OfferOverviewView extends VerticalLayout {
         header.addComponent(projectInfoForm)
         Panel costOverview = createCostOverview()
         header.addComponent(costOverview)
+        Panel priceSimulation = createPriceSimulation()
+        header.addComponent(priceSimulation)
+        header.setComponentAlignment(priceSimulation, Alignment.TOP_CENTER)
         header.setWidthFull()
         header.setComponentAlignment(costOverview, Alignment.TOP_CENTER)
         header.setDefaultComponentAlignment(Alignment.TOP_LEFT)
@@ -200,6 +209,40 @@ class OfferOverviewView extends VerticalLayout {
             ])
     }
 
+    /**
+     * Shows the total price of the offer for the simulated sample counts and every affiliation
+     * category in the country of the customer affiliation
+     */
+    private Panel createPriceSimulation() {
+        final Panel panel = new Panel("Price Simulation")
+        panel.setSizeUndefined()
+        priceSimulationGrid = new Grid<>()
+        priceSimulationGrid.addColumn({ Double sampleCount -> sampleCount.intValue() })
+                .setCaption("Samples")
+        AffiliationCategory.values().each { AffiliationCategory category ->
+            priceSimulationGrid.addColumn({ Double sampleCount -> simulatedTotalPrice(sampleCount, category) },
+                    new NumberRenderer(Currency.getFormatterWithSymbol()))
+                    .setCaption(category.label.capitalize())
+        }
+        refreshPriceSimulation()
+        panel.setContent(priceSimulationGrid)
+        return panel
+    }
+
+    private Double simulatedTotalPrice(Double sampleCount, AffiliationCategory category) {
+        PriceMatrix priceMatrix = createOfferViewModel.priceMatrix
+        return priceMatrix.pricesFor(sampleCount, category, priceMatrix.countries.first())
+                .priceAfterTax.doubleValue()
+    }
+
+    void refreshPriceSimulation() {
+        if (priceSimulationGrid) {
+            List<Double> sampleCounts = createOfferViewModel.priceMatrix?.sampleCounts ?: []
+            priceSimulationGrid.setItems(sampleCounts)
+            priceSimulationGrid.setHeightByRows(Math.max(1, sampleCounts.size()))
+        }
+    }
+
     /*
     Small helper object, that will display information
     about individual price positions for offer overviews.
@@ -0,0 +1,80 @@
+package life.qbic.portal.offermanager.components.offer.create
+
+import life.qbic.business.RefactorConverter
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.datamodel.dtos.business.Affiliation
+import life.qbic.datamodel.dtos.business.ProductItem
+import life.qbic.datamodel.dtos.business.services.Product
+
+/**
+ * Prices the items selected in an offer view
+ *
+ * The draft offer is kept between the edits of the selected items, so an edit only adds, removes
+ * or changes the affected items of the draft instead of pricing all items again. All items are
+ * priced again when the customer affiliation changes.
+ *
+ * @since 1.11.0
+ */
+class OfferPriceDraft {
+
+    private static final OfferId DRAFT_ID = new OfferId("price", 1)
+
+    private OfferV2 offer
+
+    private Affiliation pricedAffiliation
+
+    /**
+     * The items of the draft by the product they have been created for
+     */
+    private final Map<Product, life.qbic.business.products.ProductItem> draftItems = new LinkedHashMap<>()
+
+    /**
+     * Applies the selected items to the draft offer
+     *
+     * @param selectedItems the items currently selected in the view
+     * @param affiliation the customer affiliation the items are priced for
+     * @return the draft offer priced for the selected items
+     */
+    OfferV2 update(List<ProductItem> selectedItems, Affiliation affiliation) {
+        Map<Product, ProductItem> selectedByProduct = new LinkedHashMap<>()
+        selectedItems.each { ProductItem item -> selectedByProduct.put(item.getProduct(), item) }
+        // items of the same product cannot be told apart from one edit to the next
+        if (offer == null || affiliation != pricedAffiliation || selectedByProduct.size() != selectedItems.size()) {
+            return priceAnew(selectedItems, affiliation)
+        }
+        Iterator<Map.Entry<Product, life.qbic.business.products.ProductItem>> draftEntries = draftItems.entrySet().iterator()
+        while (draftEntries.hasNext()) {
+            Map.Entry<Product, life.qbic.business.products.ProductItem> draftEntry = draftEntries.next()
+            if (!selectedByProduct.containsKey(draftEntry.getKey())) {
+                offer.removeItem(draftEntry.getValue())
+                draftEntries.remove()
+            }
+        }
+        selectedByProduct.each { Product product, ProductItem selectedItem ->
+            life.qbic.business.products.ProductItem draftItem = draftItems.get(product)
+            if (draftItem == null) {
+                draftItems.put(product, offer.addItem(RefactorConverter.toProductItem(offer, selectedItem)))
+            } else if (draftItem.getQuantity() != selectedItem.getQuantity()) {
+                draftItems.put(product, offer.updateQuantity(draftItem, selectedItem.getQuantity()))
+            }
+        }
+        return offer
+    }
+
+    private OfferV2 priceAnew(List<ProductItem> selectedItems, Affiliation affiliation) {
+        OfferV2 pricedOffer = new OfferV2(RefactorConverter.toAffiliation(affiliation), DRAFT_ID)
+        pricedOffer.setItems(selectedItems.collect { ProductItem selectedItem ->
+            RefactorConverter.toProductItem(pricedOffer, selectedItem)
+        })
+        draftItems.clear()
+        List<life.qbic.business.products.ProductItem> pricedItems = pricedOffer.getItems()
+        for (int position = 0; position < selectedItems.size(); position++) {
+            draftItems.put(selectedItems.get(position).getProduct(), pricedItems.get(position))
+        }
+        // a draft with several items of the same product cannot be updated by product
+        offer = draftItems.size() == selectedItems.size() ? pricedOffer : null
+        pricedAffiliation = affiliation
+        return pricedOffer
+    }
+}
@@ -3,16 +3,13 @@ package life.qbic.portal.offermanager.components.offer.overview
 import groovy.beans.Bindable
 import life.qbic.business.offers.OfferContent
 import life.qbic.datamodel.dtos.business.Offer
-import life.qbic.datamodel.dtos.business.OfferId
 import life.qbic.portal.offermanager.OfferToPDFConverter
 import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.components.AppViewModel
+import life.qbic.portal.offermanager.dataresources.ChangeSet
 import life.qbic.portal.offermanager.dataresources.ResourcesService
 import life.qbic.portal.offermanager.dataresources.offers.OfferOverview
 
-import java.util.function.Predicate
-import java.util.stream.Collectors
-
 /**
  * Model for the offer overview view.
  *
@@ -34,8 +31,6 @@ class OfferOverviewModel extends Observable {
 
     List<OfferOverview> offerVersionsForSelected
 
-    List<OfferOverview> allOfferVersions
-
     OfferOverview selectedOverview
 
     Optional<Offer> offer = Optional.empty()
@@ -44,6 +39,13 @@ class OfferOverviewModel extends Observable {
 
     private final ResourcesService<OfferOverview> service
 
+    private final OfferVersionIndex offerVersions
+
+    /**
+     * The position of every overview in the list of latest overviews
+     */
+    private final Map<OfferOverview, Integer> latestPositions
+
     private final AppViewModel viewModel
 
     @Bindable
@@ -55,8 +57,11 @@ class OfferOverviewModel extends Observable {
                        AppViewModel viewModel,
                        EventEmitter<Offer> offerEventEmitter) {
         this.service = service
-        this.allOfferVersions = new ArrayList<>(service.iterator().toList())
-        this.latestOfferOverviewList = new ObservableList(filterForLatest(allOfferVersions))
+        this.offerVersions = new OfferVersionIndex()
+        this.offerVersions.addAll(service.iterator())
+        List<OfferOverview> latestOverviews = offerVersions.latestOfEachFamily()
+        this.latestOfferOverviewList = new ObservableList(latestOverviews)
+        this.latestPositions = positionsOf(latestOverviews)
         this.offerVersionsForSelected = new ArrayList<>()
         this.offerContent = Optional.empty()
         this.viewModel = viewModel
@@ -66,23 +71,85 @@ class OfferOverviewModel extends Observable {
     }
 
     private void subscribeToOverviewService() {
-        service.subscribe({
-            allOfferVersions.clear()
-            allOfferVersions.addAll(service.iterator())
-
-            latestOfferOverviewList.clear()
-            List<OfferOverview> filteredList = filterForLatest(allOfferVersions)
-            latestOfferOverviewList.addAll(filteredList)
-
-            this.offerVersionsForSelected.clear()
+        service.subscribeToChanges({ ChangeSet<OfferOverview> changes ->
+            updateOfferVersions(changes)
             if (this.selectedOverview != null) {
-                this.offerVersionsForSelected.addAll(filterOfferVersionID(this.selectedOverview, allOfferVersions))
+                this.offerVersionsForSelected.clear()
+                this.offerVersionsForSelected.addAll(offerVersions.versionsOf(this.selectedOverview.offerId))
             }
             this.setChanged()
             this.notifyObservers()
         })
     }
 
+    /**
+     * Applies a change set of the overview service to the offer versions.
+     *
+     * Only the versions of the affected offers are touched, so a change costs time linear to the
+     * number of changed overviews, independent of the number of known offers.
+     *
+     * @param changes the change set emitted by the service
+     */
+    private void updateOfferVersions(ChangeSet<OfferOverview> changes) {
+        changes.removed.each { OfferOverview overview ->
+            OfferOverview previousLatest = offerVersions.latestOf(overview.offerId)
+            offerVersions.remove(overview)
+            replaceLatest(previousLatest, offerVersions.latestOf(overview.offerId))
+        }
+        changes.updated.each { ChangeSet.Update<OfferOverview> update ->
+            OfferOverview previousLatest = offerVersions.latestOf(update.previous.offerId)
+            offerVersions.remove(update.previous)
+            replaceLatest(previousLatest, offerVersions.latestOf(update.previous.offerId))
+            previousLatest = offerVersions.latestOf(update.current.offerId)
+            offerVersions.add(update.current)
+            replaceLatest(previousLatest, offerVersions.latestOf(update.current.offerId))
+        }
+        changes.added.each { OfferOverview overview ->
+            OfferOverview previousLatest = offerVersions.latestOf(overview.offerId)
+            offerVersions.add(overview)
+            replaceLatest(previousLatest, offerVersions.latestOf(overview.offerId))
+        }
+    }
+
+    /**
+     * Replaces the latest version of an offer in the list of latest overviews.
+     *
+     * The position of every overview in the list is kept, so the list is not searched. A removed
+     * overview is replaced by the last overview of the list, the grid presenting the list sorts
+     * the overviews on its own.
+     *
+     * @param previousLatest the latest version before the change, null for a new offer
+     * @param currentLatest the latest version after the change, null for a removed offer
+     */
+    private void replaceLatest(OfferOverview previousLatest, OfferOverview currentLatest) {
+        if (previousLatest.is(currentLatest)) {
+            return
+        }
+        if (previousLatest == null) {
+            latestPositions.put(currentLatest, latestOfferOverviewList.size())
+            latestOfferOverviewList.add(currentLatest)
+        } else if (currentLatest == null) {
+            int position = latestPositions.remove(previousLatest)
+            int lastPosition = latestOfferOverviewList.size() - 1
+            if (position != lastPosition) {
+                OfferOverview lastOverview = latestOfferOverviewList.get(lastPosition) as OfferOverview
+                latestOfferOverviewList.set(position, lastOverview)
+                latestPositions.put(lastOverview, position)
+            }
+            latestOfferOverviewList.remove(lastPosition)
+        } else {
+            int position = latestPositions.remove(previousLatest)
+            latestOfferOverviewList.set(position, currentLatest)
+            latestPositions.put(currentLatest, position)
+        }
+    }
+
+    private static Map<OfferOverview, Integer> positionsOf(List<OfferOverview> overviews) {
+        Map<OfferOverview, Integer> positions = new HashMap<>(overviews.size() * 2)
+        overviews.eachWithIndex { OfferOverview overview, int position -> positions.put(overview, position) }
+        return positions
+    }
+
     Offer getSelectedOffer() {
         if (offer.isPresent()) {
             return offer.get()
@@ -94,20 +161,11 @@ class OfferOverviewModel extends Observable {
     void setSelectedOverview(OfferOverview offerOverview) {
         this.selectedOverview = offerOverview
         this.offerVersionsForSelected.clear()
-        this.offerVersionsForSelected.addAll(filterOfferVersionID(this.selectedOverview, allOfferVersions))
+        this.offerVersionsForSelected.addAll(offerVersions.versionsOf(offerOverview.offerId))
         this.setChanged()
         this.notifyObservers()
     }
 
-    private List<OfferOverview> filterOfferVersionID(OfferOverview offerOverview, List<OfferOverview> allOverviews) {
-        Predicate<OfferOverview> belongsToSameOffer = new IsVersionOfOffer(offerOverview)
-        return allOverviews.stream()
-                .filter(belongsToSameOffer)
-                .sorted((o1, o2) ->
-                        Integer.parseInt(o2.getOfferId().getVersion()) - Integer.parseInt(o1.getOfferId().getVersion()))
-                .collect(Collectors.toList())
-    }
-
     /**
      * Acquire the current selected offer in PDF
      * @return The offer PDF
@@ -122,78 +180,4 @@ class OfferOverviewModel extends Observable {
                     "convert.")
         })
     }
-
-    /**
-     * Filters an OfferOverview list to return only the overview of latest offer version within a offer history.
-     *
-     * Latest means the one with the highest version number.
-     *
-     * @param offerOverviewList a list of offer versions to filter
-     * @return the filtered list
-     */
-    private List<OfferOverview> filterForLatest(List<OfferOverview> offerOverviewList) {
-        List<OfferOverview> latestOnly = new ArrayList<>()
-        for (OfferOverview overview : offerOverviewList) {
-            Predicate<OfferOverview> isVersionOf = new IsVersionOfOffer(overview)
-            if (!latestOnly.stream().filter(isVersionOf).findAny().isPresent()) {
-                // We filter for overviews that are part of the same project target ...
-                List<OfferOverview> sameProjectOnly = offerOverviewList.stream().filter(isVersionOf).collect(Collectors.toList())
-                // ... search for the latest within the version history ...
-                OfferOverview latest = findLatest(overview, sameProjectOnly)
-                // ... and add the latest one to our filtered list
-                latestOnly.add(latest)
-            }
-        }
-        return latestOnly
-    }
-
-    /**
-     * Searches a list of offer overview and returns an overview with the highest version number.
-     *
-     * Note: Only the version number in the referenced offer id is taken into account!
-     *
-     * @param offerOverview
-     * @param overviewList
-     * @return
-     */
-    private OfferOverview findLatest(OfferOverview offerOverview, List<OfferOverview> overviewList) {
-        OfferOverview latest = offerOverview
-        for (OfferOverview currentOverview : overviewList) {
-            Predicate<OfferId> isNewer = new IsNewerVersion(latest.getOfferId())
-            if (isNewer.test(currentOverview.getOfferId())) {
-                latest = currentOverview
-            }
-        }
-        return latest
-    }
-
-    class IsVersionOfOffer implements Predicate<OfferOverview> {
-
-        private final OfferOverview offerOverview
-
-        IsVersionOfOffer(OfferOverview offerOverview) {
-            this.offerOverview = offerOverview
-        }
-
-        @Override
-        boolean test(OfferOverview anotherOverview) {
-            return this.offerOverview.getOfferId().getProjectConservedPart().equals(anotherOverview.getOfferId().getProjectConservedPart())
-                    && this.offerOverview.getOfferId().getRandomPart().equals(anotherOverview.getOfferId().getRandomPart())
-        }
-    }
-
-    class IsNewerVersion implements Predicate<OfferId> {
-
-        private final OfferId offerIdToCompare
-
-        IsNewerVersion(OfferId offerIdToCompare) {
-            this.offerIdToCompare = offerIdToCompare
-        }
-
-        @Override
-        boolean test(OfferId offerId) {
-            return Integer.parseInt(offerId.getVersion()) > Integer.parseInt(this.offerIdToCompare.getVersion())
-        }
-    }
-
 }
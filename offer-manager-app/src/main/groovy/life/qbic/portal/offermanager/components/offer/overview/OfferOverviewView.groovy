@@ -226,11 +226,11 @@ class OfferOverviewView extends VerticalLayout implements Observer {
                 .setCaption("Project Title").setId("ProjectTitle")
         grid.addColumn({ overview -> overview.getCustomer() })
                 .setCaption("Customer").setId("Customer")
-        grid.addColumn({ overview -> overview.getAffiliation().getCategory().getLabel() })
+        grid.addColumn({ overview -> overview.getAffiliation()?.getCategory()?.getLabel() })
                 .setCaption("Affiliation Category").setId("AffiliationCategory")
-        grid.addColumn({ overview -> overview.getAffiliation().getOrganization() })
+        grid.addColumn({ overview -> overview.getAffiliation()?.getOrganization() })
                 .setCaption("Organisation").setId("Organisation")
-        grid.addColumn({ overview -> overview.getAffiliation().getAddressAddition() })
+        grid.addColumn({ overview -> overview.getAffiliation()?.getAddressAddition() })
                 .setCaption("Address Addition").setId("AddressAddition")
         grid.addColumn({ overview -> overview.getProjectManager() })
                 .setCaption("ProjectManager").setId("ProjectManager")
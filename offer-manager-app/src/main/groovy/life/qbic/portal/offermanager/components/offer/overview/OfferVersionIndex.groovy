@@ -0,0 +1,201 @@
+package life.qbic.portal.offermanager.components.offer.overview
+
+import groovy.transform.CompileStatic
+import groovy.transform.EqualsAndHashCode
+import life.qbic.datamodel.dtos.business.OfferId
+import life.qbic.portal.offermanager.dataresources.offers.OfferOverview
+
+/**
+ * <b>An index of offer overviews grouped by their offer</b>
+ *
+ * <p>All versions of an offer share the project conserved part and the random part of their
+ * offer identifier and form a family. The index keeps the versions of every family sorted by their
+ * version number, which is parsed once when an overview is added.</p>
+ *
+ * <p>The latest version of a family is found in constant time, all versions of a family in time
+ * linear to the number of versions. Adding or removing an overview only touches its family.</p>
+ *
+ * <p>The index is not thread-safe.</p>
+ *
+ * @since 1.11.0
+ */
+@CompileStatic
+class OfferVersionIndex {
+
+    private final Map<FamilyKey, Family> families = new LinkedHashMap<>()
+
+    private int size
+
+    /**
+     * Adds an overview to the index.
+     *
+     * An overview with the same offer identifier is replaced.
+     *
+     * @param offerOverview the overview to add
+     */
+    void add(OfferOverview offerOverview) {
+        Family family = families.computeIfAbsent(FamilyKey.of(offerOverview.getOfferId()), { new Family() })
+        if (family.put(versionOf(offerOverview.getOfferId()), offerOverview)) {
+            size++
+        }
+    }
+
+    /**
+     * Adds all overviews to the index.
+     *
+     * @param offerOverviews the overviews to add
+     */
+    void addAll(Iterator<OfferOverview> offerOverviews) {
+        offerOverviews.each { OfferOverview overview -> add(overview) }
+    }
+
+    /**
+     * Removes the overview with the offer identifier of the given overview from the index.
+     *
+     * @param offerOverview the overview to remove
+     * @return true, if an overview was removed
+     */
+    boolean remove(OfferOverview offerOverview) {
+        FamilyKey key = FamilyKey.of(offerOverview.getOfferId())
+        Family family = families.get(key)
+        if (family == null || !family.remove(versionOf(offerOverview.getOfferId()))) {
+            return false
+        }
+        if (family.isEmpty()) {
+            families.remove(key)
+        }
+        size--
+        return true
+    }
+
+    /**
+     * @param offerOverview the overview to look up
+     * @return true, if the index holds an overview equal to the given one
+     */
+    boolean contains(OfferOverview offerOverview) {
+        Family family = families.get(FamilyKey.of(offerOverview.getOfferId()))
+        return family != null && family.get(versionOf(offerOverview.getOfferId())) == offerOverview
+    }
+
+    /**
+     * @param offerId an identifier of any version of an offer
+     * @return the overview of the latest version of the offer, null if no version is known
+     */
+    OfferOverview latestOf(OfferId offerId) {
+        Family family = families.get(FamilyKey.of(offerId))
+        return family?.latest()
+    }
+
+    /**
+     * @param offerId an identifier of any version of an offer
+     * @return the overviews of all versions of the offer, the latest version first
+     */
+    List<OfferOverview> versionsOf(OfferId offerId) {
+        Family family = families.get(FamilyKey.of(offerId))
+        return family != null ? family.newestFirst() : Collections.<OfferOverview> emptyList()
+    }
+
+    /**
+     * @return the overview of the latest version of every offer, in the order the offers were added
+     */
+    List<OfferOverview> latestOfEachFamily() {
+        List<OfferOverview> latest = new ArrayList<>(families.size())
+        families.values().each { Family family -> latest.add(family.latest()) }
+        return latest
+    }
+
+    /**
+     * @return the number of indexed overviews
+     */
+    int size() {
+        return size
+    }
+
+    private static int versionOf(OfferId offerId) {
+        return Integer.parseInt(offerId.getVersion())
+    }
+
+    @EqualsAndHashCode(includeFields = true)
+    private static final class FamilyKey {
+
+        private final String projectConservedPart
+
+        private final String randomPart
+
+        private FamilyKey(String projectConservedPart, String randomPart) {
+            this.projectConservedPart = projectConservedPart
+            this.randomPart = randomPart
+        }
+
+        static FamilyKey of(OfferId offerId) {
+            return new FamilyKey(offerId.getProjectConservedPart(), offerId.getRandomPart())
+        }
+    }
+
+    /**
+     * The versions of one offer, sorted ascending by version number
+     */
+    private static final class Family {
+
+        private int[] versions = new int[2]
+
+        private OfferOverview[] overviews = new OfferOverview[2]
+
+        private int size
+
+        /**
+         * @return true, if the version was not known before
+         */
+        boolean put(int version, OfferOverview overview) {
+            int position = Arrays.binarySearch(versions, 0, size, version)
+            if (position >= 0) {
+                overviews[position] = overview
+                return false
+            }
+            int insertion = -position - 1
+            if (size == versions.length) {
+                versions = Arrays.copyOf(versions, size * 2)
+                overviews = Arrays.copyOf(overviews, size * 2)
+            }
+            System.arraycopy(versions, insertion, versions, insertion + 1, size - insertion)
+            System.arraycopy(overviews, insertion, overviews, insertion + 1, size - insertion)
+            versions[insertion] = version
+            overviews[insertion] = overview
+            size++
+            return true
+        }
+
+        boolean remove(int version) {
+            int position = Arrays.binarySearch(versions, 0, size, version)
+            if (position < 0) {
+                return false
+            }
+            System.arraycopy(versions, position + 1, versions, position, size - position - 1)
+            System.arraycopy(overviews, position + 1, overviews, position, size - position - 1)
+            size--
+            overviews[size] = null
+            return true
+        }
+
+        OfferOverview get(int version) {
+            int position = Arrays.binarySearch(versions, 0, size, version)
+            return position >= 0 ? overviews[position] : null
+        }
+
+        OfferOverview latest() {
+            return overviews[size - 1]
+        }
+
+        List<OfferOverview> newestFirst() {
+            List<OfferOverview> newestFirst = new ArrayList<>(size)
+            for (int i = size - 1; i >= 0; i--) {
+                newestFirst.add(overviews[i])
+            }
+            return newestFirst
+        }
+
+        boolean isEmpty() {
+            return size == 0
+        }
+    }
+}
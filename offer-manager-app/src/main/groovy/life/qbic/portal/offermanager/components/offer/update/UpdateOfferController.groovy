@@ -7,6 +7,7 @@ import life.qbic.business.offers.create.CalculatePriceOutput
 import life.qbic.business.offers.create.CreateOfferInput
 import life.qbic.business.offers.fetch.FetchOfferInput
 import life.qbic.datamodel.dtos.business.*
+import life.qbic.portal.offermanager.components.offer.create.OfferPriceDraft
 
 /**
  * Controller class adapter from view information into use case input interface
@@ -25,15 +26,26 @@ class UpdateOfferController {
 
   private static final RefactorConverter refactorConverter = new RefactorConverter()
 
+  /**
+   * The offer priced for the items selected in the view
+   */
+  private final OfferPriceDraft priceDraft = new OfferPriceDraft()
+
   UpdateOfferController(CreateOfferInput input, FetchOfferInput fetchOfferInput, CalculatePriceOutput priceCalculationResultsOutput) {
     this.input = input
     this.fetchOfferInput = fetchOfferInput
     this.priceCalculationResultsOutput = priceCalculationResultsOutput
   }
 
+  /**
+   * Prices the selected items for the customer affiliation. The items are applied to the price draft
+   * of the view, so only the items changed since the last calculation are priced.
+   *
+   * @param productItems the items currently selected in the view
+   * @param affiliation the affiliation of the customer
+   */
   void calculatePriceForItems(List<ProductItem> productItems, Affiliation affiliation) {
-    OfferV2 offer = new OfferV2(refactorConverter.toAffiliation(affiliation), new life.qbic.business.offers.identifier.OfferId("price", 1))
-    offer.setItems(productItems.stream().map(it -> refactorConverter.toProductItem(offer, it)).collect() as List<life.qbic.business.products.ProductItem>)
+    OfferV2 offer = priceDraft.update(productItems, affiliation)
     priceCalculationResultsOutput.calculatedPrice(offer.salePrice.doubleValue(), offer.taxAmount.doubleValue(), offer.overhead, offer.priceAfterTax.doubleValue(), offer.totalDiscountAmount.doubleValue())
   }
 
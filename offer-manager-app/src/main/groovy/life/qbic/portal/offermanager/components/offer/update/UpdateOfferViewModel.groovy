@@ -9,6 +9,7 @@ import life.qbic.datamodel.dtos.general.Person
 import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.components.offer.create.CreateOfferViewModel
 import life.qbic.portal.offermanager.components.offer.create.ProductItemViewModel
+import life.qbic.portal.offermanager.dataresources.ReadOnlyResourcesService
 import life.qbic.portal.offermanager.dataresources.ResourcesService
 
 import java.util.stream.Collectors
@@ -30,8 +31,8 @@ class UpdateOfferViewModel extends CreateOfferViewModel {
 
     final private EventEmitter<Offer> offerUpdate
 
-    UpdateOfferViewModel(ResourcesService<Customer> customerResourceService,
-                         ResourcesService<ProjectManager> managerResourceService,
+    UpdateOfferViewModel(ReadOnlyResourcesService<Customer> customerResourceService,
+                         ReadOnlyResourcesService<ProjectManager> managerResourceService,
                          ResourcesService<Product> productsService,
                          EventEmitter<Person> updatePersonEvent,
                          EventEmitter<Offer> offerUpdateEvent) {
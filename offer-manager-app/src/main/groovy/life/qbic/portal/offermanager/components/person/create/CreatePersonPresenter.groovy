@@ -2,12 +2,9 @@ package life.qbic.portal.offermanager.components.person.create
 
 import com.vaadin.event.ListenerMethod.MethodException
 import groovy.util.logging.Log4j2
-import life.qbic.business.RefactorConverter
 import life.qbic.business.persons.create.CreatePersonOutput
-import life.qbic.datamodel.dtos.business.Customer
-import life.qbic.datamodel.dtos.business.ProjectManager
-import life.qbic.datamodel.dtos.general.Person
 import life.qbic.portal.offermanager.components.AppViewModel
+import life.qbic.portal.offermanager.dataresources.SharedResource
 
 /**
  * AppPresenter for the CreatePersonView
@@ -21,10 +18,19 @@ import life.qbic.portal.offermanager.components.AppViewModel
 class CreatePersonPresenter implements CreatePersonOutput {
     private final AppViewModel viewModel
     private final CreatePersonViewModel createPersonViewModel
-
-    CreatePersonPresenter(AppViewModel viewModel, CreatePersonViewModel createPersonViewModel) {
+    private final SharedResource<life.qbic.business.persons.Person> sharedPersons
+
+    /**
+     * @param viewModel the shared view model of the app
+     * @param createPersonViewModel the view model of the person form
+     * @param sharedPersons the persons shared by the person resource services
+     * @since 1.11.0
+     */
+    CreatePersonPresenter(AppViewModel viewModel, CreatePersonViewModel createPersonViewModel,
+                          SharedResource<life.qbic.business.persons.Person> sharedPersons) {
         this.viewModel = viewModel
         this.createPersonViewModel = createPersonViewModel
+        this.sharedPersons = sharedPersons
     }
 
     private void clearPersonData() {
@@ -58,80 +64,35 @@ class CreatePersonPresenter implements CreatePersonOutput {
     }
 
 
+    /**
+     * Adds the created person to the shared persons. The customers, project managers and person
+     * entries of every session are projections of the shared persons and present the person with
+     * the next announcement of the shared persons.
+     *
+     * @param person the created person
+     */
     @Override
     void personCreated(life.qbic.business.persons.Person person) {
-        RefactorConverter refactorConverter = new RefactorConverter()
-        Customer customer = refactorConverter.toCustomerDto(person)
-        ProjectManager manager = refactorConverter.toProjectManagerDto(person)
-        try {
-            if (createPersonViewModel.outdatedPerson) {
-                removeOutdatedPersonFromResources()
-            }
-        } catch (Exception e) {
-            log.error e.message
-            log.error e.stackTrace.join("\n")
-        }
-        createPersonViewModel.customerService.addToResource(customer)
-        createPersonViewModel.managerResourceService.addToResource(manager)
-        createPersonViewModel.personResourceService.addToResource(refactorConverter.toPersonDTO(person))
+        sharedPersons.add(person)
         //reset the view model
         clearPersonData()
         viewModel.successNotifications.add("Successfully created new person entry.")
     }
 
-    private void removeOutdatedPersonFromResources() {
-        removeOutdatedPersonFromCustomers()
-        removeOutdatedPersonFromProjectManagers()
-    }
-
-    private void removeOutdatedPersonFromProjectManagers() {
-        Iterator<ProjectManager> managerIterator = createPersonViewModel.managerResourceService.iterator()
-        ProjectManager outdatedManager = translateToProjectManager(createPersonViewModel.outdatedPerson)
-        managerIterator.each {
-            if (semanticallySamePerson(it, outdatedManager)) {
-                createPersonViewModel.managerResourceService.removeFromResource(it)
-            }
-        }
-        createPersonViewModel.personResourceService.removeFromResource(createPersonViewModel.outdatedPerson)
-    }
-
-    private void removeOutdatedPersonFromCustomers() {
-        Iterator<Customer> customerIterator = createPersonViewModel.customerService.iterator()
-        Customer outdatedCustomer = translateToCustomer(createPersonViewModel.outdatedPerson)
-        customerIterator.each {
-            if (semanticallySamePerson(it, outdatedCustomer)) {
-                createPersonViewModel.customerService.removeFromResource(it)
-            }
-        }
-    }
-
-    private static boolean semanticallySamePerson(Person person, Person other) {
-        return person.firstName == other.firstName
-                && person.lastName == other.lastName
-                && person.emailAddress == other.emailAddress
-    }
-
+    /**
+     * Reloads the shared persons. An update of the basic person data deactivates the outdated person
+     * entry and stores the updated person as a new entry, the outdated entry is not known to this
+     * presenter. Loading all active persons again is the intended invalidation, it replaces the
+     * outdated entry in the customers, project managers and person entries of every session.
+     *
+     * @param person the updated person
+     */
     @Override
     void personUpdated(life.qbic.business.persons.Person person) {
-        personCreated(person)
-    }
-
-    private static Customer translateToCustomer(Person person){
-        Customer customer = new Customer.Builder(person.firstName,
-                person.lastName,
-                person.emailAddress)
-                .title(person.title)
-                .affiliations(person.affiliations).build()
-        return customer
-    }
-
-    private static ProjectManager translateToProjectManager(Person person){
-        ProjectManager manager = new ProjectManager.Builder(person.firstName,
-                person.lastName,
-                person.emailAddress)
-                .title(person.title)
-                .affiliations(person.affiliations).build()
-        return manager
+        sharedPersons.reload()
+        //reset the view model
+        clearPersonData()
+        viewModel.successNotifications.add("Successfully created new person entry.")
     }
 
 }
@@ -7,6 +7,8 @@ import life.qbic.datamodel.dtos.business.Customer
 import life.qbic.datamodel.dtos.business.ProjectManager
 import life.qbic.datamodel.dtos.general.Person
 import life.qbic.portal.offermanager.components.Resettable
+import life.qbic.portal.offermanager.dataresources.ChangeSet
+import life.qbic.portal.offermanager.dataresources.ReadOnlyResourcesService
 import life.qbic.portal.offermanager.dataresources.ResourcesService
 /**
  * A ViewModel holding data that is presented in a
@@ -39,15 +41,15 @@ class CreatePersonViewModel implements Resettable{
 
     ObservableList availableOrganisations
 
-    final ResourcesService<Customer> customerService
-    final ResourcesService<ProjectManager> managerResourceService
+    final ReadOnlyResourcesService<Customer> customerService
+    final ReadOnlyResourcesService<ProjectManager> managerResourceService
     final ResourcesService<Affiliation> affiliationService
-    final ResourcesService<Person> personResourceService
+    final ReadOnlyResourcesService<Person> personResourceService
 
-    CreatePersonViewModel(ResourcesService<Customer> customerService,
-                          ResourcesService<ProjectManager> managerResourceService,
+    CreatePersonViewModel(ReadOnlyResourcesService<Customer> customerService,
+                          ReadOnlyResourcesService<ProjectManager> managerResourceService,
                           ResourcesService<Affiliation> affiliationService,
-                          ResourcesService<Person> personResourceService) {
+                          ReadOnlyResourcesService<Person> personResourceService) {
         this.affiliationService = affiliationService
         this.customerService = customerService
         this.managerResourceService = managerResourceService
@@ -55,18 +57,26 @@ class CreatePersonViewModel implements Resettable{
         availableOrganisations = new ObservableList()
         refreshAvailableOrganizations()
 
-        this.affiliationService.subscribe({
-            List foundOrganisations = availableOrganisations.findAll() { organisation -> (organisation as Organisation).name == it.organisation }
-            if (foundOrganisations.empty) {
-                //create a new organisation
-                availableOrganisations << new Organisation(it.organisation, [it])
-            }else{
-                //add the new affiliation
-                (foundOrganisations.get(0) as Organisation).affiliations << it
+        this.affiliationService.subscribeToChanges({ ChangeSet<Affiliation> changes ->
+            if (changes.removed || changes.updated) {
+                refreshAvailableOrganizations()
+            } else {
+                changes.added.each { addToOrganisations(it) }
             }
         })
     }
 
+    private void addToOrganisations(Affiliation affiliation) {
+        List foundOrganisations = availableOrganisations.findAll() { organisation -> (organisation as Organisation).name == affiliation.organisation }
+        if (foundOrganisations.empty) {
+            //create a new organisation
+            availableOrganisations << new Organisation(affiliation.organisation, [affiliation])
+        }else{
+            //add the new affiliation
+            (foundOrganisations.get(0) as Organisation).affiliations << affiliation
+        }
+    }
+
     private void refreshAvailableOrganizations() {
         availableOrganisations.clear()
         List<Affiliation> affiliations = affiliationService.iterator().collect()
@@ -2,7 +2,8 @@ package life.qbic.portal.offermanager.components.person.search
 
 import life.qbic.datamodel.dtos.general.Person
 import life.qbic.portal.offermanager.communication.EventEmitter
-import life.qbic.portal.offermanager.dataresources.ResourcesService
+import life.qbic.portal.offermanager.dataresources.ChangeSet
+import life.qbic.portal.offermanager.dataresources.ReadOnlyResourcesService
 
 /**
  * View model of the SearchPerson use case
@@ -15,12 +16,12 @@ class SearchPersonViewModel {
 
     ObservableList availablePersons
 
-    private final ResourcesService<Person> personService
+    private final ReadOnlyResourcesService<Person> personService
 
     Optional<Person> selectedPerson
     EventEmitter<Person> personEvent
 
-    SearchPersonViewModel(ResourcesService<Person> personService,
+    SearchPersonViewModel(ReadOnlyResourcesService<Person> personService,
                           EventEmitter<Person> personEvent) {
         this.personService = personService
         this.personEvent = personEvent
@@ -35,8 +36,8 @@ class SearchPersonViewModel {
     }
 
     private void subscribeToResources() {
-        this.personService.subscribe((Person person) -> {
-            this.fetchPersonData()
+        this.personService.subscribeToChanges((ChangeSet<Person> changes) -> {
+            changes.applyTo(availablePersons)
         })
     }
 
@@ -8,6 +8,7 @@ import life.qbic.datamodel.dtos.general.Person
 import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.components.Resettable
 import life.qbic.portal.offermanager.components.person.create.CreatePersonViewModel
+import life.qbic.portal.offermanager.dataresources.ReadOnlyResourcesService
 import life.qbic.portal.offermanager.dataresources.ResourcesService
 
 import java.util.function.Function
@@ -36,11 +37,11 @@ class UpdatePersonViewModel extends CreatePersonViewModel implements Resettable{
     @Bindable
     Boolean affiliationsValid
 
-    UpdatePersonViewModel(ResourcesService<Customer> customerService,
-                          ResourcesService<ProjectManager> managerResourceService,
+    UpdatePersonViewModel(ReadOnlyResourcesService<Customer> customerService,
+                          ReadOnlyResourcesService<ProjectManager> managerResourceService,
                           ResourcesService<Affiliation> affiliationService,
                           EventEmitter<Person> customerUpdate,
-                          ResourcesService<Person> personResourceService) {
+                          ReadOnlyResourcesService<Person> personResourceService) {
         super(customerService, managerResourceService, affiliationService, personResourceService)
         this.customerUpdate = customerUpdate
         affiliationList = new ObservableList(new ArrayList<Affiliation>())
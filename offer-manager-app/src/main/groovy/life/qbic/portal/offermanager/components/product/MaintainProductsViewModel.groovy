@@ -3,6 +3,7 @@ package life.qbic.portal.offermanager.components.product
 import groovy.beans.Bindable
 import life.qbic.datamodel.dtos.business.services.Product
 import life.qbic.portal.offermanager.communication.EventEmitter
+import life.qbic.portal.offermanager.dataresources.ChangeSet
 import life.qbic.portal.offermanager.dataresources.ResourcesService
 
 /**
@@ -47,14 +48,9 @@ class MaintainProductsViewModel {
     }
 
     private void subscribe() {
-        productsResourcesService.subscribe({ product ->
-            refreshList()
+        productsResourcesService.subscribeToChanges({ ChangeSet<Product> changes ->
+            changes.applyTo(products)
         })
     }
 
-    private void refreshList() {
-        products.clear()
-        products.addAll(productsResourcesService.iterator().toList())
-    }
-
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package life.qbic.portal.offermanager.dataresources
+
+import life.qbic.portal.offermanager.communication.EventEmitter
+import life.qbic.portal.offermanager.communication.Subscription
+
+import java.util.function.Function
+
+/**
+ * Publishes the changes of a shared resource to the subscriptions of one service
+ *
+ * The publisher remembers the items it has published last. Publishing the current items emits
+ * one change set with the differences, so the subscriptions also learn about changes that were
+ * made through the services of other sessions in the meantime.
+ *
+ * @since 1.11.0
+ * @see ChangeSet
+ */
+class ChangePublisher<T> {
+
+    private final EventEmitter<ChangeSet<T>> changeEmitter = new EventEmitter<>()
+
+    private final Function<T, ?> identity
+
+    private List<T> publishedItems
+
+    /**
+     * @param identity determines the identity of an item, to detect updated items
+     * @param publishedItems the items known to the subscriptions, they must not be changed afterwards
+     */
+    ChangePublisher(Function<T, ?> identity, List<T> publishedItems) {
+        this.identity = Objects.requireNonNull(identity, "Identity must not be null")
+        this.publishedItems = Objects.requireNonNull(publishedItems, "Published items must not be null")
+    }
+
+    /**
+     * Emits the changes between the last published items and the current items, if there are any.
+     *
+     * @param currentItems the current items of the resource, they must not be changed afterwards
+     * @return the published changes
+     */
+    ChangeSet<T> publish(List<T> currentItems) {
+        ChangeSet<T> changes = ChangeSet.between(publishedItems, currentItems, identity)
+        publishedItems = currentItems
+        if (!changes.isEmpty()) {
+            changeEmitter.emit(changes)
+        }
+        return changes
+    }
+
+    void subscribe(Subscription<ChangeSet<T>> subscription) {
+        changeEmitter.register(subscription)
+    }
+
+    void unsubscribe(Subscription<ChangeSet<T>> subscription) {
+        changeEmitter.unregister(subscription)
+    }
+}
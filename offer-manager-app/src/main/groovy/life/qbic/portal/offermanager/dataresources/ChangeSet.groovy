@@ -0,0 +1,150 @@
+package life.qbic.portal.offermanager.dataresources
+
+import java.util.function.Function
+
+/**
+ * The changes of a resource that are published together
+ *
+ * A change set holds the added, the removed and the updated items of one change of a resource,
+ * for example a reload. Subscribers receive one change set per change instead of one event per
+ * item and can apply it to their copy of the items in a single pass.
+ *
+ * @since 1.11.0
+ * @see ResourcesService#subscribeToChanges
+ */
+class ChangeSet<T> {
+
+    /**
+     * The items that are new to the resource
+     */
+    final List<T> added
+
+    /**
+     * The items that are no longer part of the resource
+     */
+    final List<T> removed
+
+    /**
+     * The items that have been replaced by a new state of the same item
+     */
+    final List<Update<T>> updated
+
+    private ChangeSet(List<T> added, List<T> removed, List<Update<T>> updated) {
+        this.added = Collections.unmodifiableList(added)
+        this.removed = Collections.unmodifiableList(removed)
+        this.updated = Collections.unmodifiableList(updated)
+    }
+
+    /**
+     * @param item the added item
+     * @return a change set adding the item
+     */
+    static <T> ChangeSet<T> ofAdded(T item) {
+        return new ChangeSet<T>([item], [], [])
+    }
+
+    /**
+     * @param item the removed item
+     * @return a change set removing the item
+     */
+    static <T> ChangeSet<T> ofRemoved(T item) {
+        return new ChangeSet<T>([], [item], [])
+    }
+
+    /**
+     * @param previous the replaced item
+     * @param current the replacing item
+     * @return a change set replacing the item
+     */
+    static <T> ChangeSet<T> ofUpdated(T previous, T current) {
+        return new ChangeSet<T>([], [], [new Update<T>(previous, current)])
+    }
+
+    /**
+     * Determines the changes between two states of a resource.
+     *
+     * Items are matched by their identity. Matched items that are not equal are updated, the other
+     * items have been added or removed.
+     *
+     * @param before the previous items of the resource
+     * @param after the current items of the resource
+     * @param identity determines the identity of an item, items without identity are matched by equality
+     * @return the changes that turn the previous items into the current items
+     */
+    static <T> ChangeSet<T> between(Collection<T> before, Collection<T> after, Function<T, ?> identity) {
+        Map<Object, T> previousItems = new LinkedHashMap<>(before.size() * 2)
+        for (T item : before) {
+            previousItems.put(identityOf(item, identity), item)
+        }
+        List<T> added = []
+        List<Update<T>> updated = []
+        for (T item : after) {
+            T previous = previousItems.remove(identityOf(item, identity))
+            if (previous == null) {
+                added.add(item)
+            } else if (!previous.equals(item)) {
+                updated.add(new Update<T>(previous, item))
+            }
+        }
+        return new ChangeSet<T>(added, new ArrayList<T>(previousItems.values()), updated)
+    }
+
+    private static <T> Object identityOf(T item, Function<T, ?> identity) {
+        Object key = identity.apply(item)
+        return key != null ? key : item
+    }
+
+    /**
+     * @return true, if the change set does not change anything
+     */
+    boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && updated.isEmpty()
+    }
+
+    /**
+     * Applies the changes to a copy of the resource items.
+     *
+     * Removed items are dropped, updated items are replaced at their position and added items are
+     * appended. Updated items missing in the list are appended as well. The list is traversed once,
+     * independent of the number of changes.
+     *
+     * @param items the items to change
+     */
+    void applyTo(List<T> items) {
+        if (isEmpty()) {
+            return
+        }
+        Set<T> removedItems = new HashSet<>(removed)
+        Map<T, T> replacements = new HashMap<>(updated.size() * 2)
+        for (Update<T> update : updated) {
+            replacements.put(update.previous, update.current)
+        }
+        List<T> changedItems = new ArrayList<>(items.size() + added.size())
+        for (T item : items) {
+            if (removedItems.contains(item)) {
+                continue
+            }
+            T replacement = replacements.remove(item)
+            changedItems.add(replacement != null ? replacement : item)
+        }
+        changedItems.addAll(replacements.values())
+        changedItems.addAll(added)
+        items.clear()
+        items.addAll(changedItems)
+    }
+
+    /**
+     * A new state of an item
+     */
+    static class Update<T> {
+
+        final T previous
+
+        final T current
+
+        Update(T previous, T current) {
+            this.previous = previous
+            this.current = current
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package life.qbic.portal.offermanager.dataresources
+
+import life.qbic.portal.offermanager.communication.Subscription
+
+/**
+ * Services that present resources which cannot be changed through the service itself.
+ *
+ * The resources can be reloaded, iterated and followed by their change sets only.
+ *
+ * @since 1.11.0
+ * @see ResourcesService
+ */
+interface ReadOnlyResourcesService<T> {
+
+    /**
+     * Triggers a service to reload its resources.
+     * This clears the current list and reloads the data from the connected datasource
+     *
+     */
+    void reloadResources()
+
+    /**
+     * Subscribes to the changes of the resource. A change set is emitted once per change of the
+     * resource, a reload emits all added, removed and updated items together.
+     *
+     * @param subscription The subscription to register for change sets
+     * @since 1.11.0
+     */
+    void subscribeToChanges(Subscription<ChangeSet<T>> subscription)
+
+    /**
+     * Unsubscribe from the change sets of the service.
+     *
+     * @param subscription The subscription to remove
+     * @since 1.11.0
+     */
+    void unsubscribeFromChanges(Subscription<ChangeSet<T>> subscription)
+
+    /**
+     * Returns an iterator that provides access to all resource items of the service.
+     *
+     * @return An iterator of type resource type T
+     */
+    Iterator<T> iterator()
+}
@@ -0,0 +1,59 @@
+package life.qbic.portal.offermanager.dataresources
+
+import java.util.concurrent.atomic.AtomicReference
+import java.util.function.Function
+
+/**
+ * A view of a shared resource with every item mapped to another type
+ *
+ * The items are mapped the first time the projection is read after the source resource has
+ * changed. The mapped snapshot has the version of the source snapshot it was derived from and is
+ * kept until the source changes again, so several projections of one resource only load the source
+ * items once.
+ *
+ * @since 1.11.0
+ * @see SharedResourceRegistry
+ */
+class ResourceProjection<S, T> {
+
+    private final SharedResource<S> source
+
+    private final Function<S, T> mapping
+
+    private final AtomicReference<ResourceSnapshot<T>> projectedSnapshot = new AtomicReference<>()
+
+    /**
+     * @param source the resource to project
+     * @param mapping maps an item of the source to an item of the projection
+     */
+    ResourceProjection(SharedResource<S> source, Function<S, T> mapping) {
+        this.source = Objects.requireNonNull(source, "Source resource must not be null")
+        this.mapping = Objects.requireNonNull(mapping, "Mapping must not be null")
+    }
+
+    /**
+     * @return the projection of the current source snapshot
+     */
+    ResourceSnapshot<T> snapshot() {
+        ResourceSnapshot<S> sourceSnapshot = source.snapshot()
+        ResourceSnapshot<T> cached = projectedSnapshot.get()
+        if (cached != null && cached.version == sourceSnapshot.version) {
+            return cached
+        }
+        List<T> items = new ArrayList<>(sourceSnapshot.size())
+        for (S item : sourceSnapshot) {
+            items.add(mapping.apply(item))
+        }
+        ResourceSnapshot<T> projected = ResourceSnapshot.of(sourceSnapshot.version, items)
+        // a projection of a newer source snapshot is never replaced by this one
+        projectedSnapshot.compareAndSet(cached, projected)
+        return projected
+    }
+
+    /**
+     * @return the projected resource
+     */
+    SharedResource<S> getSource() {
+        return source
+    }
+}
@@ -0,0 +1,58 @@
+package life.qbic.portal.offermanager.dataresources
+
+/**
+ * An immutable state of a shared resource
+ *
+ * A snapshot is never changed after it has been published, so it can be read by any number of
+ * threads without copying it. Every change of a resource publishes a new snapshot with a higher
+ * version.
+ *
+ * @since 1.11.0
+ * @see SharedResource
+ */
+class ResourceSnapshot<T> implements Iterable<T> {
+
+    /**
+     * The version of the snapshot, increases with every change of the resource
+     */
+    final long version
+
+    private final List<T> items
+
+    private ResourceSnapshot(long version, List<T> items) {
+        this.version = version
+        this.items = Collections.unmodifiableList(items)
+    }
+
+    /**
+     * Creates a snapshot from a copy of the given items
+     * @param version the version of the snapshot
+     * @param items the items of the snapshot
+     * @return a snapshot of the items
+     */
+    static <T> ResourceSnapshot<T> of(long version, Collection<T> items) {
+        return new ResourceSnapshot<T>(version, new ArrayList<T>(items))
+    }
+
+    /**
+     * @return a read-only view of the items, in the order they were added
+     */
+    List<T> getItems() {
+        return items
+    }
+
+    /**
+     * @return the number of items in the snapshot
+     */
+    int size() {
+        return items.size()
+    }
+
+    /**
+     * @return a read-only iterator over the items of the snapshot
+     */
+    @Override
+    Iterator<T> iterator() {
+        return items.iterator()
+    }
+}
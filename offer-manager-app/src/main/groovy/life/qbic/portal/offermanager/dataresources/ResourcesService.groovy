@@ -6,18 +6,13 @@ import life.qbic.portal.offermanager.communication.Subscription
  * Services can be triggered to reload their resources they present.
  * @since 1.0.0
  */
-interface ResourcesService<T> {
-
-    /**
-     * Triggers a service to reload its resources.
-     * This clears the current list and reloads the data from the connected datasource
-     *
-     */
-    void reloadResources()
+interface ResourcesService<T> extends ReadOnlyResourcesService<T> {
 
     /**
      * Subscribes to service update events. Update events are emitted by the service when new
-     * resource items are added, removed or the resource has refreshed.
+     * resource items are added or removed. Refreshing the resource emits a single change set instead.
+     *
+     * @see #subscribeToChanges
      *
      * @param subscription The subscription to register for update events
      */
@@ -43,11 +38,4 @@ interface ResourcesService<T> {
      * @param resourceItem
      */
     void removeFromResource(T resourceItem)
-
-    /**
-     * Returns an iterator that provides access to all resource items of the service.
-     *
-     * @return An iterator of type resource type T
-     */
-    Iterator<T> iterator()
 }
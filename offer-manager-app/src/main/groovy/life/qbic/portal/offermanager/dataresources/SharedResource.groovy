@@ -0,0 +1,209 @@
+package life.qbic.portal.offermanager.dataresources
+
+import com.vaadin.ui.UI
+import life.qbic.portal.offermanager.communication.EmitterStatistics
+import life.qbic.portal.offermanager.communication.EventEmitter
+import life.qbic.portal.offermanager.communication.Subscription
+
+import java.time.Duration
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReference
+import java.util.function.Consumer
+import java.util.function.Supplier
+
+/**
+ * A resource that is shared by all user sessions
+ *
+ * The resource holds its items in an immutable {@link ResourceSnapshot}. Reading the resource
+ * returns the current snapshot without copying it. A change copies the current items, applies the
+ * change to the copy and publishes the result atomically as a new snapshot, so readers never
+ * observe a partial change and concurrent changes are not lost.
+ *
+ * Changes are expected to be rare compared to reads.
+ *
+ * Every new snapshot is announced to the sessions that subscribed to the resource, so they can
+ * present changes made through other sessions.
+ *
+ * Changes written to the data source by other applications are only seen after a reload. The
+ * resource remembers when it was loaded, so it can be reloaded once it is older than a given age.
+ *
+ * @since 1.11.0
+ * @see SharedResourceRegistry
+ */
+class SharedResource<T> {
+
+    private final Supplier<List<T>> loader
+
+    private final AtomicReference<ResourceSnapshot<T>> currentSnapshot
+
+    private final EventEmitter<ResourceSnapshot<T>> snapshotEmitter
+
+    /**
+     * The value of {@link System#nanoTime()} when the items were loaded last
+     */
+    private final AtomicLong loadedAt
+
+    /**
+     * Creates a resource and loads its items. New snapshots are announced by the changing thread.
+     *
+     * The loader is kept for reloading the resource as long as the application runs, so it must not
+     * reference objects of a user session.
+     *
+     * @param loader provides the items of the resource from the data source
+     */
+    SharedResource(Supplier<List<T>> loader) {
+        this(loader, new EventEmitter<ResourceSnapshot<T>>())
+    }
+
+    /**
+     * Creates a resource and loads its items. New snapshots are announced on the given executor.
+     *
+     * @param loader provides the items of the resource from the data source
+     * @param dispatcher the executor announcing new snapshots to the subscribed sessions
+     * @see #SharedResource(Supplier)
+     */
+    SharedResource(Supplier<List<T>> loader, Executor dispatcher) {
+        this(loader, new EventEmitter<ResourceSnapshot<T>>(dispatcher))
+    }
+
+    private SharedResource(Supplier<List<T>> loader, EventEmitter<ResourceSnapshot<T>> snapshotEmitter) {
+        this.loader = Objects.requireNonNull(loader, "Resource loader must not be null")
+        this.loadedAt = new AtomicLong(System.nanoTime())
+        this.currentSnapshot = new AtomicReference<>(ResourceSnapshot.of(0, loader.get()))
+        this.snapshotEmitter = snapshotEmitter
+    }
+
+    /**
+     * Subscribes a session to the new snapshots of the resource. The subscription is notified with
+     * the session lock held and is cancelled when the UI detaches.
+     *
+     * Snapshots may be announced late and out of order, subscriptions should read the current
+     * snapshot instead of relying on the announced one.
+     *
+     * @param subscription the subscription to notify about new snapshots
+     * @param ui the UI of the subscribing session
+     */
+    void subscribe(Subscription<ResourceSnapshot<T>> subscription, UI ui) {
+        snapshotEmitter.register(subscription, ui)
+    }
+
+    /**
+     * Subscribes to the new snapshots of the resource for as long as the application runs. The
+     * subscription is notified by the thread announcing the snapshots and must not access a session.
+     *
+     * Snapshots may be announced late and out of order, subscriptions should read the current
+     * snapshot instead of relying on the announced one.
+     *
+     * @param subscription the subscription to notify about new snapshots
+     */
+    void subscribe(Subscription<ResourceSnapshot<T>> subscription) {
+        snapshotEmitter.register(subscription)
+    }
+
+    /**
+     * @param subscription the subscription to cancel
+     */
+    void unsubscribe(Subscription<ResourceSnapshot<T>> subscription) {
+        snapshotEmitter.unregister(subscription)
+    }
+
+    /**
+     * @return the subscribed sessions and the announcements of new snapshots
+     */
+    EmitterStatistics getStatistics() {
+        return snapshotEmitter.getStatistics()
+    }
+
+    /**
+     * @return the current state of the resource
+     */
+    ResourceSnapshot<T> snapshot() {
+        return currentSnapshot.get()
+    }
+
+    /**
+     * Loads the items of the resource from the data source again and publishes them.
+     * @return the reloaded snapshot
+     */
+    ResourceSnapshot<T> reload() {
+        loadedAt.set(System.nanoTime())
+        List<T> items = loader.get()
+        return update({ List<T> current ->
+            current.clear()
+            current.addAll(items)
+        })
+    }
+
+    /**
+     * Reloads the resource if its items were loaded longer ago than the given age.
+     *
+     * Only one of several concurrent callers reloads an expired resource, the others continue with
+     * the current snapshot. If the reload fails, the next caller tries again.
+     *
+     * @param maxAge the age after which the items are loaded again
+     * @return true, if the resource was reloaded
+     */
+    boolean reloadIfOlderThan(Duration maxAge) {
+        long lastLoad = loadedAt.get()
+        long now = System.nanoTime()
+        if (now - lastLoad < maxAge.toNanos() || !loadedAt.compareAndSet(lastLoad, now)) {
+            return false
+        }
+        try {
+            reload()
+        } catch (RuntimeException e) {
+            loadedAt.compareAndSet(now, lastLoad)
+            throw e
+        }
+        return true
+    }
+
+    /**
+     * Adds an item to the resource.
+     * @param item the item to add
+     * @return the snapshot containing the item
+     */
+    ResourceSnapshot<T> add(T item) {
+        return update({ List<T> current -> current.add(item) })
+    }
+
+    /**
+     * Removes an item from the resource.
+     * @param item the item to remove
+     * @return the snapshot without the item
+     */
+    ResourceSnapshot<T> remove(T item) {
+        return update({ List<T> current -> current.removeElement(item) })
+    }
+
+    /**
+     * Replaces an item of the resource. The replacement is added if the item is not part of the resource.
+     * @param item the item to replace
+     * @param replacement the item replacing it
+     * @return the snapshot containing the replacement
+     */
+    ResourceSnapshot<T> replace(T item, T replacement) {
+        return update({ List<T> current ->
+            int position = current.indexOf(item)
+            if (position < 0) {
+                current.add(replacement)
+            } else {
+                current.set(position, replacement)
+            }
+        })
+    }
+
+    private ResourceSnapshot<T> update(Consumer<List<T>> change) {
+        while (true) {
+            ResourceSnapshot<T> current = currentSnapshot.get()
+            List<T> items = new ArrayList<>(current.getItems())
+            change.accept(items)
+            ResourceSnapshot<T> updated = ResourceSnapshot.of(current.version + 1, items)
+            if (currentSnapshot.compareAndSet(current, updated)) {
+                snapshotEmitter.emit(updated)
+                return updated
+            }
+        }
+    }
+}
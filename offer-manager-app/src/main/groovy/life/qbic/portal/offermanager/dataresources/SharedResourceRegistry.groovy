@@ -0,0 +1,128 @@
+package life.qbic.portal.offermanager.dataresources
+
+import groovy.util.logging.Log4j2
+import life.qbic.portal.offermanager.communication.EmitterStatistics
+
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadFactory
+import java.util.function.Function
+import java.util.function.Supplier
+
+/**
+ * Holds the resources that are shared by all user sessions
+ *
+ * Every portlet UI creates its own resource services. Instead of loading and holding the whole
+ * resource for every session, the services obtain the resource from the registry of the application,
+ * so the items are loaded once and kept in memory once, regardless of the number of sessions.
+ *
+ * A resource is loaded the first time it is requested. Changes made through any session are
+ * visible to all sessions the next time they read the resource. Sessions subscribed to a resource
+ * are notified about its changes by a single thread of the registry, so a change never waits for
+ * the other sessions.
+ *
+ * Changes written to the data sources by other applications are picked up when a session starts
+ * after the resource expired, see {@link #reloadExpired(Duration)}.
+ *
+ * @since 1.11.0
+ */
+@Log4j2
+class SharedResourceRegistry {
+
+    private static final SharedResourceRegistry INSTANCE = new SharedResourceRegistry()
+
+    private final ConcurrentMap<String, SharedResource<?>> resources = new ConcurrentHashMap<>()
+
+    private final ConcurrentMap<String, ResourceProjection<?, ?>> projections = new ConcurrentHashMap<>()
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor({ Runnable task ->
+        Thread thread = new Thread(task, "shared-resource-events")
+        thread.setDaemon(true)
+        return thread
+    } as ThreadFactory)
+
+    /**
+     * @return the registry shared by all sessions of the application
+     */
+    static SharedResourceRegistry getInstance() {
+        return INSTANCE
+    }
+
+    /**
+     * Returns the resource with the given name, the resource is loaded if it has not been requested before.
+     *
+     * @param name the unique name of the resource
+     * @param loader provides the items of the resource from the data source
+     * @return the shared resource
+     */
+    def <T> SharedResource<T> resource(String name, Supplier<List<T>> loader) {
+        return resources.computeIfAbsent(name, {
+            SharedResource<T> resource = new SharedResource<T>(loader, dispatcher)
+            log.info("Loaded shared resource $name with ${resource.snapshot().size()} items.")
+            return resource
+        }) as SharedResource<T>
+    }
+
+    /**
+     * Returns the projection with the given name, the projection is created if it has not been requested before.
+     *
+     * @param name the unique name of the projection
+     * @param source the resource to project
+     * @param mapping maps an item of the source to an item of the projection
+     * @return the shared projection
+     */
+    def <S, T> ResourceProjection<S, T> projection(String name, SharedResource<S> source, Function<S, T> mapping) {
+        return projections.computeIfAbsent(name, {
+            new ResourceProjection<S, T>(source, mapping)
+        }) as ResourceProjection<S, T>
+    }
+
+    /**
+     * Reloads every loaded resource whose items are older than the given age.
+     *
+     * A resource that cannot be reloaded keeps its items and is tried again with the next call.
+     *
+     * @param maxAge the age after which the items of a resource are loaded again
+     * @return the names of the reloaded resources
+     */
+    List<String> reloadExpired(Duration maxAge) {
+        List<String> reloaded = []
+        resources.each { String name, SharedResource<?> resource ->
+            try {
+                if (resource.reloadIfOlderThan(maxAge)) {
+                    reloaded.add(name)
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not reload the shared resource $name.", e)
+            }
+        }
+        return reloaded
+    }
+
+    /**
+     * @return the subscribed sessions and the announced changes of every loaded resource by name
+     */
+    Map<String, EmitterStatistics> getStatistics() {
+        return resources.collectEntries { String name, SharedResource<?> resource ->
+            [(name): resource.getStatistics()]
+        } as Map<String, EmitterStatistics>
+    }
+
+    /**
+     * Releases all resources and their projections. They are loaded again the next time they are requested.
+     */
+    void clear() {
+        projections.clear()
+        resources.clear()
+    }
+
+    /**
+     * Stops notifying sessions about changes of the resources. Changes are not announced afterwards.
+     */
+    void shutdown() {
+        dispatcher.shutdownNow()
+    }
+}
@@ -0,0 +1,91 @@
+package life.qbic.portal.offermanager.dataresources.database
+
+import groovy.transform.EqualsAndHashCode
+import groovy.transform.ToString
+
+/**
+ * A snapshot of the second-level cache usage at a given time.
+ *
+ * @since 1.11.0
+ */
+@ToString(includeNames = true)
+@EqualsAndHashCode
+class CacheStatistics {
+
+    /**
+     * The number of entities found in the cache
+     */
+    final long entityHits
+
+    /**
+     * The number of entities looked up in the cache but not found
+     */
+    final long entityMisses
+
+    /**
+     * The number of entities put into the cache
+     */
+    final long entityPuts
+
+    /**
+     * The number of query results found in the cache
+     */
+    final long queryHits
+
+    /**
+     * The number of query results looked up in the cache but not found
+     */
+    final long queryMisses
+
+    /**
+     * The hit and miss counts per cache region
+     */
+    final Map<String, RegionStatistics> regions
+
+    CacheStatistics(long entityHits,
+                    long entityMisses,
+                    long entityPuts,
+                    long queryHits,
+                    long queryMisses,
+                    Map<String, RegionStatistics> regions) {
+        this.entityHits = entityHits
+        this.entityMisses = entityMisses
+        this.entityPuts = entityPuts
+        this.queryHits = queryHits
+        this.queryMisses = queryMisses
+        this.regions = Collections.unmodifiableMap(new LinkedHashMap<>(regions))
+    }
+
+    /**
+     * @return the share of entity lookups served by the cache, 0 if no lookup happened
+     */
+    double getEntityHitRatio() {
+        long lookups = entityHits + entityMisses
+        return lookups == 0 ? 0d : entityHits / (double) lookups
+    }
+
+    /**
+     * The usage of a single cache region
+     *
+     * @since 1.11.0
+     */
+    @ToString(includeNames = true)
+    @EqualsAndHashCode
+    static class RegionStatistics {
+
+        final long hits
+
+        final long misses
+
+        final long puts
+
+        final long cachedElements
+
+        RegionStatistics(long hits, long misses, long puts, long cachedElements) {
+            this.hits = hits
+            this.misses = misses
+            this.puts = puts
+            this.cachedElements = cachedElements
+        }
+    }
+}
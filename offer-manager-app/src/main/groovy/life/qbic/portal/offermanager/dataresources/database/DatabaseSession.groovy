@@ -1,9 +1,15 @@
 package life.qbic.portal.offermanager.dataresources.database
 
+import com.zaxxer.hikari.HikariConfig
+import com.zaxxer.hikari.HikariDataSource
+import com.zaxxer.hikari.HikariPoolMXBean
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory
+import com.zaxxer.hikari.metrics.PoolStats
 import groovy.util.logging.Log4j2
-import org.apache.commons.dbcp2.BasicDataSource
 
+import javax.sql.DataSource
 import java.sql.Connection
+import java.sql.DriverManager
 import java.sql.SQLException
 
 /**
@@ -21,11 +27,24 @@ class DatabaseSession implements ConnectionProvider {
 
     protected static DatabaseSession INSTANCE
 
-    private BasicDataSource dataSource
+    /**
+     * Location of the connection pool configuration. Every property can be overridden by a
+     * system property with the same name.
+     */
+    static final String POOL_PROPERTIES_FILE_PATH = "database-pool.properties"
+
+    private static final String POOL_NAME = "offer-manager-pool"
+
+    private static final String DRIVER_CLASS_NAME = "com.mysql.cj.jdbc.Driver"
+
+    private HikariDataSource dataSource
+
+    private final PoolMetricsTracker metricsTracker
 
     private DatabaseSession() {
         //This is a private Singleton constructor
         dataSource = null
+        metricsTracker = new PoolMetricsTracker()
     }
 
 
@@ -38,30 +57,100 @@ class DatabaseSession implements ConnectionProvider {
      * @param port the port on which the database is hosted
      * @param sqlDatabase the name of the database
      */
-    static void init(String user,
+    static synchronized void init(String user,
                      String password,
                      String host,
                      String port,
                      String sqlDatabase) {
         if (INSTANCE == null) {
-            INSTANCE = new DatabaseSession()
+            DatabaseSession databaseSession = new DatabaseSession()
 
-            Class.forName("com.mysql.jdbc.Driver")
             String url = "jdbc:mysql://${host}:${port}/${sqlDatabase}"
+            Properties poolProperties = loadPoolProperties()
 
-            BasicDataSource basicDataSource = new BasicDataSource()
-            basicDataSource.setUrl(url)
-            basicDataSource.setUsername(user)
-            basicDataSource.setPassword(password)
-            basicDataSource.setMinIdle(5)
-            basicDataSource.setMaxIdle(10)
-            basicDataSource.setMaxOpenPreparedStatements(100)
-            INSTANCE.dataSource = basicDataSource
+            HikariConfig config = new HikariConfig()
+            config.setPoolName(POOL_NAME)
+            config.setDriverClassName(DRIVER_CLASS_NAME)
+            config.setJdbcUrl(url)
+            config.setUsername(user)
+            config.setPassword(password)
+            config.setMaximumPoolSize(intProperty(poolProperties, "pool.maximumPoolSize"))
+            config.setMinimumIdle(intProperty(poolProperties, "pool.minimumIdle"))
+            config.setConnectionTimeout(longProperty(poolProperties, "pool.connectionTimeoutMillis"))
+            config.setIdleTimeout(longProperty(poolProperties, "pool.idleTimeoutMillis"))
+            config.setMaxLifetime(longProperty(poolProperties, "pool.maxLifetimeMillis"))
+            config.setLeakDetectionThreshold(longProperty(poolProperties, "pool.leakDetectionThresholdMillis"))
+            // statement caching of the JDBC driver
+            config.addDataSourceProperty("cachePrepStmts", "true")
+            config.addDataSourceProperty("prepStmtCacheSize", poolProperties.getProperty("pool.preparedStatementCacheSize"))
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", poolProperties.getProperty("pool.preparedStatementCacheSqlLimit"))
+            // sends batched inserts as multi-row statements instead of one statement per row
+            config.addDataSourceProperty("rewriteBatchedStatements", "true")
+            // every statement of a connection is aborted by the database after the timeout
+            config.setConnectionInitSql(statementTimeoutSql(url, user, password, intProperty(poolProperties, "pool.queryTimeoutSeconds")))
+            config.setRegisterMbeans(true)
+            PoolMetricsTracker metricsTracker = databaseSession.metricsTracker
+            config.setMetricsTrackerFactory({ String poolName, PoolStats poolStats -> metricsTracker } as MetricsTrackerFactory)
+
+            // the pool is started by the constructor, the instance is only kept if this succeeds
+            databaseSession.dataSource = new HikariDataSource(config)
+            INSTANCE = databaseSession
         } else {
             log.warn("Skipped overwrite existing connection to $host:$port with $host:$port.")
         }
     }
 
+    /**
+     * Determines the statement limiting the execution time of the statements of a connection.
+     *
+     * MariaDB and MySQL name the session variable differently and reject the name of the other
+     * server, so the server is asked for its product name first. MySQL only limits the execution
+     * time of read-only statements.
+     *
+     * @param url the JDBC url of the database
+     * @param user the user to use for the database
+     * @param password the password to use for the database connection
+     * @param timeoutSeconds the maximum execution time of a statement in seconds
+     * @return the statement setting the timeout for the connected server
+     */
+    private static String statementTimeoutSql(String url, String user, String password, int timeoutSeconds) {
+        // the driver does not register itself with the driver manager of a web application
+        Class.forName(DRIVER_CLASS_NAME)
+        String productVersion = DriverManager.getConnection(url, user, password).withCloseable { Connection connection ->
+            connection.getMetaData().getDatabaseProductVersion()
+        }
+        if (productVersion.toLowerCase().contains("mariadb")) {
+            return "SET SESSION max_statement_time = " + timeoutSeconds
+        }
+        return "SET SESSION max_execution_time = " + timeoutSeconds * 1000
+    }
+
+    private static Properties loadPoolProperties() {
+        Properties properties = new Properties()
+        InputStream propertiesStream = DatabaseSession.class.getClassLoader().getResourceAsStream(POOL_PROPERTIES_FILE_PATH)
+        if (propertiesStream == null) {
+            throw new IllegalStateException("Could not find the connection pool configuration ${POOL_PROPERTIES_FILE_PATH}.")
+        }
+        propertiesStream.withCloseable {
+            properties.load(it)
+        }
+        properties.stringPropertyNames().each { String name ->
+            String override = System.getProperty(name)
+            if (override) {
+                properties.setProperty(name, override)
+            }
+        }
+        return properties
+    }
+
+    private static int intProperty(Properties properties, String name) {
+        return Integer.parseInt(Objects.requireNonNull(properties.getProperty(name), "Pool property ${name} missing.").trim())
+    }
+
+    private static long longProperty(Properties properties, String name) {
+        return Long.parseLong(Objects.requireNonNull(properties.getProperty(name), "Pool property ${name} missing.").trim())
+    }
+
     /**
      * Creates a database connection by login into the database based on the given credentials
      *
@@ -72,6 +161,48 @@ class DatabaseSession implements ConnectionProvider {
         return dataSource.getConnection()
     }
 
+    /**
+     * Provides the pooled data source of this session, so other persistence components can share the
+     * connection pool instead of creating their own.
+     *
+     * @return the pooled data source
+     * @since 1.11.0
+     */
+    DataSource getDataSource() {
+        return dataSource
+    }
+
+    /**
+     * Provides a snapshot of the current connection pool usage.
+     *
+     * @return the current pool statistics
+     * @since 1.11.0
+     */
+    PoolStatistics getPoolStatistics() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean()
+        return new PoolStatistics(pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getThreadsAwaitingConnection(),
+                dataSource.getMaximumPoolSize(),
+                metricsTracker.getAcquisitions(),
+                metricsTracker.getAverageAcquisitionMillis(),
+                metricsTracker.getMaximumAcquisitionMillis(),
+                metricsTracker.getTimeouts())
+    }
+
+    /**
+     * Closes the connection pool and discards the current instance.
+     * After closing, the session needs to be initialized again by calling the init method.
+     *
+     * @since 1.11.0
+     */
+    static synchronized void close() {
+        if (INSTANCE) {
+            INSTANCE.dataSource.close()
+            INSTANCE = null
+        }
+    }
+
     /**
      * Returns the current DatabaseSession object
      * @return
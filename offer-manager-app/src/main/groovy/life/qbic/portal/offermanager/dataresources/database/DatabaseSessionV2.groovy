@@ -8,8 +8,14 @@ import life.qbic.business.products.Product
 import life.qbic.business.products.ProductItem
 import org.hibernate.Session
 import org.hibernate.SessionFactory
+import org.hibernate.cache.jcache.ConfigSettings
 import org.hibernate.cfg.Configuration
 import org.hibernate.cfg.Environment
+import org.hibernate.stat.CacheRegionStatistics
+import org.hibernate.stat.Statistics
+
+import javax.persistence.SharedCacheMode
+import javax.sql.DataSource
 
 /**
  * <b><class short description - 1 Line!></b>
@@ -19,7 +25,24 @@ import org.hibernate.cfg.Environment
  * @since <version tag>
  */
 @Log4j2
-class DatabaseSessionV2 implements SessionProvider{
+class DatabaseSessionV2 implements SessionProvider, EntityCache {
+
+    /**
+     * The cache configuration of the second-level cache regions
+     */
+    private static final String CACHE_CONFIGURATION = "hibernate-cache.xml"
+
+    private static final String CACHING_PROVIDER = "org.ehcache.jsr107.EhcacheCachingProvider"
+
+    /**
+     * The number of lazy associations of the same kind that are initialized with one statement
+     */
+    private static final String BATCH_FETCH_SIZE = "50"
+
+    /**
+     * The number of inserts or updates of the same kind that are sent to the database at once
+     */
+    private static final String JDBC_BATCH_SIZE = "50"
 
     private SessionFactory sessionFactory
 
@@ -37,9 +60,54 @@ class DatabaseSessionV2 implements SessionProvider{
         configureHibernate(properties)
     }
 
+    /**
+     * Creates a session provider that obtains its connections from an existing data source.
+     *
+     * <p>Use this constructor to share a connection pool with other persistence components.
+     * The data source is not closed by this session provider.</p>
+     *
+     * @param dataSource the data source providing the database connections
+     * @param dialect the Hibernate dialect of the database
+     * @since 1.11.0
+     */
+    DatabaseSessionV2(DataSource dataSource, String dialect) {
+        Properties properties = new Properties()
+        properties.put(Environment.DATASOURCE, dataSource)
+        properties.setProperty(Environment.DIALECT, dialect)
+        properties.setProperty(Environment.CURRENT_SESSION_CONTEXT_CLASS, "thread")
+
+        configureHibernate(properties)
+    }
+
+    /**
+     * Creates a session provider from a complete set of Hibernate settings.
+     *
+     * <p>Use this constructor for databases that are not set up by the application itself, for
+     * example embedded databases. The second-level cache and the fetch settings are added to the
+     * given settings.</p>
+     *
+     * @param properties the Hibernate settings to use
+     * @since 1.11.0
+     */
+    DatabaseSessionV2(Properties properties) {
+        Properties copy = new Properties()
+        copy.putAll(properties)
+        configureHibernate(copy)
+    }
+
     private void configureHibernate(Properties properties) {
+        configureSecondLevelCache(properties)
+        // persons and their affiliations referenced by loaded offers are fetched in batches
+        properties.putIfAbsent(Environment.DEFAULT_BATCH_FETCH_SIZE, BATCH_FETCH_SIZE)
+        // offers and their items are written in batches, ordering groups the statements per table
+        properties.putIfAbsent(Environment.STATEMENT_BATCH_SIZE, JDBC_BATCH_SIZE)
+        properties.putIfAbsent(Environment.ORDER_INSERTS, "true")
+        properties.putIfAbsent(Environment.ORDER_UPDATES, "true")
+        properties.putIfAbsent(Environment.BATCH_VERSIONED_DATA, "true")
         Configuration config = new Configuration()
         config.setProperties(properties)
+        // only entities annotated with @Cacheable are stored in the second-level cache
+        config.setSharedCacheMode(SharedCacheMode.ENABLE_SELECTIVE)
         // build session factory
         sessionFactory = config.addAnnotatedClass(Person.class)
                 .addAnnotatedClass(Affiliation.class)
@@ -49,6 +117,23 @@ class DatabaseSessionV2 implements SessionProvider{
                 .buildSessionFactory()
     }
 
+    private static void configureSecondLevelCache(Properties properties) {
+        properties.setProperty(Environment.USE_SECOND_LEVEL_CACHE, "true")
+        properties.setProperty(Environment.USE_QUERY_CACHE, "true")
+        properties.setProperty(Environment.CACHE_REGION_FACTORY, "jcache")
+        properties.setProperty(Environment.DEFAULT_CACHE_CONCURRENCY_STRATEGY, "read-write")
+        properties.setProperty(ConfigSettings.PROVIDER, CACHING_PROVIDER)
+        URL cacheConfiguration = DatabaseSessionV2.class.getClassLoader().getResource(CACHE_CONFIGURATION)
+        if (cacheConfiguration) {
+            properties.setProperty(ConfigSettings.CONFIG_URI, cacheConfiguration.toURI().toString())
+        } else {
+            log.warn("Cache configuration $CACHE_CONFIGURATION not found. Using default cache settings.")
+        }
+        // regions without explicit configuration are created with the provider defaults
+        properties.setProperty(ConfigSettings.MISSING_CACHE_STRATEGY, "create")
+        properties.setProperty(Environment.GENERATE_STATISTICS, "true")
+    }
+
     @Override
     Session getCurrentSession() {
         return sessionFactory.getCurrentSession()
@@ -58,4 +143,48 @@ class DatabaseSessionV2 implements SessionProvider{
     Session openSession() {
         return sessionFactory.openSession()
     }
+
+    @Override
+    void evictEntities(Class<?> entityType) {
+        sessionFactory.getCache().evictEntityData(entityType)
+        log.debug("Evicted cached entities of type ${entityType.getSimpleName()}.")
+    }
+
+    @Override
+    void evictQueries(String queryRegion) {
+        sessionFactory.getCache().evictQueryRegion(queryRegion)
+        log.debug("Evicted cached query results of region $queryRegion.")
+    }
+
+    @Override
+    CacheStatistics getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics()
+        Map<String, CacheStatistics.RegionStatistics> regions = new TreeMap<>()
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName)
+            if (region) {
+                regions.put(regionName, new CacheStatistics.RegionStatistics(
+                        region.getHitCount(),
+                        region.getMissCount(),
+                        region.getPutCount(),
+                        region.getElementCountInMemory()))
+            }
+        }
+        return new CacheStatistics(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                regions)
+    }
+
+    /**
+     * Closes the session factory and releases all resources held by it.
+     *
+     * @since 1.11.0
+     */
+    void close() {
+        sessionFactory.close()
+    }
 }
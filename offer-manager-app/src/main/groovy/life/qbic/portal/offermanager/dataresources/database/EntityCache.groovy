@@ -0,0 +1,30 @@
+package life.qbic.portal.offermanager.dataresources.database
+
+/**
+ * Provides access to the shared second-level cache of the persistence layer.
+ *
+ * Entities and query results cached by Hibernate become stale once their tables are modified
+ * outside of Hibernate or once a change affects cached query results of other regions. Data sources
+ * modifying cached data use this interface to evict the affected entries explicitly.
+ *
+ * @since 1.11.0
+ */
+interface EntityCache {
+
+    /**
+     * Removes all cached instances of an entity type.
+     * @param entityType the cached entity type
+     */
+    void evictEntities(Class<?> entityType)
+
+    /**
+     * Removes all cached results of a query region.
+     * @param queryRegion the name of the query region
+     */
+    void evictQueries(String queryRegion)
+
+    /**
+     * @return a snapshot of the hit and miss counts of the cache
+     */
+    CacheStatistics getStatistics()
+}
@@ -0,0 +1,157 @@
+package life.qbic.portal.offermanager.dataresources.database
+
+import groovy.util.logging.Log4j2
+import life.qbic.portal.utils.ConfigurationManager
+
+import java.time.Duration
+
+/**
+ * Sets up the persistence layer once per application
+ *
+ * Building a Hibernate session factory and a connection pool is expensive. This class creates both
+ * once and shares them with every portlet UI, so opening the portlet does not pay the setup cost again
+ * and the number of database connections does not grow with every user session.
+ *
+ * The Hibernate session factory obtains its connections from the same pool as the
+ * {@link ConnectionProvider}.
+ *
+ * @since 1.11.0
+ */
+@Log4j2
+class PersistenceBootstrap {
+
+    private static final String HIBERNATE_DIALECT = "org.hibernate.dialect.MariaDBDialect"
+
+    private static PersistenceBootstrap INSTANCE
+
+    private final DatabaseSession connectionProvider
+
+    private final DatabaseSessionV2 sessionProvider
+
+    private final Duration startupDuration
+
+    private PersistenceBootstrap(DatabaseSession connectionProvider, DatabaseSessionV2 sessionProvider, Duration startupDuration) {
+        this.connectionProvider = connectionProvider
+        this.sessionProvider = sessionProvider
+        this.startupDuration = startupDuration
+    }
+
+    /**
+     * Initializes the shared persistence layer.
+     * The persistence layer is only set up if it has not been set up before, otherwise the existing
+     * instance is returned.
+     *
+     * @param user the user to use for the database
+     * @param password the password to use for the database connection
+     * @param host the database host
+     * @param port the port on which the database is hosted
+     * @param sqlDatabase the name of the database
+     * @return the shared persistence bootstrap
+     */
+    static synchronized PersistenceBootstrap initialize(String user,
+                                                        String password,
+                                                        String host,
+                                                        String port,
+                                                        String sqlDatabase) {
+        if (INSTANCE == null) {
+            long start = System.nanoTime()
+            DatabaseSession.init(user, password, host, port, sqlDatabase)
+            DatabaseSession databaseSession = DatabaseSession.getInstance()
+            DatabaseSessionV2 databaseSessionV2 = new DatabaseSessionV2(databaseSession.getDataSource(), HIBERNATE_DIALECT)
+            Duration startupDuration = Duration.ofNanos(System.nanoTime() - start)
+            INSTANCE = new PersistenceBootstrap(databaseSession, databaseSessionV2, startupDuration)
+            log.info("Initialized shared persistence layer in ${startupDuration.toMillis()} ms.")
+        }
+        return INSTANCE
+    }
+
+    /**
+     * Initializes the shared persistence layer with the database of the application configuration.
+     * The persistence layer is only set up if it has not been set up before, otherwise the existing
+     * instance is returned.
+     *
+     * @param configurationManager the configuration of the application
+     * @return the shared persistence bootstrap
+     * @throws NullPointerException if the database configuration is incomplete
+     * @since 1.11.0
+     */
+    static PersistenceBootstrap initialize(ConfigurationManager configurationManager) {
+        String user = Objects.requireNonNull(configurationManager.getMysqlUser(), "Mysql user missing.")
+        String password = Objects.requireNonNull(configurationManager.getMysqlPass(), "Mysql password missing.")
+        String host = Objects.requireNonNull(configurationManager.getMysqlHost(), "Mysql host missing.")
+        String port = Objects.requireNonNull(configurationManager.getMysqlPort(), "Mysql port missing.")
+        String sqlDatabase = Objects.requireNonNull(configurationManager.getMysqlDB(), "Mysql database name missing.")
+        return initialize(user, password, host, port, sqlDatabase)
+    }
+
+    /**
+     * Returns the shared persistence bootstrap
+     * @return the shared persistence bootstrap
+     */
+    static synchronized PersistenceBootstrap getInstance() {
+        if (INSTANCE == null) {
+            throw new AssertionError("Call the initialize method first. Instance has not been initialized.")
+        }
+        return INSTANCE
+    }
+
+    /**
+     * Closes the shared session factory and connection pool.
+     * Should be called once the application is undeployed.
+     */
+    static synchronized void shutdown() {
+        if (INSTANCE == null) {
+            return
+        }
+        log.info("Shutting down shared persistence layer. Pool usage: ${INSTANCE.getPoolStatistics()}")
+        log.info("Second-level cache usage: ${INSTANCE.getCacheStatistics()}")
+        try {
+            INSTANCE.sessionProvider.close()
+        } finally {
+            DatabaseSession.close()
+            INSTANCE = null
+        }
+    }
+
+    /**
+     * @return the connection provider backed by the shared connection pool
+     */
+    ConnectionProvider getConnectionProvider() {
+        return connectionProvider
+    }
+
+    /**
+     * @return the session provider backed by the shared session factory
+     */
+    SessionProvider getSessionProvider() {
+        return sessionProvider
+    }
+
+    /**
+     * @return the second-level cache of the shared session factory
+     */
+    EntityCache getEntityCache() {
+        return sessionProvider
+    }
+
+    /**
+     * @return the time it took to set up the session factory and the connection pool
+     */
+    Duration getStartupDuration() {
+        return startupDuration
+    }
+
+    /**
+     * @return a snapshot of the shared connection pool usage
+     */
+    PoolStatistics getPoolStatistics() {
+        return connectionProvider.getPoolStatistics()
+    }
+
+    /**
+     * @return a snapshot of the second-level cache hits and misses
+     */
+    CacheStatistics getCacheStatistics() {
+        return sessionProvider.getStatistics()
+    }
+}
@@ -0,0 +1,31 @@
+package life.qbic.portal.offermanager.dataresources.database
+
+import life.qbic.portal.offermanager.ExportAllOffers
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
+
+import javax.servlet.ServletContextEvent
+import javax.servlet.ServletContextListener
+
+/**
+ * Releases the shared persistence resources and stops running offer exports when the
+ * application is undeployed.
+ *
+ * @since 1.11.0
+ * @see PersistenceBootstrap
+ * @see SharedResourceRegistry
+ */
+class PersistenceShutdownListener implements ServletContextListener {
+
+    @Override
+    void contextInitialized(ServletContextEvent servletContextEvent) {
+        // the persistence layer is set up by the PersistenceStartupListener
+    }
+
+    @Override
+    void contextDestroyed(ServletContextEvent servletContextEvent) {
+        ExportAllOffers.shutdown()
+        SharedResourceRegistry.getInstance().clear()
+        SharedResourceRegistry.getInstance().shutdown()
+        PersistenceBootstrap.shutdown()
+    }
+}
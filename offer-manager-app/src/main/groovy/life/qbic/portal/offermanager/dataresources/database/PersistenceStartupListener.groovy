@@ -0,0 +1,53 @@
+package life.qbic.portal.offermanager.dataresources.database
+
+import groovy.util.logging.Log4j2
+import life.qbic.portal.offermanager.dataresources.offers.OfferDbConnector
+import life.qbic.portal.utils.ConfigurationManagerFactory
+
+import javax.servlet.ServletContextEvent
+import javax.servlet.ServletContextListener
+
+/**
+ * Sets up the shared persistence layer and migrates the stored offers when the application is
+ * deployed, so no portlet UI has to wait for it.
+ *
+ * Offers stored before the price totals were persisted receive their totals, offers stored with a
+ * checksum of an outdated format receive a new checksum. Both run once per deployment. If one of
+ * them fails, the application starts anyway: the offers are recomputed when they are loaded and
+ * the migration is tried again with the next deployment.
+ *
+ * @since 1.11.0
+ * @see PersistenceBootstrap
+ * @see PersistenceShutdownListener
+ */
+@Log4j2
+class PersistenceStartupListener implements ServletContextListener {
+
+    @Override
+    void contextInitialized(ServletContextEvent servletContextEvent) {
+        PersistenceBootstrap persistence
+        try {
+            persistence = PersistenceBootstrap.initialize(ConfigurationManagerFactory.getInstance())
+        } catch (Exception e) {
+            log.error("The persistence layer could not be set up at application start, stored offers are not migrated.", e)
+            return
+        }
+        OfferDbConnector offerDbConnector = new OfferDbConnector(persistence.getConnectionProvider(),
+                null, null, persistence.getSessionProvider())
+        try {
+            offerDbConnector.backfillPriceTotals()
+        } catch (RuntimeException e) {
+            log.error("The price totals of stored offers could not be backfilled.", e)
+        }
+        try {
+            offerDbConnector.migrateChecksums()
+        } catch (RuntimeException e) {
+            log.error("The checksums of stored offers could not be migrated.", e)
+        }
+    }
+
+    @Override
+    void contextDestroyed(ServletContextEvent servletContextEvent) {
+        // the persistence layer is released by the PersistenceShutdownListener
+    }
+}
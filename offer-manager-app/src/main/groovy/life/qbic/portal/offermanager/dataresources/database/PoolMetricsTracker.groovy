@@ -0,0 +1,67 @@
+package life.qbic.portal.offermanager.dataresources.database
+
+import com.zaxxer.hikari.metrics.IMetricsTracker
+
+import java.util.concurrent.atomic.LongAccumulator
+import java.util.concurrent.atomic.LongAdder
+import java.util.function.LongBinaryOperator
+
+/**
+ * Records how long it takes to acquire a connection from the pool
+ *
+ * The connection pool reports every connection acquisition and timeout to this tracker. The recorded
+ * values are accumulated and can be read at any time without blocking the pool.
+ *
+ * @since 1.11.0
+ */
+class PoolMetricsTracker implements IMetricsTracker {
+
+    private final LongAdder acquisitions = new LongAdder()
+
+    private final LongAdder acquisitionNanos = new LongAdder()
+
+    private final LongAccumulator maximumAcquisitionNanos = new LongAccumulator({ long current, long update -> Math.max(current, update) } as LongBinaryOperator, 0L)
+
+    private final LongAdder timeouts = new LongAdder()
+
+    @Override
+    void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquisitions.increment()
+        acquisitionNanos.add(elapsedAcquiredNanos)
+        maximumAcquisitionNanos.accumulate(elapsedAcquiredNanos)
+    }
+
+    @Override
+    void recordConnectionTimeout() {
+        timeouts.increment()
+    }
+
+    /**
+     * @return the number of connections acquired from the pool
+     */
+    long getAcquisitions() {
+        return acquisitions.sum()
+    }
+
+    /**
+     * @return the average time in milliseconds it took to acquire a connection
+     */
+    double getAverageAcquisitionMillis() {
+        long count = acquisitions.sum()
+        return count == 0 ? 0d : acquisitionNanos.sum() / count / 1_000_000d
+    }
+
+    /**
+     * @return the longest time in milliseconds it took to acquire a connection
+     */
+    double getMaximumAcquisitionMillis() {
+        return maximumAcquisitionNanos.get() / 1_000_000d
+    }
+
+    /**
+     * @return the number of connection requests that timed out
+     */
+    long getTimeouts() {
+        return timeouts.sum()
+    }
+}
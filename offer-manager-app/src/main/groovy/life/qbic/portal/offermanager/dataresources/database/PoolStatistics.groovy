@@ -0,0 +1,72 @@
+package life.qbic.portal.offermanager.dataresources.database
+
+import groovy.transform.EqualsAndHashCode
+import groovy.transform.ToString
+
+/**
+ * A snapshot of the connection pool usage at a given time.
+ *
+ * @since 1.11.0
+ */
+@ToString(includeNames = true)
+@EqualsAndHashCode
+class PoolStatistics {
+
+    /**
+     * The number of connections currently borrowed from the pool
+     */
+    final int activeConnections
+
+    /**
+     * The number of connections currently idle in the pool
+     */
+    final int idleConnections
+
+    /**
+     * The number of threads currently waiting for a connection
+     */
+    final int waitingThreads
+
+    /**
+     * The maximum number of connections the pool hands out at the same time
+     */
+    final int maximumConnections
+
+    /**
+     * The number of connections acquired from the pool since its start
+     */
+    final long acquisitions
+
+    /**
+     * The average time in milliseconds it took to acquire a connection
+     */
+    final double averageAcquisitionMillis
+
+    /**
+     * The longest time in milliseconds it took to acquire a connection
+     */
+    final double maximumAcquisitionMillis
+
+    /**
+     * The number of connection requests that timed out
+     */
+    final long connectionTimeouts
+
+    PoolStatistics(int activeConnections,
+                   int idleConnections,
+                   int waitingThreads,
+                   int maximumConnections,
+                   long acquisitions,
+                   double averageAcquisitionMillis,
+                   double maximumAcquisitionMillis,
+                   long connectionTimeouts) {
+        this.activeConnections = activeConnections
+        this.idleConnections = idleConnections
+        this.waitingThreads = waitingThreads
+        this.maximumConnections = maximumConnections
+        this.acquisitions = acquisitions
+        this.averageAcquisitionMillis = averageAcquisitionMillis
+        this.maximumAcquisitionMillis = maximumAcquisitionMillis
+        this.connectionTimeouts = connectionTimeouts
+    }
+}
@@ -5,8 +5,10 @@ import groovy.util.logging.Log4j2
 import life.qbic.business.exceptions.DatabaseQueryException
 import life.qbic.business.offers.OfferExistsException
 import life.qbic.business.offers.OfferV2
+import life.qbic.business.persons.affiliation.Affiliation
 import life.qbic.business.offers.create.CreateOfferDataSource
 import life.qbic.business.offers.fetch.FetchOfferDataSource
+import life.qbic.business.offers.reprice.RepriceOffersDataSource
 import life.qbic.datamodel.dtos.business.OfferId
 import life.qbic.datamodel.dtos.projectmanagement.ProjectIdentifier
 import life.qbic.portal.offermanager.ExportOffersDataSource
@@ -16,8 +18,13 @@ import life.qbic.portal.offermanager.dataresources.persons.PersonDbConnector
 import life.qbic.portal.offermanager.dataresources.products.ProductsDbConnector
 import org.hibernate.HibernateException
 import org.hibernate.Session
+import org.hibernate.annotations.QueryHints
+import org.hibernate.exception.ConstraintViolationException
 
+import javax.persistence.PersistenceException
 import javax.persistence.Query
+import java.time.LocalDate
+import java.util.function.Consumer
 import java.util.stream.Collectors
 
 /**
@@ -31,7 +38,7 @@ import java.util.stream.Collectors
  *
  */
 @Log4j2
-class OfferDbConnector implements CreateOfferDataSource, FetchOfferDataSource, ProjectAssistant, OfferOverviewDataSource, ExportOffersDataSource {
+class OfferDbConnector implements CreateOfferDataSource, FetchOfferDataSource, ProjectAssistant, OfferOverviewDataSource, ExportOffersDataSource, RepriceOffersDataSource {
 
     SessionProvider sessionProvider
 
@@ -46,6 +53,90 @@ class OfferDbConnector implements CreateOfferDataSource, FetchOfferDataSource, P
             "projectObjective, totalPrice, customerAffiliationId, vat, netPrice, overheads, itemDiscount, " +
             "checksum, experimentalDesign)"
 
+    /**
+     * Projection query for the offer overview. Only the columns displayed in the overview are read,
+     * neither the offer nor its items are instantiated. Offers without a customer, project manager
+     * or affiliation are listed as well.
+     */
+    private static final String OFFER_OVERVIEW_QUERY = "SELECT offer.offerId, offer.creationDate, offer.projectTitle, " +
+            "customer.firstName, customer.lastName, projectManager.firstName, projectManager.lastName, " +
+            "offer.totalPrice, offer.associatedProject, affiliation " +
+            "FROM OfferV2 offer " +
+            "LEFT JOIN offer.customer customer " +
+            "LEFT JOIN offer.projectManager projectManager " +
+            "LEFT JOIN offer.selectedCustomerAffiliation affiliation"
+
+    /**
+     * Loads offers together with everything needed to price them in a single statement: the items
+     * and their products, the customer, the project manager and the selected affiliation.
+     * The affiliations of the fetched persons are loaded in batches afterwards.
+     */
+    private static final String OFFER_FETCH_QUERY = "SELECT DISTINCT offer FROM OfferV2 offer " +
+            "LEFT JOIN FETCH offer.items item " +
+            "LEFT JOIN FETCH item.product " +
+            "LEFT JOIN FETCH offer.customer " +
+            "LEFT JOIN FETCH offer.projectManager " +
+            "LEFT JOIN FETCH offer.selectedCustomerAffiliation"
+
+    /**
+     * The number of offers that are held in memory at the same time during an export
+     */
+    private static final int EXPORT_CHUNK_SIZE = 100
+
+    /**
+     * Reads the next chunk of offer ids in ascending order, starting after a given id
+     */
+    private static final String NEXT_OFFER_IDS_QUERY = "SELECT o.id FROM OfferV2 o WHERE o.id > :lastId ORDER BY o.id"
+
+    /**
+     * Reads the stored versions of an offer from the offer version index
+     */
+    private static final String OFFER_VERSIONS_QUERY = "SELECT o.offerIdVersion FROM OfferV2 o " +
+            "WHERE o.offerIdProjectPart = :projectPart AND o.offerIdRandomPart = :randomPart " +
+            "ORDER BY o.offerIdVersion"
+
+    /**
+     * Reads the highest stored version of an offer from the offer version index
+     */
+    private static final String LATEST_OFFER_VERSION_QUERY = "SELECT max(o.offerIdVersion) FROM OfferV2 o " +
+            "WHERE o.offerIdProjectPart = :projectPart AND o.offerIdRandomPart = :randomPart"
+
+    /**
+     * Reads the ids of the latest versions of all offers that contain one of the given products
+     * and have not expired on a given date
+     */
+    private static final String OPEN_OFFER_IDS_WITH_PRODUCTS_QUERY = "SELECT DISTINCT o.id FROM OfferV2 o " +
+            "JOIN o.items item JOIN item.product product " +
+            "WHERE product.productId IN (:productIds) AND o.expirationDate >= :validOn " +
+            "AND o.offerIdVersion = (SELECT max(v.offerIdVersion) FROM OfferV2 v " +
+            "WHERE v.offerIdProjectPart = o.offerIdProjectPart AND v.offerIdRandomPart = o.offerIdRandomPart) " +
+            "ORDER BY o.id"
+
+    /**
+     * Reads the next chunk of ids of offers with a checksum of an outdated format
+     */
+    private static final String NEXT_MISSING_TOTALS_IDS_QUERY = "SELECT o.id FROM OfferV2 o " +
+            "WHERE o.id > :lastId AND (o.totalPrice IS NULL OR o.netPrice IS NULL) " +
+            "ORDER BY o.id"
+
+    private static final String STORE_PRICE_TOTALS_QUERY = "UPDATE OfferV2 o " +
+            "SET o.netPrice = :netPrice, o.totalPrice = :totalPrice " +
+            "WHERE o.id = :id AND (o.totalPrice IS NULL OR o.netPrice IS NULL)"
+
+    private static final String NEXT_OUTDATED_CHECKSUM_IDS_QUERY = "SELECT o.id FROM OfferV2 o " +
+            "WHERE o.id > :lastId AND (o.checksum IS NULL OR o.checksum NOT LIKE :currentFormat) " +
+            "ORDER BY o.id"
+
+    /**
+     * The unique index preventing two offers with equal content
+     */
+    private static final String CHECKSUM_CONSTRAINT = "UQ_offers_checksum"
+
+    /**
+     * The number of offers that are recomputed within one transaction during the price total backfill
+     */
+    private static final int BACKFILL_CHUNK_SIZE = 100
+
     private static final String OFFER_SELECT_QUERY = "SELECT offerId, creationDate, expirationDate, customerId, projectManagerId, projectTitle," +
             "projectObjective, totalPrice, customerAffiliationId, vat, netPrice, overheads, experimentalDesign FROM offer"
 
@@ -94,13 +185,17 @@ class OfferDbConnector implements CreateOfferDataSource, FetchOfferDataSource, P
         return offerChecksumExists(checksum)
     }
 
+    /**
+     * Counts the offers with a given checksum on the checksum index. No offer is loaded.
+     */
     private boolean offerChecksumExists(String checksum) {
         boolean checksumPresent
         try (Session session = sessionProvider.getCurrentSession()) {
             session.beginTransaction()
-            Query query = session.createQuery("Select o FROM OfferV2 o where o.checksum=:checksumOfInterest ", OfferV2.class)
-            query.setParameter("checksumOfInterest", checksum)
-            checksumPresent = !query.list().isEmpty()
+            Long matches = session.createQuery("SELECT count(o.id) FROM OfferV2 o WHERE o.checksum = :checksumOfInterest", Long.class)
+                    .setParameter("checksumOfInterest", checksum)
+                    .getSingleResult()
+            checksumPresent = matches > 0
             session.getTransaction().commit()
         }
         return checksumPresent
@@ -114,15 +209,42 @@ class OfferDbConnector implements CreateOfferDataSource, FetchOfferDataSource, P
         loadOfferOverview()
     }
 
-    private static List<OfferOverview> createOverviewList(List<OfferV2> offerV2List) {
-        return offerV2List.stream().map(OfferOverview::from).collect() as List<OfferOverview>
+    private static List<OfferOverview> createOverviewList(List<Object[]> overviewRows) {
+        return overviewRows.stream().map(OfferDbConnector::toOfferOverview).collect() as List<OfferOverview>
+    }
+
+    /**
+     * Converts a row of the {@link #OFFER_OVERVIEW_QUERY} projection into an offer overview.
+     * @param row the projected columns in the order of the overview query
+     * @return the offer overview described by the row
+     */
+    private static OfferOverview toOfferOverview(Object[] row) {
+        life.qbic.business.offers.identifier.OfferId identifier = life.qbic.business.offers.identifier.OfferId.from(row[0] as String)
+        Double totalPrice = row[7] as Double
+        return new OfferOverview(
+                new OfferId(identifier.getProjectPart(), identifier.getRandomPart(), identifier.getVersion() as String),
+                (row[1] as LocalDate).toDate(),
+                row[2] as String,
+                fullName(row[3] as String, row[4] as String),
+                fullName(row[5] as String, row[6] as String),
+                totalPrice != null ? totalPrice.doubleValue() : 0d,
+                row[8] as ProjectIdentifier,
+                row[9] as Affiliation
+        )
+    }
+
+    /**
+     * Joins the names of a person, names of a missing person are left out
+     */
+    private static String fullName(String firstName, String lastName) {
+        return [firstName, lastName].findAll().join(" ")
     }
 
     private List<OfferOverview> loadOfferOverview() {
         try (Session session = sessionProvider.getCurrentSession()) {
             session.beginTransaction()
-            List<OfferV2> offerV2List = session.createQuery("Select offer FROM OfferV2 offer", OfferV2.class).list()
-            List<OfferOverview> overviewList = createOverviewList(offerV2List)
+            List<Object[]> overviewRows = session.createQuery(OFFER_OVERVIEW_QUERY, Object[].class).list()
+            List<OfferOverview> overviewList = createOverviewList(overviewRows)
             session.getTransaction().commit()
             return overviewList
         } catch (HibernateException e) {
@@ -131,6 +253,99 @@ class OfferDbConnector implements CreateOfferDataSource, FetchOfferDataSource, P
         }
     }
 
+    /**
+     * Computes and persists the net and total price of offers that have been stored before
+     * the price totals were persisted.
+     *
+     * <p>The offers are processed in chunks of ascending ids to keep the session small. They are
+     * loaded read-only to compute their prices, the totals are then written with one update per
+     * offer. An offer whose totals have been stored in the meantime is not updated again.</p>
+     *
+     * @return the number of offers for which the price totals have been stored
+     * @since 1.11.0
+     */
+    int backfillPriceTotals() {
+        try (Session session = sessionProvider.openSession()) {
+            int updatedOffers = 0
+            int lastId = 0
+            while (true) {
+                session.beginTransaction()
+                List<Integer> offerIds = session.createQuery(NEXT_MISSING_TOTALS_IDS_QUERY, Integer.class)
+                        .setParameter("lastId", lastId)
+                        .setMaxResults(BACKFILL_CHUNK_SIZE)
+                        .list()
+                if (offerIds.isEmpty()) {
+                    session.getTransaction().commit()
+                    break
+                }
+                List<OfferV2> offers = session.createQuery(OFFER_FETCH_QUERY + " WHERE offer.id IN (:ids)", OfferV2.class)
+                        .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
+                        .setHint(QueryHints.READ_ONLY, true)
+                        .setParameterList("ids", offerIds)
+                        .list()
+                offers.each { OfferV2 offer ->
+                    updatedOffers += session.createQuery(STORE_PRICE_TOTALS_QUERY)
+                            .setParameter("netPrice", offer.getPriceBeforeTax().doubleValue())
+                            .setParameter("totalPrice", offer.getPriceAfterTax().doubleValue())
+                            .setParameter("id", offer.getPersistentId())
+                            .executeUpdate()
+                }
+                session.getTransaction().commit()
+                session.clear()
+                lastId = offerIds.last()
+            }
+            log.info("Stored price totals for ${updatedOffers} offers.")
+            return updatedOffers
+        } catch (HibernateException e) {
+            log.error(e.message, e)
+            throw new DatabaseQueryException("Unable to store the price totals of existing offers.")
+        }
+    }
+
+    /**
+     * Replaces the stored checksums of an outdated format by checksums of the current format.
+     * Checksums of the first format do not cover the unit prices of the items, so re-priced
+     * versions of these offers would be rejected as duplicates until they are migrated.
+     *
+     * <p>The checksum of an offer with an outdated format is computed again when the offer is
+     * flushed, so loading the offers in a transaction and committing it is sufficient to write the
+     * new checksums. The offers are processed in chunks to keep the session small.</p>
+     *
+     * @return the number of offers for which a new checksum has been stored
+     * @since 1.11.0
+     */
+    int migrateChecksums() {
+        try (Session session = sessionProvider.openSession()) {
+            int migratedOffers = 0
+            int lastId = 0
+            while (true) {
+                session.beginTransaction()
+                List<Integer> offerIds = session.createQuery(NEXT_OUTDATED_CHECKSUM_IDS_QUERY, Integer.class)
+                        .setParameter("lastId", lastId)
+                        .setParameter("currentFormat", OfferV2.CHECKSUM_FORMAT_PREFIX + "%")
+                        .setMaxResults(BACKFILL_CHUNK_SIZE)
+                        .list()
+                if (offerIds.isEmpty()) {
+                    session.getTransaction().commit()
+                    break
+                }
+                session.createQuery(OFFER_FETCH_QUERY + " WHERE offer.id IN (:ids)", OfferV2.class)
+                        .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
+                        .setParameterList("ids", offerIds)
+                        .list()
+                session.getTransaction().commit()
+                session.clear()
+                migratedOffers += offerIds.size()
+                lastId = offerIds.last()
+            }
+            log.info("Stored checksums of the current format for ${migratedOffers} offers.")
+            return migratedOffers
+        } catch (HibernateException e) {
+            log.error(e.message, e)
+            throw new DatabaseQueryException("Unable to migrate the checksums of existing offers.")
+        }
+    }
+
     /**
      * {@inheritDocs}
      */
@@ -154,44 +369,192 @@ class OfferDbConnector implements CreateOfferDataSource, FetchOfferDataSource, P
         }
     }
 
+    /**
+     * {@inheritDocs}
+     *
+     * <p>Offers with equal content are rejected by the unique checksum index of the offer table
+     * when the transaction is committed, so no separate lookup is needed and concurrent saves of
+     * the same content cannot both succeed.</p>
+     */
     @Override
     void store(OfferV2 offer) throws OfferExistsException {
-        if (equalOfferExists(offer)) {
-            throw new OfferExistsException("Offer with equal content of ${offer.identifier.toString()} already exists.")
+        try (Session session = sessionProvider.getCurrentSession()) {
+            session.beginTransaction()
+            try {
+                session.save(offer)
+                session.getTransaction().commit()
+            } catch (PersistenceException e) {
+                if (session.getTransaction().isActive()) {
+                    session.getTransaction().rollback()
+                }
+                throw e
+            }
+        } catch (PersistenceException e) {
+            if (violatesChecksumConstraint(e)) {
+                throw new OfferExistsException("Offer with equal content of ${offer.identifier.toString()} already exists.", e)
+            }
+            log.error(e.getMessage(), e)
+            throw new DatabaseQueryException("Unexpected error. Something went wrong during the offer saving.")
         }
+    }
+
+    /**
+     * {@inheritDocs}
+     *
+     * <p>All offers are saved within one transaction, which is rolled back if one of them cannot be
+     * saved. The latest version of every offer is read from the offer version index right before
+     * the offer is saved.</p>
+     */
+    @Override
+    void storeNextVersions(List<OfferV2> offers) throws OfferExistsException {
         try (Session session = sessionProvider.getCurrentSession()) {
             session.beginTransaction()
-            session.save(offer)
-        } catch (HibernateException e) {
+            try {
+                offers.each { OfferV2 offer ->
+                    offer.setIdentifier(nextVersionOf(session, offer.getIdentifier()))
+                    session.save(offer)
+                }
+                session.getTransaction().commit()
+            } catch (PersistenceException e) {
+                if (session.getTransaction().isActive()) {
+                    session.getTransaction().rollback()
+                }
+                throw e
+            }
+        } catch (PersistenceException e) {
+            if (violatesChecksumConstraint(e)) {
+                throw new OfferExistsException("One of ${offers.size()} offers has equal content as an existing offer.", e)
+            }
             log.error(e.getMessage(), e)
             throw new DatabaseQueryException("Unexpected error. Something went wrong during the offer saving.")
         }
     }
 
+    /**
+     * {@inheritDocs}
+     */
+    @Override
+    void storeNextVersion(OfferV2 offer) throws OfferExistsException {
+        try {
+            storeNextVersions([offer])
+        } catch (OfferExistsException e) {
+            throw new OfferExistsException("Offer with equal content of ${offer.identifier.toString()} already exists.", e)
+        }
+    }
+
+    private static life.qbic.business.offers.identifier.OfferId nextVersionOf(Session session, life.qbic.business.offers.identifier.OfferId id) {
+        int latestVersion = latestVersionOf(session, id).orElse(0)
+        return new life.qbic.business.offers.identifier.OfferId(id.getProjectPart(), id.getRandomPart(), latestVersion + 1)
+    }
 
+    private static Optional<Integer> latestVersionOf(Session session, life.qbic.business.offers.identifier.OfferId id) {
+        Integer latestVersion = session.createQuery(LATEST_OFFER_VERSION_QUERY, Integer.class)
+                .setParameter("projectPart", id.getProjectPart())
+                .setParameter("randomPart", id.getRandomPart())
+                .getSingleResult()
+        return Optional.ofNullable(latestVersion)
+    }
+
+    /**
+     * {@inheritDocs}
+     *
+     * <p>The ids of the affected offers are read first, the offers are then fetched in chunks, each
+     * chunk with one fetch query.</p>
+     */
     @Override
-    List<life.qbic.business.offers.identifier.OfferId> fetchAllVersionsForOfferId(life.qbic.business.offers.identifier.OfferId id) {
-        String project = id.getProjectPart()
-        String randomIdPart = id.getRandomPart()
-        String searchTerm = "%" + project + "_" + randomIdPart + "%"
+    List<OfferV2> findOpenOffersContaining(Collection<String> productIds, LocalDate validOn) {
+        if (productIds.isEmpty()) {
+            return []
+        }
+        try (Session session = sessionProvider.getCurrentSession()) {
+            session.beginTransaction()
+            List<Integer> offerIds = session.createQuery(OPEN_OFFER_IDS_WITH_PRODUCTS_QUERY, Integer.class)
+                    .setParameterList("productIds", productIds)
+                    .setParameter("validOn", validOn)
+                    .list()
+            List<OfferV2> offers = []
+            offerIds.collate(EXPORT_CHUNK_SIZE).each { List<Integer> chunk ->
+                offers.addAll(session.createQuery(OFFER_FETCH_QUERY + " WHERE offer.id IN (:ids) ORDER BY offer.id", OfferV2.class)
+                        .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
+                        .setParameterList("ids", chunk)
+                        .list())
+            }
+            session.getTransaction().commit()
+            return offers
+        } catch (HibernateException e) {
+            log.error(e.message, e)
+            throw new DatabaseQueryException("Unable to load the offers containing the products ${productIds}.", e)
+        }
+    }
+
+    /**
+     * Hibernate reports constraint violations wrapped depending on the operation that failed,
+     * so the whole cause chain is searched.
+     */
+    private static boolean violatesChecksumConstraint(Throwable throwable) {
+        Throwable cause = throwable
+        while (cause != null) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraintName = (cause as ConstraintViolationException).getConstraintName()
+                return constraintName?.toLowerCase()?.contains(CHECKSUM_CONSTRAINT.toLowerCase())
+            }
+            cause = cause.getCause() == cause ? null : cause.getCause()
+        }
+        return false
+    }
+
 
+    /**
+     * {@inheritDocs}
+     *
+     * <p>Only the version numbers are read from the offer version index, no offer is loaded.</p>
+     */
+    @Override
+    List<life.qbic.business.offers.identifier.OfferId> fetchAllVersionsForOfferId(life.qbic.business.offers.identifier.OfferId id) {
         try (Session session = sessionProvider.getCurrentSession()) {
             session.beginTransaction()
-            Query query = session.createQuery("SELECT offer FROM OfferV2 offer WHERE offer.offerId LIKE :id", OfferV2.class)
-            query.setParameter("id", searchTerm)
-            List<OfferV2> result = query.list()
-            return result.stream().map((OfferV2 offer) -> offer.getIdentifier()).collect(Collectors.toList())
+            List<Integer> versions = session.createQuery(OFFER_VERSIONS_QUERY, Integer.class)
+                    .setParameter("projectPart", id.getProjectPart())
+                    .setParameter("randomPart", id.getRandomPart())
+                    .list()
+            session.getTransaction().commit()
+            return versions.stream()
+                    .map((Integer version) -> new life.qbic.business.offers.identifier.OfferId(id.getProjectPart(), id.getRandomPart(), version))
+                    .collect(Collectors.toList())
         } catch (HibernateException e) {
             log.error(e.message, e)
             throw new DatabaseQueryException("Unexpected exception during the search for all versions of offer " + id.toString())
         }
     }
 
+    /**
+     * Determines the latest version of an offer.
+     *
+     * <p>The version is read from the offer version index, no offer is loaded. Re-priced offers
+     * resolve their version with the same lookup when they are stored.</p>
+     *
+     * @param id any version of the offer identifier
+     * @return the highest stored version of the offer, empty if no version is stored
+     * @since 1.11.0
+     */
+    Optional<Integer> fetchLatestVersion(life.qbic.business.offers.identifier.OfferId id) {
+        try (Session session = sessionProvider.getCurrentSession()) {
+            session.beginTransaction()
+            Optional<Integer> latestVersion = latestVersionOf(session, id)
+            session.getTransaction().commit()
+            return latestVersion
+        } catch (HibernateException e) {
+            log.error(e.message, e)
+            throw new DatabaseQueryException("Unexpected exception during the search for the latest version of offer " + id.toString())
+        }
+    }
+
     @Override
     Optional<OfferV2> getOffer(life.qbic.business.offers.identifier.OfferId oldId) {
         try (Session session = sessionProvider.getCurrentSession()) {
             session.beginTransaction()
-            Query query = session.createQuery("select offer from OfferV2 offer where offer.offerId = :idOfInterest", OfferV2.class)
+            Query query = session.createQuery(OFFER_FETCH_QUERY + " WHERE offer.offerId = :idOfInterest", OfferV2.class)
+            query.setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
             query.setParameter("idOfInterest", oldId.toString())
             List<OfferV2> result = query.list()
             Optional<OfferV2> firstOffer = result ? Optional.ofNullable(result.get(0)) : Optional.empty() as Optional<OfferV2>
@@ -203,11 +566,56 @@ class OfferDbConnector implements CreateOfferDataSource, FetchOfferDataSource, P
     List<OfferV2> findAllOffers() {
         try (Session session = sessionProvider.getCurrentSession()) {
             session.beginTransaction()
-            List<OfferV2> offerV2List = session.createQuery("Select offer FROM OfferV2 offer", OfferV2.class).list()
+            List<OfferV2> offerV2List = session.createQuery(OFFER_FETCH_QUERY, OfferV2.class)
+                    .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
+                    .list()
             session.getTransaction().commit()
             return offerV2List
         } catch (HibernateException e) {
             throw new DatabaseQueryException("Unable to load offer overviews.", e)
         }
     }
+
+    /**
+     * {@inheritDocs}
+     *
+     * <p>The offers are read in chunks of ascending ids, each chunk with one fetch query in its own
+     * read-only session. The consumer is called after the session of a chunk is closed, so no
+     * connection is held while the offers are consumed and only the offers of one chunk are held
+     * in memory. The offers are detached and must not be modified by the consumer.</p>
+     *
+     * <p>Chunks are selected by id instead of a streaming cursor, because the MariaDB driver does
+     * not allow further queries on a connection while a result is streamed.</p>
+     */
+    @Override
+    void forEachOffer(Consumer<OfferV2> offerConsumer) {
+        List<OfferV2> offers = nextOffers(0)
+        while (!offers.isEmpty()) {
+            offers.forEach(offerConsumer)
+            offers = nextOffers(offers.last().getPersistentId())
+        }
+    }
+
+    private List<OfferV2> nextOffers(int lastId) {
+        try (Session session = sessionProvider.openSession()) {
+            session.setDefaultReadOnly(true)
+            session.beginTransaction()
+            List<Integer> offerIds = nextOfferIds(session, lastId)
+            List<OfferV2> offers = offerIds.isEmpty() ? [] : session.createQuery(OFFER_FETCH_QUERY + " WHERE offer.id IN (:ids) ORDER BY offer.id", OfferV2.class)
+                    .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
+                    .setParameterList("ids", offerIds)
+                    .list()
+            session.getTransaction().commit()
+            return offers
+        } catch (HibernateException e) {
+            throw new DatabaseQueryException("Unable to export offers.", e)
+        }
+    }
+
+    private static List<Integer> nextOfferIds(Session session, int lastId) {
+        return session.createQuery(NEXT_OFFER_IDS_QUERY, Integer.class)
+                .setParameter("lastId", lastId)
+                .setMaxResults(EXPORT_CHUNK_SIZE)
+                .list()
+    }
 }
@@ -3,6 +3,7 @@ package life.qbic.portal.offermanager.dataresources.offers
 import life.qbic.datamodel.dtos.business.Offer
 import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.communication.Subscription
+import life.qbic.portal.offermanager.dataresources.ChangeSet
 import life.qbic.portal.offermanager.dataresources.ResourcesService
 
 
@@ -19,10 +20,13 @@ class OfferResourcesService implements ResourcesService<Offer> {
 
     private final EventEmitter<Offer> offerResourceEvent
 
+    private final EventEmitter<ChangeSet<Offer>> changeEmitter
+
     private final List<Offer> availableOffers
 
     OfferResourcesService() {
         offerResourceEvent = new EventEmitter<>()
+        changeEmitter = new EventEmitter<>()
         // For now it is fine to not preload the content from the database (time intensive)
         availableOffers = []
     }
@@ -45,16 +49,28 @@ class OfferResourcesService implements ResourcesService<Offer> {
         offerResourceEvent.unregister(subscription)
     }
 
+    @Override
+    void subscribeToChanges(Subscription<ChangeSet<Offer>> subscription) {
+        changeEmitter.register(subscription)
+    }
+
+    @Override
+    void unsubscribeFromChanges(Subscription<ChangeSet<Offer>> subscription) {
+        changeEmitter.unregister(subscription)
+    }
+
     @Override
     void addToResource(Offer resourceItem) {
         availableOffers.add(resourceItem)
         offerResourceEvent.emit(resourceItem)
+        changeEmitter.emit(ChangeSet.ofAdded(resourceItem))
     }
 
     @Override
     void removeFromResource(Offer resourceItem) {
         availableOffers.remove(resourceItem)
         offerResourceEvent.emit(resourceItem)
+        changeEmitter.emit(ChangeSet.ofRemoved(resourceItem))
     }
 
     @Override
@@ -2,10 +2,17 @@ package life.qbic.portal.offermanager.dataresources.offers
 
 import life.qbic.business.RefactorConverter
 import life.qbic.datamodel.dtos.business.Offer
+import life.qbic.datamodel.dtos.business.OfferId
 import life.qbic.datamodel.dtos.projectmanagement.Project
 import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.communication.Subscription
+import life.qbic.portal.offermanager.dataresources.ChangeSet
 import life.qbic.portal.offermanager.dataresources.ResourcesService
+import life.qbic.portal.offermanager.dataresources.SharedResource
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
+
+import java.util.function.Function
+import java.util.function.Supplier
 
 /**
  * Service that contains basic overview data about available offers.
@@ -14,43 +21,65 @@ import life.qbic.portal.offermanager.dataresources.ResourcesService
  * used for inter component communication, when a new offer overview
  * source is available for download.
  *
+ * The offer overviews are shared with all sessions through the {@link SharedResourceRegistry},
+ * update events are only emitted to the subscriptions of this service.
+ *
  * @since 1.0.0
  */
 class OverviewService implements ResourcesService<OfferOverview> {
 
-    private List<OfferOverview> offerOverviewList
+    private static final String RESOURCE_NAME = "offer-overviews"
 
-    private final OfferOverviewDataSource overviewDataSource
+    private final SharedResource<OfferOverview> offerOverviews
 
     private final ResourcesService<Offer> offerService
 
     private final EventEmitter<OfferOverview> updatedOverviewEvent
 
+    private final EventEmitter<ChangeSet<OfferOverview>> overviewChangeEvent
+
     private final EventEmitter<Project> projectCreatedEvent
 
     OverviewService(OfferOverviewDataSource overviewDataSource,
                     ResourcesService<Offer> offerService,
                     EventEmitter<Project> projectCreatedEvent) {
-        this.overviewDataSource = overviewDataSource
+        this(overviewDataSource, offerService, projectCreatedEvent, SharedResourceRegistry.getInstance())
+    }
+
+    /**
+     * @param overviewDataSource the data source to load the offer overviews from
+     * @param offerService the service providing the offers created in this session
+     * @param projectCreatedEvent the emitter of projects created in this session
+     * @param registry the registry holding the shared offer overviews
+     * @since 1.11.0
+     */
+    OverviewService(OfferOverviewDataSource overviewDataSource,
+                    ResourcesService<Offer> offerService,
+                    EventEmitter<Project> projectCreatedEvent,
+                    SharedResourceRegistry registry) {
         this.updatedOverviewEvent = new EventEmitter<>()
+        this.overviewChangeEvent = new EventEmitter<>()
         this.offerService = offerService
         this.projectCreatedEvent = projectCreatedEvent
-        this.offerOverviewList = overviewDataSource.listOfferOverviews()
+        this.offerOverviews = registry.resource(RESOURCE_NAME, loaderOf(overviewDataSource))
         subscribeToNewOffers()
         subscribeToNewProjects()
     }
 
+    private static Supplier<List<OfferOverview>> loaderOf(OfferOverviewDataSource overviewDataSource) {
+        return { overviewDataSource.listOfferOverviews() } as Supplier<List<OfferOverview>>
+    }
+
     private void subscribeToNewProjects() {
         /*
         Whenever a new project is created, we want to update the associated
         offer overview with the project identifier detail
          */
         projectCreatedEvent.register({ Project project ->
-            OfferOverview affectedOffer = offerOverviewList.find {
+            OfferOverview affectedOffer = offerOverviews.snapshot().find {
                 it.offerId.equals(project.linkedOffer)
             }
             if (affectedOffer) {
-                offerOverviewList.remove(affectedOffer)
                 OfferOverview updatedOverview = new OfferOverview(
                         affectedOffer.offerId,
                         affectedOffer.modificationDate,
@@ -59,7 +88,9 @@ class OverviewService implements ResourcesService<OfferOverview> {
                         affectedOffer.projectManager.toString(),
                         affectedOffer.totalPrice,
                         project.projectId, affectedOffer.affiliation)
-                this.addToResource(updatedOverview)
+                offerOverviews.replace(affectedOffer, updatedOverview)
+                updatedOverviewEvent.emit(updatedOverview)
+                overviewChangeEvent.emit(ChangeSet.ofUpdated(affectedOffer, updatedOverview))
             }
         })
     }
@@ -88,26 +119,38 @@ class OverviewService implements ResourcesService<OfferOverview> {
         )
     }
 
+    /**
+     * Loads the offer overviews shared with all sessions again and emits the differences to the
+     * previous overviews as a single change set.
+     */
     @Override
     void reloadResources() {
-
+        List<OfferOverview> previousOverviews = offerOverviews.snapshot().getItems()
+        List<OfferOverview> currentOverviews = offerOverviews.reload().getItems()
+        ChangeSet<OfferOverview> changes = ChangeSet.between(previousOverviews, currentOverviews,
+                { OfferOverview overview -> overview.offerId } as Function<OfferOverview, OfferId>)
+        if (!changes.isEmpty()) {
+            overviewChangeEvent.emit(changes)
+        }
     }
 
     @Override
     void addToResource(OfferOverview resourceItem) {
-        offerOverviewList.add(resourceItem)
+        offerOverviews.add(resourceItem)
         updatedOverviewEvent.emit(resourceItem)
+        overviewChangeEvent.emit(ChangeSet.ofAdded(resourceItem))
     }
 
     @Override
     void removeFromResource(OfferOverview resourceItem) {
-        offerOverviewList.remove(resourceItem)
+        offerOverviews.remove(resourceItem)
         updatedOverviewEvent.emit(resourceItem)
+        overviewChangeEvent.emit(ChangeSet.ofRemoved(resourceItem))
     }
 
     @Override
     Iterator<OfferOverview> iterator() {
-        return new ArrayList(offerOverviewList).iterator()
+        return offerOverviews.snapshot().iterator()
     }
 
     @Override
@@ -119,4 +162,14 @@ class OverviewService implements ResourcesService<OfferOverview> {
     void unsubscribe(Subscription<OfferOverview> subscription) {
         updatedOverviewEvent.unregister(subscription)
     }
+
+    @Override
+    void subscribeToChanges(Subscription<ChangeSet<OfferOverview>> subscription) {
+        overviewChangeEvent.register(subscription)
+    }
+
+    @Override
+    void unsubscribeFromChanges(Subscription<ChangeSet<OfferOverview>> subscription) {
+        overviewChangeEvent.unregister(subscription)
+    }
 }
@@ -5,6 +5,7 @@ import static org.apache.logging.log4j.LogManager.getLogger;
 import java.util.ArrayList;
 import java.util.List;
 import life.qbic.business.exceptions.DatabaseQueryException;
+import life.qbic.business.persons.Person;
 import life.qbic.business.persons.affiliation.Affiliation;
 import life.qbic.business.persons.affiliation.AffiliationExistsException;
 import life.qbic.business.persons.affiliation.AffiliationNotFoundException;
@@ -12,6 +13,7 @@ import life.qbic.business.persons.affiliation.archive.ArchiveAffiliationDataSour
 import life.qbic.business.persons.affiliation.create.CreateAffiliationDataSource;
 import life.qbic.business.persons.affiliation.list.ListAffiliationsDataSource;
 import life.qbic.business.persons.affiliation.update.UpdateAffiliationDataSource;
+import life.qbic.portal.offermanager.dataresources.database.EntityCache;
 import life.qbic.portal.offermanager.dataresources.database.SessionProvider;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.HibernateException;
@@ -22,8 +24,15 @@ import org.hibernate.query.Query;
 public class AffiliationDbConnector implements CreateAffiliationDataSource,
     ListAffiliationsDataSource, UpdateAffiliationDataSource, ArchiveAffiliationDataSource {
 
+  /**
+   * The second-level cache region holding the results of the affiliation list query
+   */
+  static final String AFFILIATIONS_QUERY_REGION = "query.affiliations";
+
   private final SessionProvider sessionProvider;
 
+  private final EntityCache entityCache;
+
   private static final Logger log = getLogger(AffiliationDbConnector.class);
 
   /**
@@ -31,7 +40,20 @@ public class AffiliationDbConnector implements CreateAffiliationDataSource,
    * @param sessionProvider the session provider providing hibernate sessions
    */
   public AffiliationDbConnector(SessionProvider sessionProvider) {
+    this(sessionProvider, null);
+  }
+
+  /**
+   * Uses a Hibernate session to perform the transactions with the persistence layer.
+   * Cached affiliations are evicted from the entity cache once they are modified.
+   *
+   * @param sessionProvider the session provider providing hibernate sessions
+   * @param entityCache the second-level cache of the session provider
+   * @since 1.11.0
+   */
+  public AffiliationDbConnector(SessionProvider sessionProvider, EntityCache entityCache) {
     this.sessionProvider = sessionProvider;
+    this.entityCache = entityCache;
   }
 
   @Override
@@ -42,6 +64,8 @@ public class AffiliationDbConnector implements CreateAffiliationDataSource,
       }
       session.beginTransaction();
       session.save(affiliation);
+      session.getTransaction().commit();
+      evictCachedAffiliations();
     } catch (HibernateException e) {
       log.error(e.getMessage(), e);
       throw new DatabaseQueryException(
@@ -55,6 +79,8 @@ public class AffiliationDbConnector implements CreateAffiliationDataSource,
     try (Session session = sessionProvider.getCurrentSession()) {
       session.beginTransaction();
       Query<Affiliation> query = session.createQuery("FROM Affiliation ", Affiliation.class);
+      query.setCacheable(true);
+      query.setCacheRegion(AFFILIATIONS_QUERY_REGION);
       affiliations = new ArrayList<>(query.list());
       session.clear();
     }
@@ -73,6 +99,7 @@ public class AffiliationDbConnector implements CreateAffiliationDataSource,
       session.merge(affiliation);
       session.getTransaction().commit();
     }
+    evictCachedAffiliations();
   }
 
   private static boolean isAffiliationInSession(Session session, Affiliation affiliation) {
@@ -110,5 +137,18 @@ public class AffiliationDbConnector implements CreateAffiliationDataSource,
       log.error(e);
       throw new DatabaseQueryException("Archiving failed");
     }
+    evictCachedAffiliations();
+  }
+
+  /**
+   * Persons reference their affiliations, so cached persons are evicted as well.
+   */
+  private void evictCachedAffiliations() {
+    if (entityCache == null) {
+      return;
+    }
+    entityCache.evictEntities(Affiliation.class);
+    entityCache.evictQueries(AFFILIATIONS_QUERY_REGION);
+    entityCache.evictEntities(Person.class);
   }
 }
@@ -1,12 +1,18 @@
 package life.qbic.portal.offermanager.dataresources.persons
 
+import com.vaadin.ui.UI
 import life.qbic.business.RefactorConverter
 import life.qbic.business.persons.affiliation.list.ListAffiliationsDataSource
 import life.qbic.datamodel.dtos.business.Affiliation
 import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.communication.Subscription
+import life.qbic.portal.offermanager.dataresources.ChangePublisher
+import life.qbic.portal.offermanager.dataresources.ChangeSet
 import life.qbic.portal.offermanager.dataresources.ResourcesService
+import life.qbic.portal.offermanager.dataresources.SharedResource
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
 
+import java.util.function.Supplier
 import java.util.stream.Collectors
 
 /**
@@ -16,22 +22,39 @@ import java.util.stream.Collectors
  * and exposes an event emitter, that can be used to subscribe
  * to any update event of the underlying affiliation resource data.
  *
+ * The affiliations are shared with all sessions through the {@link SharedResourceRegistry},
+ * update events are only emitted to the subscriptions of this service.
+ *
  * @since 1.0.0
  */
 class AffiliationResourcesService implements ResourcesService<Affiliation> {
 
-    private final ListAffiliationsDataSource listAffiliationsDataSource
+    private static final String RESOURCE_NAME = "affiliations"
 
-    private final List<Affiliation> availableAffiliations
+    private final SharedResource<Affiliation> availableAffiliations
 
     private final EventEmitter<Affiliation> eventEmitter
 
+    private final ChangePublisher<Affiliation> changePublisher
+
     AffiliationResourcesService(ListAffiliationsDataSource listAffiliationsDataSource) {
-        this.listAffiliationsDataSource = listAffiliationsDataSource
+        this(listAffiliationsDataSource, SharedResourceRegistry.getInstance())
+    }
 
-        this.availableAffiliations = fetchAllAffiliations(listAffiliationsDataSource)
+    /**
+     * @param listAffiliationsDataSource the data source to load the affiliations from
+     * @param registry the registry holding the shared affiliations
+     * @since 1.11.0
+     */
+    AffiliationResourcesService(ListAffiliationsDataSource listAffiliationsDataSource, SharedResourceRegistry registry) {
+        this.availableAffiliations = registry.resource(RESOURCE_NAME, loaderOf(listAffiliationsDataSource))
 
         this.eventEmitter = new EventEmitter<>()
+        this.changePublisher = new ChangePublisher<>(Affiliation::getId, activeAffiliations())
+    }
+
+    private static Supplier<List<Affiliation>> loaderOf(ListAffiliationsDataSource listAffiliationsDataSource) {
+        return { fetchAllAffiliations(listAffiliationsDataSource) } as Supplier<List<Affiliation>>
     }
 
     private static List<Affiliation> fetchAllAffiliations(ListAffiliationsDataSource listAffiliationsDataSource) {
@@ -43,12 +66,8 @@ class AffiliationResourcesService implements ResourcesService<Affiliation> {
 
     @Override
     void reloadResources() {
-        availableAffiliations.clear()
-
-        List<Affiliation> updatedEntries = fetchAllAffiliations(listAffiliationsDataSource)
-        updatedEntries.each {
-            addToResource(it)
-        }
+        availableAffiliations.reload()
+        changePublisher.publish(activeAffiliations())
     }
 
     @Override
@@ -61,22 +80,49 @@ class AffiliationResourcesService implements ResourcesService<Affiliation> {
         eventEmitter.unregister(subscription)
     }
 
+    /**
+     * Publishes the changes made through other sessions to the subscriptions of this service,
+     * until the UI of this session detaches.
+     *
+     * @param ui the UI of the session this service belongs to
+     * @since 1.11.0
+     */
+    void followSharedChanges(UI ui) {
+        availableAffiliations.subscribe({ changePublisher.publish(activeAffiliations()) }, ui)
+    }
+
+    @Override
+    void subscribeToChanges(Subscription<ChangeSet<Affiliation>> subscription) {
+        changePublisher.subscribe(subscription)
+    }
+
+    @Override
+    void unsubscribeFromChanges(Subscription<ChangeSet<Affiliation>> subscription) {
+        changePublisher.unsubscribe(subscription)
+    }
+
     @Override
     void addToResource(Affiliation resourceItem) {
         this.availableAffiliations.add(resourceItem)
         this.eventEmitter.emit(resourceItem)
+        changePublisher.publish(activeAffiliations())
     }
 
     @Override
     void removeFromResource(Affiliation resourceItem) {
         this.availableAffiliations.remove(resourceItem)
         this.eventEmitter.emit(resourceItem)
+        changePublisher.publish(activeAffiliations())
     }
 
     @Override
     Iterator<Affiliation> iterator() {
-        return new ArrayList<>(availableAffiliations).stream()
+        return activeAffiliations().iterator()
+    }
+
+    private List<Affiliation> activeAffiliations() {
+        return availableAffiliations.snapshot().getItems().stream()
                 .filter(affiliation -> affiliation.isActive())
-                .collect(Collectors.toList()).iterator()
+                .collect(Collectors.toList())
     }
 }
@@ -1,11 +1,15 @@
 package life.qbic.portal.offermanager.dataresources.persons
 
+import com.vaadin.ui.UI
 import life.qbic.business.RefactorConverter
 import life.qbic.business.persons.list.ListPersonsDataSource
 import life.qbic.datamodel.dtos.business.Customer
-import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.communication.Subscription
-import life.qbic.portal.offermanager.dataresources.ResourcesService
+import life.qbic.portal.offermanager.dataresources.ChangePublisher
+import life.qbic.portal.offermanager.dataresources.ChangeSet
+import life.qbic.portal.offermanager.dataresources.ReadOnlyResourcesService
+import life.qbic.portal.offermanager.dataresources.ResourceProjection
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
 
 /**
  * Customer service that holds resources about available customers
@@ -13,58 +17,63 @@ import life.qbic.portal.offermanager.dataresources.ResourcesService
  * This service holds resources about customer information and can be used to subscribe to any
  * update event of the underlying resource data.
  *
+ * The customers are projected from the {@link SharedPersons} of the {@link SharedResourceRegistry}.
+ * The customers change with the shared persons only, so the service is read-only.
+ * Changes of the shared persons are published to the subscriptions of this service as change sets.
+ *
  * @since 1.0.0
  */
-class CustomerResourceService implements ResourcesService<Customer>{
-
-    private final ListPersonsDataSource listPersonsDataSource
+class CustomerResourceService implements ReadOnlyResourcesService<Customer> {
 
-    private final List<Customer> customerList
+    private static final String RESOURCE_NAME = "customers"
 
-    private final EventEmitter<Customer> eventEmitter
+    private final ResourceProjection<life.qbic.business.persons.Person, Customer> customers
 
-    private final RefactorConverter refactorConverter = new RefactorConverter()
+    private final ChangePublisher<Customer> changePublisher
 
     CustomerResourceService(ListPersonsDataSource listPersonsDataSource) {
-        this.listPersonsDataSource = listPersonsDataSource
-        this.customerList = listPersonsDataSource.listPersons().stream().map(refactorConverter::toCustomerDto).collect()
-        this.eventEmitter = new EventEmitter<>()
+        this(listPersonsDataSource, SharedResourceRegistry.getInstance())
     }
 
-    @Override
-    void reloadResources() {
-        customerList.clear()
-
-        List<Customer> updatedEntries = listPersonsDataSource.listPersons().stream().map(refactorConverter::toCustomerDto).collect()
-        updatedEntries.each {
-            addToResource(it)
-        }
+    /**
+     * @param listPersonsDataSource the data source to load the customers from
+     * @param registry the registry holding the shared customers
+     * @since 1.11.0
+     */
+    CustomerResourceService(ListPersonsDataSource listPersonsDataSource, SharedResourceRegistry registry) {
+        this.customers = registry.projection(RESOURCE_NAME, SharedPersons.of(listPersonsDataSource, registry), RefactorConverter::toCustomerDto)
+        this.changePublisher = new ChangePublisher<>(Customer::getId, customers.snapshot().getItems())
     }
 
     @Override
-    void subscribe(Subscription<Customer> subscription) {
-        eventEmitter.register(subscription)
+    void reloadResources() {
+        customers.getSource().reload()
+        changePublisher.publish(customers.snapshot().getItems())
     }
 
-    @Override
-    void unsubscribe(Subscription<Customer> subscription) {
-        eventEmitter.unregister(subscription)
+    /**
+     * Publishes the changes made through other sessions to the subscriptions of this service,
+     * until the UI of this session detaches.
+     *
+     * @param ui the UI of the session this service belongs to
+     * @since 1.11.0
+     */
+    void followSharedChanges(UI ui) {
+        customers.getSource().subscribe({ changePublisher.publish(customers.snapshot().getItems()) }, ui)
     }
 
     @Override
-    void addToResource(Customer resourceItem) {
-        customerList.add(resourceItem)
-        eventEmitter.emit(resourceItem)
+    void subscribeToChanges(Subscription<ChangeSet<Customer>> subscription) {
+        changePublisher.subscribe(subscription)
     }
 
     @Override
-    void removeFromResource(Customer resourceItem) {
-        customerList.remove(resourceItem)
-        eventEmitter.emit(resourceItem)
+    void unsubscribeFromChanges(Subscription<ChangeSet<Customer>> subscription) {
+        changePublisher.unsubscribe(subscription)
     }
 
     @Override
     Iterator<Customer> iterator() {
-        return new ArrayList(customerList).iterator()
+        return customers.snapshot().iterator()
     }
 }
@@ -7,6 +7,7 @@ import life.qbic.business.persons.PersonExistsException
 import life.qbic.business.persons.create.CreatePersonDataSource
 import life.qbic.business.persons.list.ListPersonsDataSource
 import life.qbic.business.persons.search.SearchPersonDataSource
+import life.qbic.portal.offermanager.dataresources.database.EntityCache
 import life.qbic.portal.offermanager.dataresources.database.SessionProvider
 import org.hibernate.HibernateException
 import org.hibernate.Session
@@ -24,15 +25,35 @@ import org.hibernate.query.Query
 @Log4j2
 class PersonDbConnector implements CreatePersonDataSource, SearchPersonDataSource, ListPersonsDataSource {
 
+  /**
+   * The second-level cache region holding the results of the person list query
+   */
+  static final String PERSONS_QUERY_REGION = "query.persons"
+
   private final SessionProvider sessionProvider
 
+  private final EntityCache entityCache
+
   /**
    * Uses a Hibernate session to perform the transactions with the persistence layer
    * @param sessionProvider
    * @since 1.3.0
    */
   PersonDbConnector(SessionProvider sessionProvider) {
+    this(sessionProvider, null)
+  }
+
+  /**
+   * Uses a Hibernate session to perform the transactions with the persistence layer.
+   * Cached persons are evicted from the entity cache once they are modified.
+   *
+   * @param sessionProvider the session provider providing hibernate sessions
+   * @param entityCache the second-level cache of the session provider
+   * @since 1.11.0
+   */
+  PersonDbConnector(SessionProvider sessionProvider, EntityCache entityCache) {
     this.sessionProvider = sessionProvider
+    this.entityCache = entityCache
   }
 
   @Override
@@ -41,6 +62,8 @@ class PersonDbConnector implements CreatePersonDataSource, SearchPersonDataSourc
     try (Session session = sessionProvider.getCurrentSession()) {
       session.beginTransaction()
       Query<Person> query = session.createQuery("SELECT p FROM Person p WHERE p.isActive = TRUE ")
+      query.setCacheable(true)
+      query.setCacheRegion(PERSONS_QUERY_REGION)
       // Print entities
       persons.addAll(query.list() as List<Person>)
     }
@@ -57,6 +80,7 @@ class PersonDbConnector implements CreatePersonDataSource, SearchPersonDataSourc
       session.beginTransaction()
       session.save(person) //sets the id of the person
       session.getTransaction().commit()
+      evictCachedPersons()
       return person
     } catch (HibernateException e) {
       log.error(e.message, e)
@@ -91,6 +115,7 @@ class PersonDbConnector implements CreatePersonDataSource, SearchPersonDataSourc
       session.update(outdatedPersonData)
       session.save(updatedPersonData)
       session.getTransaction().commit()
+      evictCachedPersons()
       return updatedPersonData
     } catch (HibernateException e) {
       log.error(e.message, e)
@@ -104,6 +129,7 @@ class PersonDbConnector implements CreatePersonDataSource, SearchPersonDataSourc
       session.beginTransaction()
       Person mergedPerson = session.<Person>merge(person) //have to un-generify groovy here
       session.getTransaction().commit()
+      evictCachedPersons()
       return mergedPerson
     } catch (HibernateException e) {
       log.error(e.message, e)
@@ -128,4 +154,9 @@ class PersonDbConnector implements CreatePersonDataSource, SearchPersonDataSourc
     }
     return matches
   }
+
+  private void evictCachedPersons() {
+    entityCache?.evictEntities(Person.class)
+    entityCache?.evictQueries(PERSONS_QUERY_REGION)
+  }
 }
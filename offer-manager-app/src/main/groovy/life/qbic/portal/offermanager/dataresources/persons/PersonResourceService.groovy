@@ -1,11 +1,15 @@
 package life.qbic.portal.offermanager.dataresources.persons
 
+import com.vaadin.ui.UI
 import life.qbic.business.RefactorConverter
 import life.qbic.business.persons.list.ListPersonsDataSource
 import life.qbic.datamodel.dtos.general.Person
-import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.communication.Subscription
-import life.qbic.portal.offermanager.dataresources.ResourcesService
+import life.qbic.portal.offermanager.dataresources.ChangePublisher
+import life.qbic.portal.offermanager.dataresources.ChangeSet
+import life.qbic.portal.offermanager.dataresources.ReadOnlyResourcesService
+import life.qbic.portal.offermanager.dataresources.ResourceProjection
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
 
 /**
  * Person service that holds resources about available person entries
@@ -13,59 +17,63 @@ import life.qbic.portal.offermanager.dataresources.ResourcesService
  * This service holds resources about person information and can be used to subscribe to any
  * update event of the underlying resource data.
  *
+ * The person entries are projected from the {@link SharedPersons} of the {@link SharedResourceRegistry}.
+ * The person entries change with the shared persons only, so the service is read-only.
+ * Changes of the shared persons are published to the subscriptions of this service as change sets.
+ *
  * @since 1.0.0
  */
-class PersonResourceService implements ResourcesService<Person>{
-
-    private final ListPersonsDataSource listPersonsDataSource
+class PersonResourceService implements ReadOnlyResourcesService<Person> {
 
-    private final List<Person> availablePersonEntries
+    private static final String RESOURCE_NAME = "person-entries"
 
-    private final EventEmitter<Person> eventEmitter
+    private final ResourceProjection<life.qbic.business.persons.Person, Person> availablePersonEntries
 
-    private final RefactorConverter refactorConverter = new RefactorConverter()
+    private final ChangePublisher<Person> changePublisher
 
     PersonResourceService(ListPersonsDataSource listPersonsDataSource) {
-        this.listPersonsDataSource = Objects.requireNonNull(listPersonsDataSource, "Database connector " +
-                "must not be null.")
-        this.availablePersonEntries = listPersonsDataSource.listPersons().stream().map(refactorConverter::toPersonDTO).collect()
-        this.eventEmitter = new EventEmitter<>()
+        this(listPersonsDataSource, SharedResourceRegistry.getInstance())
     }
 
-    @Override
-    void reloadResources() {
-        availablePersonEntries.clear()
-
-        List<Person> updatedEntries = listPersonsDataSource.listPersons().stream().map(refactorConverter::toPersonDTO).collect()
-        updatedEntries.each {
-            addToResource(it)
-        }
+    /**
+     * @param listPersonsDataSource the data source to load the person entries from
+     * @param registry the registry holding the shared person entries
+     * @since 1.11.0
+     */
+    PersonResourceService(ListPersonsDataSource listPersonsDataSource, SharedResourceRegistry registry) {
+        this.availablePersonEntries = registry.projection(RESOURCE_NAME, SharedPersons.of(listPersonsDataSource, registry), RefactorConverter::toPersonDTO)
+        this.changePublisher = new ChangePublisher<>(Person::getId, availablePersonEntries.snapshot().getItems())
     }
 
     @Override
-    void subscribe(Subscription<Person> subscription) {
-        this.eventEmitter.register(subscription)
+    void reloadResources() {
+        availablePersonEntries.getSource().reload()
+        changePublisher.publish(availablePersonEntries.snapshot().getItems())
     }
 
-    @Override
-    void unsubscribe(Subscription<Person> subscription) {
-        this.eventEmitter.unregister(subscription)
+    /**
+     * Publishes the changes made through other sessions to the subscriptions of this service,
+     * until the UI of this session detaches.
+     *
+     * @param ui the UI of the session this service belongs to
+     * @since 1.11.0
+     */
+    void followSharedChanges(UI ui) {
+        availablePersonEntries.getSource().subscribe({ changePublisher.publish(availablePersonEntries.snapshot().getItems()) }, ui)
     }
 
     @Override
-    void addToResource(Person resourceItem) {
-        this.availablePersonEntries.add(resourceItem)
-        this.eventEmitter.emit(resourceItem)
+    void subscribeToChanges(Subscription<ChangeSet<Person>> subscription) {
+        changePublisher.subscribe(subscription)
     }
 
     @Override
-    void removeFromResource(Person resourceItem) {
-        this.availablePersonEntries.remove(resourceItem)
-        this.eventEmitter.emit(resourceItem)
+    void unsubscribeFromChanges(Subscription<ChangeSet<Person>> subscription) {
+        changePublisher.unsubscribe(subscription)
     }
 
     @Override
     Iterator<Person> iterator() {
-        return new ArrayList<>(this.availablePersonEntries).iterator()
+        return this.availablePersonEntries.snapshot().iterator()
     }
 }
@@ -1,11 +1,15 @@
 package life.qbic.portal.offermanager.dataresources.persons
 
+import com.vaadin.ui.UI
 import life.qbic.business.RefactorConverter
 import life.qbic.business.persons.list.ListPersonsDataSource
 import life.qbic.datamodel.dtos.business.ProjectManager
-import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.communication.Subscription
-import life.qbic.portal.offermanager.dataresources.ResourcesService
+import life.qbic.portal.offermanager.dataresources.ChangePublisher
+import life.qbic.portal.offermanager.dataresources.ChangeSet
+import life.qbic.portal.offermanager.dataresources.ReadOnlyResourcesService
+import life.qbic.portal.offermanager.dataresources.ResourceProjection
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
 
 /**
  * Project manager service that holds resources about available managers
@@ -13,58 +17,63 @@ import life.qbic.portal.offermanager.dataresources.ResourcesService
  * This service holds resources about project manager information and can be used to subscribe to
  * any update event of the underlying resource data.
  *
+ * The project managers are projected from the {@link SharedPersons} of the {@link SharedResourceRegistry}.
+ * The project managers change with the shared persons only, so the service is read-only.
+ * Changes of the shared persons are published to the subscriptions of this service as change sets.
+ *
  * @since 1.0.0
  */
-class ProjectManagerResourceService implements ResourcesService<ProjectManager>{
+class ProjectManagerResourceService implements ReadOnlyResourcesService<ProjectManager> {
 
-    private final List<ProjectManager> availableProjectManagers
-    private final ListPersonsDataSource listPersonsDataSource
+    private static final String RESOURCE_NAME = "project-managers"
 
-    private final EventEmitter<ProjectManager> resourceUpdateEvent
+    private final ResourceProjection<life.qbic.business.persons.Person, ProjectManager> availableProjectManagers
 
-    private final RefactorConverter refactorConverter = new RefactorConverter()
+    private final ChangePublisher<ProjectManager> changePublisher
 
     ProjectManagerResourceService(ListPersonsDataSource listPersonsDataSource) {
-        availableProjectManagers = listPersonsDataSource.listPersons().stream().map(refactorConverter::toProjectManagerDto).collect()
-        this.listPersonsDataSource = listPersonsDataSource
-        resourceUpdateEvent = new EventEmitter<>()
+        this(listPersonsDataSource, SharedResourceRegistry.getInstance())
     }
 
-    @Override
-    void reloadResources() {
-        availableProjectManagers.clear()
-
-        List<ProjectManager> updatedEntries = listPersonsDataSource.listPersons().stream().map(refactorConverter::toProjectManagerDto).collect()
-        updatedEntries.each {
-            addToResource(it)
-        }
+    /**
+     * @param listPersonsDataSource the data source to load the project managers from
+     * @param registry the registry holding the shared project managers
+     * @since 1.11.0
+     */
+    ProjectManagerResourceService(ListPersonsDataSource listPersonsDataSource, SharedResourceRegistry registry) {
+        availableProjectManagers = registry.projection(RESOURCE_NAME, SharedPersons.of(listPersonsDataSource, registry), RefactorConverter::toProjectManagerDto)
+        changePublisher = new ChangePublisher<>(ProjectManager::getId, availableProjectManagers.snapshot().getItems())
     }
 
     @Override
-    void subscribe(Subscription<ProjectManager> subscription) {
-        resourceUpdateEvent.register(subscription)
+    void reloadResources() {
+        availableProjectManagers.getSource().reload()
+        changePublisher.publish(availableProjectManagers.snapshot().getItems())
     }
 
-    @Override
-    void unsubscribe(Subscription<ProjectManager> subscription) {
-        resourceUpdateEvent.unregister(subscription)
+    /**
+     * Publishes the changes made through other sessions to the subscriptions of this service,
+     * until the UI of this session detaches.
+     *
+     * @param ui the UI of the session this service belongs to
+     * @since 1.11.0
+     */
+    void followSharedChanges(UI ui) {
+        availableProjectManagers.getSource().subscribe({ changePublisher.publish(availableProjectManagers.snapshot().getItems()) }, ui)
     }
 
     @Override
-    void addToResource(ProjectManager resourceItem) {
-        availableProjectManagers.add(resourceItem)
-        resourceUpdateEvent.emit(resourceItem)
+    void subscribeToChanges(Subscription<ChangeSet<ProjectManager>> subscription) {
+        changePublisher.subscribe(subscription)
     }
 
     @Override
-    void removeFromResource(ProjectManager resourceItem) {
-        availableProjectManagers.remove(resourceItem)
-        resourceUpdateEvent.emit(resourceItem)
-
+    void unsubscribeFromChanges(Subscription<ChangeSet<ProjectManager>> subscription) {
+        changePublisher.unsubscribe(subscription)
     }
 
     @Override
     Iterator<ProjectManager> iterator() {
-        return new ArrayList(availableProjectManagers).iterator()
+        return availableProjectManagers.snapshot().iterator()
     }
 }
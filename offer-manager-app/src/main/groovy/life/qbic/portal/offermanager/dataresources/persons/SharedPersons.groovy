@@ -0,0 +1,37 @@
+package life.qbic.portal.offermanager.dataresources.persons
+
+import life.qbic.business.persons.Person
+import life.qbic.business.persons.list.ListPersonsDataSource
+import life.qbic.portal.offermanager.dataresources.SharedResource
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
+
+import java.util.function.Supplier
+
+/**
+ * Provides the active persons shared by the person, customer and project manager services
+ *
+ * The services present the same persons as different DTOs. They project one shared snapshot of
+ * the persons, so the persons are queried once for all of them and reloading one service
+ * refreshes the others as well.
+ *
+ * @since 1.11.0
+ * @see CustomerResourceService
+ * @see ProjectManagerResourceService
+ * @see PersonResourceService
+ */
+class SharedPersons {
+
+    private static final String RESOURCE_NAME = "persons"
+
+    /**
+     * Returns the shared persons of the registry, they are loaded if they have not been requested before.
+     *
+     * @param listPersonsDataSource the data source to load the persons from
+     * @param registry the registry holding the shared persons
+     * @return the shared persons
+     */
+    static SharedResource<Person> of(ListPersonsDataSource listPersonsDataSource, SharedResourceRegistry registry) {
+        Objects.requireNonNull(listPersonsDataSource, "Database connector must not be null.")
+        return registry.resource(RESOURCE_NAME, { listPersonsDataSource.listPersons() } as Supplier<List<Person>>)
+    }
+}
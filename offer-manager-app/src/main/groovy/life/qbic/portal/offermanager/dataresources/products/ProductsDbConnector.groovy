@@ -10,6 +10,7 @@ import life.qbic.business.products.archive.ArchiveProductDataSource
 import life.qbic.business.products.create.CreateProductDataSource
 import life.qbic.business.products.list.ListProductsDataSource
 import life.qbic.portal.offermanager.dataresources.database.ConnectionProvider
+import life.qbic.portal.offermanager.dataresources.database.EntityCache
 
 import java.sql.Connection
 import java.sql.PreparedStatement
@@ -27,6 +28,8 @@ class ProductsDbConnector implements ArchiveProductDataSource, CreateProductData
 
   private final ConnectionProvider provider
 
+  private final EntityCache entityCache
+
   /**
    * Creates a connector for a MariaDB instance.
    *
@@ -35,7 +38,24 @@ class ProductsDbConnector implements ArchiveProductDataSource, CreateProductData
    * @param provider A connection provider
    */
   ProductsDbConnector(ConnectionProvider provider) {
+    this(provider, null)
+  }
+
+  /**
+   * Creates a connector for a MariaDB instance.
+   *
+   * Products are modified without Hibernate, so cached products are evicted explicitly
+   * from the entity cache after every modification.
+   *
+   * The class instantiation will fail, if the passed provider is null.
+   *
+   * @param provider A connection provider
+   * @param entityCache the second-level cache holding products loaded by Hibernate
+   * @since 1.11.0
+   */
+  ProductsDbConnector(ConnectionProvider provider, EntityCache entityCache) {
     this.provider = Objects.requireNonNull(provider, "Provider must not be null.")
+    this.entityCache = entityCache
   }
 
 /**
@@ -53,9 +73,9 @@ class ProductsDbConnector implements ArchiveProductDataSource, CreateProductData
   @Override
   List<Product> listProducts() throws DatabaseQueryException {
     String query = Queries.SELECT_ALL_PRODUCTS + "WHERE active = 1"
-    try (Connection connection = provider.connect()) {
-      final PreparedStatement statement = connection.prepareStatement(query)
-      final ResultSet resultSet = statement.executeQuery()
+    try (Connection connection = provider.connect();
+         PreparedStatement statement = connection.prepareStatement(query);
+         ResultSet resultSet = statement.executeQuery()) {
       return convertResultSet(resultSet)
     } catch (SQLException e) {
       log.error("Unexpected exception: $e.message", e)
@@ -143,51 +163,29 @@ class ProductsDbConnector implements ArchiveProductDataSource, CreateProductData
   /**
    * Searches if the properties contained in a productDraft are already contained in the database
    *
+   * The duplicates are read completely with a single query.
+   *
    * @param productDraft for which it is checked if it's already contained in the db
    * @return List containing all duplicate products stored in the DB for the provided productDraft
    */
   @Override
   List<Product> findDuplicateProducts(ProductDraft productDraft) {
-
-    String productCategory = productDraft.category.getLabel()
-    String productDescription = productDraft.description
-    String productName = productDraft.name
-    double internalUnitPrice = productDraft.internalUnitPrice
-    double externalUnitPrice = productDraft.externalUnitPrice
-    String productUnit = productDraft.unit
-    String serviceProvider = productDraft.serviceProvider
-
-    provider.connect().withCloseable {
-      Connection connection -> findProducts(connection, productCategory, productDescription, productName, internalUnitPrice, externalUnitPrice, productUnit, serviceProvider)
-    }
-
-  }
-
-  private List<Product> findProducts(Connection it, String productCategory, String productDescription, String productName, double internalUnitPrice, double externalUnitPrice, String productUnit, String serviceProvider) {
-    PreparedStatement preparedStatement = it.prepareStatement(Queries.FIND_ACTIVE_PRODUCTID_BY_PROPERTIES)
-    preparedStatement.setString(1, productCategory)
-    preparedStatement.setString(2, productDescription)
-    preparedStatement.setString(3, productName)
-    preparedStatement.setDouble(4, internalUnitPrice)
-    preparedStatement.setDouble(5, externalUnitPrice)
-    preparedStatement.setString(6, productUnit)
-    preparedStatement.setString(7, serviceProvider)
-
-    ResultSet resultSet = preparedStatement.executeQuery()
-    List<Product> products = []
-    while (resultSet.next()) {
-      String productId = resultSet.getString("productId")
-      try {
-        fetch(productId).ifPresent({ Product retrievedProduct ->
-          products << retrievedProduct
-        })
-      }
-      catch (DatabaseQueryException databaseQueryException) {
-        log.warn("Could not check for duplicate Products for ${productName}  'Skipping.")
-        log.debug("Could not check for duplicate Products for ${productName}. Skipping.", databaseQueryException)
+    try (Connection connection = provider.connect();
+         PreparedStatement preparedStatement = connection.prepareStatement(Queries.FIND_ACTIVE_PRODUCTS_BY_PROPERTIES)) {
+      preparedStatement.setString(1, productDraft.category.getLabel())
+      preparedStatement.setString(2, productDraft.description)
+      preparedStatement.setString(3, productDraft.name)
+      preparedStatement.setDouble(4, productDraft.internalUnitPrice)
+      preparedStatement.setDouble(5, productDraft.externalUnitPrice)
+      preparedStatement.setString(6, productDraft.unit)
+      preparedStatement.setString(7, productDraft.serviceProvider)
+      try (ResultSet resultSet = preparedStatement.executeQuery()) {
+        return convertResultSet(resultSet)
       }
+    } catch (SQLException e) {
+      log.error("Unexpected exception: $e.message", e)
+      throw new DatabaseQueryException("Unable to check for duplicates of product ${productDraft.name}.")
     }
-    return products
   }
 //
 //  /**
@@ -265,6 +263,7 @@ class ProductsDbConnector implements ArchiveProductDataSource, CreateProductData
         statement.execute()
       }
     }
+    evictCachedProducts()
   }
 
   /**
@@ -278,14 +277,15 @@ class ProductsDbConnector implements ArchiveProductDataSource, CreateProductData
   Optional<Product> fetch(String productId) throws DatabaseQueryException {
 
     String query = Queries.SELECT_ALL_PRODUCTS + "WHERE active = 1 AND productId=?"
-    try (Connection connection = provider.connect()) {
-      PreparedStatement preparedStatement = connection.prepareStatement(query)
+    try (Connection connection = provider.connect();
+         PreparedStatement preparedStatement = connection.prepareStatement(query)) {
       preparedStatement.setString(1, productId)
-      ResultSet result = preparedStatement.executeQuery()
-      while (result.next()) {
-        return Optional.of(parseProductFromResultSet(result))
+      try (ResultSet result = preparedStatement.executeQuery()) {
+        while (result.next()) {
+          return Optional.of(parseProductFromResultSet(result))
+        }
+        return Optional.empty()
       }
-      return Optional.empty()
     }
   }
 
@@ -311,11 +311,16 @@ class ProductsDbConnector implements ArchiveProductDataSource, CreateProductData
       preparedStatement.setString(8, productDraft.serviceProvider)
 
       preparedStatement.execute()
+      evictCachedProducts()
       Optional<Product> createdProduct = fetch(productId)
       return createdProduct.orElse(null)
     }
   }
 
+  private void evictCachedProducts() {
+    entityCache?.evictEntities(Product.class)
+  }
+
   private static Product parseProductFromResultSet(ResultSet resultSet) {
     int id = resultSet.getInt(1)
     String dbCategory = resultSet.getString(2)
@@ -405,9 +410,9 @@ class ProductsDbConnector implements ArchiveProductDataSource, CreateProductData
 //            "WHERE category = ? AND description = ? AND productName = ? AND internalUnitPrice = ? AND externalUnitPrice = ? AND unit = ? AND serviceProvider = ?"
 
     /**
-     * Query for ProductId of a product by product properties
+     * Query for active products with the given product properties
      */
-    final static String FIND_ACTIVE_PRODUCTID_BY_PROPERTIES = "SELECT productId FROM product " +
+    final static String FIND_ACTIVE_PRODUCTS_BY_PROPERTIES = SELECT_ALL_PRODUCTS +
             "WHERE category = ? AND description = ? AND productName = ? AND internalUnitPrice = ? AND externalUnitPrice = ? AND unit = ? AND serviceProvider = ? AND active = 1"
   }
 }
@@ -1,11 +1,20 @@
 package life.qbic.portal.offermanager.dataresources.products
 
+import com.vaadin.ui.UI
 import life.qbic.business.RefactorConverter
+import life.qbic.business.products.ProductFingerprintIndex
 import life.qbic.business.products.list.ListProductsDataSource
 import life.qbic.datamodel.dtos.business.services.Product
 import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.communication.Subscription
+import life.qbic.portal.offermanager.dataresources.ChangePublisher
+import life.qbic.portal.offermanager.dataresources.ChangeSet
+import life.qbic.portal.offermanager.dataresources.ResourceSnapshot
 import life.qbic.portal.offermanager.dataresources.ResourcesService
+import life.qbic.portal.offermanager.dataresources.SharedResource
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
+
+import java.util.function.Supplier
 
 /**
  * Product service that holds resources about available products
@@ -14,55 +23,68 @@ import life.qbic.portal.offermanager.dataresources.ResourcesService
  * event emitter, that can be used to subscribe to any update
  * event of the underlying resource data.
  *
+ * The products are shared with all sessions through the {@link SharedResourceRegistry}, update
+ * events are only emitted to the subscriptions of this service.
+ *
  * @since: 1.0.0
  */
 class ProductsResourcesService implements ResourcesService<Product> {
 
-    private final ListProductsDataSource listProductsDataSource
-    private final List<Product> products
+    private static final String RESOURCE_NAME = "products"
+
+    private final SharedResource<Product> products
     /**
-     * EventEmitter for products. Fires every time the resources are reloaded
-     * @see #reloadResources
+     * EventEmitter for products. Fires every time a product is added or removed
      */
     private final EventEmitter<Product> productEventEmitter
 
-    private final RefactorConverter refactorConverter = new RefactorConverter()
+    /**
+     * Publishes the changes of the products. Fires once every time the resources are reloaded
+     * @see #reloadResources
+     */
+    private final ChangePublisher<Product> changePublisher
 
     /**
      * Constructor expecting a customer database connector
      * @param listProductsDataSource
      */
     ProductsResourcesService(ListProductsDataSource listProductsDataSource) {
-        this.listProductsDataSource = listProductsDataSource
-        this.products = new LinkedList<>()
-        this.productEventEmitter = new EventEmitter<>()
-        populateResources()
+        this(listProductsDataSource, SharedResourceRegistry.getInstance())
     }
 
-    @Override
-    void reloadResources() {
-        products.clear()
+    /**
+     * Constructor expecting a product data source and the registry holding the shared products
+     * @param listProductsDataSource
+     * @param registry
+     * @since 1.11.0
+     */
+    ProductsResourcesService(ListProductsDataSource listProductsDataSource, SharedResourceRegistry registry) {
+        this.products = registry.resource(RESOURCE_NAME, loaderOf(listProductsDataSource))
+        this.productEventEmitter = new EventEmitter<>()
+        this.changePublisher = new ChangePublisher<>(Product::getId, products.snapshot().getItems())
+    }
 
-        List<Product> updatedEntries = listProductsDataSource.listProducts().stream().map(refactorConverter::toProductDto).collect()
-        updatedEntries.each {
-            addToResource(it)
-        }
+    private static Supplier<List<Product>> loaderOf(ListProductsDataSource listProductsDataSource) {
+        return { listProductsDataSource.listProducts().stream().map(RefactorConverter::toProductDto).collect() } as Supplier<List<Product>>
     }
 
-    private void populateResources() {
-        this.products.addAll(listProductsDataSource.listProducts().stream().map(refactorConverter::toProductDto).collect())
+    @Override
+    void reloadResources() {
+        changePublisher.publish(products.reload().getItems())
     }
 
     @Override
     void addToResource(Product resourceItem) {
-        this.products.add(resourceItem)
+        ResourceSnapshot<Product> changedProducts = this.products.add(resourceItem)
         productEventEmitter.emit(resourceItem)
+        changePublisher.publish(changedProducts.getItems())
     }
 
     @Override
     void removeFromResource(Product resourceItem) {
-        this.products.remove(resourceItem)
+        ResourceSnapshot<Product> changedProducts = this.products.remove(resourceItem)
         productEventEmitter.emit(resourceItem)
+        changePublisher.publish(changedProducts.getItems())
     }
 
     @Override
@@ -76,6 +98,58 @@ class ProductsResourcesService implements ResourcesService<Product> {
         this.productEventEmitter.unregister(subscription)
     }
 
+    /**
+     * Publishes the changes made through other sessions to the subscriptions of this service,
+     * until the UI of this session detaches.
+     *
+     * @param ui the UI of the session this service belongs to
+     * @since 1.11.0
+     */
+    void followSharedChanges(UI ui) {
+        products.subscribe({ changePublisher.publish(products.snapshot().getItems()) }, ui)
+    }
+
+    /**
+     * Keeps an index of the active products in line with the shared products. The index is built
+     * from the current products and rebuilt from every new snapshot of the shared products,
+     * including reloads of the expired products, for as long as the application runs.
+     *
+     * @param productIndex the index of the active products
+     * @since 1.11.0
+     */
+    void indexActiveProducts(ProductFingerprintIndex productIndex) {
+        indexActiveProducts(products, productIndex)
+    }
+
+    /**
+     * The subscription lives as long as the application, so it is created without a reference to
+     * this service and its session.
+     */
+    private static void indexActiveProducts(SharedResource<Product> products, ProductFingerprintIndex productIndex) {
+        products.subscribe({ reindex(products, productIndex) })
+        reindex(products, productIndex)
+    }
+
+    private static void reindex(SharedResource<Product> products, ProductFingerprintIndex productIndex) {
+        // the index is rebuilt from the snapshot that is current while holding the index,
+        // so an older snapshot never replaces a newer one
+        synchronized (productIndex) {
+            productIndex.reindex(products.snapshot().getItems().collect { Product product ->
+                RefactorConverter.toProduct(product)
+            })
+        }
+    }
+
+    @Override
+    void subscribeToChanges(Subscription<ChangeSet<Product>> subscription) {
+        this.changePublisher.subscribe(subscription)
+    }
+
+    @Override
+    void unsubscribeFromChanges(Subscription<ChangeSet<Product>> subscription) {
+        this.changePublisher.unsubscribe(subscription)
+    }
+
 
     /**
      * @inheritdoc
@@ -84,7 +158,7 @@ class ProductsResourcesService implements ResourcesService<Product> {
      */
     @Override
     Iterator<Product> iterator() {
-        return new ArrayList<>(this.products).iterator()
+        return this.products.snapshot().iterator()
     }
 
     /**
@@ -94,6 +168,6 @@ class ProductsResourcesService implements ResourcesService<Product> {
      */
     @Deprecated
     List<Product> getProducts() {
-        return new ArrayList<>(this.products)
+        return new ArrayList<>(this.products.snapshot().getItems())
     }
 }
@@ -5,6 +5,7 @@ import life.qbic.business.projects.list.ListProjectsDataSource
 import life.qbic.datamodel.dtos.projectmanagement.ProjectIdentifier
 import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.communication.Subscription
+import life.qbic.portal.offermanager.dataresources.ChangeSet
 import life.qbic.portal.offermanager.dataresources.ResourcesService
 
 /**
@@ -23,6 +24,8 @@ class ProjectResourceService implements ResourcesService<ProjectIdentifier>{
 
     private final EventEmitter<ProjectIdentifier> eventEmitter
 
+    private final EventEmitter<ChangeSet<ProjectIdentifier>> changeEmitter
+
     private final RefactorConverter refactorConverter = new RefactorConverter()
 
     ProjectResourceService(ListProjectsDataSource listProjectsDataSource) {
@@ -30,6 +33,7 @@ class ProjectResourceService implements ResourcesService<ProjectIdentifier>{
                 "must not be null.")
         this.existingProjects = listProjectsDataSource.listProjects()
         this.eventEmitter = new EventEmitter<>()
+        this.changeEmitter = new EventEmitter<>()
     }
 
     @Override
@@ -47,16 +51,28 @@ class ProjectResourceService implements ResourcesService<ProjectIdentifier>{
         this.eventEmitter.unregister(subscription)
     }
 
+    @Override
+    void subscribeToChanges(Subscription<ChangeSet<ProjectIdentifier>> subscription) {
+        this.changeEmitter.register(subscription)
+    }
+
+    @Override
+    void unsubscribeFromChanges(Subscription<ChangeSet<ProjectIdentifier>> subscription) {
+        this.changeEmitter.unregister(subscription)
+    }
+
     @Override
     void addToResource(ProjectIdentifier resourceItem) {
         this.existingProjects.add(resourceItem)
         this.eventEmitter.emit(resourceItem)
+        this.changeEmitter.emit(ChangeSet.ofAdded(resourceItem))
     }
 
     @Override
     void removeFromResource(ProjectIdentifier resourceItem) {
         this.existingProjects.remove(resourceItem)
         this.eventEmitter.emit(resourceItem)
+        this.changeEmitter.emit(ChangeSet.ofRemoved(resourceItem))
     }
 
     @Override
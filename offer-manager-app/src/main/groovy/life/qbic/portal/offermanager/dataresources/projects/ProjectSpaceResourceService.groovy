@@ -5,6 +5,7 @@ import life.qbic.business.projects.spaces.list.ListProjectSpacesDataSource
 import life.qbic.datamodel.dtos.projectmanagement.ProjectSpace
 import life.qbic.portal.offermanager.communication.EventEmitter
 import life.qbic.portal.offermanager.communication.Subscription
+import life.qbic.portal.offermanager.dataresources.ChangeSet
 import life.qbic.portal.offermanager.dataresources.ResourcesService
 
 /**
@@ -23,6 +24,8 @@ class ProjectSpaceResourceService implements ResourcesService<ProjectSpace>{
 
     private final EventEmitter<ProjectSpace> eventEmitter
 
+    private final EventEmitter<ChangeSet<ProjectSpace>> changeEmitter
+
     private final RefactorConverter refactorConverter = new RefactorConverter()
 
     ProjectSpaceResourceService(ListProjectSpacesDataSource listProjectSpacesDataSource) {
@@ -30,6 +33,7 @@ class ProjectSpaceResourceService implements ResourcesService<ProjectSpace>{
                 "Connector must not be null.")
         this.availableSpaces = listProjectSpacesDataSource.listSpaces()
         this.eventEmitter = new EventEmitter<>()
+        this.changeEmitter = new EventEmitter<>()
     }
 
     @Override
@@ -47,16 +51,28 @@ class ProjectSpaceResourceService implements ResourcesService<ProjectSpace>{
         this.eventEmitter.unregister(subscription)
     }
 
+    @Override
+    void subscribeToChanges(Subscription<ChangeSet<ProjectSpace>> subscription) {
+        this.changeEmitter.register(subscription)
+    }
+
+    @Override
+    void unsubscribeFromChanges(Subscription<ChangeSet<ProjectSpace>> subscription) {
+        this.changeEmitter.unregister(subscription)
+    }
+
     @Override
     void addToResource(ProjectSpace resourceItem) {
         this.availableSpaces.add(resourceItem)
         this.eventEmitter.emit(resourceItem)
+        this.changeEmitter.emit(ChangeSet.ofAdded(resourceItem))
     }
 
     @Override
     void removeFromResource(ProjectSpace resourceItem) {
         this.availableSpaces.remove(resourceItem)
         this.eventEmitter.emit(resourceItem)
+        this.changeEmitter.emit(ChangeSet.ofRemoved(resourceItem))
     }
 
     @Override
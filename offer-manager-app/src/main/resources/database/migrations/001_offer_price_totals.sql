@@ -0,0 +1,9 @@
+-- Persists the net and total price of an offer, so the offer overview can be loaded
+-- without computing the prices of every offer and its items.
+--
+-- Existing rows keep NULL values after this migration. The application computes and stores
+-- the missing totals on startup (see OfferDbConnector#backfillPriceTotals).
+
+ALTER TABLE offers
+    ADD COLUMN netPrice DOUBLE NULL,
+    ADD COLUMN totalPrice DOUBLE NULL;
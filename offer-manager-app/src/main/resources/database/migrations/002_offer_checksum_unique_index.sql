@@ -0,0 +1,11 @@
+-- Prevents two offers with equal content. The application relies on this index to detect
+-- duplicate offers when an offer is stored (see OfferDbConnector#store).
+--
+-- The index cannot be created while duplicate checksums exist. List them with
+--
+--   SELECT checksum, COUNT(*) FROM offers WHERE checksum IS NOT NULL
+--   GROUP BY checksum HAVING COUNT(*) > 1;
+--
+-- and resolve them before running this migration.
+
+CREATE UNIQUE INDEX UQ_offers_checksum ON offers (checksum);
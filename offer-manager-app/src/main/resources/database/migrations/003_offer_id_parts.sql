@@ -0,0 +1,16 @@
+-- Stores the parts of the offer identifier O_<project>_<random>_<version> in separate columns,
+-- so all versions of an offer are found with an index seek instead of a LIKE search on offerId
+-- (see OfferDbConnector#fetchAllVersionsForOfferId).
+
+ALTER TABLE offers
+    ADD COLUMN offerIdProjectPart VARCHAR(255) NULL,
+    ADD COLUMN offerIdRandomPart VARCHAR(255) NULL,
+    ADD COLUMN offerIdVersion INT NULL;
+
+UPDATE offers
+SET offerIdProjectPart = SUBSTRING_INDEX(SUBSTRING_INDEX(offerId, '_', 2), '_', -1),
+    offerIdRandomPart  = SUBSTRING_INDEX(SUBSTRING_INDEX(offerId, '_', 3), '_', -1),
+    offerIdVersion     = CAST(SUBSTRING_INDEX(offerId, '_', -1) AS UNSIGNED)
+WHERE offerId IS NOT NULL;
+
+CREATE INDEX IX_offers_offerId_version ON offers (offerIdProjectPart, offerIdRandomPart, offerIdVersion);
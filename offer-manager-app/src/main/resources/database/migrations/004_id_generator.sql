@@ -0,0 +1,17 @@
+-- Offers and product items take their ids from blocks allocated in this table instead of
+-- auto-increment columns, so Hibernate can insert the items of an offer in one JDBC batch.
+--
+-- Each row holds the upper bound of the last allocated block of 50 ids. The initial values
+-- start above the existing ids, the gap of at most one block is intended.
+
+CREATE TABLE id_generator
+(
+    entity  VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_id BIGINT       NOT NULL
+);
+
+INSERT INTO id_generator (entity, next_id)
+SELECT 'offers', COALESCE(MAX(id), 0) + 51 FROM offers;
+
+INSERT INTO id_generator (entity, next_id)
+SELECT 'productitem', COALESCE(MAX(id), 0) + 51 FROM productitem;
@@ -0,0 +1,39 @@
+package life.qbic.portal.offermanager
+
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+/**
+ * Verifies that a failed offer export is reported to the reader of the export
+ */
+class ExportAllOffersSpec extends Specification {
+
+    def "when the offers cannot be loaded, then reading the export fails"() {
+        given:
+        ExportOffersDataSource dataSource = Stub(ExportOffersDataSource) {
+            forEachOffer(_) >> { throw new IllegalStateException("Database not available") }
+        }
+        ExportAllOffers exportAllOffers = new ExportAllOffers(dataSource)
+
+        when:
+        exportAllOffers.exportOffersToTsv().getBytes()
+
+        then:
+        IOException exception = thrown()
+        exception.cause instanceof IllegalStateException
+    }
+
+    def "when no offers are stored, then the export contains the header only"() {
+        given:
+        ExportOffersDataSource dataSource = Stub(ExportOffersDataSource)
+        ExportAllOffers exportAllOffers = new ExportAllOffers(dataSource)
+
+        when:
+        String content = new String(exportAllOffers.exportOffersToTsv().getBytes(), StandardCharsets.UTF_8)
+
+        then:
+        content.readLines().size() == 1
+        content.startsWith("versionedOfferId")
+    }
+}
@@ -0,0 +1,99 @@
+package life.qbic.portal.offermanager.communication
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * Verifies that events are delivered to the current subscriptions from any thread
+ */
+class EventEmitterSpec extends Specification {
+
+    def "an event is delivered to the subscriptions registered when it is emitted"() {
+        given:
+        EventEmitter<String> emitter = new EventEmitter<>()
+        List<String> received = []
+        Subscription<String> cancelled = { received.add("cancelled $it") }
+        emitter.register({ received.add(it) })
+        emitter.register(cancelled)
+
+        when:
+        emitter.unregister(cancelled)
+        emitter.emit("event")
+
+        then:
+        received == ["event"]
+        emitter.getStatistics().subscriptions == 1
+        emitter.getStatistics().emittedEvents == 1
+    }
+
+    def "subscriptions can be registered while an event is delivered"() {
+        given:
+        EventEmitter<String> emitter = new EventEmitter<>()
+        List<String> received = []
+        emitter.register({
+            received.add(it)
+            emitter.register({ received.add("late $it") })
+        })
+
+        when:
+        emitter.emit("first")
+
+        then:
+        noExceptionThrown()
+        received == ["first"]
+    }
+
+    def "concurrent registrations are not lost"() {
+        given:
+        EventEmitter<String> emitter = new EventEmitter<>()
+        ExecutorService executor = Executors.newFixedThreadPool(4)
+        CountDownLatch start = new CountDownLatch(1)
+
+        when:
+        200.times {
+            executor.submit({
+                start.await()
+                emitter.register({})
+                emitter.emit("event")
+            })
+        }
+        start.countDown()
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+
+        then:
+        emitter.getStatistics().subscriptions == 200
+        emitter.getStatistics().emittedEvents == 200
+    }
+
+    def "an asynchronous emitter does not wait for its subscriptions"() {
+        given:
+        ExecutorService dispatcher = Executors.newSingleThreadExecutor()
+        EventEmitter<String> emitter = new EventEmitter<>(dispatcher)
+        CountDownLatch release = new CountDownLatch(1)
+        CountDownLatch delivered = new CountDownLatch(1)
+        emitter.register({
+            release.await()
+            throw new IllegalStateException("Subscription failed")
+        })
+        emitter.register({ delivered.countDown() })
+
+        when:
+        emitter.emit("event")
+        boolean deliveredBeforeRelease = delivered.getCount() == 0
+        release.countDown()
+        delivered.await(10, TimeUnit.SECONDS)
+        dispatcher.shutdown()
+        dispatcher.awaitTermination(10, TimeUnit.SECONDS)
+
+        then:
+        !deliveredBeforeRelease
+        delivered.getCount() == 0
+        emitter.getStatistics().failedDeliveries == 1
+        emitter.getStatistics().maximumDispatchMillis > 0
+    }
+}
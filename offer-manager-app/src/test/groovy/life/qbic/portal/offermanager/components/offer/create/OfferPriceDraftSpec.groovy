@@ -0,0 +1,93 @@
+package life.qbic.portal.offermanager.components.offer.create
+
+import life.qbic.business.RefactorConverter
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.datamodel.dtos.business.Affiliation
+import life.qbic.datamodel.dtos.business.ProductItem
+import spock.lang.Specification
+
+/**
+ * Verifies that the price draft of an offer view prices the selected items like a new offer
+ */
+class OfferPriceDraftSpec extends Specification {
+
+    def "the draft updated by the edits of the selected items has the prices of a newly priced offer"() {
+        given:
+        OfferPriceDraft priceDraft = new OfferPriceDraft()
+        Affiliation internal = affiliation(AffiliationCategory.INTERNAL)
+        Affiliation external = affiliation(AffiliationCategory.EXTERNAL)
+        ProductItem sequencing = new ProductItem(10, product(1, "Sequencing"))
+        ProductItem analysis = new ProductItem(10, product(2, "Primary Bioinformatics"))
+        ProductItem management = new ProductItem(1, product(3, "Project Management"))
+
+        expect: "the prices match after every edit"
+        [
+                [[sequencing, analysis], internal],
+                [[sequencing, analysis, management], internal],
+                [[sequencing, new ProductItem(25, analysis.product), management], internal],
+                [[new ProductItem(25, analysis.product), management], internal],
+                [[new ProductItem(25, analysis.product), management], external],
+                [[], external]
+        ].every { List<ProductItem> selectedItems, Affiliation affiliation ->
+            haveSamePrices(priceDraft.update(selectedItems, affiliation), pricedAnew(selectedItems, affiliation))
+        }
+    }
+
+    def "items of the same product are priced anew"() {
+        given:
+        OfferPriceDraft priceDraft = new OfferPriceDraft()
+        Affiliation internal = affiliation(AffiliationCategory.INTERNAL)
+        life.qbic.datamodel.dtos.business.services.Product sequencing = product(1, "Sequencing")
+        List<ProductItem> selectedItems = [new ProductItem(10, sequencing), new ProductItem(5, sequencing)]
+
+        when:
+        priceDraft.update(selectedItems, internal)
+        OfferV2 draft = priceDraft.update([new ProductItem(5, sequencing)], internal)
+
+        then:
+        haveSamePrices(draft, pricedAnew([new ProductItem(5, sequencing)], internal))
+    }
+
+    private static OfferV2 pricedAnew(List<ProductItem> selectedItems, Affiliation affiliation) {
+        OfferV2 offer = new OfferV2(RefactorConverter.toAffiliation(affiliation), new OfferId("price", 1))
+        offer.setItems(selectedItems.collect { RefactorConverter.toProductItem(offer, it) })
+        return offer
+    }
+
+    private static boolean haveSamePrices(OfferV2 draft, OfferV2 offer) {
+        return draft.salePrice == offer.salePrice &&
+                draft.overhead == offer.overhead &&
+                draft.taxAmount == offer.taxAmount &&
+                draft.priceAfterTax == offer.priceAfterTax &&
+                draft.totalDiscountAmount == offer.totalDiscountAmount
+    }
+
+    private static Affiliation affiliation(AffiliationCategory category) {
+        life.qbic.business.persons.affiliation.Affiliation affiliation = new life.qbic.business.persons.affiliation.Affiliation(
+                "University", "", "Street 1", "72076", "Tübingen", "Germany", category)
+        affiliation.setId(category.ordinal() + 1)
+        return RefactorConverter.toAffiliationDto(affiliation)
+    }
+
+    private static life.qbic.datamodel.dtos.business.services.Product product(int id, String category) {
+        Product product = new Product(category, 10.0, 20.0)
+        product.setId(id)
+        product.setProductName("Product $id")
+        product.setProductId(productIdPrefix(category) + "_$id")
+        product.setDescription("Description")
+        product.setUnit("Sample")
+        product.setServiceProvider("QBIC")
+        return RefactorConverter.toProductDto(product)
+    }
+
+    private static String productIdPrefix(String category) {
+        return [
+                "Sequencing"            : "SE",
+                "Primary Bioinformatics": "PB",
+                "Project Management"    : "PM"
+        ].get(category)
+    }
+}
@@ -0,0 +1,59 @@
+package life.qbic.portal.offermanager.components.offer.overview
+
+import life.qbic.datamodel.dtos.business.OfferId
+import life.qbic.portal.offermanager.communication.EventEmitter
+import life.qbic.portal.offermanager.communication.Subscription
+import life.qbic.portal.offermanager.dataresources.ChangeSet
+import life.qbic.portal.offermanager.dataresources.ResourcesService
+import life.qbic.portal.offermanager.dataresources.offers.OfferOverview
+import spock.lang.Specification
+
+/**
+ * Verifies that the offer overview model applies the change sets of the overview service to the latest offer versions
+ */
+class OfferOverviewModelSpec extends Specification {
+
+    Subscription<ChangeSet<OfferOverview>> changeSubscription
+
+    def "a new version replaces the latest version of its offer"() {
+        given:
+        OfferOverview first = overview("abcd", "1")
+        OfferOverview other = overview("efgh", "1")
+        OfferOverviewModel model = modelOf([first, other])
+        OfferOverview second = overview("abcd", "2")
+
+        when:
+        changeSubscription.receive(ChangeSet.ofAdded(second))
+
+        then:
+        model.latestOfferOverviewList == [second, other]
+    }
+
+    def "removing the only version of an offer removes the offer and keeps the other offers"() {
+        given:
+        OfferOverview first = overview("abcd", "1")
+        OfferOverview second = overview("efgh", "1")
+        OfferOverview third = overview("ijkl", "1")
+        OfferOverviewModel model = modelOf([first, second, third])
+
+        when:
+        changeSubscription.receive(ChangeSet.ofRemoved(first))
+        changeSubscription.receive(ChangeSet.ofUpdated(third, overview("ijkl", "1", "QIJKL")))
+
+        then:
+        model.latestOfferOverviewList as Set == [second, overview("ijkl", "1", "QIJKL")] as Set
+        model.latestOfferOverviewList.size() == 2
+    }
+
+    private OfferOverviewModel modelOf(List<OfferOverview> overviews) {
+        ResourcesService<OfferOverview> service = Stub(ResourcesService)
+        service.iterator() >> { overviews.iterator() }
+        service.subscribeToChanges(_) >> { arguments -> changeSubscription = arguments[0] }
+        return new OfferOverviewModel(service, null, new EventEmitter<>())
+    }
+
+    private static OfferOverview overview(String randomPart, String version, String projectId = "") {
+        return new OfferOverview(new OfferId("alpha", randomPart, version), new Date(0), "Title",
+                projectId, "Customer", "Project Manager", 100.0, null)
+    }
+}
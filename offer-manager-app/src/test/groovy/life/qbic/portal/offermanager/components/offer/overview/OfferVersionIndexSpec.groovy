@@ -0,0 +1,96 @@
+package life.qbic.portal.offermanager.components.offer.overview
+
+import life.qbic.datamodel.dtos.business.OfferId
+import life.qbic.portal.offermanager.dataresources.offers.OfferOverview
+import spock.lang.Specification
+
+/**
+ * Verifies that the offer version index groups the overviews by offer and keeps their versions sorted
+ */
+class OfferVersionIndexSpec extends Specification {
+
+    def "the latest version of every offer is found, independent of the order the versions were added"() {
+        given:
+        OfferVersionIndex index = new OfferVersionIndex()
+
+        when:
+        index.addAll([overview("alpha", "abcd", "2"), overview("beta", "efgh", "1"),
+                      overview("alpha", "abcd", "10"), overview("alpha", "abcd", "1")].iterator())
+
+        then:
+        index.size() == 4
+        index.latestOfEachFamily()*.offerId*.version == ["10", "1"]
+        index.latestOf(new OfferId("alpha", "abcd", "1")).offerId.version == "10"
+        and: "the versions are sorted numerically, the latest first"
+        index.versionsOf(new OfferId("alpha", "abcd", "1"))*.offerId*.version == ["10", "2", "1"]
+    }
+
+    def "offers with the same project conserved part but a different random part are distinct"() {
+        given:
+        OfferVersionIndex index = new OfferVersionIndex()
+        index.add(overview("alpha", "abcd", "1"))
+        index.add(overview("alpha", "wxyz", "3"))
+
+        expect:
+        index.latestOfEachFamily().size() == 2
+        index.versionsOf(new OfferId("alpha", "abcd", "1")).size() == 1
+    }
+
+    def "an overview with a known offer identifier replaces the indexed one"() {
+        given:
+        OfferVersionIndex index = new OfferVersionIndex()
+        OfferOverview original = overview("alpha", "abcd", "1")
+        OfferOverview updated = overview("alpha", "abcd", "1", "QABCD")
+        index.add(original)
+
+        when:
+        index.add(updated)
+
+        then:
+        index.size() == 1
+        index.contains(updated)
+        !index.contains(original)
+        index.latestOf(updated.offerId).is(updated)
+    }
+
+    def "removing the latest version makes the previous version the latest"() {
+        given:
+        OfferVersionIndex index = new OfferVersionIndex()
+        OfferOverview first = overview("alpha", "abcd", "1")
+        OfferOverview second = overview("alpha", "abcd", "2")
+        index.add(first)
+        index.add(second)
+
+        when:
+        boolean removed = index.remove(second)
+
+        then:
+        removed
+        index.latestOf(first.offerId).is(first)
+        index.versionsOf(first.offerId) == [first]
+    }
+
+    def "removing the last version removes the offer"() {
+        given:
+        OfferVersionIndex index = new OfferVersionIndex()
+        OfferOverview overview = overview("alpha", "abcd", "1")
+        index.add(overview)
+
+        when:
+        index.remove(overview)
+
+        then:
+        index.size() == 0
+        index.latestOf(overview.offerId) == null
+        index.versionsOf(overview.offerId).isEmpty()
+        index.latestOfEachFamily().isEmpty()
+        and: "unknown overviews are not removed"
+        !index.remove(overview)
+    }
+
+    private static OfferOverview overview(String projectConservedPart, String randomPart, String version,
+                                          String projectId = "") {
+        return new OfferOverview(new OfferId(projectConservedPart, randomPart, version), new Date(), "Title",
+                projectId, "Customer", "Project Manager", 100.0, null)
+    }
+}
@@ -0,0 +1,57 @@
+package life.qbic.portal.offermanager.dataresources
+
+import spock.lang.Specification
+
+import java.util.function.Function
+
+/**
+ * Verifies that the changes of a resource are determined and applied as one change set
+ */
+class ChangeSetSpec extends Specification {
+
+    private static final Function<String, String> IDENTITY = { String item -> item.split(":")[0] } as Function<String, String>
+
+    def "the change set contains the added, removed and updated items"() {
+        when:
+        ChangeSet<String> changes = ChangeSet.between(["1:Ada", "2:Grace", "3:Alan"], ["1:Ada", "3:Turing", "4:Barbara"], IDENTITY)
+
+        then:
+        changes.added == ["4:Barbara"]
+        changes.removed == ["2:Grace"]
+        changes.updated.size() == 1
+        changes.updated.first().previous == "3:Alan"
+        changes.updated.first().current == "3:Turing"
+    }
+
+    def "equal items do not change the resource"() {
+        expect:
+        ChangeSet.between(["1:Ada", "2:Grace"], ["2:Grace", "1:Ada"], IDENTITY).isEmpty()
+    }
+
+    def "applying the change set keeps the position of unchanged and updated items"() {
+        given:
+        List<String> items = ["1:Ada", "2:Grace", "3:Alan"]
+        ChangeSet<String> changes = ChangeSet.between(items, ["1:Ada", "3:Turing", "4:Barbara"], IDENTITY)
+
+        when:
+        changes.applyTo(items)
+
+        then:
+        items == ["1:Ada", "3:Turing", "4:Barbara"]
+    }
+
+    def "the publisher emits one change set per publication"() {
+        given:
+        ChangePublisher<String> publisher = new ChangePublisher<>(IDENTITY, ["1:Ada"])
+        List<ChangeSet<String>> emittedChanges = []
+        publisher.subscribe({ emittedChanges.add(it) })
+
+        when:
+        publisher.publish(["1:Ada", "2:Grace", "3:Alan"])
+        publisher.publish(["1:Ada", "2:Grace", "3:Alan"])
+
+        then:
+        emittedChanges.size() == 1
+        emittedChanges.first().added == ["2:Grace", "3:Alan"]
+    }
+}
@@ -0,0 +1,139 @@
+package life.qbic.portal.offermanager.dataresources
+
+import life.qbic.datamodel.dtos.business.OfferId
+import life.qbic.datamodel.dtos.projectmanagement.Project
+import life.qbic.portal.offermanager.communication.EventEmitter
+import life.qbic.portal.offermanager.dataresources.offers.OfferOverview
+import life.qbic.portal.offermanager.dataresources.offers.OfferOverviewDataSource
+import life.qbic.portal.offermanager.dataresources.offers.OfferResourcesService
+import life.qbic.portal.offermanager.dataresources.offers.OverviewService
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * Verifies that shared resources are loaded once and changed by publishing new snapshots
+ */
+class SharedResourceSpec extends Specification {
+
+    def "a change publishes a new snapshot and leaves the previous snapshot untouched"() {
+        given:
+        SharedResource<String> resource = new SharedResource<>({ ["a", "b"] })
+        ResourceSnapshot<String> initial = resource.snapshot()
+
+        when:
+        resource.add("c")
+        resource.remove("a")
+        resource.replace("b", "d")
+
+        then:
+        initial.version == 0
+        initial.items == ["a", "b"]
+        resource.snapshot().version == 3
+        resource.snapshot().items == ["d", "c"]
+    }
+
+    def "snapshots cannot be changed by their readers"() {
+        given:
+        SharedResource<String> resource = new SharedResource<>({ ["a"] })
+
+        when:
+        resource.snapshot().items.add("b")
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "concurrent changes are not lost"() {
+        given:
+        SharedResource<Integer> resource = new SharedResource<>({ [] })
+        ExecutorService executor = Executors.newFixedThreadPool(4)
+        CountDownLatch start = new CountDownLatch(1)
+
+        when:
+        400.times { int i ->
+            executor.submit({
+                start.await()
+                resource.add(i)
+            })
+        }
+        start.countDown()
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+
+        then:
+        resource.snapshot().size() == 400
+        resource.snapshot().version == 400
+        resource.snapshot().items.toSet() == (0..<400).toSet()
+    }
+
+    def "a resource is loaded once and shared by all services of a registry"() {
+        given:
+        OfferOverviewDataSource dataSource = Mock(OfferOverviewDataSource)
+        SharedResourceRegistry registry = new SharedResourceRegistry()
+        OfferOverview existing = overview("1")
+        OfferOverview created = overview("2")
+
+        when: "two sessions create their services"
+        OverviewService firstSession = new OverviewService(dataSource, new OfferResourcesService(), new EventEmitter<Project>(), registry)
+        OverviewService secondSession = new OverviewService(dataSource, new OfferResourcesService(), new EventEmitter<Project>(), registry)
+
+        then: "the overviews are loaded once"
+        1 * dataSource.listOfferOverviews() >> [existing]
+
+        when: "an overview is added in one session"
+        firstSession.addToResource(created)
+
+        then: "it is visible in the other session"
+        secondSession.iterator().toList() == [existing, created]
+    }
+
+    def "reloading a resource replaces its items"() {
+        given:
+        List<String> dataSource = ["a"]
+        SharedResourceRegistry registry = new SharedResourceRegistry()
+        SharedResource<String> resource = registry.resource("letters", { new ArrayList<>(dataSource) })
+        dataSource.add("b")
+
+        when:
+        ResourceSnapshot<String> reloaded = resource.reload()
+
+        then:
+        reloaded.items == ["a", "b"]
+        registry.resource("letters", { [] }).snapshot().is(reloaded)
+    }
+
+    def "only expired resources are reloaded"() {
+        given:
+        List<String> dataSource = ["a"]
+        SharedResourceRegistry registry = new SharedResourceRegistry()
+        SharedResource<String> resource = registry.resource("letters", { new ArrayList<>(dataSource) })
+        dataSource.add("b")
+
+        when: "the resource has not expired yet"
+        List<String> reloaded = registry.reloadExpired(Duration.ofHours(1))
+
+        then:
+        reloaded.isEmpty()
+        resource.snapshot().items == ["a"]
+
+        when: "the resource has expired"
+        reloaded = registry.reloadExpired(Duration.ZERO)
+
+        then:
+        reloaded == ["letters"]
+        resource.snapshot().items == ["a", "b"]
+
+        cleanup:
+        registry.shutdown()
+    }
+
+    private static OfferOverview overview(String version) {
+        return new OfferOverview(new OfferId("alpha", "abcd", version), new Date(), "Title", "",
+                "Customer", "Project Manager", 100.0, null)
+    }
+}
@@ -0,0 +1,69 @@
+package life.qbic.portal.offermanager.dataresources.database
+
+import org.h2.jdbcx.JdbcDataSource
+import org.hibernate.cfg.Environment
+
+import javax.sql.DataSource
+
+/**
+ * Creates session providers for an embedded H2 database.
+ *
+ * The databases are kept in memory in MySQL compatibility mode until the session provider is
+ * closed. Their schema is created from the entity mappings.
+ *
+ * @since 1.11.0
+ */
+class H2TestDatabase {
+
+    private H2TestDatabase() {
+    }
+
+    /**
+     * @param databaseName the name of the in-memory database, tests using the same name share the database
+     * @return a data source connecting to the in-memory database
+     */
+    static JdbcDataSource createDataSource(String databaseName) {
+        JdbcDataSource dataSource = new JdbcDataSource()
+        dataSource.setURL(url(databaseName))
+        dataSource.setUser("sa")
+        dataSource.setPassword("")
+        return dataSource
+    }
+
+    /**
+     * @param databaseName the name of the in-memory database, tests using the same name share the database
+     * @param hibernateProperties further Hibernate settings, e.g. the JDBC batch size
+     * @return a session provider for the in-memory database
+     */
+    static DatabaseSessionV2 createSessionProvider(String databaseName, Map<String, String> hibernateProperties = [:]) {
+        Properties properties = schemaProperties()
+        properties.setProperty(Environment.DRIVER, "org.h2.Driver")
+        properties.setProperty(Environment.URL, url(databaseName))
+        properties.setProperty(Environment.USER, "sa")
+        properties.setProperty(Environment.PASS, "")
+        properties.putAll(hibernateProperties)
+        return new DatabaseSessionV2(properties)
+    }
+
+    /**
+     * @param dataSource a data source connecting to an H2 database
+     * @return a session provider using the data source
+     */
+    static DatabaseSessionV2 createSessionProvider(DataSource dataSource) {
+        Properties properties = schemaProperties()
+        properties.put(Environment.DATASOURCE, dataSource)
+        return new DatabaseSessionV2(properties)
+    }
+
+    private static Properties schemaProperties() {
+        Properties properties = new Properties()
+        properties.setProperty(Environment.DIALECT, "org.hibernate.dialect.H2Dialect")
+        properties.setProperty(Environment.HBM2DDL_AUTO, "create-drop")
+        properties.setProperty(Environment.CURRENT_SESSION_CONTEXT_CLASS, "thread")
+        return properties
+    }
+
+    private static String url(String databaseName) {
+        return "jdbc:h2:mem:${databaseName};DB_CLOSE_DELAY=-1;MODE=MySQL"
+    }
+}
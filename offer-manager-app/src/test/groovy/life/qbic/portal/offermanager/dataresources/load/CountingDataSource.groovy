@@ -0,0 +1,86 @@
+package life.qbic.portal.offermanager.dataresources.load
+
+import javax.sql.DataSource
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+import java.sql.Connection
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * A data source counting the SQL statements created on its connections.
+ *
+ * Hibernate and the JDBC connectors obtain their connections from the same data source, so the
+ * count covers the statements of all connectors. A batch of inserts is sent with one statement.
+ *
+ * @since 1.11.0
+ */
+class CountingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = ["createStatement", "prepareStatement", "prepareCall"].toSet()
+
+    private final AtomicLong statements = new AtomicLong()
+
+    private final DataSource dataSource
+
+    private final DataSource countingDataSource
+
+    CountingDataSource(DataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource, "Data source must not be null")
+        this.countingDataSource = Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                [DataSource] as Class[], new DataSourceHandler()) as DataSource
+    }
+
+    /**
+     * @return the data source to hand to the connectors
+     */
+    DataSource getDataSource() {
+        return countingDataSource
+    }
+
+    /**
+     * @return the number of statements created since the data source was created
+     */
+    long getStatementCount() {
+        return statements.get()
+    }
+
+    private class DataSourceHandler implements InvocationHandler {
+
+        @Override
+        Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeOn(dataSource, method, args)
+            if (result instanceof Connection) {
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        [Connection] as Class[], new ConnectionHandler(result as Connection))
+            }
+            return result
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection
+        }
+
+        @Override
+        Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (STATEMENT_FACTORIES.contains(method.getName())) {
+                statements.incrementAndGet()
+            }
+            return invokeOn(connection, method, args)
+        }
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) {
+        try {
+            return method.invoke(target, args)
+        } catch (InvocationTargetException e) {
+            throw e.getCause()
+        }
+    }
+}
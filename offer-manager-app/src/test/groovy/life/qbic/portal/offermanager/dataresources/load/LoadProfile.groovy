@@ -0,0 +1,82 @@
+package life.qbic.portal.offermanager.dataresources.load
+
+import groovy.transform.ToString
+
+/**
+ * The size of the synthetic dataset and the number of measured calls of a load run.
+ *
+ * Every value can be overridden with a system property <code>load.&lt;name&gt;</code>, for example
+ * <code>-Dload.offers=5000</code>.
+ *
+ * @since 1.11.0
+ */
+@ToString(includeNames = true)
+class LoadProfile {
+
+    /**
+     * The number of stored affiliations
+     */
+    int affiliations = 50
+
+    /**
+     * The number of stored persons, each with one affiliation
+     */
+    int persons = 200
+
+    /**
+     * The number of stored products, distributed over all product categories
+     */
+    int products = 40
+
+    /**
+     * The number of stored offers
+     */
+    int offers = 500
+
+    /**
+     * The number of versions stored per offer
+     */
+    int versionsPerOffer = 3
+
+    /**
+     * The number of items of every stored offer version
+     */
+    int itemsPerOffer = 15
+
+    /**
+     * The number of items of the offers stored during the measurement
+     */
+    int itemsPerStoredOffer = 50
+
+    /**
+     * The number of calls per scenario before the measurement starts
+     */
+    int warmupIterations = 10
+
+    /**
+     * The number of measured calls per scenario
+     */
+    int iterations = 50
+
+    /**
+     * Evicts the second-level cache before every measured call, so every call reads from the
+     * database
+     */
+    boolean coldCache = true
+
+    /**
+     * @return the default profile with the values overridden by system properties
+     */
+    static LoadProfile fromSystemProperties() {
+        LoadProfile profile = new LoadProfile()
+        profile.properties.keySet().findAll { it != "class" }.each { String name ->
+            String value = System.getProperty("load.$name")
+            if (value != null) {
+                profile.setProperty(name, profile.getProperty(name) instanceof Boolean
+                        ? Boolean.parseBoolean(value)
+                        : Integer.parseInt(value))
+            }
+        }
+        return profile
+    }
+}
@@ -0,0 +1,280 @@
+package life.qbic.portal.offermanager.dataresources.load
+
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.persons.Person
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+import life.qbic.portal.offermanager.dataresources.database.ConnectionProvider
+import life.qbic.portal.offermanager.dataresources.database.DatabaseSessionV2
+import life.qbic.portal.offermanager.dataresources.database.H2TestDatabase
+import life.qbic.portal.offermanager.dataresources.offers.OfferDbConnector
+import life.qbic.portal.offermanager.dataresources.persons.AffiliationDbConnector
+import life.qbic.portal.offermanager.dataresources.persons.PersonDbConnector
+import life.qbic.portal.offermanager.dataresources.products.ProductsDbConnector
+import org.hibernate.Session
+
+import java.lang.management.ManagementFactory
+import java.lang.management.ThreadMXBean
+import java.sql.Connection
+import java.time.LocalDate
+
+/**
+ * Measures the database connectors against an embedded H2 database.
+ *
+ * The harness creates the schema from the entity mappings in an in-memory H2 database in MySQL
+ * compatibility mode, seeds a synthetic dataset of the size given by a {@link LoadProfile} and
+ * runs timed scenarios against the offer, person, affiliation and product connectors. For every
+ * scenario it reports latency percentiles, the SQL statements per call, the bytes allocated per
+ * call and the used heap.
+ *
+ * Run it from the project root with
+ *
+ * <pre>
+ * mvn -pl offer-manager-app -am test-compile
+ * mvn -pl offer-manager-app exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=life.qbic.portal.offermanager.dataresources.load.PersistenceLoadHarness \
+ *     -Dload.offers=2000
+ * </pre>
+ *
+ * @since 1.11.0
+ */
+class PersistenceLoadHarness implements AutoCloseable {
+
+    private static final List<String> PRODUCT_CATEGORIES = ["Sequencing", "Proteomics", "Metabolomics",
+                                                            "Primary Bioinformatics", "Secondary Bioinformatics",
+                                                            "Project Management", "Data Storage", "External Service"]
+
+    private static final List<String> PRODUCT_ID_PREFIXES = ["SE", "PR", "ME", "PB", "SB", "PM", "DS", "EXT"]
+
+    private static final List<String> COUNTRIES = ["Germany", "Germany", "Austria", "France"]
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz"
+
+    private static final int SEED_BATCH_SIZE = 50
+
+    private final LoadProfile profile
+
+    private final CountingDataSource dataSource
+
+    private final DatabaseSessionV2 sessionProvider
+
+    private final PersonDbConnector personDbConnector
+
+    private final AffiliationDbConnector affiliationDbConnector
+
+    private final ProductsDbConnector productsDbConnector
+
+    private final OfferDbConnector offerDbConnector
+
+    private final Random random = new Random(42)
+
+    private final List<Affiliation> affiliations = []
+
+    private final List<Person> persons = []
+
+    private final List<Product> products = []
+
+    private final List<OfferId> offerIds = []
+
+    private int storedOffers
+
+    static void main(String[] args) {
+        LoadProfile profile = LoadProfile.fromSystemProperties()
+        println "Seeding $profile"
+        new PersistenceLoadHarness(profile).withCloseable { PersistenceLoadHarness harness ->
+            harness.seed()
+            List<ScenarioResult> results = harness.run()
+            println ScenarioResult.header()
+            results.each { println it }
+        }
+    }
+
+    PersistenceLoadHarness(LoadProfile profile) {
+        this.profile = Objects.requireNonNull(profile, "Load profile must not be null")
+        this.dataSource = new CountingDataSource(H2TestDatabase.createDataSource("offer-load-${UUID.randomUUID()}"))
+        this.sessionProvider = H2TestDatabase.createSessionProvider(dataSource.getDataSource())
+
+        ConnectionProvider connectionProvider = { dataSource.getDataSource().getConnection() } as ConnectionProvider
+        this.personDbConnector = new PersonDbConnector(sessionProvider, sessionProvider)
+        this.affiliationDbConnector = new AffiliationDbConnector(sessionProvider, sessionProvider)
+        this.productsDbConnector = new ProductsDbConnector(connectionProvider, sessionProvider)
+        this.offerDbConnector = new OfferDbConnector(connectionProvider, personDbConnector, productsDbConnector, sessionProvider)
+    }
+
+    /**
+     * Stores the synthetic dataset of the load profile.
+     */
+    void seed() {
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            profile.affiliations.times { int i ->
+                Affiliation affiliation = new Affiliation("Organisation $i", "", "Street $i", "7207${i % 10}", "City $i",
+                        COUNTRIES[i % COUNTRIES.size()], AffiliationCategory.values()[i % AffiliationCategory.values().length])
+                session.save(affiliation)
+                affiliations.add(affiliation)
+            }
+            profile.persons.times { int i ->
+                Person person = new Person("user$i", "First${i % 25}", "Last$i", "", "person$i@example.com",
+                        [affiliations[i % affiliations.size()]], "person-reference-$i")
+                session.save(person)
+                persons.add(person)
+            }
+            profile.products.times { int i ->
+                Product product = createProduct(i)
+                session.save(product)
+                products.add(product)
+            }
+            session.flush()
+            session.clear()
+
+            int seededVersions = 0
+            profile.offers.times { int offer ->
+                for (int version = 1; version <= profile.versionsPerOffer; version++) {
+                    OfferId offerId = new OfferId("project$offer", randomPart(offer), version)
+                    session.save(createOffer(offerId, "Project $offer", "Objective of version $version", profile.itemsPerOffer))
+                    offerIds.add(offerId)
+                    if (++seededVersions % SEED_BATCH_SIZE == 0) {
+                        session.flush()
+                        session.clear()
+                    }
+                }
+            }
+            session.getTransaction().commit()
+        }
+    }
+
+    /**
+     * Runs all scenarios of the load profile.
+     *
+     * @return the results in the order of the scenarios
+     */
+    List<ScenarioResult> run() {
+        List<ScenarioResult> results = []
+        results.add(measure("overview load") { offerDbConnector.listOfferOverviews() })
+        results.add(measure("fetch offer") { offerDbConnector.getOffer(anyOfferId()) })
+        results.add(measure("store offer (${profile.itemsPerStoredOffer} items)") {
+            int stored = storedOffers++
+            offerDbConnector.store(createOffer(new OfferId("stored$stored", randomPart(stored), 1),
+                    "Stored project $stored", "Objective", profile.itemsPerStoredOffer))
+        })
+        results.add(measure("version lookup") {
+            OfferId offerId = anyOfferId()
+            [offerDbConnector.fetchAllVersionsForOfferId(offerId), offerDbConnector.fetchLatestVersion(offerId)]
+        })
+        results.add(measure("all-offer export") {
+            int exported = 0
+            offerDbConnector.forEachOffer { exported++ }
+            exported
+        })
+        results.add(measure("person search") {
+            Person person = persons[random.nextInt(persons.size())]
+            personDbConnector.findPerson(person.firstName, person.lastName)
+        })
+        results.add(measure("person list") { personDbConnector.listPersons() })
+        results.add(measure("affiliation list") { affiliationDbConnector.listAllAffiliations() })
+        results.add(measure("product list") { productsDbConnector.listProducts() })
+        return results
+    }
+
+    /**
+     * @return the number of offers stored by the store scenario
+     */
+    int getStoredOffers() {
+        return storedOffers
+    }
+
+    private ScenarioResult measure(String scenario, Closure<?> call) {
+        profile.warmupIterations.times {
+            prepareCall()
+            call.call()
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean()
+        boolean measuresAllocations = threads instanceof com.sun.management.ThreadMXBean &&
+                (threads as com.sun.management.ThreadMXBean).isThreadAllocatedMemoryEnabled()
+        long threadId = Thread.currentThread().getId()
+        long[] latencies = new long[profile.iterations]
+        long statements = 0
+        long allocatedBytes = 0
+        for (int i = 0; i < profile.iterations; i++) {
+            prepareCall()
+            long statementsBefore = dataSource.getStatementCount()
+            long allocatedBefore = measuresAllocations ? (threads as com.sun.management.ThreadMXBean).getThreadAllocatedBytes(threadId) : 0
+            long start = System.nanoTime()
+            call.call()
+            latencies[i] = System.nanoTime() - start
+            allocatedBytes += measuresAllocations ? (threads as com.sun.management.ThreadMXBean).getThreadAllocatedBytes(threadId) - allocatedBefore : 0
+            statements += dataSource.getStatementCount() - statementsBefore
+        }
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed()
+        return new ScenarioResult(scenario, latencies, statements, measuresAllocations ? allocatedBytes : -1, heapUsed)
+    }
+
+    private void prepareCall() {
+        if (profile.coldCache) {
+            sessionProvider.evictEntities(Person.class)
+            sessionProvider.evictEntities(Affiliation.class)
+            sessionProvider.evictEntities(Product.class)
+            sessionProvider.evictQueries(PersonDbConnector.PERSONS_QUERY_REGION)
+            sessionProvider.evictQueries(AffiliationDbConnector.AFFILIATIONS_QUERY_REGION)
+        }
+    }
+
+    private OfferId anyOfferId() {
+        return offerIds[random.nextInt(offerIds.size())]
+    }
+
+    private OfferV2 createOffer(OfferId offerId, String title, String objective, int itemCount) {
+        Affiliation affiliation = affiliations[random.nextInt(affiliations.size())]
+        OfferV2 offer = new OfferV2(affiliation, offerId)
+        offer.setCustomer(persons[random.nextInt(persons.size())])
+        offer.setProjectManager(persons[random.nextInt(persons.size())])
+        offer.setCreationDate(LocalDate.of(2022, 1, 1).plusDays(random.nextInt(365)))
+        offer.setProjectTitle(title)
+        offer.setProjectObjective(objective)
+        offer.setExperimentalDesign(Optional.empty())
+        List<ProductItem> items = []
+        itemCount.times { int i ->
+            items.add(new ProductItem(offer, products[(i + random.nextInt(products.size())) % products.size()],
+                    1.0 + random.nextInt(200)))
+        }
+        offer.addItems(items)
+        return offer
+    }
+
+    private static Product createProduct(int i) {
+        int category = i % PRODUCT_CATEGORIES.size()
+        Product product = new Product(PRODUCT_CATEGORIES[category], 10.0 + i, 20.0 + 1.5 * i)
+        product.setProductName("${PRODUCT_CATEGORIES[category]} $i")
+        product.setDescription("Synthetic product $i")
+        product.setProductId("${PRODUCT_ID_PREFIXES[category]}_${i + 1}")
+        product.setUnit("Sample")
+        product.setServiceProvider("QBIC")
+        product.setActive(true)
+        return product
+    }
+
+    /**
+     * @return a four letter identifier part, distinct for distinct numbers below 26^4
+     */
+    private static String randomPart(int number) {
+        StringBuilder part = new StringBuilder()
+        int remainder = number
+        4.times {
+            part.append(ALPHABET.charAt(remainder % 26))
+            remainder = remainder.intdiv(26)
+        }
+        return part.reverse().toString()
+    }
+
+    @Override
+    void close() {
+        sessionProvider.close()
+        // the in-memory database is kept until it is shut down explicitly
+        try (Connection connection = dataSource.getDataSource().getConnection()) {
+            connection.createStatement().execute("SHUTDOWN")
+        }
+    }
+}
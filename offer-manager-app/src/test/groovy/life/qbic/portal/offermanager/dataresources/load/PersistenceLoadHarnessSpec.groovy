@@ -0,0 +1,53 @@
+package life.qbic.portal.offermanager.dataresources.load
+
+import spock.lang.Specification
+
+/**
+ * Verifies that the load harness seeds its dataset and measures every scenario
+ *
+ * A small profile is used, so the harness keeps working without slowing down the build.
+ */
+class PersistenceLoadHarnessSpec extends Specification {
+
+    def "when the harness runs, then every scenario is measured against the seeded database"() {
+        given: "a small load profile"
+        LoadProfile profile = new LoadProfile(affiliations: 3, persons: 6, products: 8, offers: 4,
+                versionsPerOffer: 2, itemsPerOffer: 3, itemsPerStoredOffer: 5, warmupIterations: 1, iterations: 4)
+        PersistenceLoadHarness harness = new PersistenceLoadHarness(profile)
+
+        when: "the dataset is seeded and the scenarios run"
+        harness.seed()
+        List<ScenarioResult> results = harness.run()
+
+        then: "every scenario is measured with the configured number of calls"
+        results*.scenario == ["overview load", "fetch offer", "store offer (5 items)", "version lookup",
+                              "all-offer export", "person search", "person list", "affiliation list", "product list"]
+        results.every { it.iterations == 4 && it.latency(50) > 0 && it.latency(50) <= it.latency(99) }
+        and: "the statements of the Hibernate and the JDBC connectors are counted"
+        results.every { it.statementsPerCall > 0 }
+        and: "every stored offer was written"
+        harness.getStoredOffers() == 5
+
+        cleanup:
+        harness?.close()
+    }
+
+    def "latency percentiles are determined by nearest rank"() {
+        given:
+        ScenarioResult result = new ScenarioResult("scenario", [40, 10, 30, 20] as long[], 8, 400, 0)
+
+        expect:
+        result.latency(percentile) == expected
+        result.statementsPerCall == 2
+        result.allocatedBytesPerCall == 100
+
+        where:
+        percentile | expected
+        0          | 10
+        25         | 10
+        50         | 20
+        75         | 30
+        99         | 40
+        100        | 40
+    }
+}
@@ -0,0 +1,76 @@
+package life.qbic.portal.offermanager.dataresources.load
+
+/**
+ * The measurements of one load scenario.
+ *
+ * @since 1.11.0
+ */
+class ScenarioResult {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d
+
+    private static final double BYTES_PER_MEGABYTE = 1024d * 1024d
+
+    final String scenario
+
+    /**
+     * The number of measured calls
+     */
+    final int iterations
+
+    /**
+     * The average number of SQL statements per call
+     */
+    final double statementsPerCall
+
+    /**
+     * The average number of bytes allocated by the calling thread per call, -1 if the JVM does not
+     * measure allocations
+     */
+    final long allocatedBytesPerCall
+
+    /**
+     * The used heap after the last call
+     */
+    final long heapUsedBytes
+
+    private final long[] sortedLatencies
+
+    ScenarioResult(String scenario, long[] latencies, long statements, long allocatedBytes, long heapUsedBytes) {
+        this.scenario = scenario
+        this.iterations = latencies.length
+        this.sortedLatencies = Arrays.copyOf(latencies, latencies.length)
+        Arrays.sort(this.sortedLatencies)
+        this.statementsPerCall = iterations ? statements / (double) iterations : 0d
+        this.allocatedBytesPerCall = allocatedBytes < 0 || !iterations ? -1 : allocatedBytes.intdiv(iterations) as long
+        this.heapUsedBytes = heapUsedBytes
+    }
+
+    /**
+     * @param percentile a percentile between 0 and 100
+     * @return the latency of the percentile in nanoseconds, nearest rank
+     */
+    long latency(double percentile) {
+        if (!iterations) {
+            return 0
+        }
+        int rank = Math.ceil(percentile / 100d * iterations) as int
+        return sortedLatencies[Math.min(Math.max(rank, 1), iterations) - 1]
+    }
+
+    static String header() {
+        return String.format("%-32s %6s %10s %10s %10s %10s %11s %12s %10s",
+                "Scenario", "Calls", "p50 ms", "p90 ms", "p99 ms", "max ms", "SQL/call", "KB/call", "Heap MB")
+    }
+
+    @Override
+    String toString() {
+        return String.format(Locale.ROOT, "%-32s %6d %10.3f %10.3f %10.3f %10.3f %11.1f %12s %10.1f",
+                scenario, iterations,
+                latency(50) / NANOS_PER_MILLI, latency(90) / NANOS_PER_MILLI,
+                latency(99) / NANOS_PER_MILLI, latency(100) / NANOS_PER_MILLI,
+                statementsPerCall,
+                allocatedBytesPerCall < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f", allocatedBytesPerCall / 1024d),
+                heapUsedBytes / BYTES_PER_MEGABYTE)
+    }
+}
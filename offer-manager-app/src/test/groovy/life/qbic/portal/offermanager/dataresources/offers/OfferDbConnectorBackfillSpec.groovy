@@ -0,0 +1,76 @@
+package life.qbic.portal.offermanager.dataresources.offers
+
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.persons.Person
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+import life.qbic.portal.offermanager.dataresources.database.DatabaseSessionV2
+import life.qbic.portal.offermanager.dataresources.database.H2TestDatabase
+import org.hibernate.Session
+import spock.lang.Specification
+
+import java.time.LocalDate
+
+/**
+ * Verifies that the price totals of offers stored before the totals were persisted are written once
+ */
+class OfferDbConnectorBackfillSpec extends Specification {
+
+    def "the price totals are stored for offers without totals and only counted when they were written"() {
+        given: "two offers stored without price totals and one offer with price totals"
+        DatabaseSessionV2 sessionProvider = H2TestDatabase.createSessionProvider("offer-backfill")
+        OfferDbConnector offerDbConnector = new OfferDbConnector(null, null, null, sessionProvider)
+        Affiliation affiliation = new Affiliation("University", "", "Street 1", "72076", "Tübingen", "Germany", AffiliationCategory.INTERNAL)
+        affiliation.setActive(true)
+        Person customer = new Person("customer", "Jane", "Doe", "Dr.", "jane.doe@example.com", [affiliation], "customer-ref")
+        Product product = new Product("Sequencing", 10.0, 20.0)
+        product.setProductName("Product")
+        product.setProductId("SE_1")
+        product.setUnit("Sample")
+        product.setServiceProvider("QBIC")
+        product.setActive(true)
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            session.save(affiliation)
+            session.save(customer)
+            session.save(product)
+            session.getTransaction().commit()
+        }
+        List<OfferV2> offers = ["abcd", "efgh", "ijkl"].collect { String randomPart ->
+            OfferV2 offer = new OfferV2(affiliation, new OfferId("doe", randomPart, 1))
+            offer.setCustomer(customer)
+            offer.setProjectManager(customer)
+            offer.setCreationDate(LocalDate.now())
+            offer.setProjectTitle("Project $randomPart")
+            offer.setProjectObjective("Objective")
+            offer.setExperimentalDesign(Optional.empty())
+            offer.addItems([new ProductItem(offer, product, 2.0)])
+            offerDbConnector.store(offer)
+            return offer
+        }
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            session.createNativeQuery("UPDATE offers SET netPrice = NULL, totalPrice = NULL WHERE offerId <> :offerId")
+                    .setParameter("offerId", offers.last().identifier.toString())
+                    .executeUpdate()
+            session.getTransaction().commit()
+        }
+
+        when:
+        int firstRun = offerDbConnector.backfillPriceTotals()
+        int secondRun = offerDbConnector.backfillPriceTotals()
+
+        then: "only the offers without totals are updated, once"
+        firstRun == 2
+        secondRun == 0
+
+        and: "the overview lists the computed totals"
+        offerDbConnector.listOfferOverviews()*.totalPrice.toSet() == [offers.first().priceAfterTax.doubleValue()] as Set
+
+        cleanup:
+        sessionProvider?.close()
+    }
+}
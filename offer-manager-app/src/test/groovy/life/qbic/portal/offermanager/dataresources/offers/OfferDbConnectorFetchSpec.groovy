@@ -0,0 +1,171 @@
+package life.qbic.portal.offermanager.dataresources.offers
+
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.persons.Person
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+import life.qbic.portal.offermanager.dataresources.database.DatabaseSessionV2
+import life.qbic.portal.offermanager.dataresources.database.H2TestDatabase
+import org.hibernate.Session
+import org.hibernate.stat.Statistics
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.LocalDate
+
+/**
+ * Verifies that offers are loaded with a bounded number of SQL statements
+ *
+ * The second-level cache is cleared before every call, so every statement needed to load the
+ * offers hits the database.
+ */
+class OfferDbConnectorFetchSpec extends Specification {
+
+    private static final int NUMBER_OF_OFFERS = 5
+
+    @Shared
+    DatabaseSessionV2 sessionProvider
+
+    @Shared
+    OfferDbConnector offerDbConnector
+
+    @Shared
+    Statistics statistics
+
+    @Shared
+    List<OfferId> storedOfferIds = []
+
+    def setupSpec() {
+        sessionProvider = H2TestDatabase.createSessionProvider("offer-fetch")
+        offerDbConnector = new OfferDbConnector(null, null, null, sessionProvider)
+        storeOffers()
+        statistics = sessionProvider.openSession().withCloseable { Session session ->
+            session.getSessionFactory().getStatistics()
+        }
+    }
+
+    def cleanupSpec() {
+        sessionProvider?.close()
+    }
+
+    def setup() {
+        sessionProvider.evictEntities(Person.class)
+        sessionProvider.evictEntities(Affiliation.class)
+        sessionProvider.evictEntities(Product.class)
+        statistics.clear()
+    }
+
+    def "when a single offer is fetched, then at most two statements are executed"() {
+        when: "a single offer is fetched"
+        Optional<OfferV2> offer = offerDbConnector.getOffer(storedOfferIds.first())
+
+        then: "the offer and all its items are loaded"
+        offer.isPresent()
+        offer.get().getItems().size() == 2
+        offer.get().getCustomer().getAffiliations().size() == 1
+        and: "the offer, its items, products and persons are loaded with one statement, the person affiliations with another"
+        statistics.getPrepareStatementCount() <= 2
+    }
+
+    def "when all offers are fetched for the export, then the number of statements does not grow with the number of offers"() {
+        when: "all offers are fetched"
+        List<OfferV2> offers = offerDbConnector.findAllOffers()
+
+        then: "every offer is loaded once with all its items"
+        offers.size() == NUMBER_OF_OFFERS
+        offers.every { it.getItems().size() == 2 }
+        and: "the offers are loaded with one statement, the person affiliations with another"
+        statistics.getPrepareStatementCount() <= 2
+    }
+
+    def "when the offer overview is loaded, then a single statement is executed"() {
+        when: "the offer overview is loaded"
+        List<OfferOverview> overviews = offerDbConnector.listOfferOverviews()
+
+        then: "every offer is listed"
+        overviews.size() == NUMBER_OF_OFFERS
+        and: "the overview is read with a single projection query"
+        statistics.getPrepareStatementCount() == 1
+    }
+
+    def "when an offer has no project manager, then it is listed in the offer overview"() {
+        given: "an offer without a project manager"
+        OfferV2 offer = storeOfferWithoutProjectManager()
+
+        when: "the offer overview is loaded"
+        List<OfferOverview> overviews = offerDbConnector.listOfferOverviews()
+
+        then: "the offer is listed with its customer"
+        OfferOverview overview = overviews.find { it.offerId.randomPart == offer.getIdentifier().getRandomPart() }
+        overview != null
+        overview.customer == "Jane Doe"
+        overview.projectManager == ""
+
+        cleanup:
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            session.delete(session.get(OfferV2.class, offer.getPersistentId()))
+            session.getTransaction().commit()
+        }
+    }
+
+    private OfferV2 storeOfferWithoutProjectManager() {
+        OfferV2 storedOffer = offerDbConnector.getOffer(storedOfferIds.first()).get()
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            OfferV2 offer = new OfferV2(storedOffer.getSelectedCustomerAffiliation(), new OfferId("doe", "wxyz", 1))
+            offer.setCustomer(storedOffer.getCustomer())
+            offer.setCreationDate(LocalDate.now())
+            offer.setProjectTitle("Project without manager")
+            offer.setProjectObjective("Objective")
+            offer.setExperimentalDesign(Optional.empty())
+            session.save(offer)
+            session.getTransaction().commit()
+            return offer
+        }
+    }
+
+    private void storeOffers() {
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            Affiliation affiliation = new Affiliation("University", "", "Street 1", "72076", "Tübingen", "Germany", AffiliationCategory.INTERNAL)
+            affiliation.setActive(true)
+            session.save(affiliation)
+            Person customer = new Person("customer", "Jane", "Doe", "Dr.", "jane.doe@example.com", [affiliation], "customer-ref")
+            Person projectManager = new Person("manager", "John", "Doe", "", "john.doe@example.com", [affiliation], "manager-ref")
+            session.save(customer)
+            session.save(projectManager)
+            Product sequencing = createProduct("Sequencing", "SE_1")
+            Product analysis = createProduct("Primary Bioinformatics", "PB_1")
+            session.save(sequencing)
+            session.save(analysis)
+
+            for (int i = 0; i < NUMBER_OF_OFFERS; i++) {
+                OfferV2 offer = new OfferV2(affiliation, new OfferId("doe", "abcd", i + 1))
+                offer.setCustomer(customer)
+                offer.setProjectManager(projectManager)
+                offer.setCreationDate(LocalDate.now())
+                offer.setProjectTitle("Project $i")
+                offer.setProjectObjective("Objective $i")
+                offer.setExperimentalDesign(Optional.empty())
+                offer.addItems([new ProductItem(offer, sequencing, 10.0 + i), new ProductItem(offer, analysis, 1.0)])
+                session.save(offer)
+                storedOfferIds.add(offer.getIdentifier())
+            }
+            session.getTransaction().commit()
+        }
+    }
+
+    private static Product createProduct(String category, String productId) {
+        Product product = new Product(category, 10.0, 20.0)
+        product.setProductName(category)
+        product.setProductId(productId)
+        product.setUnit("Sample")
+        product.setServiceProvider("QBIC")
+        product.setActive(true)
+        return product
+    }
+}
@@ -0,0 +1,136 @@
+package life.qbic.portal.offermanager.dataresources.offers
+
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.offers.pricing.PricingKernel
+import life.qbic.business.offers.reprice.ProductPriceUpdate
+import life.qbic.business.offers.reprice.RepriceOffers
+import life.qbic.business.offers.reprice.RepriceOffersOutput
+import life.qbic.business.offers.reprice.RepricingReport
+import life.qbic.business.persons.Person
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+import life.qbic.portal.offermanager.dataresources.database.DatabaseSessionV2
+import life.qbic.portal.offermanager.dataresources.database.H2TestDatabase
+import org.hibernate.Session
+import org.hibernate.cfg.Environment
+import spock.lang.Specification
+
+import java.time.LocalDate
+
+/**
+ * Verifies that re-priced offers are stored when a batch contains an offer that already exists
+ *
+ * The failed batch is rolled back after Hibernate assigned ids to its offers and items, so the
+ * offers of the batch have to be stored again as new offers.
+ */
+class OfferDbConnectorRepriceSpec extends Specification {
+
+    def "when a batch of re-priced offers contains an existing offer, then the other offers of the batch are stored with their items"() {
+        given: "two open offers and an offer that equals the first offer with the new prices"
+        DatabaseSessionV2 sessionProvider = H2TestDatabase.createSessionProvider("offer-reprice", [(Environment.STATEMENT_BATCH_SIZE): "50"])
+        OfferDbConnector offerDbConnector = new OfferDbConnector(null, null, null, sessionProvider)
+        Affiliation affiliation = affiliation()
+        Person customer = customer(affiliation)
+        List<Product> products = products()
+        storeReferences(sessionProvider, affiliation, customer, products)
+        offerDbConnector.store(offer(affiliation, customer, "abcd", "First project", products))
+        offerDbConnector.store(offer(affiliation, customer, "efgh", "Second project", products))
+        List<Product> repricedProducts = products.collect { it.withUnitPrices(100.0, 200.0) }
+        offerDbConnector.store(offer(affiliation, customer, "ijkl", "First project", repricedProducts))
+
+        and: "a re-pricing that stores both new versions in one batch"
+        RepriceOffersOutput output = Mock(RepriceOffersOutput)
+        RepricingReport report = null
+        output.repricedOffers(_) >> { arguments -> report = arguments[0] }
+        RepriceOffers repriceOffers = new RepriceOffers(offerDbConnector, output, 1, 10, PricingKernel.EXACT)
+
+        when: "the products are re-priced"
+        repriceOffers.repriceOffers(products.collect { new ProductPriceUpdate(it.productId, 100.0, 200.0) })
+
+        then: "the existing offer is skipped and the other offer is stored with all items"
+        0 * output.failNotification(_)
+        report.skippedDuplicates == [new OfferId("doe", "abcd", 2)]
+        report.storedOffers == [new OfferId("doe", "efgh", 2)]
+        OfferV2 storedOffer = offerDbConnector.getOffer(new OfferId("doe", "efgh", 2)).get()
+        storedOffer.items.size() == products.size()
+        storedOffer.items.every { it.internalUnitPrice == 100.0 && it.externalUnitPrice == 200.0 }
+
+        cleanup:
+        sessionProvider?.close()
+    }
+
+    def "when a version of an offer is saved during a re-pricing, then the re-priced offer receives the following version"() {
+        given: "an offer and a version saved by a user after the offer was found for re-pricing"
+        DatabaseSessionV2 sessionProvider = H2TestDatabase.createSessionProvider("offer-reprice-version")
+        OfferDbConnector offerDbConnector = new OfferDbConnector(null, null, null, sessionProvider)
+        Affiliation affiliation = affiliation()
+        Person customer = customer(affiliation)
+        List<Product> products = products()
+        storeReferences(sessionProvider, affiliation, customer, products)
+        offerDbConnector.store(offer(affiliation, customer, "abcd", "First project", products))
+        offerDbConnector.store(offer(affiliation, customer, "abcd", "Renamed project", products, 2))
+
+        and: "the re-priced offer computed from the first version"
+        OfferV2 repricedOffer = offer(affiliation, customer, "abcd", "First project",
+                products.collect { it.withUnitPrices(100.0, 200.0) }, 2)
+
+        when:
+        offerDbConnector.storeNextVersion(repricedOffer)
+
+        then: "no version is stored twice"
+        repricedOffer.identifier == new OfferId("doe", "abcd", 3)
+        offerDbConnector.fetchAllVersionsForOfferId(new OfferId("doe", "abcd", 1))*.version == [1, 2, 3]
+
+        cleanup:
+        sessionProvider?.close()
+    }
+
+    private static Affiliation affiliation() {
+        Affiliation affiliation = new Affiliation("University", "", "Street 1", "72076", "Tübingen", "Germany", AffiliationCategory.INTERNAL)
+        affiliation.setActive(true)
+        return affiliation
+    }
+
+    private static Person customer(Affiliation affiliation) {
+        return new Person("customer", "Jane", "Doe", "Dr.", "jane.doe@example.com", [affiliation], "customer-ref")
+    }
+
+    private static List<Product> products() {
+        return (1..3).collect { int i ->
+            Product product = new Product("Sequencing", 10.0 + i, 20.0 + i)
+            product.setProductName("Product $i")
+            product.setProductId("SE_$i")
+            product.setUnit("Sample")
+            product.setServiceProvider("QBIC")
+            product.setActive(true)
+            return product
+        }
+    }
+
+    private static void storeReferences(DatabaseSessionV2 sessionProvider, Affiliation affiliation, Person customer,
+                                        List<Product> products) {
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            session.save(affiliation)
+            session.save(customer)
+            products.each { session.save(it) }
+            session.getTransaction().commit()
+        }
+    }
+
+    private static OfferV2 offer(Affiliation affiliation, Person customer, String randomPart, String title,
+                                 List<Product> products, int version = 1) {
+        OfferV2 offer = new OfferV2(affiliation, new OfferId("doe", randomPart, version))
+        offer.setCustomer(customer)
+        offer.setProjectManager(customer)
+        offer.setCreationDate(LocalDate.now())
+        offer.setProjectTitle(title)
+        offer.setProjectObjective("Objective")
+        offer.setExperimentalDesign(Optional.empty())
+        offer.addItems(products.collect { new ProductItem(offer, it, 2.0) })
+        return offer
+    }
+}
@@ -0,0 +1,111 @@
+package life.qbic.portal.offermanager.dataresources.offers
+
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.persons.Person
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+import life.qbic.portal.offermanager.dataresources.database.DatabaseSessionV2
+import life.qbic.portal.offermanager.dataresources.database.H2TestDatabase
+import org.hibernate.Session
+import org.hibernate.cfg.Environment
+import org.hibernate.stat.Statistics
+import spock.lang.Specification
+
+import java.time.LocalDate
+
+/**
+ * Verifies that the items of an offer are stored in batches
+ *
+ * Hibernate prepares a statement for every round trip to the database. Without batching every
+ * item is sent with its own statement.
+ */
+class OfferDbConnectorStoreSpec extends Specification {
+
+    private static final int NUMBER_OF_ITEMS = 40
+
+    def "when an offer with many items is stored, then the items are inserted in one batch"() {
+        given: "a session provider with JDBC batching enabled"
+        DatabaseSessionV2 sessionProvider = createSessionProvider("batched", "50")
+        OfferDbConnector offerDbConnector = new OfferDbConnector(null, null, null, sessionProvider)
+        OfferV2 offer = createOffer(sessionProvider, "abcd")
+        Statistics statistics = statisticsOf(sessionProvider)
+        statistics.clear()
+
+        when: "the offer is stored"
+        offerDbConnector.store(offer)
+
+        then: "the offer and its items need a handful of round trips, independent of the number of items"
+        statistics.getEntityInsertCount() == NUMBER_OF_ITEMS + 1
+        statistics.getPrepareStatementCount() < 10
+
+        cleanup:
+        sessionProvider?.close()
+    }
+
+    def "when an offer with many items is stored without batching, then every item needs its own round trip"() {
+        given: "a session provider with JDBC batching disabled"
+        DatabaseSessionV2 sessionProvider = createSessionProvider("unbatched", "0")
+        OfferDbConnector offerDbConnector = new OfferDbConnector(null, null, null, sessionProvider)
+        OfferV2 offer = createOffer(sessionProvider, "efgh")
+        Statistics statistics = statisticsOf(sessionProvider)
+        statistics.clear()
+
+        when: "the offer is stored"
+        offerDbConnector.store(offer)
+
+        then: "every item is sent with its own statement"
+        statistics.getEntityInsertCount() == NUMBER_OF_ITEMS + 1
+        statistics.getPrepareStatementCount() >= NUMBER_OF_ITEMS + 1
+
+        cleanup:
+        sessionProvider?.close()
+    }
+
+    private static DatabaseSessionV2 createSessionProvider(String databaseName, String batchSize) {
+        return H2TestDatabase.createSessionProvider("offer-store-${databaseName}", [(Environment.STATEMENT_BATCH_SIZE): batchSize])
+    }
+
+    private static Statistics statisticsOf(DatabaseSessionV2 sessionProvider) {
+        return sessionProvider.openSession().withCloseable { Session session ->
+            session.getSessionFactory().getStatistics()
+        }
+    }
+
+    /**
+     * Stores the referenced persons and products and returns a new offer with many items
+     */
+    private static OfferV2 createOffer(DatabaseSessionV2 sessionProvider, String randomPart) {
+        Affiliation affiliation = new Affiliation("University", "", "Street 1", "72076", "Tübingen", "Germany", AffiliationCategory.INTERNAL)
+        affiliation.setActive(true)
+        Person customer = new Person("customer", "Jane", "Doe", "Dr.", "jane.doe@example.com", [affiliation], "customer-ref")
+        List<Product> products = (1..NUMBER_OF_ITEMS).collect { int i ->
+            Product product = new Product("Sequencing", 10.0 + i, 20.0 + i)
+            product.setProductName("Product $i")
+            product.setProductId("SE_$i")
+            product.setUnit("Sample")
+            product.setServiceProvider("QBIC")
+            product.setActive(true)
+            return product
+        }
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            session.save(affiliation)
+            session.save(customer)
+            products.each { session.save(it) }
+            session.getTransaction().commit()
+        }
+
+        OfferV2 offer = new OfferV2(affiliation, new OfferId("doe", randomPart, 1))
+        offer.setCustomer(customer)
+        offer.setProjectManager(customer)
+        offer.setCreationDate(LocalDate.now())
+        offer.setProjectTitle("Project")
+        offer.setProjectObjective("Objective")
+        offer.setExperimentalDesign(Optional.empty())
+        offer.addItems(products.collect { new ProductItem(offer, it, 2.0) })
+        return offer
+    }
+}
@@ -0,0 +1,124 @@
+package life.qbic.portal.offermanager.dataresources.offers
+
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.persons.Person
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+import life.qbic.portal.offermanager.dataresources.database.DatabaseSessionV2
+import life.qbic.portal.offermanager.dataresources.database.H2TestDatabase
+import org.hibernate.Session
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.LocalDate
+
+/**
+ * Verifies that the versions of an offer are read from the offer version index
+ *
+ * Offers stored before the identifier parts were persisted separately have no entry in the index
+ * until they are loaded once.
+ */
+class OfferDbConnectorVersionSpec extends Specification {
+
+    @Shared
+    DatabaseSessionV2 sessionProvider
+
+    @Shared
+    OfferDbConnector offerDbConnector
+
+    @Shared
+    Affiliation affiliation
+
+    @Shared
+    Person customer
+
+    @Shared
+    Product product
+
+    def setupSpec() {
+        sessionProvider = H2TestDatabase.createSessionProvider("offer-versions")
+        offerDbConnector = new OfferDbConnector(null, null, null, sessionProvider)
+        affiliation = new Affiliation("University", "", "Street 1", "72076", "Tübingen", "Germany", AffiliationCategory.INTERNAL)
+        affiliation.setActive(true)
+        customer = new Person("customer", "Jane", "Doe", "Dr.", "jane.doe@example.com", [affiliation], "customer-ref")
+        product = new Product("Sequencing", 10.0, 20.0)
+        product.setProductName("Product")
+        product.setProductId("SE_1")
+        product.setUnit("Sample")
+        product.setServiceProvider("QBIC")
+        product.setActive(true)
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            session.save(affiliation)
+            session.save(customer)
+            session.save(product)
+            session.getTransaction().commit()
+        }
+        [1, 3, 2].each { int version -> offerDbConnector.store(offer("abcd", version)) }
+        offerDbConnector.store(offer("efgh", 1))
+    }
+
+    def cleanupSpec() {
+        sessionProvider?.close()
+    }
+
+    def "all versions of an offer are listed in ascending order"() {
+        when:
+        List<OfferId> versions = offerDbConnector.fetchAllVersionsForOfferId(new OfferId("doe", "abcd", 1))
+
+        then:
+        versions == [new OfferId("doe", "abcd", 1), new OfferId("doe", "abcd", 2), new OfferId("doe", "abcd", 3)]
+    }
+
+    def "the latest version of an offer is the highest stored version"() {
+        expect:
+        offerDbConnector.fetchLatestVersion(new OfferId("doe", "abcd", 1)) == Optional.of(3)
+        offerDbConnector.fetchLatestVersion(new OfferId("doe", "efgh", 1)) == Optional.of(1)
+        offerDbConnector.fetchLatestVersion(new OfferId("doe", "ijkl", 1)) == Optional.empty()
+    }
+
+    def "an offer stored before the identifier parts were persisted is indexed once it is loaded"() {
+        given: "an offer without identifier parts"
+        offerDbConnector.store(offer("mnop", 1))
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            session.createNativeQuery("UPDATE offers SET offerIdProjectPart = NULL, offerIdRandomPart = NULL, " +
+                    "offerIdVersion = NULL WHERE offerId = :offerId")
+                    .setParameter("offerId", new OfferId("doe", "mnop", 1).toString())
+                    .executeUpdate()
+            session.getTransaction().commit()
+        }
+        OfferId offerId = new OfferId("doe", "mnop", 1)
+
+        expect: "the offer is missing in the index"
+        offerDbConnector.fetchAllVersionsForOfferId(offerId).isEmpty()
+
+        when: "the offer is loaded in a transaction"
+        sessionProvider.openSession().withCloseable { Session session ->
+            session.beginTransaction()
+            session.createQuery("SELECT offer FROM OfferV2 offer WHERE offer.offerId = :offerId", OfferV2.class)
+                    .setParameter("offerId", offerId.toString())
+                    .list()
+            session.getTransaction().commit()
+        }
+
+        then: "the identifier parts are filled in from the offer identifier"
+        offerDbConnector.fetchAllVersionsForOfferId(offerId) == [offerId]
+        offerDbConnector.fetchLatestVersion(offerId) == Optional.of(1)
+    }
+
+    private OfferV2 offer(String randomPart, int version) {
+        OfferV2 offer = new OfferV2(affiliation, new OfferId("doe", randomPart, version))
+        offer.setCustomer(customer)
+        offer.setProjectManager(customer)
+        offer.setCreationDate(LocalDate.now())
+        offer.setProjectTitle("Project $randomPart version $version")
+        offer.setProjectObjective("Objective")
+        offer.setExperimentalDesign(Optional.empty())
+        offer.addItems([new ProductItem(offer, product, 2.0)])
+        return offer
+    }
+}
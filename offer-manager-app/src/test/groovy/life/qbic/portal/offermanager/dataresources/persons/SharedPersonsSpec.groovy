@@ -0,0 +1,90 @@
+package life.qbic.portal.offermanager.dataresources.persons
+
+import life.qbic.business.persons.Person
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.persons.list.ListPersonsDataSource
+import life.qbic.portal.offermanager.dataresources.ChangeSet
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
+import spock.lang.Specification
+
+/**
+ * Verifies that the person resource services project one shared snapshot of the persons
+ */
+class SharedPersonsSpec extends Specification {
+
+    def "the persons are listed once for the customer, project manager and person services"() {
+        given:
+        ListPersonsDataSource dataSource = Mock(ListPersonsDataSource)
+        SharedResourceRegistry registry = new SharedResourceRegistry()
+
+        when:
+        CustomerResourceService customers = new CustomerResourceService(dataSource, registry)
+        ProjectManagerResourceService managers = new ProjectManagerResourceService(dataSource, registry)
+        PersonResourceService persons = new PersonResourceService(dataSource, registry)
+
+        then:
+        1 * dataSource.listPersons() >> [person(1, "Ada"), person(2, "Grace")]
+        customers.iterator()*.firstName == ["Ada", "Grace"]
+        managers.iterator()*.firstName == ["Ada", "Grace"]
+        persons.iterator()*.firstName == ["Ada", "Grace"]
+    }
+
+    def "reloading one service reloads the persons of all services once"() {
+        given:
+        ListPersonsDataSource dataSource = Mock(ListPersonsDataSource)
+        SharedResourceRegistry registry = new SharedResourceRegistry()
+        dataSource.listPersons() >>> [[person(1, "Ada")], [person(1, "Ada"), person(2, "Grace")]]
+        CustomerResourceService customers = new CustomerResourceService(dataSource, registry)
+        ProjectManagerResourceService managers = new ProjectManagerResourceService(dataSource, registry)
+        PersonResourceService persons = new PersonResourceService(dataSource, registry)
+        List<ChangeSet<life.qbic.datamodel.dtos.general.Person>> notifiedChanges = []
+        persons.subscribeToChanges({ notifiedChanges.add(it) })
+
+        when:
+        persons.reloadResources()
+
+        then:
+        notifiedChanges.size() == 1
+        notifiedChanges.first().added*.firstName == ["Grace"]
+        notifiedChanges.first().removed.isEmpty()
+        customers.iterator()*.firstName == ["Ada", "Grace"]
+        managers.iterator()*.firstName == ["Ada", "Grace"]
+    }
+
+    def "a projection is mapped once per snapshot"() {
+        given:
+        ListPersonsDataSource dataSource = Stub(ListPersonsDataSource)
+        dataSource.listPersons() >> [person(1, "Ada")]
+        SharedResourceRegistry registry = new SharedResourceRegistry()
+        CustomerResourceService firstSession = new CustomerResourceService(dataSource, registry)
+        CustomerResourceService secondSession = new CustomerResourceService(dataSource, registry)
+
+        expect:
+        firstSession.iterator().next().is(secondSession.iterator().next())
+    }
+
+    def "a person added to the shared persons is projected without listing the persons again"() {
+        given:
+        ListPersonsDataSource dataSource = Mock(ListPersonsDataSource)
+        SharedResourceRegistry registry = new SharedResourceRegistry()
+
+        when:
+        CustomerResourceService customers = new CustomerResourceService(dataSource, registry)
+        SharedPersons.of(dataSource, registry).add(person(2, "Grace"))
+
+        then: "the persons are listed once when they are loaded"
+        1 * dataSource.listPersons() >> [person(1, "Ada")]
+        customers.iterator()*.firstName == ["Ada", "Grace"]
+    }
+
+    private static Person person(int id, String firstName) {
+        Affiliation affiliation = new Affiliation("Organisation", "", "Street", "72076", "Tübingen", "Germany",
+                AffiliationCategory.INTERNAL)
+        affiliation.setId(id)
+        Person person = new Person("user$id", firstName, "Last", "", "person$id@example.com", [affiliation],
+                "reference-$id")
+        person.setId(id)
+        return person
+    }
+}
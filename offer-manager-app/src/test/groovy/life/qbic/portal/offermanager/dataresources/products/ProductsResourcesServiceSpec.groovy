@@ -0,0 +1,57 @@
+package life.qbic.portal.offermanager.dataresources.products
+
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductFingerprintIndex
+import life.qbic.business.products.list.ListProductsDataSource
+import life.qbic.portal.offermanager.dataresources.SharedResourceRegistry
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+
+/**
+ * Verifies that the index of active products follows the shared products
+ */
+class ProductsResourcesServiceSpec extends Specification {
+
+    def "the product index is rebuilt from the reloaded shared products"() {
+        given: "a data source that lists a second product after the first load"
+        ListProductsDataSource dataSource = Stub(ListProductsDataSource)
+        dataSource.listProducts() >>> [[product(1, "Sequencing")], [product(1, "Sequencing"), product(2, "Storage")]]
+        SharedResourceRegistry registry = new SharedResourceRegistry()
+        ProductsResourcesService products = new ProductsResourcesService(dataSource, registry)
+
+        and: "an index recording the products it is built from"
+        List<List<String>> indexedProducts = []
+        ProductFingerprintIndex productIndex = Stub(ProductFingerprintIndex)
+        productIndex.reindex(_) >> { Collection<Product> activeProducts -> indexedProducts.add(activeProducts*.productName) }
+
+        when: "the index follows the shared products"
+        products.indexActiveProducts(productIndex)
+
+        then: "it is built from the current products"
+        indexedProducts == [["Sequencing"]]
+
+        when: "the expired products are reloaded"
+        registry.reloadExpired(Duration.ZERO)
+
+        then: "it is rebuilt from the new snapshot"
+        new PollingConditions(timeout: 5).eventually {
+            assert indexedProducts.last() == ["Sequencing", "Storage"]
+        }
+
+        cleanup:
+        registry.shutdown()
+    }
+
+    private static Product product(int id, String name) {
+        Product product = new Product("Sequencing", 10.0, 20.0)
+        product.setId(id)
+        product.setProductId("SE_$id")
+        product.setProductName(name)
+        product.setDescription("Description")
+        product.setUnit("Sample")
+        product.setServiceProvider("QBIC")
+        return product
+    }
+}
@@ -0,0 +1,113 @@
+package life.qbic.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import life.qbic.business.offers.OfferV2;
+import life.qbic.business.offers.identifier.OfferId;
+import life.qbic.business.persons.Person;
+import life.qbic.business.persons.affiliation.Affiliation;
+import life.qbic.business.persons.affiliation.AffiliationCategory;
+import life.qbic.business.products.Product;
+import life.qbic.business.products.ProductItem;
+
+/**
+ * <b>Benchmark data</b>
+ *
+ * <p>Creates the offers and products the benchmarks work on. The products cover all product
+ * categories and carry every field an offer in production has, so the offers can be converted
+ * and checksummed like stored offers.</p>
+ *
+ * @since 1.11.0
+ */
+public final class BenchmarkData {
+
+  private static final String[][] PRODUCTS = {
+      {"Sequencing", "SE_1"},
+      {"Proteomics", "PR_2"},
+      {"Metabolomics", "ME_3"},
+      {"Primary Bioinformatics", "PB_4"},
+      {"Secondary Bioinformatics", "SB_5"},
+      {"Project Management", "PM_6"},
+      {"Data Storage", "DS_7"},
+      {"External Service", "EXT_8"}
+  };
+
+  private BenchmarkData() {
+  }
+
+  /**
+   * @return one product per product category
+   */
+  public static List<Product> products() {
+    List<Product> products = new ArrayList<>(PRODUCTS.length);
+    for (int i = 0; i < PRODUCTS.length; i++) {
+      String[] fields = PRODUCTS[i];
+      Product product = new Product(fields[0], 10.0 + 7.25 * i, 20.0 + 9.5 * i);
+      product.setProductName(fields[0] + " product");
+      product.setDescription("Benchmark product of the category " + fields[0]);
+      product.setProductId(fields[1]);
+      product.setUnit("Sample");
+      product.setServiceProvider("QBIC");
+      product.setActive(true);
+      products.add(product);
+    }
+    return Collections.unmodifiableList(products);
+  }
+
+  /**
+   * @param category the affiliation category of the customer
+   * @return an affiliation in Germany
+   */
+  public static Affiliation affiliation(AffiliationCategory category) {
+    return new Affiliation("Benchmark organisation", "", "Street", "72076", "Tuebingen",
+        "Germany", category);
+  }
+
+  /**
+   * Creates the items of an offer. The products are assigned in turn, the quantities grow with
+   * the item position, so data analysis items fall into different quantity discount tiers.
+   *
+   * @param offer     the offer of the items
+   * @param itemCount the number of items
+   * @return the items
+   */
+  public static List<ProductItem> items(OfferV2 offer, int itemCount) {
+    List<Product> products = products();
+    List<ProductItem> items = new ArrayList<>(itemCount);
+    for (int i = 0; i < itemCount; i++) {
+      items.add(new ProductItem(offer, products.get(i % products.size()), 1.0 + i % 97));
+    }
+    return items;
+  }
+
+  /**
+   * Creates an offer with all fields of a stored offer.
+   *
+   * @param itemCount the number of items on the offer
+   * @param category  the affiliation category of the customer
+   * @return the offer
+   */
+  public static OfferV2 offer(int itemCount, AffiliationCategory category) {
+    Affiliation affiliation = affiliation(category);
+    OfferV2 offer = new OfferV2(affiliation, new OfferId("bench", "abcd", 1));
+    offer.setProjectTitle("Benchmark project");
+    offer.setProjectObjective("Measure the offer manager domain");
+    offer.setExperimentalDesign(Optional.of("Samples are measured in " + itemCount + " items"));
+    offer.setCustomer(person("Customer", affiliation));
+    offer.setProjectManager(person("Manager", affiliation));
+    offer.setCreationDate(LocalDate.of(2021, 11, 1));
+    offer.setExpirationDate(LocalDate.of(2022, 1, 30));
+    offer.addItems(items(offer, itemCount));
+    return offer;
+  }
+
+  private static Person person(String lastName, Affiliation affiliation) {
+    List<Affiliation> affiliations = new ArrayList<>();
+    affiliations.add(affiliation);
+    return new Person(lastName.toLowerCase(), "Benchmark", lastName, "None",
+        lastName.toLowerCase() + "@example.com", affiliations, lastName.toLowerCase() + "-ref");
+  }
+}
@@ -0,0 +1,245 @@
+package life.qbic.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <b>Benchmark runner</b>
+ *
+ * <p>Runs the benchmarks with the GC profiler, so every result reports the bytes allocated per
+ * operation next to its score. The results can be saved as a baseline and later runs can be
+ * compared against it, for example before and after a pricing optimisation:</p>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar life.qbic.benchmarks.BenchmarkRunner --save baseline.csv
+ * java -cp target/benchmarks.jar life.qbic.benchmarks.BenchmarkRunner --compare baseline.csv
+ * </pre>
+ *
+ * <p>Options are <code>--include &lt;regex&gt;</code> to select benchmarks,
+ * <code>--save &lt;file&gt;</code>, <code>--compare &lt;file&gt;</code> and
+ * <code>--tolerance &lt;ratio&gt;</code>, the relative change that is reported as regression,
+ * 0.1 by default. The runner exits with status 1, if a benchmark regressed in time or allocation
+ * compared to the baseline.</p>
+ *
+ * @since 1.11.0
+ */
+public final class BenchmarkRunner {
+
+  private static final String HEADER = "benchmark,params,mode,score,error,unit,allocated_bytes_per_op";
+
+  private static final String ALLOCATION_RATE_NORM = "gc.alloc.rate.norm";
+
+  /**
+   * Allocations below this amount of bytes per operation are not reported as regression
+   */
+  private static final double ALLOCATION_NOISE_BYTES = 16.0;
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    String include = "life\\.qbic\\.benchmarks\\..*";
+    Path save = null;
+    Path compare = null;
+    double tolerance = 0.1;
+    for (int i = 0; i < args.length; i++) {
+      String option = args[i];
+      if (i + 1 >= args.length) {
+        throw new IllegalArgumentException("Missing value of option " + option);
+      }
+      String value = args[++i];
+      switch (option) {
+        case "--include":
+          include = value;
+          break;
+        case "--save":
+          save = Paths.get(value);
+          break;
+        case "--compare":
+          compare = Paths.get(value);
+          break;
+        case "--tolerance":
+          tolerance = Double.parseDouble(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option " + option);
+      }
+    }
+
+    Options options = new OptionsBuilder()
+        .include(include)
+        .addProfiler(GCProfiler.class)
+        .build();
+    List<Measurement> measurements = toMeasurements(new Runner(options).run());
+    if (save != null) {
+      write(measurements, save);
+      System.out.printf("Saved %d results to %s%n", measurements.size(), save);
+    }
+    if (compare != null) {
+      boolean regressed = compare(read(compare), measurements, tolerance);
+      if (regressed) {
+        System.exit(1);
+      }
+    }
+  }
+
+  private static List<Measurement> toMeasurements(Collection<RunResult> results) {
+    List<Measurement> measurements = new ArrayList<>(results.size());
+    for (RunResult result : results) {
+      BenchmarkParams params = result.getParams();
+      Map<String, String> paramValues = new TreeMap<>();
+      for (String key : params.getParamsKeys()) {
+        paramValues.put(key, params.getParam(key));
+      }
+      StringBuilder formattedParams = new StringBuilder();
+      paramValues.forEach((key, value) -> {
+        if (formattedParams.length() > 0) {
+          formattedParams.append(';');
+        }
+        formattedParams.append(key).append('=').append(value);
+      });
+      Result<?> primary = result.getPrimaryResult();
+      double allocated = Double.NaN;
+      for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+        // the label carries a prefix that differs between JMH versions
+        if (secondary.getKey().endsWith(ALLOCATION_RATE_NORM)) {
+          allocated = secondary.getValue().getScore();
+        }
+      }
+      // the error is not defined for a single measurement iteration
+      double error = Double.isNaN(primary.getScoreError()) ? 0 : primary.getScoreError();
+      measurements.add(new Measurement(params.getBenchmark(), formattedParams.toString(),
+          params.getMode(), primary.getScore(), error, primary.getScoreUnit(), allocated));
+    }
+    return measurements;
+  }
+
+  /**
+   * Prints the change of every measurement compared to the baseline.
+   *
+   * @return true, if any measurement regressed by more than the tolerance
+   */
+  private static boolean compare(Map<String, Measurement> baseline,
+      List<Measurement> measurements, double tolerance) {
+    boolean regressed = false;
+    System.out.printf("%-90s %12s %12s %9s %12s %12s %9s%n", "Benchmark", "Baseline", "Current",
+        "Change", "Base B/op", "Curr B/op", "Change");
+    for (Measurement current : measurements) {
+      Measurement previous = baseline.get(current.key());
+      if (previous == null) {
+        System.out.printf("%-90s %12s %12.3f%n", current.key(), "-", current.score);
+        continue;
+      }
+      double scoreChange = (current.score - previous.score) / previous.score;
+      // a lower time or a higher throughput is better
+      double slowdown = current.mode == Mode.Throughput ? -scoreChange : scoreChange;
+      double allocationChange =
+          (current.allocatedBytes - previous.allocatedBytes) / previous.allocatedBytes;
+      boolean slower = slowdown > tolerance
+          && Math.abs(current.score - previous.score) > current.error + previous.error;
+      boolean allocatesMore = current.allocatedBytes - previous.allocatedBytes
+          > ALLOCATION_NOISE_BYTES && allocationChange > tolerance;
+      System.out.printf("%-90s %12.3f %12.3f %+8.1f%% %12.1f %12.1f %+8.1f%%%s%n", current.key(),
+          previous.score, current.score, 100 * scoreChange, previous.allocatedBytes,
+          current.allocatedBytes, 100 * allocationChange,
+          slower || allocatesMore ? "  REGRESSION" : "");
+      regressed |= slower || allocatesMore;
+    }
+    return regressed;
+  }
+
+  private static void write(List<Measurement> measurements, Path file) {
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write(HEADER);
+      writer.newLine();
+      for (Measurement measurement : measurements) {
+        writer.write(String.join(",", measurement.benchmark, measurement.params,
+            measurement.mode.shortLabel(), format(measurement.score), format(measurement.error),
+            measurement.unit, format(measurement.allocatedBytes)));
+        writer.newLine();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write the results to " + file, e);
+    }
+  }
+
+  private static Map<String, Measurement> read(Path file) {
+    Map<String, Measurement> measurements = new LinkedHashMap<>();
+    try {
+      for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+        if (line.isEmpty() || line.equals(HEADER)) {
+          continue;
+        }
+        String[] fields = line.split(",", -1);
+        if (fields.length != 7) {
+          throw new IllegalStateException(
+              String.format("Malformed baseline line in %s: %s", file, line));
+        }
+        Measurement measurement = new Measurement(fields[0], fields[1],
+            Mode.deepValueOf(fields[2]), Double.parseDouble(fields[3]),
+            Double.parseDouble(fields[4]), fields[5], Double.parseDouble(fields[6]));
+        measurements.put(measurement.key(), measurement);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the baseline " + file, e);
+    }
+    return measurements;
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.6f", value);
+  }
+
+  private static final class Measurement {
+
+    private final String benchmark;
+
+    private final String params;
+
+    private final Mode mode;
+
+    private final double score;
+
+    private final double error;
+
+    private final String unit;
+
+    private final double allocatedBytes;
+
+    private Measurement(String benchmark, String params, Mode mode, double score, double error,
+        String unit, double allocatedBytes) {
+      this.benchmark = benchmark;
+      this.params = params;
+      this.mode = mode;
+      this.score = score;
+      this.error = error;
+      this.unit = unit;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    private String key() {
+      return params.isEmpty() ? benchmark : benchmark + ":" + params;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package life.qbic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import life.qbic.business.RefactorConverter;
+import life.qbic.business.offers.OfferV2;
+import life.qbic.business.persons.affiliation.AffiliationCategory;
+import life.qbic.datamodel.dtos.business.Offer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <b>Offer conversion</b>
+ *
+ * <p>Measures the conversion of offers between the domain entity and the data transfer object,
+ * which the application performs whenever an offer is shown, exported or stored.</p>
+ *
+ * @since 1.11.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RefactorConverterBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int itemCount;
+
+  private OfferV2 offer;
+
+  private Offer offerDto;
+
+  @Setup
+  public void setup() {
+    offer = BenchmarkData.offer(itemCount, AffiliationCategory.EXTERNAL_ACADEMIC);
+    offerDto = RefactorConverter.toOfferDto(offer);
+  }
+
+  @Benchmark
+  public Offer toOfferDto() {
+    return RefactorConverter.toOfferDto(offer);
+  }
+
+  @Benchmark
+  public OfferV2 toOffer() {
+    return RefactorConverter.toOffer(offerDto);
+  }
+
+  @Benchmark
+  public OfferV2 roundTrip() {
+    return RefactorConverter.toOffer(RefactorConverter.toOfferDto(offer));
+  }
+}
@@ -0,0 +1,60 @@
+package life.qbic.benchmarks.offers;
+
+import java.util.concurrent.TimeUnit;
+import life.qbic.benchmarks.BenchmarkData;
+import life.qbic.business.offers.OfferV2;
+import life.qbic.business.persons.affiliation.AffiliationCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <b>Offer checksum</b>
+ *
+ * <p>Measures the checksum of an offer, once computed after a content change and once read from
+ * the offer while its content is unchanged.</p>
+ *
+ * @since 1.11.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferChecksumBenchmark {
+
+  @Param({"1", "10", "100", "500"})
+  public int itemCount;
+
+  private final String[] titles = {"Benchmark project", "Another benchmark project"};
+
+  private int changes;
+
+  private OfferV2 offer;
+
+  @Setup
+  public void setup() {
+    offer = BenchmarkData.offer(itemCount, AffiliationCategory.EXTERNAL);
+  }
+
+  @Benchmark
+  public String computeChecksum() {
+    // changing the title discards the checksum of the previous content
+    offer.setProjectTitle(titles[changes++ & 1]);
+    return offer.getChecksum();
+  }
+
+  @Benchmark
+  public String unchangedOfferChecksum() {
+    return offer.getChecksum();
+  }
+}
@@ -0,0 +1,89 @@
+package life.qbic.benchmarks.offers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import life.qbic.benchmarks.BenchmarkData;
+import life.qbic.business.offers.OfferV2;
+import life.qbic.business.offers.identifier.OfferId;
+import life.qbic.business.persons.affiliation.Affiliation;
+import life.qbic.business.persons.affiliation.AffiliationCategory;
+import life.qbic.business.products.ProductItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <b>Offer pricing</b>
+ *
+ * <p>Measures the creation of an {@link OfferV2} with its items and the aggregation of the offer
+ * prices, which is repeated whenever the customer affiliation changes.</p>
+ *
+ * @since 1.11.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferPricingBenchmark {
+
+  @Param({"1", "10", "100", "500"})
+  public int itemCount;
+
+  @Param({"INTERNAL", "EXTERNAL"})
+  public AffiliationCategory affiliationCategory;
+
+  private Affiliation affiliation;
+
+  private Affiliation otherAffiliation;
+
+  private List<ProductItem> items;
+
+  private OfferV2 offer;
+
+  @Setup
+  public void setup() {
+    affiliation = BenchmarkData.affiliation(affiliationCategory);
+    otherAffiliation = BenchmarkData.affiliation(
+        affiliationCategory == AffiliationCategory.INTERNAL
+            ? AffiliationCategory.EXTERNAL_ACADEMIC
+            : AffiliationCategory.INTERNAL);
+    offer = BenchmarkData.offer(itemCount, affiliationCategory);
+    items = BenchmarkData.items(offer, itemCount);
+  }
+
+  @Benchmark
+  public OfferV2 createOfferWithItems() {
+    OfferV2 createdOffer = new OfferV2(affiliation, new OfferId("bench", "abcd", 1));
+    createdOffer.addItems(items);
+    return createdOffer;
+  }
+
+  @Benchmark
+  public void aggregateCostsAfterAffiliationChange(Blackhole blackhole) {
+    // every change of the affiliation aggregates the prices of all items again
+    offer.setSelectedCustomerAffiliation(
+        offer.getSelectedCustomerAffiliation() == affiliation ? otherAffiliation : affiliation);
+    blackhole.consume(offer.getPriceAfterTax());
+  }
+
+  @Benchmark
+  public void offerPriceGetters(Blackhole blackhole) {
+    blackhole.consume(offer.getSalePrice());
+    blackhole.consume(offer.getOverhead());
+    blackhole.consume(offer.getPriceBeforeTax());
+    blackhole.consume(offer.getTaxAmount());
+    blackhole.consume(offer.getPriceAfterTax());
+    blackhole.consume(offer.getTotalDiscountAmount());
+  }
+}
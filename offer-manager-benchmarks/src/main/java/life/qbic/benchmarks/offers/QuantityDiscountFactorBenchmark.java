@@ -0,0 +1,51 @@
+package life.qbic.benchmarks.offers;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import life.qbic.business.offers.QuantityDiscountFactor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <b>Quantity discount factor</b>
+ *
+ * <p>Measures the lookup of the quantity discount rate for quantities in the first, a middle and
+ * beyond the last tier of the default discount curve.</p>
+ *
+ * @since 1.11.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuantityDiscountFactorBenchmark {
+
+  @Param({"1", "24.5", "500", "2000"})
+  public String quantity;
+
+  private BigDecimal quantityValue;
+
+  private QuantityDiscountFactor discountFactor;
+
+  @Setup
+  public void setup() {
+    quantityValue = new BigDecimal(quantity);
+    discountFactor = new QuantityDiscountFactor();
+  }
+
+  @Benchmark
+  public BigDecimal apply() {
+    return discountFactor.apply(quantityValue);
+  }
+}
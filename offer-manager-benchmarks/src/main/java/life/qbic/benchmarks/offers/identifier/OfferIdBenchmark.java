@@ -0,0 +1,56 @@
+package life.qbic.benchmarks.offers.identifier;
+
+import java.util.concurrent.TimeUnit;
+import life.qbic.business.offers.identifier.OfferId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <b>Offer identifier</b>
+ *
+ * <p>Measures parsing and formatting of offer identifiers, which happens for every offer listed
+ * in the overview and for every stored offer version.</p>
+ *
+ * @since 1.11.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferIdBenchmark {
+
+  private String identifier;
+
+  private OfferId offerId;
+
+  @Setup
+  public void setup() {
+    offerId = new OfferId("benchmark", "abcd", 12);
+    identifier = offerId.toString();
+  }
+
+  @Benchmark
+  public OfferId parse() {
+    return OfferId.from(identifier);
+  }
+
+  @Benchmark
+  public String format() {
+    return offerId.toString();
+  }
+
+  @Benchmark
+  public String roundTrip() {
+    return OfferId.from(identifier).toString();
+  }
+}
@@ -0,0 +1,82 @@
+package life.qbic.benchmarks.products;
+
+import java.util.concurrent.TimeUnit;
+import life.qbic.business.offers.OfferV2;
+import life.qbic.business.offers.identifier.OfferId;
+import life.qbic.business.persons.affiliation.Affiliation;
+import life.qbic.business.persons.affiliation.AffiliationCategory;
+import life.qbic.business.products.Product;
+import life.qbic.business.products.ProductItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <b>Price getters of a product item</b>
+ *
+ * <p>Measures the cost of reading the prices of a single {@link ProductItem}, once with unchanged
+ * pricing inputs and once with the affiliation category changing before every read.</p>
+ *
+ * @since 1.11.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductItemBenchmark {
+
+  @Param({"Primary Bioinformatics", "Sequencing", "Data Storage"})
+  public String productCategory;
+
+  private Affiliation affiliation;
+
+  private ProductItem item;
+
+  @Setup
+  public void setup() {
+    affiliation = new Affiliation("Benchmark organisation", "", "Street", "72076", "Tuebingen",
+        "Germany", AffiliationCategory.INTERNAL);
+    OfferV2 offer = new OfferV2(affiliation, new OfferId("bench", "abcd", 1));
+    Product product = new Product(productCategory, 20.0, 40.0);
+    item = new ProductItem(offer, product, 33.0);
+  }
+
+  @Benchmark
+  public Object salePrice() {
+    return item.getSalePrice();
+  }
+
+  @Benchmark
+  public void allPriceGetters(Blackhole blackhole) {
+    consumeAllPrices(blackhole);
+  }
+
+  @Benchmark
+  public void allPriceGettersAfterAffiliationChange(Blackhole blackhole) {
+    affiliation.setCategory(affiliation.getCategory() == AffiliationCategory.INTERNAL
+        ? AffiliationCategory.EXTERNAL
+        : AffiliationCategory.INTERNAL);
+    consumeAllPrices(blackhole);
+  }
+
+  private void consumeAllPrices(Blackhole blackhole) {
+    blackhole.consume(item.getUnitPrice());
+    blackhole.consume(item.getListPrice());
+    blackhole.consume(item.getDiscountRate());
+    blackhole.consume(item.getUnitDiscountAmount());
+    blackhole.consume(item.getDiscountAmount());
+    blackhole.consume(item.getSalePrice());
+    blackhole.consume(item.hasDiscount());
+  }
+}
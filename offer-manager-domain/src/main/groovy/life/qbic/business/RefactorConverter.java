@@ -328,7 +328,7 @@ public class RefactorConverter {
         offerId.getRandomPart(), Integer.toString(offerId.getVersion()));
   }
 
-  private static <T extends life.qbic.datamodel.dtos.business.services.Product> Product toProduct(
+  public static <T extends life.qbic.datamodel.dtos.business.services.Product> Product toProduct(
       T productDto) {
     String productCategory = new ProductCategoryFormatter().apply(productDto.getClass());
     Product product = new Product(productCategory, productDto.getInternalUnitPrice(),
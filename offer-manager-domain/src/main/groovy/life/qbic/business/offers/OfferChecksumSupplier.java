@@ -1,114 +1,223 @@
 package life.qbic.business.offers;
 
-import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
+import life.qbic.business.persons.Person;
 import life.qbic.business.persons.affiliation.Affiliation;
 import life.qbic.business.products.ProductItem;
 
 /**
  * <p>Supplies a checksum for a specific offer. The returned checksum is a SHA-256 checksum on
- * fields of the offer and formatted as a HEX String</p>
+ * fields of the offer, formatted as a HEX String with a prefix naming the format version</p>
+ *
+ * <p>The format version changes whenever the checksummed content or its encoding changes, so
+ * stored checksums of an older format can be recognised and migrated. The current format
+ * {@value #FORMAT_PREFIX} writes every field with its length or a presence marker, numbers in
+ * their binary representation and the digest as {@value #DIGEST_HEX_LENGTH} hex digits.</p>
+ *
+ * <p>Compared to the first, unprefixed format, {@value #FORMAT_PREFIX} also covers the internal
+ * and external unit prices of the items, so a re-priced version of an offer is not rejected as a
+ * duplicate. Stored checksums of the first format lack the prices and are migrated.</p>
+ *
+ * <p>Each thread reuses its own digest and encoding buffer, neither the field bytes nor the
+ * digest are copied into new arrays.</p>
  */
 class OfferChecksumSupplier implements
     Supplier<String> {
 
+  /**
+   * The prefix of checksums in the current format
+   */
+  static final String FORMAT_PREFIX = "v2:";
+
+  private static final int DIGEST_LENGTH = 32;
+
+  private static final int DIGEST_HEX_LENGTH = 2 * DIGEST_LENGTH;
+
+  /**
+   * The length of checksums in the current format
+   */
+  static final int CHECKSUM_LENGTH = FORMAT_PREFIX.length() + DIGEST_HEX_LENGTH;
+
+  private static final ThreadLocal<ChecksumWriter> WRITERS = ThreadLocal.withInitial(
+      ChecksumWriter::new);
+
   private final OfferV2 offer;
 
   public OfferChecksumSupplier(OfferV2 offer) {
     this.offer = offer;
   }
 
+  /**
+   * @param checksum a stored checksum, may be null
+   * @return true, if the checksum was computed in the current format, else false
+   */
+  static boolean isCurrentFormat(String checksum) {
+    return checksum != null && checksum.length() == CHECKSUM_LENGTH
+        && checksum.startsWith(FORMAT_PREFIX);
+  }
+
   @Override
   public String get() {
-    String algorithm = "SHA-256";
-    try {
-      MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
-      byte[] checksumBytes = update(messageDigest).digest();
-      return getChecksum(checksumBytes);
-    } catch (NoSuchAlgorithmException e) {
-      // this should never happen as SHA-256 is expected to be there.
-      throw new RuntimeException(
-          "Could not find implementation for " + algorithm + " checksum calculation.");
-    }
+    ChecksumWriter writer = WRITERS.get();
+    writer.reset();
+    writeOffer(writer);
+    return writer.finish();
   }
 
-  private String getChecksum(byte[] checksumBytes) {
-    StringBuilder result = new StringBuilder();
-    for (byte checksumByte : checksumBytes) {
-      result.append(Integer.toHexString(checksumByte & 0xff));
+  private void writeOffer(ChecksumWriter writer) {
+    writer.writeString(offer.getProjectTitle());
+    writer.writeString(offer.getProjectObjective());
+    Optional<String> experimentalDesign = offer.getExperimentalDesign();
+    writer.writeString(experimentalDesign != null ? experimentalDesign.orElse(null) : null);
+
+    List<ProductItem> items = offer.getItems();
+    writer.writeInt(items.size());
+    for (ProductItem item : items) {
+      writer.writeString(item.getProduct().getProductName());
+      writer.writeDouble(item.getQuantity());
+      // content of the v2 format, offers that differ only in the prices of their items differ
+      writer.writeDouble(item.getInternalUnitPrice());
+      writer.writeDouble(item.getExternalUnitPrice());
     }
-    return result.toString();
-  }
 
-  private MessageDigest update(MessageDigest digest) {
-    return Optional.of(digest)
-        .map(this::updateWithTitle)
-        .map(this::updateWithObjective)
-        .map(this::updateWithExperimentalDesignIfPresent)
-        .map(this::updateWithProductItems)
-        .map(this::updateWithCustomer)
-        .map(this::updateWithProjectManager)
-        .map(this::updateWithSelectedAffiliation)
-        .map(this::updateWithItemOrder)
-        .orElseThrow(() -> new RuntimeException("Unexpected error updating offer checksum."));
-  }
+    writer.writeString(lastNameOf(offer.getCustomer()));
+    writer.writeString(lastNameOf(offer.getProjectManager()));
 
-  private MessageDigest updateWithTitle(MessageDigest digest) {
-    digest.update(offer.getProjectTitle().getBytes(StandardCharsets.UTF_8));
-    return digest;
-  }
+    Affiliation selectedCustomerAffiliation = offer.getSelectedCustomerAffiliation();
+    writer.writeString(selectedCustomerAffiliation.getOrganization());
+    writer.writeString(selectedCustomerAffiliation.getAddressAddition());
+    writer.writeString(selectedCustomerAffiliation.getStreet());
 
-  private MessageDigest updateWithObjective(MessageDigest digest) {
-    digest.update(offer.getProjectObjective().getBytes(StandardCharsets.UTF_8));
-    return digest;
+    for (ProductItem item : items) {
+      writer.writeInt(item.offerPosition());
+    }
   }
 
-  private MessageDigest updateWithExperimentalDesignIfPresent(MessageDigest digest) {
-    offer.getExperimentalDesign()
-        .ifPresent(it ->
-            digest.update(it.getBytes(StandardCharsets.UTF_8)));
-    return digest;
+  private static String lastNameOf(Person person) {
+    return person != null ? person.getLastName() : null;
   }
 
-  private MessageDigest updateWithItemOrder(MessageDigest digest) {
-    digest.update(offer.getItems().stream().map(ProductItem::offerPosition).map(String::valueOf)
-        .collect(Collectors.joining()).getBytes(StandardCharsets.UTF_8));
-    return digest;
-  }
+  /**
+   * Encodes the offer fields into a reusable buffer and feeds it to the digest. Strings are
+   * encoded in UTF-8 without creating intermediate byte arrays.
+   */
+  private static final class ChecksumWriter {
 
-  private MessageDigest updateWithProductItems(MessageDigest digest) {
-    offer.getItems().forEach(it -> updateWithProductItem(digest, it));
-    return digest;
-  }
+    private static final String ALGORITHM = "SHA-256";
 
-  private MessageDigest updateWithCustomer(MessageDigest digest) {
-    digest.update(offer.getCustomer().getLastName().getBytes(StandardCharsets.UTF_8));
-    return digest;
-  }
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
-  private MessageDigest updateWithProjectManager(MessageDigest digest) {
-    digest.update(offer.getProjectManager().getLastName().getBytes(StandardCharsets.UTF_8));
-    return digest;
-  }
+    private static final int NULL_LENGTH = -1;
 
-  private MessageDigest updateWithSelectedAffiliation(MessageDigest digest) {
-    Affiliation selectedCustomerAffiliation = offer.getSelectedCustomerAffiliation();
-    digest.update(selectedCustomerAffiliation.getOrganization().getBytes(StandardCharsets.UTF_8));
-    digest.update(
-        selectedCustomerAffiliation.getAddressAddition().getBytes(StandardCharsets.UTF_8));
-    digest.update(selectedCustomerAffiliation.getStreet().getBytes(StandardCharsets.UTF_8));
-    return digest;
-  }
+    private final MessageDigest digest;
+
+    private final byte[] buffer = new byte[512];
 
-  private void updateWithProductItem(MessageDigest digest, ProductItem productItem) {
-    String productName = productItem.getProduct().getProductName();
-    Double quantity = productItem.getQuantity();
+    private final byte[] checksumBytes = new byte[DIGEST_LENGTH];
 
-    digest.update(productName.getBytes(StandardCharsets.UTF_8));
-    digest.update(quantity.toString().getBytes(StandardCharsets.UTF_8));
+    private final char[] hex = new char[CHECKSUM_LENGTH];
+
+    private int position;
+
+    private ChecksumWriter() {
+      try {
+        digest = MessageDigest.getInstance(ALGORITHM);
+      } catch (NoSuchAlgorithmException e) {
+        // this should never happen as SHA-256 is expected to be there.
+        throw new RuntimeException(
+            "Could not find implementation for " + ALGORITHM + " checksum calculation.");
+      }
+      FORMAT_PREFIX.getChars(0, FORMAT_PREFIX.length(), hex, 0);
+    }
+
+    private void reset() {
+      digest.reset();
+      position = 0;
+    }
+
+    private void writeString(CharSequence value) {
+      if (value == null) {
+        writeInt(NULL_LENGTH);
+        return;
+      }
+      int length = value.length();
+      writeInt(length);
+      for (int i = 0; i < length; i++) {
+        char c = value.charAt(i);
+        if (c < 0x80) {
+          writeByte(c);
+        } else if (c < 0x800) {
+          writeByte(0xc0 | (c >> 6));
+          writeByte(0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c) && i + 1 < length
+            && Character.isLowSurrogate(value.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, value.charAt(++i));
+          writeByte(0xf0 | (codePoint >> 18));
+          writeByte(0x80 | ((codePoint >> 12) & 0x3f));
+          writeByte(0x80 | ((codePoint >> 6) & 0x3f));
+          writeByte(0x80 | (codePoint & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+          // unpaired surrogates are replaced like String#getBytes does
+          writeByte('?');
+        } else {
+          writeByte(0xe0 | (c >> 12));
+          writeByte(0x80 | ((c >> 6) & 0x3f));
+          writeByte(0x80 | (c & 0x3f));
+        }
+      }
+    }
+
+    private void writeDouble(Double value) {
+      if (value == null) {
+        writeByte(0);
+        return;
+      }
+      writeByte(1);
+      writeLong(Double.doubleToLongBits(value));
+    }
+
+    private void writeLong(long value) {
+      writeInt((int) (value >>> 32));
+      writeInt((int) value);
+    }
+
+    private void writeInt(int value) {
+      writeByte(value >>> 24);
+      writeByte(value >>> 16);
+      writeByte(value >>> 8);
+      writeByte(value);
+    }
+
+    private void writeByte(int value) {
+      if (position == buffer.length) {
+        flush();
+      }
+      buffer[position++] = (byte) value;
+    }
+
+    private void flush() {
+      digest.update(buffer, 0, position);
+      position = 0;
+    }
+
+    private String finish() {
+      flush();
+      try {
+        digest.digest(checksumBytes, 0, DIGEST_LENGTH);
+      } catch (DigestException e) {
+        throw new IllegalStateException("Unexpected error computing the offer checksum.", e);
+      }
+      int offset = FORMAT_PREFIX.length();
+      for (byte checksumByte : checksumBytes) {
+        hex[offset++] = HEX_DIGITS[(checksumByte >> 4) & 0x0f];
+        hex[offset++] = HEX_DIGITS[checksumByte & 0x0f];
+      }
+      return new String(hex);
+    }
   }
 }
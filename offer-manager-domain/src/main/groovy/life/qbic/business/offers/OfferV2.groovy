@@ -4,6 +4,7 @@ package life.qbic.business.offers
 import life.qbic.business.offers.identifier.OfferId
 import life.qbic.business.offers.policies.taxes.TaxOffice
 import life.qbic.business.offers.policies.taxes.TaxPolicy
+import life.qbic.business.offers.policies.taxes.TaxRules
 import life.qbic.business.persons.Person
 import life.qbic.business.persons.affiliation.Affiliation
 import life.qbic.business.persons.affiliation.AffiliationCategory
@@ -27,11 +28,32 @@ import java.time.LocalDate
  * @since 1.3.0
  */
 @Entity
-@Table(name = "offers")
+@Table(name = "offers", indexes = [
+        @Index(name = "UQ_offers_checksum", columnList = "checksum", unique = true),
+        @Index(name = "IX_offers_offerId_version", columnList = "offerIdProjectPart, offerIdRandomPart, offerIdVersion")
+])
 class OfferV2 {
 
+    private static final List<String> DATA_GENERATION_CATEGORIES = Arrays.asList("Sequencing", "Proteomics", "Metabolomics")
+    private static final List<String> DATA_ANALYSIS_CATEGORIES = Arrays.asList("Primary Bioinformatics", "Secondary Bioinformatics")
+    private static final List<String> PROJECT_MANAGEMENT_CATEGORIES = Arrays.asList("Project Management", "Data Storage")
+    private static final List<String> EXTERNAL_SERVICE_CATEGORIES = Collections.singletonList("External Service")
+
+    /**
+     * The prefix of checksums computed in the current checksum format. Offers with a stored
+     * checksum of another format receive a new checksum when they are stored again.
+     *
+     * @since 1.11.0
+     */
+    static final String CHECKSUM_FORMAT_PREFIX = OfferChecksumSupplier.FORMAT_PREFIX
+
+    /**
+     * Ids are allocated in blocks from the id generator table, so inserts can be batched
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "offer_ids")
+    @TableGenerator(name = "offer_ids", table = "id_generator", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "offers", allocationSize = 50)
     @Column(name = "id")
     private int id
 
@@ -89,6 +111,24 @@ class OfferV2 {
     @Column(name = "offerId")
     private String offerId
 
+    /**
+     * The project part of the offer identifier, stored separately to look up the versions of an offer
+     */
+    @Column(name = "offerIdProjectPart")
+    private String offerIdProjectPart
+
+    /**
+     * The random part of the offer identifier, stored separately to look up the versions of an offer
+     */
+    @Column(name = "offerIdRandomPart")
+    private String offerIdRandomPart
+
+    /**
+     * The version of the offer identifier, stored separately to look up the versions of an offer
+     */
+    @Column(name = "offerIdVersion")
+    private Integer offerIdVersion
+
     /**
      * The affiliation of the customer selected for this offer
      */
@@ -111,12 +151,31 @@ class OfferV2 {
     @Transient
     private double overheadRatio
 
+    /**
+     * The offer's net price (price before tax). It is persisted together with the offer
+     * to enable overview queries that do not need to load the whole offer.
+     */
+    @Column(name = "netPrice")
+    private Double netPrice
+
+    /**
+     * The offer's total price (price after tax). It is persisted together with the offer
+     * to enable overview queries that do not need to load the whole offer.
+     */
+    @Column(name = "totalPrice")
+    private Double totalPrice
 
-    //Note Currently all offer checksums are updated during the offerOverview loading process
     @Column(name = "checksum")
     @Access(AccessType.PROPERTY)
     private String checksum
 
+    /**
+     * The checksum of the current offer content. It is reset whenever the content changes and
+     * computed again on the next request.
+     */
+    @Transient
+    private volatile String currentChecksum
+
     /**
      * A project that has been created from this offer (optional)
      */
@@ -161,6 +220,11 @@ class OfferV2 {
     private BigDecimal priceBeforeTax = BigDecimal.ZERO
     @Transient
     private BigDecimal discountAmount = BigDecimal.ZERO
+    /**
+     * The tax policy for the selected customer affiliation. It is resolved once per affiliation.
+     */
+    @Transient
+    private TaxPolicy taxPolicy
 
     OfferV2() {}
 
@@ -186,21 +250,41 @@ class OfferV2 {
      * @param item the added item
      */
     private void addItemToGroup(ProductItem item) {
-        List<String> dataGenerationCategories = Arrays.asList("Sequencing", "Proteomics", "Metabolomics")
-        List<String> dataAnalysisCategories = Arrays.asList("Primary Bioinformatics", "Secondary Bioinformatics")
-        List<String> projectManagementCategories = Arrays.asList("Project Management", "Data Storage")
-        List<String> externalServiceCategories = Collections.singletonList("External Service")
+        groupOf(item)?.add(item)
+    }
 
+    /**
+     * Checks whether items of a product category are part of the offer prices. Items of other
+     * categories are listed on the offer but not priced.
+     *
+     * @param productCategory the category of a product
+     * @return true, if items of this category belong to an item group, else false
+     * @since 1.11.0
+     */
+    static boolean isPricedCategory(String productCategory) {
+        return DATA_GENERATION_CATEGORIES.contains(productCategory) ||
+                DATA_ANALYSIS_CATEGORIES.contains(productCategory) ||
+                PROJECT_MANAGEMENT_CATEGORIES.contains(productCategory) ||
+                EXTERNAL_SERVICE_CATEGORIES.contains(productCategory)
+    }
+
+    /**
+     * Determines the item group of an item based on the product category.
+     * @param item the item
+     * @return the item group or null, if the product category belongs to no group
+     */
+    private ItemGroup groupOf(ProductItem item) {
         String category = item.getProduct().getCategory()
-        if (dataGenerationCategories.contains(category)) {
-            this.dataGenerationItems.add(item)
-        } else if (dataAnalysisCategories.contains(category)) {
-            this.dataAnalysisItems.add(item)
-        } else if (projectManagementCategories.contains(category)) {
-            this.dataManagementItems.add(item)
-        } else if (externalServiceCategories.contains(category)) {
-            this.externalServiceItems.add(item)
+        if (DATA_GENERATION_CATEGORIES.contains(category)) {
+            return this.dataGenerationItems
+        } else if (DATA_ANALYSIS_CATEGORIES.contains(category)) {
+            return this.dataAnalysisItems
+        } else if (PROJECT_MANAGEMENT_CATEGORIES.contains(category)) {
+            return this.dataManagementItems
+        } else if (EXTERNAL_SERVICE_CATEGORIES.contains(category)) {
+            return this.externalServiceItems
         }
+        return null
     }
 
     /**
@@ -209,11 +293,10 @@ class OfferV2 {
      *
      * @param country the country for which to get the VAT ratio
      * @return the VAT ratio for the provided country
+     * @see TaxRules#vatRatio(String)
      */
     protected static BigDecimal vatRatio(String country) {
-        Map<String, BigDecimal> vatRatios = new HashMap<>()
-        vatRatios.put("Germany", BigDecimal.valueOf(0.19))
-        return vatRatios.getOrDefault(country, BigDecimal.ZERO)
+        return TaxRules.defaults().vatRatio(country)
     }
 
     BigDecimal getPriceAfterTax() {
@@ -230,16 +313,33 @@ class OfferV2 {
 
     protected void setChecksum(String checksum) {
         this.checksum = checksum
+        // a stored checksum of an outdated format is computed again on the next request
+        this.currentChecksum = OfferChecksumSupplier.isCurrentFormat(checksum) ? checksum : null
     }
 
     /**
-     * Thread-safe request of the current offer content's SHA-256 checksum
+     * Thread-safe request of the current offer content's SHA-256 checksum.
+     *
+     * <p>The checksum is computed once and reused until the content of the offer is changed
+     * through one of its setters.</p>
+     *
      * @return the checksum at the time of request execution
      */
     String getChecksum() {
-        synchronized (this) {
-            return checksum = new OfferChecksumSupplier(this).get()
+        String current = currentChecksum
+        if (current == null) {
+            current = new OfferChecksumSupplier(this).get()
+            currentChecksum = current
         }
+        checksum = current
+        return current
+    }
+
+    /**
+     * Resets the checksum after the content of the offer changed
+     */
+    private void invalidateChecksum() {
+        currentChecksum = null
     }
 
     BigDecimal getDataAnalysisOverhead() {
@@ -309,6 +409,7 @@ class OfferV2 {
 
     void setCustomer(Person customer) {
         this.customer = customer
+        invalidateChecksum()
     }
 
     Person getProjectManager() {
@@ -317,6 +418,7 @@ class OfferV2 {
 
     void setProjectManager(Person projectManager) {
         this.projectManager = projectManager
+        invalidateChecksum()
     }
 
     String getProjectTitle() {
@@ -325,6 +427,7 @@ class OfferV2 {
 
     void setProjectTitle(String projectTitle) {
         this.projectTitle = projectTitle
+        invalidateChecksum()
     }
 
     String getProjectObjective() {
@@ -333,6 +436,7 @@ class OfferV2 {
 
     void setProjectObjective(String projectObjective) {
         this.projectObjective = projectObjective
+        invalidateChecksum()
     }
 
     Optional<String> getExperimentalDesign() {
@@ -341,6 +445,7 @@ class OfferV2 {
 
     void setExperimentalDesign(Optional<String> experimentalDesign) {
         this.experimentalDesign = experimentalDesign
+        invalidateChecksum()
     }
 
     OfferId getIdentifier() {
@@ -349,6 +454,9 @@ class OfferV2 {
 
     void setIdentifier(OfferId identifier) {
         this.offerId = identifier.toString()
+        this.offerIdProjectPart = identifier.getProjectPart()
+        this.offerIdRandomPart = identifier.getRandomPart()
+        this.offerIdVersion = identifier.getVersion()
     }
 
     Affiliation getSelectedCustomerAffiliation() {
@@ -358,6 +466,7 @@ class OfferV2 {
     void setSelectedCustomerAffiliation(Affiliation selectedCustomerAffiliation) {
         this.selectedCustomerAffiliation = selectedCustomerAffiliation
         recomputeWithAffiliation()
+        invalidateChecksum()
     }
 
     private void recomputeWithAffiliation() {
@@ -370,13 +479,16 @@ class OfferV2 {
 
     private void updatePriceBeforeTax() {
         this.priceBeforeTax = BigDecimal.valueOf(overhead).add(salePrice)
+        this.netPrice = priceBeforeTax.doubleValue()
     }
 
     private void updateOverheadAmount() {
-        this.dataGenerationOverhead = dataGenerationSalePrice * overheadRatio
-        this.dataAnalysisOverhead = dataAnalysisSalePrice * overheadRatio
-        this.dataManagementOverhead = dataManagementSalePrice * overheadRatio
-        this.externalServiceOverhead = externalServiceSalePrice * overheadRatio
+        // multiply in decimal arithmetic, so the overheads are exact and do not carry floating point errors
+        BigDecimal ratio = BigDecimal.valueOf(overheadRatio)
+        this.dataGenerationOverhead = dataGenerationSalePrice.multiply(ratio)
+        this.dataAnalysisOverhead = dataAnalysisSalePrice.multiply(ratio)
+        this.dataManagementOverhead = dataManagementSalePrice.multiply(ratio)
+        this.externalServiceOverhead = externalServiceSalePrice.multiply(ratio)
         this.overhead = dataGenerationOverhead
                 .add(dataAnalysisOverhead)
                 .add(dataManagementOverhead)
@@ -422,14 +534,107 @@ class OfferV2 {
 
     void addItems(List<ProductItem> items) {
         items.forEach(it -> addItem(it.getProduct(), it.getQuantity(), it.offerPosition()))
-        aggregateCosts()
+        updateTotals()
+        invalidateChecksum()
+    }
+
+    /**
+     * Adds an item to the offer. The offer prices are increased by the prices of the item.
+     *
+     * @param item the item to add
+     * @return the item of the offer, to be passed to {@link #removeItem} or {@link #updateQuantity}
+     * @since 1.11.0
+     */
+    ProductItem addItem(ProductItem item) {
+        ProductItem addedItem = addItem(item.getProduct(), item.getQuantity(), item.offerPosition())
+        updateTotals()
+        invalidateChecksum()
+        return addedItem
     }
 
+    /**
+     * Removes an item from the offer. The offer prices are reduced by the prices of the item.
+     *
+     * @param item the item to remove
+     * @return true, if the item was part of the offer, else false
+     * @since 1.11.0
+     */
+    boolean removeItem(ProductItem item) {
+        int index = indexOfItem(item)
+        if (index < 0) {
+            return false
+        }
+        items.remove(index)
+        groupOf(item)?.remove(item)
+        updateTotals()
+        invalidateChecksum()
+        return true
+    }
+
+    /**
+     * Changes the quantity of an item of the offer. The item is replaced by an item with the new
+     * quantity at the same position and the offer prices are updated by the difference.
+     *
+     * @param item the item to change
+     * @param quantity the new quantity of the item
+     * @return the item with the new quantity
+     * @throws IllegalArgumentException if the item is not part of the offer
+     * @since 1.11.0
+     */
+    ProductItem updateQuantity(ProductItem item, Double quantity) {
+        int index = indexOfItem(item)
+        if (index < 0) {
+            throw new IllegalArgumentException("The item is not part of the offer.")
+        }
+        ProductItem updatedItem = new ProductItem(this, item.getProduct(), quantity)
+        updatedItem.setOfferPosition(item.offerPosition())
+        items.set(index, updatedItem)
+        ItemGroup group = groupOf(item)
+        if (group != null) {
+            group.remove(item)
+            group.add(updatedItem)
+        }
+        updateTotals()
+        invalidateChecksum()
+        return updatedItem
+    }
+
+    /**
+     * The items are persisted as a list, so an item is found by its position. Offers hold few
+     * items compared to the price computations saved by not recomputing the offer.
+     */
+    private int indexOfItem(ProductItem item) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).is(item)) {
+                return i
+            }
+        }
+        return -1
+    }
+
+    /**
+     * Recomputes all prices of the offer, including the prices of every item.
+     *
+     * This is only necessary when the customer affiliation changes, all other changes are applied
+     * to the running sums of the item groups.
+     */
     private void aggregateCosts() {
+        eachItemGroup { ItemGroup group -> group.recompute() }
+        updatePricingPolicies()
+        updateTotals()
+    }
+
+    /**
+     * Updates the offer prices from the running sums of the item groups
+     */
+    private void updateTotals() {
+        if (taxPolicy == null) {
+            updatePricingPolicies()
+        }
         //ATTENTION: TEMPORAL COUPLING! Do not change the order
         updateSalePrices()
         //-
-        updateOverhead()
+        updateOverheadAmount()
         updatePriceBeforeTax()
         updateVat()
         updatePriceAfterTax()
@@ -437,19 +642,26 @@ class OfferV2 {
         updateDiscountAmount()
     }
 
+    /**
+     * Resolves the overhead ratio and the tax policy for the selected customer affiliation
+     */
+    private void updatePricingPolicies() {
+        updateOverheadRatio()
+        taxPolicy = TaxOffice.policyFor(selectedCustomerAffiliation.category, selectedCustomerAffiliation.country)
+    }
+
+    private void eachItemGroup(Closure action) {
+        [dataGenerationItems, dataAnalysisItems, dataManagementItems, externalServiceItems].each(action)
+    }
+
     private void updateVat() {
-        TaxPolicy taxPolicy = TaxOffice.policyFor(selectedCustomerAffiliation.category, selectedCustomerAffiliation.country)
         vatRatio = taxPolicy.getVatRatio()
         taxAmount = taxPolicy.calculateTaxes(priceBeforeTax).setScale(2, RoundingMode.HALF_UP)
     }
 
-    private void updateOverhead() {
-        updateOverheadRatio()
-        updateOverheadAmount()
-    }
-
     private void updatePriceAfterTax() {
         this.priceAfterTax = priceBeforeTax.add(taxAmount)
+        this.totalPrice = priceAfterTax.doubleValue()
     }
 
     /**
@@ -457,12 +669,14 @@ class OfferV2 {
      * @param product the product for which an item shall be added
      * @param quantity the amount of the product
      * @param offerPosition position on the offer
+     * @return the added item
      */
-    private void addItem(Product product, Double quantity, int offerPosition) {
+    private ProductItem addItem(Product product, Double quantity, int offerPosition) {
         ProductItem productItem = new ProductItem(this, product, quantity)
         productItem.setOfferPosition(offerPosition)
         this.addItemToGroup(productItem)
         this.items.add(productItem)
+        return productItem
     }
 
     /**
@@ -474,13 +688,18 @@ class OfferV2 {
         loadFields()
         items.forEach(ProductItem::refresh)
         items.forEach(this::addItemToGroup)
-        aggregateCosts()
+        updatePricingPolicies()
+        updateTotals()
         expireNinetyDaysAfterCreation()
     }
 
     private void loadFields() {
         getItems()
         getAssociatedProject()
+        // offers stored before the identifier parts were persisted separately
+        if (offerIdVersion == null && offerId) {
+            setIdentifier(OfferId.from(offerId))
+        }
     }
 
     private void updateSalePrices() {
@@ -497,19 +716,19 @@ class OfferV2 {
 
     List<ProductItem> getDataManagementItems() {
         // Create a copy of the item collection
-        return dataManagementItems.iterator().collect()
+        return dataManagementItems.getItems()
     }
 
     List<ProductItem> getDataAnalysisItems() {
-        return dataAnalysisItems.iterator().collect()
+        return dataAnalysisItems.getItems()
     }
 
     List<ProductItem> getDataGenerationItems() {
-        return dataGenerationItems.iterator().collect()
+        return dataGenerationItems.getItems()
     }
 
     List<ProductItem> getExternalServiceItems() {
-        return externalServiceItems.iterator().collect()
+        return externalServiceItems.getItems()
     }
 
     static OfferV2 copyOf(OfferV2 original) {
@@ -551,14 +770,16 @@ class OfferV2 {
         this.overheadRatio = determineOverheadRate(category)
     }
 
-    private static BigDecimal determineOverheadRate(AffiliationCategory category) {
-        if (category == AffiliationCategory.INTERNAL) {
-            return BigDecimal.ZERO
-        }
-        if (category == AffiliationCategory.EXTERNAL_ACADEMIC) {
-            return new BigDecimal("0.2")
-        }
-        return new BigDecimal("0.4")
+    /**
+     * Determines the overhead ratio applied to offers for customers of an affiliation category.
+     *
+     * @param category the affiliation category of the customer
+     * @return the overhead ratio, e.g. 0.2
+     * @since 1.11.0
+     * @see TaxRules#overheadRatio(AffiliationCategory)
+     */
+    static BigDecimal determineOverheadRate(AffiliationCategory category) {
+        return TaxRules.defaults().overheadRatio(category)
     }
     //Note this is only used for Reporting and not in the offer
     private void updateDiscountAmount() {
@@ -572,13 +793,85 @@ class OfferV2 {
         expirationDate = creationDate.plusDays(90)
     }
 
-    private static class ItemGroup extends ArrayList<ProductItem> {
+    /**
+     * Items of a product category group together with the running sums of their prices
+     *
+     * The items are held in insertion order and found by identity, so an item is removed without
+     * searching the group.
+     */
+    private static class ItemGroup {
+
+        private final Set<ItemKey> items = new LinkedHashSet<>()
+
+        private BigDecimal salePrice = BigDecimal.ZERO
+
+        private BigDecimal discountAmount = BigDecimal.ZERO
+
+        void add(ProductItem item) {
+            items.add(new ItemKey(item))
+            salePrice = salePrice.add(item.getSalePrice())
+            discountAmount = discountAmount.add(item.getDiscountAmount())
+        }
+
+        boolean remove(ProductItem item) {
+            if (!items.remove(new ItemKey(item))) {
+                return false
+            }
+            salePrice = salePrice.subtract(item.getSalePrice())
+            discountAmount = discountAmount.subtract(item.getDiscountAmount())
+            return true
+        }
+
+        void clear() {
+            items.clear()
+            salePrice = BigDecimal.ZERO
+            discountAmount = BigDecimal.ZERO
+        }
+
+        /**
+         * Recomputes the sums from the current prices of all items
+         */
+        void recompute() {
+            salePrice = getItems().stream().map(ProductItem::getSalePrice).reduce(BigDecimal.ZERO, BigDecimal::add)
+            discountAmount = getItems().stream().map(ProductItem::getDiscountAmount).reduce(BigDecimal.ZERO, BigDecimal::add)
+        }
+
+        /**
+         * @return a copy of the items of the group
+         */
+        List<ProductItem> getItems() {
+            return items.collect { ItemKey key -> key.item }
+        }
+
         BigDecimal getSalePrice() {
-            this.stream().map(ProductItem::getSalePrice).reduce(BigDecimal.ZERO, BigDecimal::add)
+            return salePrice
         }
 
         BigDecimal getDiscountAmount() {
-            return this.stream().map(ProductItem::getDiscountAmount).reduce(BigDecimal.ZERO, BigDecimal::add)
+            return discountAmount
+        }
+    }
+
+    /**
+     * Identifies an item of an item group by its identity. Items with equal products and
+     * quantities are different items of the offer.
+     */
+    private static final class ItemKey {
+
+        private final ProductItem item
+
+        ItemKey(ProductItem item) {
+            this.item = item
+        }
+
+        @Override
+        boolean equals(Object o) {
+            return o instanceof ItemKey && ((ItemKey) o).item.is(item)
+        }
+
+        @Override
+        int hashCode() {
+            return System.identityHashCode(item)
         }
     }
 
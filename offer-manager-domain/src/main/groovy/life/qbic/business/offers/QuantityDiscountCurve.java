@@ -0,0 +1,165 @@
+package life.qbic.business.offers;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <b>Quantity discount curve</b>
+ *
+ * <p>A tiered mapping from a sample count to a discount rate. Each tier covers all sample counts up
+ * to and including its upper bound, beginning after the previous tier. The first tier begins at
+ * zero samples, sample counts above the last tier receive the discount rate of the last tier.</p>
+ *
+ * <p>All discount rates are computed when the curve is created. Rates for small sample counts are
+ * read from a dense table, larger sample counts are resolved by a binary search over the tier
+ * bounds. A lookup does not allocate.</p>
+ *
+ * @since 1.11.0
+ */
+public final class QuantityDiscountCurve {
+
+  /**
+   * Sample counts up to this value are resolved from the dense table
+   */
+  private static final int DENSE_LIMIT = 128;
+
+  /**
+   * A curve that never grants a discount
+   */
+  public static final QuantityDiscountCurve NONE = new QuantityDiscountCurve("none", new int[0],
+      new BigDecimal[0]);
+
+  private final String name;
+
+  private final int[] upperBounds;
+
+  private final BigDecimal[] tierRates;
+
+  private final BigDecimal[] denseRates;
+
+  private final int[] tierBasisPoints;
+
+  private final int[] denseBasisPoints;
+
+  /**
+   * Creates a curve from its tiers.
+   *
+   * @param name        the name of the curve
+   * @param upperBounds the inclusive upper sample count of each tier, strictly ascending
+   * @param tierRates   the discount rate of each tier, in the range [0, 1]
+   * @return the curve
+   * @throws IllegalArgumentException if the tiers are not strictly ascending or a rate is out of
+   *                                  range
+   */
+  public static QuantityDiscountCurve of(String name, int[] upperBounds, BigDecimal[] tierRates) {
+    Objects.requireNonNull(name, "Curve name must not be null");
+    if (upperBounds.length != tierRates.length) {
+      throw new IllegalArgumentException(
+          String.format("Curve %s defines %d tier bounds but %d rates.", name, upperBounds.length,
+              tierRates.length));
+    }
+    for (int i = 0; i < upperBounds.length; i++) {
+      if (upperBounds[i] < 0 || (i > 0 && upperBounds[i] <= upperBounds[i - 1])) {
+        throw new IllegalArgumentException(
+            String.format("Tier bounds of curve %s must be positive and strictly ascending.",
+                name));
+      }
+      BigDecimal rate = Objects.requireNonNull(tierRates[i], "Discount rate must not be null");
+      if (rate.signum() < 0 || rate.compareTo(BigDecimal.ONE) > 0) {
+        throw new IllegalArgumentException(
+            String.format("Discount rate %s of curve %s is not in the range [0, 1].", rate, name));
+      }
+    }
+    return new QuantityDiscountCurve(name, upperBounds.clone(), tierRates.clone());
+  }
+
+  private QuantityDiscountCurve(String name, int[] upperBounds, BigDecimal[] tierRates) {
+    this.name = name;
+    this.upperBounds = upperBounds;
+    this.tierRates = tierRates;
+    this.tierBasisPoints = new int[tierRates.length];
+    for (int i = 0; i < tierRates.length; i++) {
+      tierBasisPoints[i] = tierRates[i].setScale(4, RoundingMode.HALF_UP).unscaledValue()
+          .intValueExact();
+    }
+    this.denseRates = new BigDecimal[DENSE_LIMIT + 1];
+    this.denseBasisPoints = new int[DENSE_LIMIT + 1];
+    for (int sampleCount = 0; sampleCount <= DENSE_LIMIT; sampleCount++) {
+      int index = tierIndex(sampleCount);
+      denseRates[sampleCount] = index < 0 ? BigDecimal.ZERO : tierRates[index];
+      denseBasisPoints[sampleCount] = index < 0 ? 0 : tierBasisPoints[index];
+    }
+  }
+
+  /**
+   * @return the name of the curve
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Determines the discount rate for a sample count.
+   *
+   * @param sampleCount the number of samples
+   * @return the discount rate in the range [0, 1]
+   * @throws IllegalArgumentException if the sample count is negative
+   */
+  public BigDecimal rateFor(int sampleCount) {
+    if (sampleCount < 0) {
+      throw new IllegalArgumentException(
+          String.format("Cannot determine discount for %d samples.", sampleCount));
+    }
+    if (sampleCount <= DENSE_LIMIT) {
+      return denseRates[sampleCount];
+    }
+    int index = tierIndex(sampleCount);
+    return index < 0 ? BigDecimal.ZERO : tierRates[index];
+  }
+
+  /**
+   * Determines the discount rate for a sample count in basis points, rounded to four decimal
+   * places with {@link RoundingMode#HALF_UP}. A rate of 0.33 is 3300 basis points.
+   *
+   * @param sampleCount the number of samples
+   * @return the discount rate in basis points in the range [0, 10000]
+   * @throws IllegalArgumentException if the sample count is negative
+   */
+  public int basisPointsFor(int sampleCount) {
+    if (sampleCount < 0) {
+      throw new IllegalArgumentException(
+          String.format("Cannot determine discount for %d samples.", sampleCount));
+    }
+    if (sampleCount <= DENSE_LIMIT) {
+      return denseBasisPoints[sampleCount];
+    }
+    int index = tierIndex(sampleCount);
+    return index < 0 ? 0 : tierBasisPoints[index];
+  }
+
+  /**
+   * @param sampleCount the number of samples
+   * @return the index of the tier covering the sample count or -1, if the curve has no tiers
+   */
+  private int tierIndex(int sampleCount) {
+    if (upperBounds.length == 0) {
+      return -1;
+    }
+    int index = Arrays.binarySearch(upperBounds, sampleCount);
+    if (index < 0) {
+      // the first tier with an upper bound greater than the sample count
+      index = -index - 1;
+    }
+    return Math.min(index, upperBounds.length - 1);
+  }
+
+  @Override
+  public String toString() {
+    return "QuantityDiscountCurve{" +
+        "name='" + name + '\'' +
+        ", tiers=" + upperBounds.length +
+        '}';
+  }
+}
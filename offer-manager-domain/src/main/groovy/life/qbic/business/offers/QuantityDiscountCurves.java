@@ -0,0 +1,238 @@
+package life.qbic.business.offers;
+
+import static org.apache.logging.log4j.LogManager.getLogger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <b>Quantity discount curves</b>
+ *
+ * <p>Holds the named {@link QuantityDiscountCurve}s and the assignment of curves to product
+ * categories. The default curves are read once from the classpath resources
+ * {@value #CURVES_RESOURCE} and {@value #CATEGORIES_RESOURCE}.</p>
+ *
+ * <p>The curves resource is a CSV with the columns <code>curve,max_samples,price_factor</code>.
+ * The price factor is the part of the price that remains after the discount, so the discount rate
+ * of a tier is <code>1 - price_factor</code>. Lines starting with <code>#</code> are ignored.</p>
+ *
+ * <p>A product category can be assigned to several curves, listed by name and separated by commas.
+ * The first curve of a category is its default curve, the others can be chosen by name.</p>
+ *
+ * @since 1.11.0
+ */
+public final class QuantityDiscountCurves {
+
+  private static final Logger log = getLogger(QuantityDiscountCurves.class);
+
+  static final String CURVES_RESOURCE = "discounts/quantity-discount-curves.csv";
+
+  static final String CATEGORIES_RESOURCE = "discounts/quantity-discount-categories.properties";
+
+  private static final String HEADER = "curve,max_samples,price_factor";
+
+  private final Map<String, QuantityDiscountCurve> curves;
+
+  private final Map<String, List<QuantityDiscountCurve>> curvesByCategory;
+
+  private static final class DefaultCurves {
+
+    private static final QuantityDiscountCurves INSTANCE = load(
+        QuantityDiscountCurves.class.getClassLoader());
+  }
+
+  /**
+   * The curves configured in the classpath resources of the application. They are loaded on first
+   * access.
+   *
+   * @return the default quantity discount curves
+   */
+  public static QuantityDiscountCurves defaults() {
+    return DefaultCurves.INSTANCE;
+  }
+
+  /**
+   * Loads the curves and their category assignment from the classpath.
+   *
+   * @param classLoader the class loader providing the resources
+   * @return the loaded curves
+   * @throws IllegalStateException if a resource is missing or malformed
+   */
+  static QuantityDiscountCurves load(ClassLoader classLoader) {
+    Map<String, QuantityDiscountCurve> curves = readCurves(classLoader);
+    Properties categories = readCategories(classLoader);
+    Map<String, String> assignment = new HashMap<>();
+    for (String category : categories.stringPropertyNames()) {
+      assignment.put(category, categories.getProperty(category).trim());
+    }
+    QuantityDiscountCurves result = new QuantityDiscountCurves(curves, assignment);
+    log.debug(String.format("Loaded quantity discount curves %s for categories %s",
+        curves.keySet(), assignment.keySet()));
+    return result;
+  }
+
+  /**
+   * Creates a set of curves.
+   *
+   * @param curves     the curves by their name
+   * @param assignment the comma separated names of the curves per product category, the first
+   *                   curve is the default curve of the category
+   * @throws IllegalStateException if a category is assigned to an unknown curve
+   */
+  public QuantityDiscountCurves(Map<String, QuantityDiscountCurve> curves,
+      Map<String, String> assignment) {
+    this.curves = Collections.unmodifiableMap(new LinkedHashMap<>(curves));
+    Map<String, List<QuantityDiscountCurve>> byCategory = new HashMap<>();
+    assignment.forEach((category, curveNames) -> {
+      List<QuantityDiscountCurve> categoryCurves = new ArrayList<>();
+      for (String curveName : curveNames.split(",")) {
+        QuantityDiscountCurve curve = curves.get(curveName.trim());
+        if (curve == null) {
+          throw new IllegalStateException(
+              String.format("Product category %s is assigned to unknown discount curve %s.",
+                  category, curveName.trim()));
+        }
+        categoryCurves.add(curve);
+      }
+      byCategory.put(category, Collections.unmodifiableList(categoryCurves));
+    });
+    this.curvesByCategory = Collections.unmodifiableMap(byCategory);
+  }
+
+  /**
+   * @param name the name of the curve
+   * @return the curve with the given name
+   * @throws IllegalArgumentException if no curve with this name is defined
+   */
+  public QuantityDiscountCurve curve(String name) {
+    QuantityDiscountCurve curve = curves.get(name);
+    if (curve == null) {
+      throw new IllegalArgumentException(
+          String.format("No quantity discount curve named %s is defined.", name));
+    }
+    return curve;
+  }
+
+  /**
+   * @param productCategory the category of a product
+   * @return the default curve of the category or {@link QuantityDiscountCurve#NONE}, if products
+   * of this category do not receive a quantity discount
+   */
+  public QuantityDiscountCurve curveForCategory(String productCategory) {
+    List<QuantityDiscountCurve> categoryCurves = curvesForCategory(productCategory);
+    return categoryCurves.isEmpty() ? QuantityDiscountCurve.NONE : categoryCurves.get(0);
+  }
+
+  /**
+   * @param productCategory the category of a product
+   * @param curveName       the name of the chosen curve, the default curve of the category is
+   *                        used if no name is given
+   * @return the chosen curve of the category or {@link QuantityDiscountCurve#NONE}, if no name is
+   * given and products of this category do not receive a quantity discount
+   * @throws IllegalArgumentException if the named curve is not assigned to the category
+   */
+  public QuantityDiscountCurve curveForCategory(String productCategory, String curveName) {
+    if (curveName == null) {
+      return curveForCategory(productCategory);
+    }
+    for (QuantityDiscountCurve curve : curvesForCategory(productCategory)) {
+      if (curve.getName().equals(curveName)) {
+        return curve;
+      }
+    }
+    throw new IllegalArgumentException(
+        String.format("The quantity discount curve %s is not assigned to product category %s.",
+            curveName, productCategory));
+  }
+
+  /**
+   * @param productCategory the category of a product
+   * @return the curves that can be chosen for the category, beginning with its default curve.
+   * Empty if products of this category do not receive a quantity discount.
+   */
+  public List<QuantityDiscountCurve> curvesForCategory(String productCategory) {
+    if (productCategory == null) {
+      return Collections.emptyList();
+    }
+    return curvesByCategory.getOrDefault(productCategory, Collections.emptyList());
+  }
+
+  private static Map<String, QuantityDiscountCurve> readCurves(ClassLoader classLoader) {
+    Map<String, List<String[]>> tiersByCurve = new LinkedHashMap<>();
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(openResource(classLoader, CURVES_RESOURCE),
+            StandardCharsets.UTF_8))) {
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.equals(HEADER)) {
+          continue;
+        }
+        String[] fields = trimmed.split(",");
+        if (fields.length != 3) {
+          throw new IllegalStateException(
+              String.format("Malformed line %d in %s: %s", lineNumber, CURVES_RESOURCE, line));
+        }
+        tiersByCurve.computeIfAbsent(fields[0].trim(), it -> new ArrayList<>()).add(fields);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read " + CURVES_RESOURCE, e);
+    }
+    Map<String, QuantityDiscountCurve> curves = new LinkedHashMap<>();
+    tiersByCurve.forEach((name, tiers) -> curves.put(name, toCurve(name, tiers)));
+    return curves;
+  }
+
+  private static QuantityDiscountCurve toCurve(String name, List<String[]> tiers) {
+    int[] upperBounds = new int[tiers.size()];
+    BigDecimal[] rates = new BigDecimal[tiers.size()];
+    try {
+      for (int i = 0; i < tiers.size(); i++) {
+        String[] tier = tiers.get(i);
+        upperBounds[i] = Integer.parseInt(tier[1].trim());
+        BigDecimal priceFactor = new BigDecimal(tier[2].trim()).stripTrailingZeros();
+        rates[i] = BigDecimal.ONE.subtract(priceFactor);
+      }
+      return QuantityDiscountCurve.of(name, upperBounds, rates);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException(
+          String.format("Invalid quantity discount curve %s in %s.", name, CURVES_RESOURCE), e);
+    }
+  }
+
+  private static Properties readCategories(ClassLoader classLoader) {
+    Properties properties = new Properties();
+    try (InputStream stream = openResource(classLoader, CATEGORIES_RESOURCE)) {
+      properties.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read " + CATEGORIES_RESOURCE, e);
+    }
+    return properties;
+  }
+
+  private static InputStream openResource(ClassLoader classLoader, String resource) {
+    InputStream stream = Objects.requireNonNull(classLoader, "Class loader must not be null")
+        .getResourceAsStream(resource);
+    if (stream == null) {
+      throw new IllegalStateException(
+          String.format("Could not find the quantity discount configuration %s.", resource));
+    }
+    return stream;
+  }
+}
@@ -11,10 +11,13 @@ import life.qbic.business.persons.affiliation.AffiliationCategory;
  * @since: 1.3.0
  *
  */
-public class ExternalGermanCustomerTaxPolicy implements TaxPolicy {
+public class ExternalGermanCustomerTaxPolicy extends VatTaxPolicy {
 
   private static final BigDecimal VAT_RATIO = new BigDecimal("0.19");
 
+  private static final ExternalGermanCustomerTaxPolicy INSTANCE =
+      new ExternalGermanCustomerTaxPolicy(VAT_RATIO);
+
   /**
    * Returns a ExternalGermanCustomerTaxPolicy for a given affiliation category and country
    * @param affiliationCategory The affiliation category to which the tax policy shall be applied
@@ -26,22 +29,23 @@ public class ExternalGermanCustomerTaxPolicy implements TaxPolicy {
     if (affiliationCategory == AffiliationCategory.INTERNAL) {
       throw new PolicyViolationException("Policy must not be applied to internal customers");
     }
-    if (!country.equalsIgnoreCase("Germany")) {
+    if (!TaxRules.GERMANY.equals(TaxRules.normalise(country))) {
       throw new PolicyViolationException("The Policy must not be applied to customers outside of Germany");
     }
-    return new ExternalGermanCustomerTaxPolicy();
-  }
-
-  private ExternalGermanCustomerTaxPolicy() {
+    return INSTANCE;
   }
 
-  @Override
-  public BigDecimal calculateTaxes(BigDecimal value) {
-    return value.multiply(VAT_RATIO);
+  /**
+   * Creates the policy for the VAT ratio configured in the {@link TaxRules}
+   * @param vatRatio the VAT ratio of Germany
+   * @return the policy for the ratio
+   */
+  static ExternalGermanCustomerTaxPolicy withVatRatio(BigDecimal vatRatio) {
+    return vatRatio.compareTo(VAT_RATIO) == 0 ? INSTANCE
+        : new ExternalGermanCustomerTaxPolicy(vatRatio);
   }
 
-  @Override
-  public BigDecimal getVatRatio() {
-    return VAT_RATIO;
+  private ExternalGermanCustomerTaxPolicy(BigDecimal vatRatio) {
+    super(vatRatio);
   }
 }
@@ -7,12 +7,16 @@ import life.qbic.business.persons.affiliation.AffiliationCategory;
  * <h1>Internal Tax Policy</h1>
  * <br>
  * <p> Policy describing how taxes are applied for internal affiliations</p>
+ * <p> The {@link TaxRules} apply it to all affiliation categories that are exempt from VAT in a
+ * country</p>
  *
  * @since: 1.3.0
  *
  */
 public class InternalTaxPolicy implements TaxPolicy {
 
+  static final InternalTaxPolicy INSTANCE = new InternalTaxPolicy();
+
   /**
    * Returns a InternalTaxPolicy for a given affiliation category and country
    * @param category The affiliation category to which the tax policy shall be applied
@@ -23,11 +27,11 @@ public class InternalTaxPolicy implements TaxPolicy {
     if (category != AffiliationCategory.INTERNAL) {
       throw new PolicyViolationException("Cannot apply internal tax policy to affiliation of type " + category);
     }
-    if (!country.equalsIgnoreCase("Germany")) {
+    if (!TaxRules.GERMANY.equals(TaxRules.normalise(country))) {
       throw new PolicyViolationException(
           "Cannot apply internal tax policy to countries outside of Germany: " + country);
     }
-    return new InternalTaxPolicy();
+    return INSTANCE;
   }
 
   private InternalTaxPolicy() {
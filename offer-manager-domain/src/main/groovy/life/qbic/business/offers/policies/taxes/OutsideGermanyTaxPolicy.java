@@ -6,23 +6,26 @@ import java.math.BigDecimal;
  * <h1>Outside Germany Tax Policy</h1>
  * <br>
  * <p>Policy describing how taxes are applied for affiliations located outside of germany</p>
+ * <p>The {@link TaxRules} apply it to all countries that charge no VAT</p>
  *
  * @since: 1.3.0
  *
  */
 public class OutsideGermanyTaxPolicy implements TaxPolicy {
 
+  static final OutsideGermanyTaxPolicy INSTANCE = new OutsideGermanyTaxPolicy();
+
   /**
    * Returns a OutsideGermanyTaxPolicy for a given country
    * @param country The affiliation country to which the tax policy shall be applied
    * @return a OutsideGermanyTaxPolicy
    */
   protected static OutsideGermanyTaxPolicy of(String country) {
-    if (country.equalsIgnoreCase("Germany")) {
+    if (TaxRules.GERMANY.equals(TaxRules.normalise(country))) {
       throw new PolicyViolationException(
           "Policy must be applied to countries outside of Germany only.");
     }
-    return new OutsideGermanyTaxPolicy();
+    return INSTANCE;
   }
 
   private OutsideGermanyTaxPolicy() {
@@ -17,17 +17,10 @@ public class TaxOffice {
    * @param category The affilation category onto which the policy will be applied
    * @param country The country of the affilition onto which the policy will be applied
    * @return a {@link TaxPolicy} which returns the correct tax ratio and value
+   * @see TaxRules#defaults()
    */
   public static TaxPolicy policyFor(AffiliationCategory category, String country) {
-    if (!country.equalsIgnoreCase("germany")) {
-      return OutsideGermanyTaxPolicy.of(country);
-    }
-    if (category == AffiliationCategory.INTERNAL) {
-      return InternalTaxPolicy.of(category, country);
-    }
-    // External but customer within Germany is our default policy when not
-    // specified else
-    return ExternalGermanCustomerTaxPolicy.of(category, country);
+    return TaxRules.defaults().policyFor(category, country);
   }
 
 }
@@ -0,0 +1,255 @@
+package life.qbic.business.offers.policies.taxes;
+
+import static org.apache.logging.log4j.LogManager.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import life.qbic.business.persons.affiliation.AffiliationCategory;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <b>Tax rules</b>
+ *
+ * <p>Holds the VAT ratios per country, the VAT exemptions and the overhead ratios per affiliation
+ * category that apply to offers. The default rules are read once from the classpath resource
+ * {@value #RULES_RESOURCE}, so countries and exemptions can be added without changing the
+ * code.</p>
+ *
+ * <p>The resource is a properties file with the keys <code>vat.&lt;country&gt;</code>,
+ * <code>vat-exempt.&lt;category&gt;</code> and <code>overhead.&lt;category&gt;</code>. Countries
+ * are matched ignoring case and surrounding whitespace. Every affiliation category must have an
+ * overhead ratio.</p>
+ *
+ * <p>All {@link TaxPolicy} instances are created when the rules are loaded. Resolving a policy,
+ * a VAT ratio or an overhead ratio afterwards only looks up existing instances. The normalised
+ * form of a country name is remembered, so repeated lookups of a country do not normalise it
+ * again.</p>
+ *
+ * @since 1.11.0
+ */
+public final class TaxRules {
+
+  private static final Logger log = getLogger(TaxRules.class);
+
+  static final String RULES_RESOURCE = "policies/tax-rules.properties";
+
+  /**
+   * The normalised name of the country for which the tax policies of the first versions were
+   * defined
+   */
+  static final String GERMANY = "germany";
+
+  private static final String VAT_PREFIX = "vat.";
+
+  private static final String EXEMPTION_PREFIX = "vat-exempt.";
+
+  private static final String OVERHEAD_PREFIX = "overhead.";
+
+  /**
+   * The number of distinct country names of which the normalised form is remembered
+   */
+  private static final int MAX_REMEMBERED_COUNTRIES = 1024;
+
+  private final Map<String, BigDecimal> vatRatios;
+
+  private final EnumMap<AffiliationCategory, BigDecimal> overheadRatios;
+
+  private final EnumMap<AffiliationCategory, Map<String, TaxPolicy>> policies;
+
+  private final Map<String, String> normalisedCountries = new ConcurrentHashMap<>();
+
+  private static final class DefaultRules {
+
+    private static final TaxRules INSTANCE = load(TaxRules.class.getClassLoader());
+  }
+
+  /**
+   * The rules configured in the classpath resource of the application. They are loaded on first
+   * access.
+   *
+   * @return the default tax rules
+   */
+  public static TaxRules defaults() {
+    return DefaultRules.INSTANCE;
+  }
+
+  /**
+   * Loads the rules from the classpath.
+   *
+   * @param classLoader the class loader providing the resource
+   * @return the loaded rules
+   * @throws IllegalStateException if the resource is missing or malformed
+   */
+  static TaxRules load(ClassLoader classLoader) {
+    InputStream stream = Objects.requireNonNull(classLoader, "Class loader must not be null")
+        .getResourceAsStream(RULES_RESOURCE);
+    if (stream == null) {
+      throw new IllegalStateException(
+          String.format("Could not find the tax rules %s.", RULES_RESOURCE));
+    }
+    Properties properties = new Properties();
+    try (InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read " + RULES_RESOURCE, e);
+    }
+    TaxRules rules = of(properties);
+    log.debug(String.format("Loaded VAT ratios for %s and overhead ratios %s",
+        rules.vatRatios.keySet(), rules.overheadRatios));
+    return rules;
+  }
+
+  /**
+   * Creates the rules described by properties in the format of {@value #RULES_RESOURCE}.
+   *
+   * @param properties the rules
+   * @return the rules
+   * @throws IllegalStateException if a rule is malformed or an overhead ratio is missing
+   */
+  static TaxRules of(Properties properties) {
+    Map<String, BigDecimal> vatRatios = new HashMap<>();
+    EnumMap<AffiliationCategory, Set<String>> exemptions = new EnumMap<>(
+        AffiliationCategory.class);
+    EnumMap<AffiliationCategory, BigDecimal> overheadRatios = new EnumMap<>(
+        AffiliationCategory.class);
+    for (String key : properties.stringPropertyNames()) {
+      String value = properties.getProperty(key).trim();
+      if (key.startsWith(VAT_PREFIX)) {
+        vatRatios.put(normalise(key.substring(VAT_PREFIX.length())), ratio(key, value));
+      } else if (key.startsWith(EXEMPTION_PREFIX)) {
+        Set<String> countries = exemptions.computeIfAbsent(
+            category(key, key.substring(EXEMPTION_PREFIX.length())), it -> new HashSet<>());
+        for (String country : value.split(",")) {
+          countries.add(normalise(country));
+        }
+      } else if (key.startsWith(OVERHEAD_PREFIX)) {
+        overheadRatios.put(category(key, key.substring(OVERHEAD_PREFIX.length())),
+            ratio(key, value));
+      } else {
+        throw new IllegalStateException(
+            String.format("Unknown tax rule %s in %s.", key, RULES_RESOURCE));
+      }
+    }
+    return new TaxRules(vatRatios, exemptions, overheadRatios);
+  }
+
+  private TaxRules(Map<String, BigDecimal> vatRatios,
+      EnumMap<AffiliationCategory, Set<String>> exemptions,
+      EnumMap<AffiliationCategory, BigDecimal> overheadRatios) {
+    for (AffiliationCategory category : AffiliationCategory.values()) {
+      if (!overheadRatios.containsKey(category)) {
+        throw new IllegalStateException(
+            String.format("No overhead ratio is defined for affiliation category %s.",
+                category.name()));
+      }
+    }
+    this.vatRatios = Collections.unmodifiableMap(new HashMap<>(vatRatios));
+    this.overheadRatios = overheadRatios;
+    this.policies = new EnumMap<>(AffiliationCategory.class);
+    for (AffiliationCategory category : AffiliationCategory.values()) {
+      Set<String> exemptCountries = exemptions.getOrDefault(category, Collections.emptySet());
+      Map<String, TaxPolicy> policiesByCountry = new HashMap<>();
+      vatRatios.forEach((country, vatRatio) -> policiesByCountry.put(country,
+          exemptCountries.contains(country) ? InternalTaxPolicy.INSTANCE
+              : vatPolicy(country, vatRatio)));
+      policies.put(category, Collections.unmodifiableMap(policiesByCountry));
+    }
+  }
+
+  private static TaxPolicy vatPolicy(String country, BigDecimal vatRatio) {
+    if (vatRatio.signum() == 0) {
+      return OutsideGermanyTaxPolicy.INSTANCE;
+    }
+    return GERMANY.equals(country) ? ExternalGermanCustomerTaxPolicy.withVatRatio(vatRatio)
+        : new VatTaxPolicy(vatRatio);
+  }
+
+  /**
+   * Returns the tax policy for customers of an affiliation category and country. Customers of
+   * countries without a VAT ratio are not taxed.
+   *
+   * @param category the affiliation category of the customer
+   * @param country  the country of the customer affiliation
+   * @return the shared policy for the category and country
+   */
+  public TaxPolicy policyFor(AffiliationCategory category, String country) {
+    Objects.requireNonNull(category, "Affiliation category must not be null");
+    TaxPolicy policy = policies.get(category).get(normalisedCountry(country));
+    return policy != null ? policy : OutsideGermanyTaxPolicy.INSTANCE;
+  }
+
+  /**
+   * @param country the country of the customer affiliation
+   * @return the VAT ratio of the country regardless of exemptions, zero if the country charges
+   * no VAT
+   */
+  public BigDecimal vatRatio(String country) {
+    return vatRatios.getOrDefault(normalisedCountry(country), BigDecimal.ZERO);
+  }
+
+  /**
+   * @param category the affiliation category of the customer
+   * @return the overhead ratio applied to offers for customers of the category, e.g. 0.2
+   */
+  public BigDecimal overheadRatio(AffiliationCategory category) {
+    return overheadRatios.get(Objects.requireNonNull(category,
+        "Affiliation category must not be null"));
+  }
+
+  private String normalisedCountry(String country) {
+    Objects.requireNonNull(country, "Country must not be null");
+    String normalised = normalisedCountries.get(country);
+    if (normalised == null) {
+      normalised = normalise(country);
+      if (normalisedCountries.size() < MAX_REMEMBERED_COUNTRIES) {
+        normalisedCountries.put(country, normalised);
+      }
+    }
+    return normalised;
+  }
+
+  /**
+   * @param country the name of a country
+   * @return the name in the form used to match countries
+   */
+  static String normalise(String country) {
+    return country.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static BigDecimal ratio(String key, String value) {
+    try {
+      BigDecimal ratio = new BigDecimal(value);
+      if (ratio.signum() < 0 || ratio.compareTo(BigDecimal.ONE) > 0) {
+        throw new IllegalStateException(
+            String.format("Tax rule %s must be a ratio between 0 and 1 but was %s.", key, value));
+      }
+      return ratio.signum() == 0 ? BigDecimal.ZERO : ratio;
+    } catch (NumberFormatException e) {
+      throw new IllegalStateException(
+          String.format("Tax rule %s is not a number: %s", key, value), e);
+    }
+  }
+
+  private static AffiliationCategory category(String key, String name) {
+    try {
+      return AffiliationCategory.valueOf(name.trim());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException(
+          String.format("Tax rule %s names an unknown affiliation category.", key), e);
+    }
+  }
+}
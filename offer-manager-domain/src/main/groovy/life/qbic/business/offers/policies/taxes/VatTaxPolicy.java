@@ -0,0 +1,36 @@
+package life.qbic.business.offers.policies.taxes;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * <b>VAT Tax Policy</b>
+ *
+ * <p>Policy describing how taxes are applied for customers of an affiliation in a country that
+ * charges value added tax. Instances are immutable and provided by the {@link TaxRules}.</p>
+ *
+ * @since 1.11.0
+ */
+public class VatTaxPolicy implements TaxPolicy {
+
+  private final BigDecimal vatRatio;
+
+  VatTaxPolicy(BigDecimal vatRatio) {
+    this.vatRatio = Objects.requireNonNull(vatRatio, "VAT ratio must not be null");
+  }
+
+  @Override
+  public BigDecimal calculateTaxes(BigDecimal value) {
+    return value.multiply(vatRatio);
+  }
+
+  @Override
+  public BigDecimal getVatRatio() {
+    return vatRatio;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{vatRatio=" + vatRatio + '}';
+  }
+}
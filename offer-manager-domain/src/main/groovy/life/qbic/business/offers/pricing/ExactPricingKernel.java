@@ -0,0 +1,25 @@
+package life.qbic.business.offers.pricing;
+
+import java.math.BigDecimal;
+import life.qbic.business.offers.OfferV2;
+
+/**
+ * <b>Exact pricing kernel</b>
+ *
+ * <p>Provides the prices that an offer maintains in {@link BigDecimal} arithmetic.</p>
+ *
+ * @since 1.11.0
+ */
+final class ExactPricingKernel implements PricingKernel {
+
+  @Override
+  public OfferPrices price(OfferV2 offer) {
+    return new OfferPrices(
+        offer.getSalePrice(),
+        BigDecimal.valueOf(offer.getOverhead()),
+        offer.getPriceBeforeTax(),
+        offer.getTaxAmount(),
+        offer.getPriceAfterTax(),
+        offer.getTotalDiscountAmount());
+  }
+}
@@ -0,0 +1,333 @@
+package life.qbic.business.offers.pricing;
+
+import static org.apache.logging.log4j.LogManager.getLogger;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import life.qbic.business.offers.OfferV2;
+import life.qbic.business.offers.QuantityDiscountCurve;
+import life.qbic.business.offers.QuantityDiscountCurves;
+import life.qbic.business.persons.affiliation.AffiliationCategory;
+import life.qbic.business.products.ProductItem;
+import life.qbic.business.products.ProductItemPrices;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <b>Fixed point pricing kernel</b>
+ *
+ * <p>Computes offer prices with scaled <code>long</code> values instead of {@link BigDecimal}s. The
+ * kernel applies the same rounding as {@link ProductItem} and {@link OfferV2}: every item amount is
+ * rounded to cents with {@link RoundingMode#HALF_UP}, discount rates are rounded to basis points
+ * and the taxes are rounded to cents.</p>
+ *
+ * <p>The following scales are used:</p>
+ * <ul>
+ *   <li>prices and amounts of items in cents (scale 2)</li>
+ *   <li>quantities in ten thousandths (scale 4)</li>
+ *   <li>discount, overhead and VAT ratios in basis points (scale 4)</li>
+ *   <li>overhead and prices before and after tax in millionths (scale 6)</li>
+ * </ul>
+ *
+ * <p>Offers that cannot be represented in these scales, for example quantities with more than
+ * four decimal places or amounts exceeding the <code>long</code> range, are priced by the
+ * {@link PricingKernel#EXACT} kernel.</p>
+ *
+ * <p>Bulk operations that only know the inputs of an offer, like price simulations, price them
+ * with {@link #priceItems} from {@link PricingItem}s without creating offers. Inputs outside of the
+ * fixed point scales are then priced in decimal arithmetic.</p>
+ *
+ * @since 1.11.0
+ */
+public final class FixedPointPricingKernel implements PricingKernel {
+
+  private static final Logger log = getLogger(FixedPointPricingKernel.class);
+
+  /**
+   * Ten thousand basis points make a ratio of 1
+   */
+  public static final long BASIS_POINTS = 10_000L;
+
+  /**
+   * Ten thousand quantity units make a quantity of 1
+   */
+  public static final long QUANTITY_UNITS = 10_000L;
+
+  private static final long CENTS_TO_MICROS = 10_000L;
+
+  private static final int FULL_DISCOUNT = 10_000;
+
+  FixedPointPricingKernel() {
+  }
+
+  @Override
+  public OfferPrices price(OfferV2 offer) {
+    List<PricingItem> items = new ArrayList<>(offer.getItems().size());
+    for (ProductItem item : offer.getItems()) {
+      items.add(PricingItem.of(item));
+    }
+    AffiliationCategory affiliationCategory = offer.getSelectedCustomerAffiliation().getCategory();
+    try {
+      long[] vatBasisPoints = {offer.getVatRatio().scaleByPowerOfTen(4).longValueExact()};
+      return priceInFixedPoint(items, affiliationCategory,
+          toBasisPoints(offer.getOverheadRatio()), vatBasisPoints).get(0);
+    } catch (ArithmeticException e) {
+      log.debug("Offer exceeds the fixed point range, using exact pricing.", e);
+      return PricingKernel.EXACT.price(offer);
+    }
+  }
+
+  /**
+   * Prices an offer from its plain inputs, without creating the offer and its items.
+   *
+   * @param items               the items of the offer, items of product categories that are not
+   *                            priced on an offer are ignored
+   * @param affiliationCategory the category of the customer affiliation
+   * @param overheadRatio       the overhead ratio, see {@link OfferV2#determineOverheadRate}
+   * @param vatRatio            the VAT ratio of the customer affiliation
+   * @return the prices of the offer, equal to the prices of an {@link OfferV2} with the same
+   * inputs
+   */
+  public static OfferPrices priceItems(List<PricingItem> items,
+      AffiliationCategory affiliationCategory, BigDecimal overheadRatio, BigDecimal vatRatio) {
+    return priceItems(items, affiliationCategory, overheadRatio,
+        Collections.singletonList(vatRatio)).get(0);
+  }
+
+  /**
+   * Prices an offer from its plain inputs for several VAT ratios. The items, the sale price and
+   * the overhead are priced once for all VAT ratios.
+   * <p>
+   * Inputs that cannot be represented in the scales of the kernel are priced in decimal
+   * arithmetic.
+   *
+   * @param items               the items of the offer, items of product categories that are not
+   *                            priced on an offer are ignored
+   * @param affiliationCategory the category of the customer affiliation
+   * @param overheadRatio       the overhead ratio, see {@link OfferV2#determineOverheadRate}
+   * @param vatRatios           the VAT ratios to price the offer for
+   * @return the prices of the offer for every VAT ratio, in the order of the ratios
+   */
+  public static List<OfferPrices> priceItems(List<PricingItem> items,
+      AffiliationCategory affiliationCategory, BigDecimal overheadRatio,
+      List<BigDecimal> vatRatios) {
+    try {
+      long[] vatBasisPoints = new long[vatRatios.size()];
+      for (int i = 0; i < vatBasisPoints.length; i++) {
+        vatBasisPoints[i] = vatRatios.get(i).scaleByPowerOfTen(4).longValueExact();
+      }
+      return priceInFixedPoint(items, affiliationCategory,
+          overheadRatio.scaleByPowerOfTen(4).longValueExact(), vatBasisPoints);
+    } catch (ArithmeticException e) {
+      log.debug("Items exceed the fixed point range, using decimal pricing.", e);
+      return priceInDecimal(items, affiliationCategory, overheadRatio, vatRatios);
+    }
+  }
+
+  private static List<OfferPrices> priceInFixedPoint(List<PricingItem> items,
+      AffiliationCategory affiliationCategory, long overheadBasisPoints, long[] vatBasisPoints) {
+    long saleCents = 0;
+    long discountCents = 0;
+    for (PricingItem item : items) {
+      if (!OfferV2.isPricedCategory(item.getProductCategory())) {
+        continue;
+      }
+      long unitCents = toCents(unitPrice(item, affiliationCategory));
+      long quantityUnits = toQuantityUnits(item.getQuantity());
+      int discountBasisPoints = discountBasisPoints(affiliationCategory, item.getQuantity(),
+          item.getProductCategory(), item.getItemCategory());
+      long unitDiscountCents = unitDiscountCents(unitCents, discountBasisPoints);
+      long itemDiscountCents = discountAmountCents(unitDiscountCents, quantityUnits);
+      long itemListCents = listPriceCents(unitCents, quantityUnits);
+      saleCents = Math.addExact(saleCents, Math.subtractExact(itemListCents, itemDiscountCents));
+      discountCents = Math.addExact(discountCents, itemDiscountCents);
+    }
+
+    long overheadMicros = overheadMicros(saleCents, overheadBasisPoints);
+    long priceBeforeTaxMicros = Math.addExact(overheadMicros,
+        Math.multiplyExact(saleCents, CENTS_TO_MICROS));
+    List<OfferPrices> prices = new ArrayList<>(vatBasisPoints.length);
+    for (long vat : vatBasisPoints) {
+      long taxCents = taxCents(priceBeforeTaxMicros, vat);
+      long priceAfterTaxMicros = Math.addExact(priceBeforeTaxMicros,
+          Math.multiplyExact(taxCents, CENTS_TO_MICROS));
+      prices.add(new OfferPrices(
+          BigDecimal.valueOf(saleCents, 2),
+          BigDecimal.valueOf(overheadMicros, 6),
+          BigDecimal.valueOf(priceBeforeTaxMicros, 6),
+          BigDecimal.valueOf(taxCents, 2),
+          BigDecimal.valueOf(priceAfterTaxMicros, 6),
+          BigDecimal.valueOf(discountCents, 2)));
+    }
+    return prices;
+  }
+
+  private static List<OfferPrices> priceInDecimal(List<PricingItem> items,
+      AffiliationCategory affiliationCategory, BigDecimal overheadRatio,
+      List<BigDecimal> vatRatios) {
+    BigDecimal salePrice = BigDecimal.ZERO;
+    BigDecimal discountAmount = BigDecimal.ZERO;
+    for (PricingItem item : items) {
+      if (!OfferV2.isPricedCategory(item.getProductCategory())) {
+        continue;
+      }
+      BigDecimal unitPrice = BigDecimal.valueOf(unitPrice(item, affiliationCategory))
+          .setScale(2, RoundingMode.HALF_UP);
+      BigDecimal discountRate = BigDecimal.valueOf(discountBasisPoints(affiliationCategory,
+          item.getQuantity(), item.getProductCategory(), item.getItemCategory()), 4);
+      ProductItemPrices itemPrices = ProductItemPrices.of(unitPrice, discountRate,
+          BigDecimal.valueOf(item.getQuantity()));
+      salePrice = salePrice.add(itemPrices.getSalePrice());
+      discountAmount = discountAmount.add(itemPrices.getDiscountAmount());
+    }
+    // the offer keeps the overhead as double value
+    BigDecimal overhead = BigDecimal.valueOf(salePrice.multiply(overheadRatio).doubleValue());
+    BigDecimal priceBeforeTax = overhead.add(salePrice);
+    List<OfferPrices> prices = new ArrayList<>(vatRatios.size());
+    for (BigDecimal vatRatio : vatRatios) {
+      BigDecimal taxAmount = priceBeforeTax.multiply(vatRatio).setScale(2, RoundingMode.HALF_UP);
+      prices.add(new OfferPrices(salePrice, overhead, priceBeforeTax, taxAmount,
+          priceBeforeTax.add(taxAmount), discountAmount));
+    }
+    return prices;
+  }
+
+  private static double unitPrice(PricingItem item, AffiliationCategory affiliationCategory) {
+    return affiliationCategory == AffiliationCategory.INTERNAL
+        ? item.getInternalUnitPrice()
+        : item.getExternalUnitPrice();
+  }
+
+  /**
+   * Determines the discount rate of an item like {@link ProductItem#getDiscountRate()}: the larger
+   * one of the quantity discount and the data storage discount.
+   *
+   * @param affiliationCategory the affiliation category of the customer
+   * @param quantity            the quantity of the item
+   * @param productCategory     the category of the product, determines the quantity discount
+   * @param itemCategory        the category copied to the item, determines the storage discount
+   * @return the discount rate in basis points
+   */
+  public static int discountBasisPoints(AffiliationCategory affiliationCategory, double quantity,
+      String productCategory, String itemCategory) {
+    QuantityDiscountCurve curve = QuantityDiscountCurves.defaults()
+        .curveForCategory(productCategory);
+    int quantityDiscount = curve.basisPointsFor((int) quantity);
+    int storageDiscount = "data storage".equalsIgnoreCase(itemCategory)
+        && affiliationCategory == AffiliationCategory.INTERNAL ? FULL_DISCOUNT : 0;
+    return Math.max(quantityDiscount, storageDiscount);
+  }
+
+  /**
+   * @param unitCents     the unit price in cents
+   * @param quantityUnits the quantity in ten thousandths
+   * @return the list price in cents
+   */
+  public static long listPriceCents(long unitCents, long quantityUnits) {
+    return divideHalfUp(Math.multiplyExact(unitCents, quantityUnits), QUANTITY_UNITS);
+  }
+
+  /**
+   * @param unitCents           the unit price in cents
+   * @param discountBasisPoints the discount rate in basis points
+   * @return the amount discounted from the unit price in cents
+   */
+  public static long unitDiscountCents(long unitCents, long discountBasisPoints) {
+    return divideHalfUp(Math.multiplyExact(unitCents, discountBasisPoints), BASIS_POINTS);
+  }
+
+  /**
+   * @param unitDiscountCents the amount discounted from the unit price in cents
+   * @param quantityUnits     the quantity in ten thousandths
+   * @return the amount discounted from the list price in cents
+   */
+  public static long discountAmountCents(long unitDiscountCents, long quantityUnits) {
+    return divideHalfUp(Math.multiplyExact(unitDiscountCents, quantityUnits), QUANTITY_UNITS);
+  }
+
+  /**
+   * @param saleCents           the sale price in cents
+   * @param overheadBasisPoints the overhead ratio in basis points
+   * @return the overhead in millionths, this amount is not rounded
+   */
+  public static long overheadMicros(long saleCents, long overheadBasisPoints) {
+    return Math.multiplyExact(saleCents, overheadBasisPoints);
+  }
+
+  /**
+   * @param priceBeforeTaxMicros the price before tax in millionths
+   * @param vatBasisPoints       the VAT ratio in basis points
+   * @return the taxes in cents
+   */
+  public static long taxCents(long priceBeforeTaxMicros, long vatBasisPoints) {
+    return divideHalfUp(Math.multiplyExact(priceBeforeTaxMicros, vatBasisPoints),
+        CENTS_TO_MICROS * BASIS_POINTS);
+  }
+
+  /**
+   * Converts an amount to cents like
+   * <code>BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP)</code>.
+   *
+   * @param amount the amount
+   * @return the amount in cents
+   */
+  public static long toCents(double amount) {
+    long cents = Math.round(amount * 100);
+    if (cents / 100d == amount) {
+      return cents;
+    }
+    // more than two decimal places, round the decimal representation like BigDecimal does
+    return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).unscaledValue()
+        .longValueExact();
+  }
+
+  /**
+   * Converts a quantity to ten thousandths.
+   *
+   * @param quantity the quantity
+   * @return the quantity in ten thousandths
+   * @throws ArithmeticException if the quantity has more than four decimal places
+   */
+  public static long toQuantityUnits(double quantity) {
+    long units = Math.round(quantity * QUANTITY_UNITS);
+    if (units / (double) QUANTITY_UNITS != quantity) {
+      throw new ArithmeticException(
+          String.format("Quantity %s has more than four decimal places.", quantity));
+    }
+    return units;
+  }
+
+  /**
+   * Converts a ratio to basis points.
+   *
+   * @param ratio the ratio, e.g. 0.2
+   * @return the ratio in basis points, e.g. 2000
+   * @throws ArithmeticException if the ratio has more than four decimal places
+   */
+  public static long toBasisPoints(double ratio) {
+    long basisPoints = Math.round(ratio * BASIS_POINTS);
+    if (basisPoints / (double) BASIS_POINTS != ratio) {
+      throw new ArithmeticException(
+          String.format("Ratio %s has more than four decimal places.", ratio));
+    }
+    return basisPoints;
+  }
+
+  /**
+   * Divides and rounds the result like {@link RoundingMode#HALF_UP}, away from zero on ties.
+   *
+   * @param dividend the dividend
+   * @param divisor  the divisor, must be positive
+   * @return the rounded quotient
+   */
+  static long divideHalfUp(long dividend, long divisor) {
+    long quotient = dividend / divisor;
+    long remainder = Math.abs(dividend % divisor);
+    if (remainder * 2 >= divisor) {
+      quotient += Long.signum(dividend);
+    }
+    return quotient;
+  }
+}
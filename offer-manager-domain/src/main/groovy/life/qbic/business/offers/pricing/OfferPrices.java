@@ -0,0 +1,107 @@
+package life.qbic.business.offers.pricing;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * <b>Offer prices</b>
+ *
+ * <p>The totals of an offer as computed by a {@link PricingKernel}.</p>
+ *
+ * @since 1.11.0
+ */
+public final class OfferPrices {
+
+  private final BigDecimal salePrice;
+
+  private final BigDecimal overhead;
+
+  private final BigDecimal priceBeforeTax;
+
+  private final BigDecimal taxAmount;
+
+  private final BigDecimal priceAfterTax;
+
+  private final BigDecimal discountAmount;
+
+  public OfferPrices(BigDecimal salePrice, BigDecimal overhead, BigDecimal priceBeforeTax,
+      BigDecimal taxAmount, BigDecimal priceAfterTax, BigDecimal discountAmount) {
+    this.salePrice = Objects.requireNonNull(salePrice, "Sale price must not be null");
+    this.overhead = Objects.requireNonNull(overhead, "Overhead must not be null");
+    this.priceBeforeTax = Objects.requireNonNull(priceBeforeTax,
+        "Price before tax must not be null");
+    this.taxAmount = Objects.requireNonNull(taxAmount, "Tax amount must not be null");
+    this.priceAfterTax = Objects.requireNonNull(priceAfterTax, "Price after tax must not be null");
+    this.discountAmount = Objects.requireNonNull(discountAmount,
+        "Discount amount must not be null");
+  }
+
+  /**
+   * @return the sum of the sale prices of all priced items
+   */
+  public BigDecimal getSalePrice() {
+    return salePrice;
+  }
+
+  /**
+   * @return the overhead added to the sale price
+   */
+  public BigDecimal getOverhead() {
+    return overhead;
+  }
+
+  /**
+   * @return the sale price plus the overhead
+   */
+  public BigDecimal getPriceBeforeTax() {
+    return priceBeforeTax;
+  }
+
+  /**
+   * @return the taxes on the price before tax
+   */
+  public BigDecimal getTaxAmount() {
+    return taxAmount;
+  }
+
+  /**
+   * @return the price before tax plus the taxes
+   */
+  public BigDecimal getPriceAfterTax() {
+    return priceAfterTax;
+  }
+
+  /**
+   * @return the sum of the discount amounts of all priced items
+   */
+  public BigDecimal getDiscountAmount() {
+    return discountAmount;
+  }
+
+  /**
+   * Compares the prices by their numerical value, regardless of the scale of the amounts.
+   *
+   * @param other the prices to compare to
+   * @return true, if all amounts are numerically equal, else false
+   */
+  public boolean hasSameAmounts(OfferPrices other) {
+    return salePrice.compareTo(other.salePrice) == 0
+        && overhead.compareTo(other.overhead) == 0
+        && priceBeforeTax.compareTo(other.priceBeforeTax) == 0
+        && taxAmount.compareTo(other.taxAmount) == 0
+        && priceAfterTax.compareTo(other.priceAfterTax) == 0
+        && discountAmount.compareTo(other.discountAmount) == 0;
+  }
+
+  @Override
+  public String toString() {
+    return "OfferPrices{" +
+        "salePrice=" + salePrice +
+        ", overhead=" + overhead +
+        ", priceBeforeTax=" + priceBeforeTax +
+        ", taxAmount=" + taxAmount +
+        ", priceAfterTax=" + priceAfterTax +
+        ", discountAmount=" + discountAmount +
+        '}';
+  }
+}
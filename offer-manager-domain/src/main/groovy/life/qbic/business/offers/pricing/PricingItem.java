@@ -0,0 +1,118 @@
+package life.qbic.business.offers.pricing;
+
+import java.util.Objects;
+import life.qbic.business.products.ProductItem;
+
+/**
+ * <b>Pricing item</b>
+ *
+ * <p>The plain inputs the {@link FixedPointPricingKernel} needs to price an item, so offers can be
+ * priced without creating an offer and its product items.</p>
+ *
+ * @since 1.11.0
+ */
+public final class PricingItem {
+
+  private final String productCategory;
+
+  private final String itemCategory;
+
+  private final double internalUnitPrice;
+
+  private final double externalUnitPrice;
+
+  private final double quantity;
+
+  /**
+   * Creates an item whose category equals the category of its product.
+   *
+   * @param productCategory   the category of the product
+   * @param internalUnitPrice the unit price for internal customers
+   * @param externalUnitPrice the unit price for external customers
+   * @param quantity          the quantity of the item
+   * @return the pricing item
+   */
+  public static PricingItem of(String productCategory, double internalUnitPrice,
+      double externalUnitPrice, double quantity) {
+    return new PricingItem(productCategory, productCategory, internalUnitPrice, externalUnitPrice,
+        quantity);
+  }
+
+  /**
+   * Reads the pricing inputs of a product item.
+   *
+   * @param item the product item
+   * @return the pricing item
+   */
+  public static PricingItem of(ProductItem item) {
+    return new PricingItem(item.getProduct().getCategory(), item.getProductCategory(),
+        item.getInternalUnitPrice(), item.getExternalUnitPrice(), item.getQuantity());
+  }
+
+  private PricingItem(String productCategory, String itemCategory, double internalUnitPrice,
+      double externalUnitPrice, double quantity) {
+    this.productCategory = productCategory;
+    this.itemCategory = itemCategory;
+    this.internalUnitPrice = internalUnitPrice;
+    this.externalUnitPrice = externalUnitPrice;
+    this.quantity = quantity;
+  }
+
+  /**
+   * @return the category of the product, determines whether the item is priced and its quantity
+   * discount
+   */
+  public String getProductCategory() {
+    return productCategory;
+  }
+
+  /**
+   * @return the category copied to the item, determines the storage discount
+   */
+  public String getItemCategory() {
+    return itemCategory;
+  }
+
+  public double getInternalUnitPrice() {
+    return internalUnitPrice;
+  }
+
+  public double getExternalUnitPrice() {
+    return externalUnitPrice;
+  }
+
+  public double getQuantity() {
+    return quantity;
+  }
+
+  @Override
+  public String toString() {
+    return "PricingItem{" +
+        "productCategory='" + productCategory + '\'' +
+        ", itemCategory='" + itemCategory + '\'' +
+        ", quantity=" + quantity +
+        '}';
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PricingItem that = (PricingItem) o;
+    return Double.compare(that.internalUnitPrice, internalUnitPrice) == 0
+        && Double.compare(that.externalUnitPrice, externalUnitPrice) == 0
+        && Double.compare(that.quantity, quantity) == 0
+        && Objects.equals(productCategory, that.productCategory)
+        && Objects.equals(itemCategory, that.itemCategory);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(productCategory, itemCategory, internalUnitPrice, externalUnitPrice,
+        quantity);
+  }
+}
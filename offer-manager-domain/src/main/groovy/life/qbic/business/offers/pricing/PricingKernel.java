@@ -0,0 +1,37 @@
+package life.qbic.business.offers.pricing;
+
+import life.qbic.business.offers.OfferV2;
+
+/**
+ * <b>Pricing kernel</b>
+ *
+ * <p>Computes the prices of an offer. Bulk operations such as exports, re-pricing or analytics
+ * can choose the kernel that fits their needs:</p>
+ * <ul>
+ *   <li>{@link #EXACT} reads the prices computed by the offer in decimal arithmetic</li>
+ *   <li>{@link #FIXED_POINT} computes the prices from the offer items with scaled
+ *   <code>long</code> values and the same rounding</li>
+ * </ul>
+ *
+ * @since 1.11.0
+ */
+public interface PricingKernel {
+
+  /**
+   * Provides the prices the offer computed with {@link java.math.BigDecimal} arithmetic
+   */
+  PricingKernel EXACT = new ExactPricingKernel();
+
+  /**
+   * Computes the prices with scaled <code>long</code> values
+   */
+  PricingKernel FIXED_POINT = new FixedPointPricingKernel();
+
+  /**
+   * Computes the prices of an offer
+   *
+   * @param offer the offer to price
+   * @return the prices of the offer
+   */
+  OfferPrices price(OfferV2 offer);
+}
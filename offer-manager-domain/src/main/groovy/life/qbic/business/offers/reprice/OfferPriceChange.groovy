@@ -0,0 +1,63 @@
+package life.qbic.business.offers.reprice
+
+import groovy.transform.EqualsAndHashCode
+import groovy.transform.ToString
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.offers.pricing.OfferPrices
+
+/**
+ * <b>Offer price change</b>
+ *
+ * <p>Describes how the prices of an offer change when it is re-priced: the offer version that was
+ * re-priced, the version holding the new prices and the prices of both.</p>
+ *
+ * @since 1.11.0
+ */
+@EqualsAndHashCode(includeFields = true)
+@ToString(includeNames = true, includeFields = true)
+class OfferPriceChange {
+
+    private final OfferId offerId
+
+    private final OfferId repricedOfferId
+
+    private final OfferPrices previousPrices
+
+    private final OfferPrices newPrices
+
+    OfferPriceChange(OfferId offerId, OfferId repricedOfferId, OfferPrices previousPrices, OfferPrices newPrices) {
+        this.offerId = offerId
+        this.repricedOfferId = repricedOfferId
+        this.previousPrices = previousPrices
+        this.newPrices = newPrices
+    }
+
+    /**
+     * @return the identifier of the re-priced offer version
+     */
+    OfferId getOfferId() {
+        return offerId
+    }
+
+    /**
+     * @return the identifier of the version holding the new prices
+     */
+    OfferId getRepricedOfferId() {
+        return repricedOfferId
+    }
+
+    OfferPrices getPreviousPrices() {
+        return previousPrices
+    }
+
+    OfferPrices getNewPrices() {
+        return newPrices
+    }
+
+    /**
+     * @return the change of the price after tax, negative if the offer became cheaper
+     */
+    BigDecimal getPriceDifference() {
+        return newPrices.getPriceAfterTax() - previousPrices.getPriceAfterTax()
+    }
+}
@@ -0,0 +1,48 @@
+package life.qbic.business.offers.reprice
+
+import groovy.transform.EqualsAndHashCode
+import groovy.transform.ToString
+
+import java.math.RoundingMode
+
+/**
+ * <b>Product price update</b>
+ *
+ * <p>The new unit prices of a catalogue product, identified by its product id
+ * (e.g. <code>SE_1</code>). The prices are rounded to cents like the prices of a
+ * {@link life.qbic.business.products.Product}.</p>
+ *
+ * @since 1.11.0
+ */
+@EqualsAndHashCode(includeFields = true)
+@ToString(includeNames = true, includeFields = true)
+class ProductPriceUpdate {
+
+    private final String productId
+
+    private final Double internalUnitPrice
+
+    private final Double externalUnitPrice
+
+    ProductPriceUpdate(String productId, Double internalUnitPrice, Double externalUnitPrice) {
+        this.productId = Objects.requireNonNull(productId, "Product id must not be null")
+        this.internalUnitPrice = roundToCents(Objects.requireNonNull(internalUnitPrice, "Internal unit price must not be null"))
+        this.externalUnitPrice = roundToCents(Objects.requireNonNull(externalUnitPrice, "External unit price must not be null"))
+    }
+
+    private static Double roundToCents(Double price) {
+        return BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP).doubleValue()
+    }
+
+    String getProductId() {
+        return productId
+    }
+
+    Double getInternalUnitPrice() {
+        return internalUnitPrice
+    }
+
+    Double getExternalUnitPrice() {
+        return externalUnitPrice
+    }
+}
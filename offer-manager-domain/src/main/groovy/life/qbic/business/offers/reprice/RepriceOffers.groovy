@@ -0,0 +1,278 @@
+package life.qbic.business.offers.reprice
+
+import life.qbic.business.exceptions.DatabaseQueryException
+import life.qbic.business.logging.Logger
+import life.qbic.business.logging.Logging
+import life.qbic.business.offers.OfferExistsException
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.offers.pricing.OfferPrices
+import life.qbic.business.offers.pricing.PricingKernel
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+
+import java.time.Duration
+import java.time.LocalDate
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ForkJoinPool
+import java.util.stream.Collectors
+
+/**
+ * This class implements logic to re-price offers after prices in the product catalogue changed.
+ *
+ * <p>Every offer that contains an updated product and has not expired yet receives a new version
+ * with the updated prices. The new versions are computed in parallel on a bounded fork/join pool,
+ * so a re-pricing run does not occupy the common pool of the application. They are stored in
+ * batches, each batch in one transaction. The version of a new offer is resolved when it is stored,
+ * so versions saved by users during a run are not overwritten.</p>
+ *
+ * <p>Versions with equal content as a stored offer are skipped and reported. A preview computes
+ * the price changes without storing anything.</p>
+ *
+ * @since 1.11.0
+ */
+class RepriceOffers implements RepriceOffersInput {
+
+    private static final Logging log = Logger.getLogger(this.class)
+
+    /**
+     * The number of offers stored within one transaction
+     */
+    static final int DEFAULT_BATCH_SIZE = 50
+
+    /**
+     * The upper bound of worker threads used by default, the remaining cores stay available for
+     * serving the application
+     */
+    static final int MAX_DEFAULT_PARALLELISM = 4
+
+    private final RepriceOffersDataSource dataSource
+    private final RepriceOffersOutput output
+    private final int parallelism
+    private final int batchSize
+    private final PricingKernel pricingKernel
+
+    RepriceOffers(RepriceOffersDataSource dataSource, RepriceOffersOutput output) {
+        this(dataSource, output, defaultParallelism(), DEFAULT_BATCH_SIZE, PricingKernel.EXACT)
+    }
+
+    /**
+     * @param dataSource the source of the affected offers
+     * @param output the output receiving the report
+     * @param parallelism the number of worker threads computing the new prices
+     * @param batchSize the number of offers stored within one transaction
+     * @param pricingKernel the kernel computing the prices of the report
+     */
+    RepriceOffers(RepriceOffersDataSource dataSource, RepriceOffersOutput output, int parallelism,
+                  int batchSize, PricingKernel pricingKernel) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive but was $parallelism")
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive but was $batchSize")
+        }
+        this.dataSource = dataSource
+        this.output = output
+        this.parallelism = parallelism
+        this.batchSize = batchSize
+        this.pricingKernel = Objects.requireNonNull(pricingKernel, "Pricing kernel must not be null")
+    }
+
+    private static int defaultParallelism() {
+        return Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_PARALLELISM)
+    }
+
+    @Override
+    void repriceOffers(List<ProductPriceUpdate> priceUpdates) {
+        reprice(priceUpdates, false)
+    }
+
+    @Override
+    void previewRepricing(List<ProductPriceUpdate> priceUpdates) {
+        reprice(priceUpdates, true)
+    }
+
+    private void reprice(List<ProductPriceUpdate> priceUpdates, boolean dryRun) {
+        long start = System.nanoTime()
+        Map<String, ProductPriceUpdate> updatesByProduct = indexByProduct(priceUpdates)
+        if (updatesByProduct.isEmpty()) {
+            output.repricedOffers(new RepricingReport(dryRun, [], [], [], Duration.ZERO))
+            return
+        }
+
+        List<OfferV2> affectedOffers
+        try {
+            affectedOffers = dataSource.findOpenOffersContaining(updatesByProduct.keySet(), LocalDate.now())
+        } catch (DatabaseQueryException e) {
+            String message = "The offers affected by the price updates could not be loaded."
+            log.error(message, e)
+            output.failNotification(message)
+            return
+        }
+
+        List<RepricedOffer> repricedOffers
+        try {
+            repricedOffers = repriceInParallel(affectedOffers, updatesByProduct)
+        } catch (ExecutionException e) {
+            String message = "The new prices of the affected offers could not be computed."
+            log.error(message, e.getCause())
+            output.failNotification(message)
+            return
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt()
+            output.failNotification("Re-pricing the offers was interrupted.")
+            return
+        }
+
+        List<OfferId> storedOffers = []
+        List<OfferId> skippedDuplicates = []
+        if (!dryRun) {
+            try {
+                storeInBatches(repricedOffers, storedOffers, skippedDuplicates)
+            } catch (DatabaseQueryException e) {
+                String message = "Re-pricing stopped after storing ${storedOffers.size()} of ${repricedOffers.size()} offers."
+                log.error(message, e)
+                output.failNotification(message)
+                return
+            }
+        }
+
+        RepricingReport report = new RepricingReport(dryRun, repricedOffers.collect { it.priceChange() },
+                storedOffers, skippedDuplicates, Duration.ofNanos(System.nanoTime() - start))
+        log.info("Re-priced offers: $report")
+        output.repricedOffers(report)
+    }
+
+    private static Map<String, ProductPriceUpdate> indexByProduct(List<ProductPriceUpdate> priceUpdates) {
+        Map<String, ProductPriceUpdate> updatesByProduct = new HashMap<>()
+        priceUpdates.each { ProductPriceUpdate update ->
+            // the latest update of a product wins
+            updatesByProduct.put(update.productId, update)
+        }
+        return updatesByProduct
+    }
+
+    private List<RepricedOffer> repriceInParallel(List<OfferV2> offers,
+                                                  Map<String, ProductPriceUpdate> updatesByProduct) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism)
+        try {
+            Callable<List<RepricedOffer>> task = {
+                offers.parallelStream()
+                        .map { OfferV2 offer -> repriceOffer(offer, updatesByProduct) }
+                        .filter { RepricedOffer repricedOffer -> repricedOffer != null }
+                        .collect(Collectors.toList())
+            }
+            return pool.submit(task).get()
+        } finally {
+            pool.shutdown()
+        }
+    }
+
+    /**
+     * Creates the next version of an offer with the updated prices.
+     *
+     * @return the re-priced offer or null, if none of the item prices change
+     */
+    private RepricedOffer repriceOffer(OfferV2 offer, Map<String, ProductPriceUpdate> updatesByProduct) {
+        List<ProductItem> items = offer.getItems()
+        if (!items.any { ProductItem item -> changesPrice(item, updatesByProduct.get(item.product.productId)) }) {
+            return null
+        }
+        OfferV2 repricedOffer = OfferV2.copyOf(offer)
+        Map<String, Product> repricedProducts = [:]
+        List<ProductItem> repricedItems = items.collect { ProductItem item ->
+            Product catalogueProduct = item.getProduct()
+            ProductPriceUpdate update = updatesByProduct.get(catalogueProduct.productId)
+            Product product = update == null ? catalogueProduct : repricedProducts.computeIfAbsent(
+                    catalogueProduct.productId,
+                    { catalogueProduct.withUnitPrices(update.internalUnitPrice, update.externalUnitPrice) })
+            ProductItem repricedItem = new ProductItem(repricedOffer, product, item.getQuantity())
+            repricedItem.setOfferPosition(item.offerPosition())
+            return repricedItem
+        }
+        repricedOffer.setItems(repricedItems)
+        // the version a preview reports, a stored offer receives the version following the latest stored one
+        repricedOffer.setIdentifier(nextVersion(offer.getIdentifier()))
+        return new RepricedOffer(offer.getIdentifier(), repricedOffer, pricingKernel.price(offer),
+                pricingKernel.price(repricedOffer))
+    }
+
+    private static boolean changesPrice(ProductItem item, ProductPriceUpdate update) {
+        return update != null && (item.getInternalUnitPrice() != update.internalUnitPrice
+                || item.getExternalUnitPrice() != update.externalUnitPrice)
+    }
+
+    private static OfferId nextVersion(OfferId identifier) {
+        OfferId next = new OfferId(identifier.getProjectPart(), identifier.getRandomPart(), identifier.getVersion())
+        next.increaseVersion()
+        return next
+    }
+
+    /**
+     * Stores the offers in batches. If an offer of a batch already exists, the offers of the batch
+     * are stored one by one and the existing ones are skipped.
+     */
+    private void storeInBatches(List<RepricedOffer> repricedOffers, List<OfferId> storedOffers,
+                                List<OfferId> skippedDuplicates) {
+        repricedOffers.collate(batchSize).each { List<RepricedOffer> batch ->
+            try {
+                dataSource.storeNextVersions(batch.collect { it.offer })
+                storedOffers.addAll(batch.collect { it.offer.identifier })
+            } catch (OfferExistsException ignored) {
+                batch.each { RepricedOffer repricedOffer ->
+                    repricedOffer.offer = unsavedCopyOf(repricedOffer.offer)
+                    try {
+                        dataSource.storeNextVersion(repricedOffer.offer)
+                        storedOffers.add(repricedOffer.offer.identifier)
+                    } catch (OfferExistsException duplicate) {
+                        log.info("Skipped offer ${repricedOffer.offer.identifier}, an offer with equal content exists.")
+                        skippedDuplicates.add(repricedOffer.offer.identifier)
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies an offer and its items. The ids assigned while saving the failed batch were rolled
+     * back, so the copy has to be inserted like a new offer instead of updating missing rows.
+     */
+    private static OfferV2 unsavedCopyOf(OfferV2 offer) {
+        OfferV2 offerCopy = OfferV2.copyOf(offer)
+        offerCopy.setItems(offer.getItems().collect { ProductItem item ->
+            ProductItem itemCopy = new ProductItem(offerCopy, item.getProduct(), item.getQuantity())
+            itemCopy.setOfferPosition(item.offerPosition())
+            return itemCopy
+        })
+        return offerCopy
+    }
+
+    private static class RepricedOffer {
+
+        final OfferId originalId
+
+        /**
+         * The new version, replaced by a copy if its batch could not be stored
+         */
+        OfferV2 offer
+
+        final OfferPrices previousPrices
+
+        final OfferPrices newPrices
+
+        RepricedOffer(OfferId originalId, OfferV2 offer, OfferPrices previousPrices, OfferPrices newPrices) {
+            this.originalId = originalId
+            this.offer = offer
+            this.previousPrices = previousPrices
+            this.newPrices = newPrices
+        }
+
+        /**
+         * @return the price change with the version the offer has been stored with
+         */
+        OfferPriceChange priceChange() {
+            return new OfferPriceChange(originalId, offer.getIdentifier(), previousPrices, newPrices)
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package life.qbic.business.offers.reprice
+
+import life.qbic.business.exceptions.DatabaseQueryException
+import life.qbic.business.offers.OfferExistsException
+import life.qbic.business.offers.OfferV2
+
+import java.time.LocalDate
+
+/**
+ * Provides methods to find and store the offers affected by product price changes
+ *
+ * @since 1.11.0
+ */
+interface RepriceOffersDataSource {
+
+    /**
+     * Finds the latest version of every offer that contains at least one of the given products
+     * and expires on or after the given date.
+     *
+     * @param productIds the product ids, e.g. <code>SE_1</code>
+     * @param validOn the date the offers must still be valid on
+     * @return the latest versions of the affected offers
+     * @throws DatabaseQueryException if the offers could not be read
+     * @since 1.11.0
+     */
+    List<OfferV2> findOpenOffersContaining(Collection<String> productIds, LocalDate validOn) throws DatabaseQueryException
+
+    /**
+     * Stores several offers as new versions in one transaction. Either all or none of the offers are
+     * stored.
+     *
+     * <p>Every offer receives the version following the latest stored version of its offer. The
+     * latest version is read within the storing transaction, so versions stored since the offers
+     * were found are not overwritten by a second offer with the same identifier.</p>
+     *
+     * @param offers the offers to store, their identifiers are updated to the stored versions
+     * @throws OfferExistsException if an offer with equal content already exists
+     * @throws DatabaseQueryException if the offers could not be stored
+     * @since 1.11.0
+     */
+    void storeNextVersions(List<OfferV2> offers) throws OfferExistsException, DatabaseQueryException
+
+    /**
+     * Stores a single offer as a new version.
+     *
+     * @param offer the offer to store, its identifier is updated to the stored version
+     * @throws OfferExistsException if an offer with equal content already exists
+     * @throws DatabaseQueryException if the offer could not be stored
+     * @since 1.11.0
+     * @see #storeNextVersions(List)
+     */
+    void storeNextVersion(OfferV2 offer) throws OfferExistsException, DatabaseQueryException
+}
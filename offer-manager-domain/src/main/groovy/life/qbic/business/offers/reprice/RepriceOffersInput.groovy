@@ -0,0 +1,26 @@
+package life.qbic.business.offers.reprice
+
+/**
+ * Input interface for the {@link RepriceOffers} use case
+ *
+ * @since 1.11.0
+ */
+interface RepriceOffersInput {
+
+    /**
+     * Re-prices all offers that contain one of the updated products and have not expired yet.
+     * A new version with the updated prices is stored for every affected offer.
+     *
+     * @param priceUpdates the new prices of catalogue products
+     * @since 1.11.0
+     */
+    void repriceOffers(List<ProductPriceUpdate> priceUpdates)
+
+    /**
+     * Determines the price changes a re-pricing would apply without storing any offer.
+     *
+     * @param priceUpdates the new prices of catalogue products
+     * @since 1.11.0
+     */
+    void previewRepricing(List<ProductPriceUpdate> priceUpdates)
+}
@@ -0,0 +1,19 @@
+package life.qbic.business.offers.reprice
+
+import life.qbic.business.UseCaseFailure
+
+/**
+ * Output interface for the {@link RepriceOffers} use case
+ *
+ * @since 1.11.0
+ */
+interface RepriceOffersOutput extends UseCaseFailure {
+
+    /**
+     * Transfers the report of a finished re-pricing run or preview.
+     *
+     * @param report the summary of the run
+     * @since 1.11.0
+     */
+    void repricedOffers(RepricingReport report)
+}
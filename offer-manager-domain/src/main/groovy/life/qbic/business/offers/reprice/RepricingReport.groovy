@@ -0,0 +1,97 @@
+package life.qbic.business.offers.reprice
+
+import life.qbic.business.offers.identifier.OfferId
+
+import java.time.Duration
+
+/**
+ * <b>Repricing report</b>
+ *
+ * <p>Summarises a bulk re-pricing run: the price changes of all affected offers, the offers that
+ * were stored or skipped and the throughput of the run.</p>
+ *
+ * <p>In a dry run no offer is stored, the report only contains the price changes that a re-pricing
+ * would apply.</p>
+ *
+ * @since 1.11.0
+ */
+class RepricingReport {
+
+    private final boolean dryRun
+
+    private final List<OfferPriceChange> priceChanges
+
+    private final List<OfferId> storedOffers
+
+    private final List<OfferId> skippedDuplicates
+
+    private final Duration duration
+
+    RepricingReport(boolean dryRun, List<OfferPriceChange> priceChanges, List<OfferId> storedOffers,
+                    List<OfferId> skippedDuplicates, Duration duration) {
+        this.dryRun = dryRun
+        this.priceChanges = Collections.unmodifiableList(new ArrayList<>(priceChanges))
+        this.storedOffers = Collections.unmodifiableList(new ArrayList<>(storedOffers))
+        this.skippedDuplicates = Collections.unmodifiableList(new ArrayList<>(skippedDuplicates))
+        this.duration = duration
+    }
+
+    /**
+     * @return true, if no offer was stored during the run
+     */
+    boolean isDryRun() {
+        return dryRun
+    }
+
+    /**
+     * @return the price changes of all offers affected by the price updates
+     */
+    List<OfferPriceChange> getPriceChanges() {
+        return priceChanges
+    }
+
+    /**
+     * @return the identifiers of the stored re-priced offer versions
+     */
+    List<OfferId> getStoredOffers() {
+        return storedOffers
+    }
+
+    /**
+     * @return the identifiers of the re-priced offer versions that were not stored, because an
+     * offer with equal content already exists
+     */
+    List<OfferId> getSkippedDuplicates() {
+        return skippedDuplicates
+    }
+
+    /**
+     * @return the time the run took
+     */
+    Duration getDuration() {
+        return duration
+    }
+
+    /**
+     * @return the number of re-priced offers per second
+     */
+    double getOffersPerSecond() {
+        long nanos = duration.toNanos()
+        if (nanos == 0) {
+            return 0
+        }
+        return priceChanges.size() * 1_000_000_000d / nanos
+    }
+
+    @Override
+    String toString() {
+        return "RepricingReport{" +
+                "dryRun=" + dryRun +
+                ", priceChanges=" + priceChanges.size() +
+                ", stored=" + storedOffers.size() +
+                ", skippedDuplicates=" + skippedDuplicates.size() +
+                ", duration=" + duration +
+                ", offersPerSecond=" + String.format("%.1f", getOffersPerSecond()) +
+                '}'
+    }
+}
@@ -0,0 +1,121 @@
+package life.qbic.business.offers.simulation;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import life.qbic.business.products.Product;
+import life.qbic.business.products.ProductCategory;
+
+/**
+ * <b>Draft item</b>
+ *
+ * <p>An item of a price simulation. The prices and the category are read from the product when
+ * the draft item is created, like a product item conserves the product state when it is added to
+ * an offer.</p>
+ *
+ * <p>The quantity of an item is either fixed, e.g. for project management, or scales with the
+ * sample count of the simulated offer, e.g. for sequencing.</p>
+ *
+ * @since 1.11.0
+ */
+public final class DraftItem {
+
+  /**
+   * Data generation and data analysis services are ordered per sample
+   */
+  private static final Set<ProductCategory> PER_SAMPLE_CATEGORIES = EnumSet.of(
+      ProductCategory.SEQUENCING, ProductCategory.PROTEOMICS, ProductCategory.METABOLOMIC,
+      ProductCategory.PRIMARY_BIOINFO, ProductCategory.SECONDARY_BIOINFO);
+
+  private final String productCategory;
+
+  private final double internalUnitPrice;
+
+  private final double externalUnitPrice;
+
+  private final boolean perSample;
+
+  private final double quantity;
+
+  /**
+   * Creates an item for a product of an offer. Data generation and data analysis products are
+   * simulated per sample, all other products keep their quantity.
+   *
+   * @param product  the product of the item
+   * @param quantity the quantity of the item on the offer
+   * @return the draft item
+   */
+  public static DraftItem of(Product product, double quantity) {
+    boolean perSample = PER_SAMPLE_CATEGORIES.stream()
+        .anyMatch(category -> category.getLabel().equals(product.getCategory()));
+    return perSample ? perSample(product) : fixed(product, quantity);
+  }
+
+  /**
+   * Creates an item whose quantity equals the simulated sample count.
+   *
+   * @param product the product of the item
+   * @return the draft item
+   */
+  public static DraftItem perSample(Product product) {
+    return new DraftItem(product, true, 0);
+  }
+
+  /**
+   * Creates an item with the same quantity for every simulated sample count.
+   *
+   * @param product  the product of the item
+   * @param quantity the quantity of the item
+   * @return the draft item
+   */
+  public static DraftItem fixed(Product product, double quantity) {
+    return new DraftItem(product, false, quantity);
+  }
+
+  private DraftItem(Product product, boolean perSample, double quantity) {
+    Objects.requireNonNull(product, "Product must not be null");
+    this.productCategory = Objects.requireNonNull(product.getCategory(),
+        "Product must have a category");
+    this.internalUnitPrice = Objects.requireNonNull(product.getInternalUnitPrice(),
+        "Product must have an internal unit price");
+    this.externalUnitPrice = Objects.requireNonNull(product.getExternalUnitPrice(),
+        "Product must have an external unit price");
+    this.perSample = perSample;
+    this.quantity = quantity;
+  }
+
+  public String getProductCategory() {
+    return productCategory;
+  }
+
+  public double getInternalUnitPrice() {
+    return internalUnitPrice;
+  }
+
+  public double getExternalUnitPrice() {
+    return externalUnitPrice;
+  }
+
+  /**
+   * @return true, if the quantity of the item equals the simulated sample count
+   */
+  public boolean isPerSample() {
+    return perSample;
+  }
+
+  /**
+   * @param sampleCount the simulated sample count
+   * @return the quantity of the item for the sample count
+   */
+  public double quantityFor(double sampleCount) {
+    return perSample ? sampleCount : quantity;
+  }
+
+  @Override
+  public String toString() {
+    return "DraftItem{" +
+        "productCategory='" + productCategory + '\'' +
+        ", quantity=" + (perSample ? "per sample" : String.valueOf(quantity)) +
+        '}';
+  }
+}
@@ -0,0 +1,132 @@
+package life.qbic.business.offers.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import life.qbic.business.offers.pricing.OfferPrices;
+import life.qbic.business.persons.affiliation.AffiliationCategory;
+
+/**
+ * <b>Price matrix</b>
+ *
+ * <p>The prices of a simulated offer for every combination of sample count, affiliation category
+ * and country of a {@link PriceSimulator} run.</p>
+ *
+ * @since 1.11.0
+ */
+public final class PriceMatrix {
+
+  private final List<Double> sampleCounts;
+
+  private final List<AffiliationCategory> affiliationCategories;
+
+  private final List<String> countries;
+
+  /**
+   * The prices ordered by sample count, then affiliation category, then country
+   */
+  private final OfferPrices[] prices;
+
+  PriceMatrix(List<Double> sampleCounts, List<AffiliationCategory> affiliationCategories,
+      List<String> countries, OfferPrices[] prices) {
+    this.sampleCounts = Collections.unmodifiableList(new ArrayList<>(sampleCounts));
+    this.affiliationCategories = Collections.unmodifiableList(
+        new ArrayList<>(affiliationCategories));
+    this.countries = Collections.unmodifiableList(new ArrayList<>(countries));
+    this.prices = prices;
+  }
+
+  public List<Double> getSampleCounts() {
+    return sampleCounts;
+  }
+
+  public List<AffiliationCategory> getAffiliationCategories() {
+    return affiliationCategories;
+  }
+
+  public List<String> getCountries() {
+    return countries;
+  }
+
+  /**
+   * @param sampleCount         a simulated sample count
+   * @param affiliationCategory a simulated affiliation category
+   * @param country             a simulated country
+   * @return the prices of the offer for the given combination
+   * @throws IllegalArgumentException if the combination was not simulated
+   */
+  public OfferPrices pricesFor(double sampleCount, AffiliationCategory affiliationCategory,
+      String country) {
+    int sampleIndex = sampleCounts.indexOf(sampleCount);
+    int categoryIndex = affiliationCategories.indexOf(affiliationCategory);
+    int countryIndex = countries.indexOf(country);
+    if (sampleIndex < 0 || categoryIndex < 0 || countryIndex < 0) {
+      throw new IllegalArgumentException(
+          String.format("No prices were simulated for %s samples, %s and %s.", sampleCount,
+              affiliationCategory, country));
+    }
+    return prices[index(sampleIndex, categoryIndex, countryIndex)];
+  }
+
+  /**
+   * Lists all entries of the matrix, e.g. to show them in a grid.
+   *
+   * @return the entries ordered by sample count, then affiliation category, then country
+   */
+  public List<Entry> entries() {
+    List<Entry> entries = new ArrayList<>(prices.length);
+    for (int sample = 0; sample < sampleCounts.size(); sample++) {
+      for (int category = 0; category < affiliationCategories.size(); category++) {
+        for (int country = 0; country < countries.size(); country++) {
+          entries.add(new Entry(sampleCounts.get(sample), affiliationCategories.get(category),
+              countries.get(country), prices[index(sample, category, country)]));
+        }
+      }
+    }
+    return entries;
+  }
+
+  int index(int sampleIndex, int categoryIndex, int countryIndex) {
+    return (sampleIndex * affiliationCategories.size() + categoryIndex) * countries.size()
+        + countryIndex;
+  }
+
+  /**
+   * The prices of the simulated offer for one combination of the matrix
+   */
+  public static final class Entry {
+
+    private final double sampleCount;
+
+    private final AffiliationCategory affiliationCategory;
+
+    private final String country;
+
+    private final OfferPrices prices;
+
+    Entry(double sampleCount, AffiliationCategory affiliationCategory, String country,
+        OfferPrices prices) {
+      this.sampleCount = sampleCount;
+      this.affiliationCategory = affiliationCategory;
+      this.country = country;
+      this.prices = Objects.requireNonNull(prices, "Prices must not be null");
+    }
+
+    public double getSampleCount() {
+      return sampleCount;
+    }
+
+    public AffiliationCategory getAffiliationCategory() {
+      return affiliationCategory;
+    }
+
+    public String getCountry() {
+      return country;
+    }
+
+    public OfferPrices getPrices() {
+      return prices;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package life.qbic.business.offers.simulation;
+
+/**
+ * <b>Price simulation output</b>
+ *
+ * <p>Receives the prices of a simulated offer.</p>
+ *
+ * @since 1.11.0
+ */
+public interface PriceSimulationOutput {
+
+  /**
+   * Transfers the simulated prices of an offer
+   *
+   * @param priceMatrix the prices for every simulated combination of sample count, affiliation
+   *                    category and country
+   */
+  void simulatedPrices(PriceMatrix priceMatrix);
+}
@@ -0,0 +1,103 @@
+package life.qbic.business.offers.simulation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import life.qbic.business.offers.OfferV2;
+import life.qbic.business.offers.policies.taxes.TaxOffice;
+import life.qbic.business.offers.pricing.FixedPointPricingKernel;
+import life.qbic.business.offers.pricing.OfferPrices;
+import life.qbic.business.offers.pricing.PricingItem;
+import life.qbic.business.persons.affiliation.AffiliationCategory;
+
+/**
+ * <b>Price simulator</b>
+ *
+ * <p>Evaluates the prices of an offer with a list of draft items over a grid of sample counts,
+ * affiliation categories and countries, without creating offers or product items. The prices
+ * equal the prices of an {@link OfferV2} with the same items and customer affiliation.</p>
+ *
+ * <p>The prices are computed by {@link FixedPointPricingKernel#priceItems}. For every sample count
+ * the items are resolved once for all affiliation categories, for every affiliation category the
+ * sale price and overhead are computed once for all countries. The overhead and VAT ratios are
+ * resolved once per affiliation category and country.</p>
+ *
+ * @since 1.11.0
+ */
+public final class PriceSimulator {
+
+  private final List<DraftItem> items;
+
+  /**
+   * Creates a simulator for an offer with the given items. Items of product categories that are
+   * not priced on an offer are ignored.
+   *
+   * @param draftItems the items of the simulated offer
+   */
+  public PriceSimulator(List<DraftItem> draftItems) {
+    Objects.requireNonNull(draftItems, "Draft items must not be null");
+    List<DraftItem> pricedItems = new ArrayList<>(draftItems.size());
+    for (DraftItem item : draftItems) {
+      if (OfferV2.isPricedCategory(item.getProductCategory())) {
+        pricedItems.add(item);
+      }
+    }
+    this.items = pricedItems;
+  }
+
+  /**
+   * Simulates the offer prices for every combination of the given sample counts, affiliation
+   * categories and countries.
+   *
+   * @param sampleCounts          the sample counts, determine the quantity of per sample items
+   * @param affiliationCategories the affiliation categories of the customer
+   * @param countries             the countries of the customer affiliation
+   * @return the prices of every combination
+   * @throws IllegalArgumentException if a sample count is negative
+   */
+  public PriceMatrix simulate(List<Double> sampleCounts,
+      List<AffiliationCategory> affiliationCategories, List<String> countries) {
+    int categoryCount = affiliationCategories.size();
+    List<BigDecimal> overheadRatios = new ArrayList<>(categoryCount);
+    List<List<BigDecimal>> vatRatios = new ArrayList<>(categoryCount);
+    for (AffiliationCategory affiliationCategory : affiliationCategories) {
+      overheadRatios.add(OfferV2.determineOverheadRate(affiliationCategory));
+      List<BigDecimal> countryVatRatios = new ArrayList<>(countries.size());
+      for (String country : countries) {
+        countryVatRatios.add(TaxOffice.policyFor(affiliationCategory,
+            Objects.requireNonNull(country, "Country must not be null")).getVatRatio());
+      }
+      vatRatios.add(countryVatRatios);
+    }
+
+    OfferPrices[] prices = new OfferPrices[sampleCounts.size() * categoryCount * countries.size()];
+    PriceMatrix matrix = new PriceMatrix(sampleCounts, affiliationCategories, countries, prices);
+    for (int sample = 0; sample < sampleCounts.size(); sample++) {
+      double sampleCount = sampleCounts.get(sample);
+      if (sampleCount < 0) {
+        throw new IllegalArgumentException(
+            String.format("Cannot simulate prices for %s samples.", sampleCount));
+      }
+      List<PricingItem> pricingItems = pricingItemsFor(sampleCount);
+      for (int category = 0; category < categoryCount; category++) {
+        List<OfferPrices> countryPrices = FixedPointPricingKernel.priceItems(pricingItems,
+            affiliationCategories.get(category), overheadRatios.get(category),
+            vatRatios.get(category));
+        for (int country = 0; country < countryPrices.size(); country++) {
+          prices[matrix.index(sample, category, country)] = countryPrices.get(country);
+        }
+      }
+    }
+    return matrix;
+  }
+
+  private List<PricingItem> pricingItemsFor(double sampleCount) {
+    List<PricingItem> pricingItems = new ArrayList<>(items.size());
+    for (DraftItem item : items) {
+      pricingItems.add(PricingItem.of(item.getProductCategory(), item.getInternalUnitPrice(),
+          item.getExternalUnitPrice(), item.quantityFor(sampleCount)));
+    }
+    return pricingItems;
+  }
+}
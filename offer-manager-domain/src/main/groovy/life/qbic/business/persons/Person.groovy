@@ -15,6 +15,7 @@ import java.util.stream.Collectors
  */
 @ToString
 @Entity
+@Cacheable
 @Table(name = "person")
 class Person {
 
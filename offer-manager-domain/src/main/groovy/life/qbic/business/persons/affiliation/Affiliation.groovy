@@ -12,6 +12,7 @@ import javax.persistence.*
  */
 @ToString
 @Entity
+@Cacheable
 @Table(name = "affiliation")
 @EqualsAndHashCode(excludes = ["id"])
 class Affiliation {
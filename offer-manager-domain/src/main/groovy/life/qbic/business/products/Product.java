@@ -2,6 +2,7 @@ package life.qbic.business.products;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -12,6 +13,7 @@ import javax.persistence.Lob;
 import javax.persistence.Table;
 
 @Entity
+@Cacheable
 @Table(name = "product", indexes = {
     @Index(name = "UQ_product_productId", columnList = "productId", unique = true)
 })
@@ -158,4 +160,30 @@ public class Product {
   public void setId(Integer id) {
     this.id = id;
   }
+
+  /**
+   * Creates a copy of this product with different unit prices. The copy keeps the identity of
+   * this product, so items referencing the copy refer to the same stored product.
+   * <p>
+   * The prices are rounded like in {@link #setInternalUnitPrice(Double)} and
+   * {@link #setExternalUnitPrice(Double)}.
+   *
+   * @param internalUnitPrice the internal unit price of the copy
+   * @param externalUnitPrice the external unit price of the copy
+   * @return a copy of this product with the given unit prices
+   * @since 1.11.0
+   */
+  public Product withUnitPrices(Double internalUnitPrice, Double externalUnitPrice) {
+    Product copy = new Product(category, this.internalUnitPrice, this.externalUnitPrice);
+    copy.setId(id);
+    copy.setDescription(description);
+    copy.setProductName(productName);
+    copy.setUnit(unit);
+    copy.setProductId(productId);
+    copy.setServiceProvider(serviceProvider);
+    copy.setActive(active);
+    copy.setInternalUnitPrice(internalUnitPrice);
+    copy.setExternalUnitPrice(externalUnitPrice);
+    return copy;
+  }
 }
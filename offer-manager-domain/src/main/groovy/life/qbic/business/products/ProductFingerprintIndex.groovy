@@ -0,0 +1,142 @@
+package life.qbic.business.products
+
+import groovy.transform.CompileStatic
+import groovy.transform.EqualsAndHashCode
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+
+/**
+ * <b>An in-memory index of active products by their properties</b>
+ *
+ * <p>Two products are considered duplicates if their category, name, description, unit prices,
+ * unit and service provider are equal. The index finds the duplicates of a product draft with
+ * a single hash lookup, so creating a product does not need to query the data source when a
+ * duplicate is already known.</p>
+ *
+ * <p>The index only knows the products it has been told about. It is safe to be used by
+ * several threads at the same time. Lookups are not blocked by changes and always see the
+ * duplicates of a product either before or after a change.</p>
+ *
+ * @since 1.11.0
+ */
+@CompileStatic
+class ProductFingerprintIndex {
+
+  /**
+   * The indexed products. A change replaces the list of the affected fingerprint only, a reindex
+   * replaces the whole map, so readers never see a partially changed list.
+   */
+  private volatile ConcurrentMap<Fingerprint, List<Product>> productsByFingerprint = new ConcurrentHashMap<>()
+
+  /**
+   * The fingerprints of the indexed products by product identifier, to find the list of a removed product
+   */
+  private volatile ConcurrentMap<String, Fingerprint> fingerprintsByProductId = new ConcurrentHashMap<>()
+
+  /**
+   * Replaces the indexed products
+   * @param activeProducts the currently active products
+   */
+  synchronized void reindex(Collection<Product> activeProducts) {
+    ConcurrentMap<Fingerprint, List<Product>> reindexedProducts = new ConcurrentHashMap<>()
+    ConcurrentMap<String, Fingerprint> reindexedFingerprints = new ConcurrentHashMap<>()
+    activeProducts.each { Product product -> addTo(reindexedProducts, reindexedFingerprints, product) }
+    productsByFingerprint = reindexedProducts
+    fingerprintsByProductId = reindexedFingerprints
+  }
+
+  /**
+   * Adds an active product to the index
+   * @param product the product to add
+   */
+  synchronized void add(Product product) {
+    addTo(productsByFingerprint, fingerprintsByProductId, product)
+  }
+
+  /**
+   * Removes a product that is no longer active from the index
+   * @param productId the identifier of the product to remove
+   */
+  synchronized void remove(String productId) {
+    Fingerprint fingerprint = fingerprintsByProductId.remove(productId)
+    if (fingerprint == null) {
+      return
+    }
+    List<Product> remainingProducts = productsByFingerprint.get(fingerprint).findAll { Product product ->
+      product.getProductId() != productId
+    }
+    if (remainingProducts.isEmpty()) {
+      productsByFingerprint.remove(fingerprint)
+    } else {
+      productsByFingerprint.put(fingerprint, Collections.unmodifiableList(remainingProducts))
+    }
+  }
+
+  private static void addTo(Map<Fingerprint, List<Product>> index, Map<String, Fingerprint> fingerprints,
+                            Product product) {
+    Fingerprint fingerprint = Fingerprint.of(product)
+    List<Product> products = new ArrayList<>(index.getOrDefault(fingerprint, Collections.<Product> emptyList()))
+    products.add(product)
+    index.put(fingerprint, Collections.unmodifiableList(products))
+    if (product.getProductId() != null) {
+      fingerprints.put(product.getProductId(), fingerprint)
+    }
+  }
+
+  /**
+   * Finds the indexed products with the same properties as a product draft
+   * @param productDraft the draft to look up
+   * @return the indexed duplicates of the draft, empty if none is known
+   */
+  List<Product> findDuplicates(ProductDraft productDraft) {
+    List<Product> duplicates = productsByFingerprint.get(Fingerprint.of(productDraft))
+    return duplicates ? new ArrayList<>(duplicates) : Collections.<Product> emptyList()
+  }
+
+  /**
+   * The properties that identify a product
+   */
+  @EqualsAndHashCode(includeFields = true)
+  private static final class Fingerprint {
+
+    private final String category
+    private final String name
+    private final String description
+    private final Double internalUnitPrice
+    private final Double externalUnitPrice
+    private final String unit
+    private final String serviceProvider
+
+    private Fingerprint(String category, String name, String description, Double internalUnitPrice,
+                        Double externalUnitPrice, String unit, String serviceProvider) {
+      this.category = category
+      this.name = name
+      this.description = description
+      this.internalUnitPrice = internalUnitPrice
+      this.externalUnitPrice = externalUnitPrice
+      this.unit = unit
+      this.serviceProvider = serviceProvider
+    }
+
+    static Fingerprint of(Product product) {
+      return new Fingerprint(product.getCategory(),
+              product.getProductName(),
+              product.getDescription(),
+              product.getInternalUnitPrice(),
+              product.getExternalUnitPrice(),
+              product.getUnit(),
+              product.getServiceProvider())
+    }
+
+    static Fingerprint of(ProductDraft productDraft) {
+      return new Fingerprint(productDraft.getCategory().getLabel(),
+              productDraft.getName(),
+              productDraft.getDescription(),
+              productDraft.getInternalUnitPrice(),
+              productDraft.getExternalUnitPrice(),
+              productDraft.getUnit(),
+              productDraft.getServiceProvider())
+    }
+  }
+}
@@ -5,8 +5,6 @@ import static java.util.Objects.requireNonNull;
 import groovy.transform.CompileStatic;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Objects;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -17,10 +15,12 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.PostLoad;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 import life.qbic.business.offers.OfferV2;
-import life.qbic.business.offers.QuantityDiscountFactor;
+import life.qbic.business.offers.QuantityDiscountCurve;
+import life.qbic.business.offers.QuantityDiscountCurves;
 import life.qbic.business.persons.affiliation.AffiliationCategory;
 
 @Entity
@@ -30,12 +30,14 @@ import life.qbic.business.persons.affiliation.AffiliationCategory;
 @CompileStatic
 public class ProductItem {
 
-  private static final List<String> DATA_ANALYSIS = Arrays.asList(
-      "Primary Bioinformatics",
-      "Secondary Bioinformatics");
-
+  /**
+   * Ids are allocated in blocks from the id generator table, so the items of an offer can be
+   * inserted in one batch.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "productitem_ids")
+  @TableGenerator(name = "productitem_ids", table = "id_generator", pkColumnName = "entity",
+      valueColumnName = "next_id", pkColumnValue = "productitem", allocationSize = 50)
   @Column(name = "id", nullable = false)
   private int id;
 
@@ -74,11 +76,12 @@ public class ProductItem {
   @JoinColumn(name = "offerId", nullable = false)
   private OfferV2 offer;
 
+  /**
+   * The prices computed for the current affiliation category, quantity and product. They are
+   * reused until one of them changes.
+   */
   @Transient
-  private BigDecimal unitPrice;
-
-  @Transient
-  private BigDecimal discountRate;
+  private volatile PricedState pricedState;
 
   /**
    * Stores the latest position on the offer.
@@ -178,16 +181,46 @@ public class ProductItem {
     this.id = id;
   }
 
+  /**
+   * Recomputes the prices of this item, regardless of whether the pricing inputs have changed.
+   */
   protected void refresh() {
     refreshProductItem();
   }
 
   private void refreshProductItem() {
     validateObjectState();
+    pricedState = computePricedState();
+  }
+
+  /**
+   * Provides the prices of this item for the offer's current affiliation category.
+   * <p>
+   * The prices are computed once and reused until the affiliation category of the offer, the
+   * quantity or the product of this item change.
+   *
+   * @return an immutable snapshot of this item's prices
+   * @since 1.11.0
+   */
+  public ProductItemPrices getPrices() {
+    validateObjectState();
+    PricedState current = pricedState;
+    if (current == null || !current.isPricedFor(
+        offer.getSelectedCustomerAffiliation().getCategory(), quantity, product)) {
+      current = computePricedState();
+      pricedState = current;
+    }
+    return current.prices;
+  }
+
+  private PricedState computePricedState() {
     AffiliationCategory affiliationCategory = offer.getSelectedCustomerAffiliation().getCategory();
-    unitPrice = determineUnitPrice(affiliationCategory);
-    discountRate = getDiscountRate(affiliationCategory, BigDecimal.valueOf(quantity),
+    BigDecimal itemQuantity = BigDecimal.valueOf(quantity);
+    BigDecimal unitPrice = determineUnitPrice(affiliationCategory);
+    BigDecimal discountRate = getDiscountRate(affiliationCategory, itemQuantity,
         product.getCategory());
+    return new PricedState(affiliationCategory, quantity, product,
+        ProductItemPrices.of(unitPrice, discountRate, itemQuantity));
   }
 
   private void validateObjectState() {
@@ -211,14 +244,28 @@ public class ProductItem {
     return quantityDiscountRate.max(storageDiscountRate);
   }
 
-  protected Double getInternalUnitPrice() {
+  /**
+   * @return the internal unit price of the product at the time it was added to the offer
+   */
+  public Double getInternalUnitPrice() {
     return this.internalUnitPrice;
   }
 
-  protected Double getExternalUnitPrice() {
+  /**
+   * @return the external unit price of the product at the time it was added to the offer
+   */
+  public Double getExternalUnitPrice() {
     return this.externalUnitPrice;
   }
 
+  /**
+   * @return the category of the product at the time it was added to the offer
+   * @since 1.11.0
+   */
+  public String getProductCategory() {
+    return this.productCategory;
+  }
+
   /**
    * <p>The relevant unit price for a product in an offer depends on the customer's affiliation.
    * The current business policy is to provide base prices for internal and external customer
@@ -261,18 +308,23 @@ public class ProductItem {
 
   /**
    * Calculates the discounted unit price based on the quantity.
+   * <p>
+   * The discount rate is taken from the quantity discount curve assigned to the product category.
+   * Products of categories without a curve do not receive a quantity discount.
    *
    * @param quantity the quantity of the product
    * @return the discounted unit price
+   * @see QuantityDiscountCurves
    */
   protected static BigDecimal calculateQuantityDiscountRate(
       BigDecimal quantity, String productCategory) {
-    QuantityDiscountFactor quantityDiscount = new QuantityDiscountFactor();
-    BigDecimal discountRate = quantityDiscount.apply(quantity);
+    QuantityDiscountCurve curve = QuantityDiscountCurves.defaults()
+        .curveForCategory(productCategory);
+    BigDecimal discountRate = curve.rateFor(quantity.intValue());
     // Round up to the second digit
-    return DATA_ANALYSIS.contains(productCategory)
-        ? discountRate.setScale(4, RoundingMode.HALF_UP)
-        : BigDecimal.ZERO;
+    return curve == QuantityDiscountCurve.NONE
+        ? BigDecimal.ZERO
+        : discountRate.setScale(4, RoundingMode.HALF_UP);
   }
 
   /**
@@ -282,8 +334,7 @@ public class ProductItem {
    * <code>false</code>
    */
   public boolean hasDiscount() {
-    refresh();
-    return discountRate.compareTo(BigDecimal.ZERO) > 0;
+    return getPrices().hasDiscount();
   }
 
   /**
@@ -292,8 +343,7 @@ public class ProductItem {
    * @return between 0 for no discount and {@link ProductItem#getUnitPrice()} for 100% discount
    */
   public BigDecimal getUnitDiscountAmount() {
-    refresh();
-    return this.unitPrice.multiply(this.discountRate).setScale(2, RoundingMode.HALF_UP);
+    return getPrices().getUnitDiscountAmount();
   }
 
   /**
@@ -302,9 +352,7 @@ public class ProductItem {
    * @return between 0 for no discount and {@link ProductItem#getListPrice()} for 100% discount.
    */
   public BigDecimal getDiscountAmount() {
-    refresh();
-    return getUnitDiscountAmount().multiply(BigDecimal.valueOf(quantity))
-        .setScale(2, RoundingMode.HALF_UP);
+    return getPrices().getDiscountAmount();
   }
 
   /**
@@ -313,8 +361,7 @@ public class ProductItem {
    * @return the numerical value of the unit list price
    */
   public BigDecimal getUnitPrice() {
-    refresh();
-    return this.unitPrice;
+    return getPrices().getUnitPrice();
   }
 
   /**
@@ -324,8 +371,7 @@ public class ProductItem {
    * @return the list price of this item.
    */
   public BigDecimal getListPrice() {
-    refresh();
-    return this.unitPrice.multiply(BigDecimal.valueOf(quantity)).setScale(2, RoundingMode.HALF_UP);
+    return getPrices().getListPrice();
   }
 
   /**
@@ -334,8 +380,7 @@ public class ProductItem {
    * @return the discounted item's unit price multiplied with its quantity minus applied discounts.
    */
   public BigDecimal getSalePrice() {
-    refresh();
-    return getListPrice().subtract(getDiscountAmount()).setScale(2, RoundingMode.HALF_UP);
+    return getPrices().getSalePrice();
   }
 
   /**
@@ -347,8 +392,7 @@ public class ProductItem {
    * @return value in the range [0, 1]
    */
   public BigDecimal getDiscountRate() {
-    refresh();
-    return discountRate;
+    return getPrices().getDiscountRate();
   }
 
   @Override
@@ -369,4 +413,37 @@ public class ProductItem {
     return Objects.hash(product, quantity, offer);
   }
 
+  /**
+   * The prices of an item together with the inputs they were computed from.
+   */
+  private static final class PricedState {
+
+    private final AffiliationCategory affiliationCategory;
+
+    private final Double quantity;
+
+    private final Product product;
+
+    private final String productCategory;
+
+    private final ProductItemPrices prices;
+
+    private PricedState(AffiliationCategory affiliationCategory, Double quantity, Product product,
+        ProductItemPrices prices) {
+      this.affiliationCategory = affiliationCategory;
+      this.quantity = quantity;
+      this.product = product;
+      this.productCategory = product.getCategory();
+      this.prices = prices;
+    }
+
+    private boolean isPricedFor(AffiliationCategory affiliationCategory, Double quantity,
+        Product product) {
+      return this.affiliationCategory == affiliationCategory
+          && this.product == product
+          && this.quantity.equals(quantity)
+          && Objects.equals(this.productCategory, product.getCategory());
+    }
+  }
+
 }
@@ -0,0 +1,128 @@
+package life.qbic.business.products;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * <b>Prices of a product item</b>
+ *
+ * <p>An immutable snapshot of all prices of a {@link ProductItem} for a given affiliation
+ * category and quantity. All amounts are computed once, when the snapshot is created, and rounded
+ * to two decimal places with {@link RoundingMode#HALF_UP}.</p>
+ *
+ * @since 1.11.0
+ */
+public final class ProductItemPrices {
+
+  private final BigDecimal unitPrice;
+
+  private final BigDecimal discountRate;
+
+  private final BigDecimal unitDiscountAmount;
+
+  private final BigDecimal discountAmount;
+
+  private final BigDecimal listPrice;
+
+  private final BigDecimal salePrice;
+
+  /**
+   * Computes the prices of an item from its unit price, discount rate and quantity.
+   *
+   * @param unitPrice    the unit price relevant for the customer's affiliation
+   * @param discountRate the discount rate in the range [0, 1]
+   * @param quantity     the quantity of the item
+   * @return the prices of the item
+   */
+  public static ProductItemPrices of(BigDecimal unitPrice, BigDecimal discountRate, BigDecimal quantity) {
+    return new ProductItemPrices(unitPrice, discountRate, quantity);
+  }
+
+  private ProductItemPrices(BigDecimal unitPrice, BigDecimal discountRate, BigDecimal quantity) {
+    this.unitPrice = Objects.requireNonNull(unitPrice, "Unit price must not be null");
+    this.discountRate = Objects.requireNonNull(discountRate, "Discount rate must not be null");
+    Objects.requireNonNull(quantity, "Quantity must not be null");
+    this.unitDiscountAmount = unitPrice.multiply(discountRate).setScale(2, RoundingMode.HALF_UP);
+    this.discountAmount = unitDiscountAmount.multiply(quantity).setScale(2, RoundingMode.HALF_UP);
+    this.listPrice = unitPrice.multiply(quantity).setScale(2, RoundingMode.HALF_UP);
+    this.salePrice = listPrice.subtract(discountAmount).setScale(2, RoundingMode.HALF_UP);
+  }
+
+  /**
+   * @return the unit price relevant for the customer's affiliation
+   */
+  public BigDecimal getUnitPrice() {
+    return unitPrice;
+  }
+
+  /**
+   * @return the discount rate in the range [0, 1]
+   */
+  public BigDecimal getDiscountRate() {
+    return discountRate;
+  }
+
+  /**
+   * @return the amount of money discounted from the unit price
+   */
+  public BigDecimal getUnitDiscountAmount() {
+    return unitDiscountAmount;
+  }
+
+  /**
+   * @return the amount of money discounted from the list price
+   */
+  public BigDecimal getDiscountAmount() {
+    return discountAmount;
+  }
+
+  /**
+   * @return the unit price multiplied by the quantity, without discounts
+   */
+  public BigDecimal getListPrice() {
+    return listPrice;
+  }
+
+  /**
+   * @return the list price minus the discount amount
+   */
+  public BigDecimal getSalePrice() {
+    return salePrice;
+  }
+
+  /**
+   * @return <code>true</code>, if a discount applies, else <code>false</code>
+   */
+  public boolean hasDiscount() {
+    return discountRate.compareTo(BigDecimal.ZERO) > 0;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ProductItemPrices that = (ProductItemPrices) o;
+    return unitPrice.equals(that.unitPrice) && discountRate.equals(that.discountRate)
+        && listPrice.equals(that.listPrice) && salePrice.equals(that.salePrice);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(unitPrice, discountRate, listPrice, salePrice);
+  }
+
+  @Override
+  public String toString() {
+    return "ProductItemPrices{" +
+        "unitPrice=" + unitPrice +
+        ", discountRate=" + discountRate +
+        ", listPrice=" + listPrice +
+        ", salePrice=" + salePrice +
+        '}';
+  }
+}
@@ -2,6 +2,7 @@ package life.qbic.business.products.archive
 
 import life.qbic.business.exceptions.DatabaseQueryException
 import life.qbic.business.products.Product
+import life.qbic.business.products.ProductFingerprintIndex
 
 /**
  * <h1>4.3.2 Archive Service Product</h1>
@@ -17,10 +18,25 @@ class ArchiveProduct implements ArchiveProductInput {
 
   private final ArchiveProductDataSource dataSource
   private final ArchiveProductOutput output
+  private final ProductFingerprintIndex productIndex
 
   ArchiveProduct(ArchiveProductDataSource dataSource, ArchiveProductOutput output) {
+    this(dataSource, output, new ProductFingerprintIndex())
+  }
+
+  /**
+   * Creates the use case with an index of known products.
+   * Archived products are removed from the index.
+   *
+   * @param dataSource the data source archiving the products
+   * @param output the output receiving the results
+   * @param productIndex the index of known active products
+   * @since 1.11.0
+   */
+  ArchiveProduct(ArchiveProductDataSource dataSource, ArchiveProductOutput output, ProductFingerprintIndex productIndex) {
     this.dataSource = dataSource
     this.output = output
+    this.productIndex = productIndex
   }
 
   @Override
@@ -29,6 +45,7 @@ class ArchiveProduct implements ArchiveProductInput {
       Optional<Product> searchResult = this.dataSource.fetch(productId)
       if (searchResult.isPresent()) {
         dataSource.archive(searchResult.get())
+        productIndex.remove(productId)
         output.archived(searchResult.get())
       } else {
         output.failNotification("Could not find a product with identifier ${productId.toString()}")
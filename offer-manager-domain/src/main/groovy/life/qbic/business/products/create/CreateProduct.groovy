@@ -7,6 +7,7 @@ import life.qbic.business.logging.Logger
 import life.qbic.business.logging.Logging
 import life.qbic.business.products.Product
 import life.qbic.business.products.ProductDraft
+import life.qbic.business.products.ProductFingerprintIndex
 
 /**
  * <h1>4.3.0 Create Service Product</h1>
@@ -21,11 +22,28 @@ import life.qbic.business.products.ProductDraft
 class CreateProduct implements CreateProductInput {
   private final CreateProductDataSource dataSource
   private final CreateProductOutput output
+  private final ProductFingerprintIndex productIndex
   private static final Logging log = Logger.getLogger(this.class)
 
   CreateProduct(CreateProductDataSource dataSource, CreateProductOutput output) {
+    this(dataSource, output, new ProductFingerprintIndex())
+  }
+
+  /**
+   * Creates the use case with an index of known products.
+   *
+   * Duplicates known to the index are reported without querying the data source. Created
+   * products are added to the index.
+   *
+   * @param dataSource the data source storing the products
+   * @param output the output receiving the results
+   * @param productIndex the index of known active products
+   * @since 1.11.0
+   */
+  CreateProduct(CreateProductDataSource dataSource, CreateProductOutput output, ProductFingerprintIndex productIndex) {
     this.dataSource = dataSource
     this.output = output
+    this.productIndex = productIndex
   }
 
   @Override
@@ -55,6 +73,10 @@ class CreateProduct implements CreateProductInput {
   }
 
   private List<Product> getDuplicateProducts(ProductDraft productDraft) {
+    List<Product> knownDuplicates = productIndex.findDuplicates(productDraft)
+    if (!knownDuplicates.isEmpty()) {
+      return knownDuplicates
+    }
     List<Product> duplicateProducts = dataSource.findDuplicateProducts(productDraft)
     return duplicateProducts
   }
@@ -63,6 +85,7 @@ class CreateProduct implements CreateProductInput {
     Product storedProduct = dataSource.store(productDraft)
     //create product with new product ID
     if (storedProduct) {
+      productIndex.add(storedProduct)
       output.created(storedProduct)
       log.info("${storedProduct.productName} with product identifier ${storedProduct.productId} was created successfully.")
     } else {
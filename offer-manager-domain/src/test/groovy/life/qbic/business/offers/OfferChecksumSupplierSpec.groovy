@@ -0,0 +1,104 @@
+package life.qbic.business.offers
+
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.persons.Person
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+import spock.lang.Specification
+
+/**
+ * <p>Verifies the format of offer checksums and that the checksum follows the offer content</p>
+ *
+ * @since 1.11.0
+ */
+class OfferChecksumSupplierSpec extends Specification {
+
+    def "checksums have a fixed width and name their format"() {
+        expect:
+        (1..50).every {
+            String checksum = offer("title $it").getChecksum()
+            checksum.startsWith(OfferV2.CHECKSUM_FORMAT_PREFIX) &&
+                    checksum.length() == OfferChecksumSupplier.CHECKSUM_LENGTH &&
+                    checksum.substring(OfferV2.CHECKSUM_FORMAT_PREFIX.length()) ==~ /[0-9a-f]{64}/
+        }
+    }
+
+    def "offers with equal content have equal checksums"() {
+        expect:
+        offer("Ünïcödé 𝄞 title").getChecksum() == offer("Ünïcödé 𝄞 title").getChecksum()
+    }
+
+    def "the checksum is reused until the content changes"() {
+        given:
+        OfferV2 offer = offer("title")
+        String checksum = offer.getChecksum()
+
+        expect: "the same instance is returned for an unchanged offer"
+        offer.getChecksum().is(checksum)
+
+        when: "the title changes"
+        offer.setProjectTitle("another title")
+
+        then: "the checksum changes"
+        offer.getChecksum() != checksum
+        offer.getChecksum() == offer("another title").getChecksum()
+    }
+
+    def "changing the items changes the checksum"() {
+        given:
+        OfferV2 offer = offer("title")
+        String checksum = offer.getChecksum()
+
+        when:
+        offer.updateQuantity(offer.items.first(), 7.0)
+
+        then:
+        offer.getChecksum() != checksum
+    }
+
+    def "fields are separated, so moving text between fields changes the checksum"() {
+        given:
+        OfferV2 first = offer("ab")
+        first.setProjectObjective("c")
+        OfferV2 second = offer("a")
+        second.setProjectObjective("bc")
+
+        expect:
+        first.getChecksum() != second.getChecksum()
+    }
+
+    def "offers that differ only in item prices have different checksums"() {
+        given:
+        OfferV2 offer = offer("title")
+        OfferV2 repriced = offer("title")
+        repriced.setItems([new ProductItem(repriced, new Product("Sequencing", 11.0, 21.0), 5.0)])
+
+        expect:
+        offer.getChecksum() != repriced.getChecksum()
+    }
+
+    def "stored checksums of an outdated format are computed again"() {
+        given:
+        OfferV2 offer = offer("title")
+        String currentChecksum = offer.getChecksum()
+
+        when: "a checksum of the first format is loaded"
+        offer.setChecksum("3a7bd3e2360a3d29eea436fcfb7e44c735d117c42d1c1835420b6b9942dd4f1")
+
+        then:
+        offer.getChecksum() == currentChecksum
+    }
+
+    private static OfferV2 offer(String title) {
+        OfferV2 offer = new OfferV2(new Affiliation("QBiC", "", "Auf der Morgenstelle", "", "", "Germany", AffiliationCategory.INTERNAL),
+                new OfferId("checksum", "abcd", 1))
+        offer.setProjectTitle(title)
+        offer.setProjectObjective("objective")
+        offer.setCustomer(new Person("", "", "customer", "", "", [], "customer-reference"))
+        offer.setProjectManager(new Person("", "", "manager", "", "", [], "manager-reference"))
+        offer.setItems([new ProductItem(offer, new Product("Sequencing", 10.0, 20.0), 5.0)])
+        return offer
+    }
+}
@@ -217,6 +217,64 @@ class OfferV2Spec extends Specification {
     affiliationCategory << AffiliationCategory.values()
   }
 
+  def "expect the incrementally updated prices to match a full recompute after #edits random edits"() {
+    given: "an offer with items of each category"
+    OfferV2 offer = createOfferWithItemsOfEachCategory(affiliationCategory as AffiliationCategory, "Germany")
+    Random random = new Random(edits)
+    List<String> categories = ["Sequencing", "Primary Bioinformatics", "Data Storage", "Project Management", "External Service"]
+
+    when: "items are added, removed and changed in quantity"
+    edits.times {
+      List<ProductItem> currentItems = offer.getItems()
+      int action = currentItems ? random.nextInt(3) : 0
+      if (action == 0) {
+        Product product = new Product(categories[random.nextInt(categories.size())], random.nextInt(10000) / 100, random.nextInt(10000) / 100)
+        offer.addItem(new ProductItem(offer, product, (double) (random.nextInt(300) + 1)))
+      } else if (action == 1) {
+        offer.removeItem(currentItems[random.nextInt(currentItems.size())])
+      } else {
+        offer.updateQuantity(currentItems[random.nextInt(currentItems.size())], (double) (random.nextInt(300) + 1))
+      }
+    }
+    and: "a copy of the offer is fully recomputed"
+    OfferV2 recomputedOffer = OfferV2.copyOf(offer)
+    recomputedOffer.setSelectedCustomerAffiliation(recomputedOffer.getSelectedCustomerAffiliation())
+
+    then: "the incremental prices match the recomputed prices"
+    haveSamePrices(offer, recomputedOffer)
+
+    where:
+    [affiliationCategory, edits] << [AffiliationCategory.values(), [1, 10, 100]].combinations()
+  }
+
+  def "expect a quantity change to keep the position of the item"() {
+    given: "an offer with items of each category"
+    OfferV2 offer = createOfferWithItemsOfEachCategory(AffiliationCategory.EXTERNAL, "Germany")
+    ProductItem item = offer.getItems()[1]
+
+    when: "the quantity of an item is changed"
+    ProductItem updatedItem = offer.updateQuantity(item, 42.0)
+
+    then: "the updated item replaces the item at its position"
+    offer.getItems()[1].is(updatedItem)
+    updatedItem.quantity == 42.0
+    !offer.getItems().any { it.is(item) }
+  }
+
+  def "expect removing an item that is not part of the offer to change nothing"() {
+    given: "an offer with items of each category"
+    OfferV2 offer = createOfferWithItemsOfEachCategory(AffiliationCategory.INTERNAL, "Germany")
+    BigDecimal salePrice = offer.salePrice
+
+    when: "an item of another offer is removed"
+    boolean removed = offer.removeItem(createDataAnalysisItem(createOfferWithoutItems(AffiliationCategory.INTERNAL, "Germany")))
+
+    then: "the offer is unchanged"
+    !removed
+    offer.items.size() == 4
+    offer.salePrice == salePrice
+  }
+
   def "expect an offer to have an expiration date of 90 days after upon creation"() {
     when: "an offer is created"
     def offer = createOfferWithoutItems(AffiliationCategory.INTERNAL, "no country")
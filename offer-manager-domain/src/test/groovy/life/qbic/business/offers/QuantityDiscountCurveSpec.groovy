@@ -0,0 +1,138 @@
+package life.qbic.business.offers
+
+import spock.lang.Shared
+import spock.lang.Specification
+
+/**
+ * <p>Verifies that the quantity discount curves are loaded and resolved as expected</p>
+ *
+ * @since 1.11.0
+ */
+class QuantityDiscountCurveSpec extends Specification {
+
+    @Shared
+    QuantityDiscountCurves curves = QuantityDiscountCurves.defaults()
+
+    def "The default curve grants a rate of 1 - #priceFactor for #sampleCount samples"() {
+        when: "the rate is looked up"
+        BigDecimal rate = curves.curve(QuantityDiscountFactor.DEFAULT_CURVE).rateFor(sampleCount)
+
+        then: "it matches the configured price factor"
+        rate == 1 - priceFactor
+
+        where:
+        sampleCount | priceFactor
+        0           | 1.00
+        1           | 1.00
+        2           | 0.98
+        24          | 0.49
+        128         | 0.28
+        129         | 0.28
+        143         | 0.28
+        144         | 0.27
+        1000        | 0.18
+        200000      | 0.18
+    }
+
+    def "The dense table and the tier search agree for all sample counts"() {
+        given: "the default curve"
+        QuantityDiscountCurve curve = curves.curve(QuantityDiscountFactor.DEFAULT_CURVE)
+
+        expect: "the rate for every sample count matches the former quantity discount factor"
+        (0..1200).every { int sampleCount ->
+            curve.rateFor(sampleCount) == expectedRate(sampleCount)
+        }
+    }
+
+    def "Lookups return the same instance for repeated sample counts"() {
+        given: "the default curve"
+        QuantityDiscountCurve curve = curves.curve(QuantityDiscountFactor.DEFAULT_CURVE)
+
+        expect:
+        curve.rateFor(sampleCount).is(curve.rateFor(sampleCount))
+
+        where:
+        sampleCount << [5, 128, 500, 5000]
+    }
+
+    def "Data analysis categories use the default curve, other categories receive no discount"() {
+        expect:
+        curves.curveForCategory(category).is(expectedCurve)
+
+        where:
+        category                  | expectedCurve
+        "Primary Bioinformatics"   | curves.curve(QuantityDiscountFactor.DEFAULT_CURVE)
+        "Secondary Bioinformatics" | curves.curve(QuantityDiscountFactor.DEFAULT_CURVE)
+        "Sequencing"               | QuantityDiscountCurve.NONE
+        null                       | QuantityDiscountCurve.NONE
+    }
+
+    def "Curves with unsorted tiers are rejected"() {
+        when:
+        QuantityDiscountCurve.of("broken", [10, 5] as int[], [0.1, 0.2] as BigDecimal[])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "A category can choose among several named curves"() {
+        given: "a category assigned to two curves"
+        QuantityDiscountCurve standard = QuantityDiscountCurve.of("standard", [10] as int[], [0.1] as BigDecimal[])
+        QuantityDiscountCurve bulk = QuantityDiscountCurve.of("bulk", [10] as int[], [0.3] as BigDecimal[])
+        QuantityDiscountCurves categoryCurves = new QuantityDiscountCurves(["standard": standard, "bulk": bulk],
+                ["Sequencing": "standard, bulk", "Proteomics": "bulk"])
+
+        expect: "the first curve is the default and the others are chosen by name"
+        categoryCurves.curvesForCategory("Sequencing") == [standard, bulk]
+        categoryCurves.curveForCategory("Sequencing").is(standard)
+        categoryCurves.curveForCategory("Sequencing", null).is(standard)
+        categoryCurves.curveForCategory("Sequencing", "bulk").is(bulk)
+        categoryCurves.curveForCategory("Proteomics").is(bulk)
+        categoryCurves.curvesForCategory("Metabolomics").isEmpty()
+    }
+
+    def "Curves not assigned to a category cannot be chosen for it"() {
+        given:
+        QuantityDiscountCurve bulk = QuantityDiscountCurve.of("bulk", [10] as int[], [0.3] as BigDecimal[])
+        QuantityDiscountCurves categoryCurves = new QuantityDiscountCurves(["bulk": bulk], ["Proteomics": "bulk"])
+
+        when:
+        categoryCurves.curveForCategory("Sequencing", "bulk")
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "Categories assigned to an unknown curve are rejected"() {
+        when:
+        new QuantityDiscountCurves([:], ["Sequencing": "unknown"])
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "Negative sample counts are not defined"() {
+        when:
+        QuantityDiscountCurve.NONE.rateFor(-1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private static BigDecimal expectedRate(int sampleCount) {
+        List<List<Number>> tiers = [[1, 1.00], [2, 0.98], [3, 0.95], [4, 0.89], [5, 0.84], [6, 0.79],
+                                    [7, 0.76], [8, 0.72], [9, 0.69], [10, 0.67], [11, 0.64],
+                                    [12, 0.62], [13, 0.60], [14, 0.59], [15, 0.57], [16, 0.56],
+                                    [17, 0.55], [18, 0.54], [19, 0.53], [20, 0.52], [21, 0.51],
+                                    [22, 0.50], [24, 0.49], [25, 0.48], [27, 0.47], [28, 0.46],
+                                    [30, 0.45], [32, 0.44], [35, 0.43], [37, 0.42], [40, 0.41],
+                                    [43, 0.40], [46, 0.39], [50, 0.38], [55, 0.37], [59, 0.36],
+                                    [65, 0.35], [72, 0.34], [79, 0.33], [88, 0.32], [98, 0.31],
+                                    [111, 0.30], [125, 0.29], [143, 0.28], [164, 0.27],
+                                    [191, 0.26], [225, 0.25], [267, 0.24], [323, 0.23],
+                                    [398, 0.22], [496, 0.21], [643, 0.20], [840, 0.19],
+                                    [1000, 0.18]]
+        List<Number> tier = tiers.find { sampleCount <= (it[0] as int) } ?: tiers.last()
+        return 1 - (tier[1] as BigDecimal)
+    }
+}
@@ -10,7 +10,9 @@ import spock.lang.Specification
  */
 class QuantityDiscountSpec extends Specification {
     @Shared
-    private final String DISCOUNT_FILE_NAME = "discount_per_sample_size.csv"
+    private final String DISCOUNT_FILE_NAME = QuantityDiscountCurves.CURVES_RESOURCE
+    @Shared
+    private final String CURVE_NAME = "data-analysis"
     @Shared
     private Map<Integer, BigDecimal> discountMap = readDiscountMapFromFile()
 
@@ -60,21 +62,27 @@ class QuantityDiscountSpec extends Specification {
         maxDefinedCount = 1000
     }
 
+    /**
+     * Expands the tiers of the discount curve to the price factor of every sample count up to the
+     * last tier
+     */
     private Map<Integer, BigDecimal> readDiscountMapFromFile() {
-        URL discountUrl = QuantityDiscountSpec.class.getClassLoader().getResource(DISCOUNT_FILE_NAME)
-        File discountFile = new File(discountUrl.getFile())
+        InputStream discountStream = QuantityDiscountSpec.class.getClassLoader().getResourceAsStream(DISCOUNT_FILE_NAME)
         Map<Integer, BigDecimal> resultingMap = new HashMap<>()
-        discountFile.withReader {reader ->
+        int firstSampleCount = 1
+        discountStream.withReader { reader ->
             def lines = reader.readLines()
             for (String line : lines) {
-                try {
-                    def fields = line.split(",")
-                    Integer number = new Integer(fields[0].trim())
-                    BigDecimal discount = new BigDecimal(fields[1].trim())
-                    resultingMap.put(number, discount)
-                } catch (NumberFormatException ignored) {
+                def fields = line.split(",")
+                if (line.startsWith("#") || fields[0].trim() != CURVE_NAME) {
                     continue
                 }
+                int maxSamples = new Integer(fields[1].trim())
+                BigDecimal discount = new BigDecimal(fields[2].trim())
+                for (int sampleCount = firstSampleCount; sampleCount <= maxSamples; sampleCount++) {
+                    resultingMap.put(sampleCount, discount)
+                }
+                firstSampleCount = maxSamples + 1
             }
         }
         return resultingMap
@@ -0,0 +1,111 @@
+package life.qbic.business.offers.policies.taxes
+
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import spock.lang.Specification
+
+/**
+ * <p>Verifies that the tax rules resolve shared policies and ratios from their configuration</p>
+ *
+ * @since 1.11.0
+ */
+class TaxRulesSpec extends Specification {
+
+    def "the default rules keep the VAT and overhead ratios of earlier versions"() {
+        given:
+        TaxRules rules = TaxRules.defaults()
+
+        expect:
+        rules.vatRatio("Germany") == 0.19
+        rules.vatRatio("France") == 0
+        rules.overheadRatio(AffiliationCategory.INTERNAL) == 0
+        rules.overheadRatio(AffiliationCategory.EXTERNAL_ACADEMIC) == 0.2
+        rules.overheadRatio(AffiliationCategory.EXTERNAL) == 0.4
+    }
+
+    def "countries are matched ignoring case and surrounding whitespace"() {
+        given:
+        TaxRules rules = TaxRules.defaults()
+
+        expect:
+        rules.policyFor(category, country).is(rules.policyFor(category, "Germany"))
+        rules.vatRatio(country) == 0.19
+
+        where:
+        category << [AffiliationCategory.EXTERNAL, AffiliationCategory.INTERNAL]
+        country << ["germany", " GERMANY "]
+    }
+
+    def "the same policy instance is returned for repeated lookups"() {
+        given:
+        TaxRules rules = TaxRules.defaults()
+
+        expect:
+        rules.policyFor(category, country).is(rules.policyFor(category, country))
+
+        where:
+        category                              | country
+        AffiliationCategory.INTERNAL          | "Germany"
+        AffiliationCategory.EXTERNAL_ACADEMIC | "Germany"
+        AffiliationCategory.EXTERNAL          | "France"
+    }
+
+    def "countries and exemptions can be added to the configuration"() {
+        given:
+        Properties properties = new Properties()
+        properties.putAll(["vat.Germany"               : "0.19",
+                           "vat.Austria"               : "0.2",
+                           "vat.United Kingdom"        : "0.2",
+                           "vat-exempt.INTERNAL"       : "Germany, Austria",
+                           "vat-exempt.EXTERNAL_ACADEMIC": "austria",
+                           "overhead.INTERNAL"         : "0",
+                           "overhead.EXTERNAL_ACADEMIC": "0.2",
+                           "overhead.EXTERNAL"         : "0.4"])
+
+        when:
+        TaxRules rules = TaxRules.of(properties)
+
+        then:
+        rules.policyFor(AffiliationCategory.EXTERNAL, "Austria").getVatRatio() == 0.2
+        rules.policyFor(AffiliationCategory.EXTERNAL, "united kingdom").calculateTaxes(10.0) == 2.0
+        rules.policyFor(AffiliationCategory.EXTERNAL_ACADEMIC, "Austria").getVatRatio() == 0
+        rules.policyFor(AffiliationCategory.EXTERNAL_ACADEMIC, "Germany").getVatRatio() == 0.19
+        rules.policyFor(AffiliationCategory.INTERNAL, "Austria") instanceof InternalTaxPolicy
+        rules.policyFor(AffiliationCategory.EXTERNAL, "France") instanceof OutsideGermanyTaxPolicy
+    }
+
+    def "malformed rules are rejected"() {
+        given:
+        Properties properties = new Properties()
+        properties.putAll(["overhead.INTERNAL"         : "0",
+                           "overhead.EXTERNAL_ACADEMIC": "0.2",
+                           "overhead.EXTERNAL"         : "0.4"])
+        properties.put(key, value)
+
+        when:
+        TaxRules.of(properties)
+
+        then:
+        thrown(IllegalStateException)
+
+        where:
+        key                  | value
+        "vat.Germany"        | "nineteen percent"
+        "vat.Germany"        | "19"
+        "vat-exempt.STUDENT" | "Germany"
+        "overhead.EXTERNAL"  | "-0.4"
+        "tax.Germany"        | "0.19"
+    }
+
+    def "every affiliation category needs an overhead ratio"() {
+        given:
+        Properties properties = new Properties()
+        properties.putAll(["vat.Germany"      : "0.19",
+                           "overhead.INTERNAL": "0"])
+
+        when:
+        TaxRules.of(properties)
+
+        then:
+        thrown(IllegalStateException)
+    }
+}
@@ -0,0 +1,170 @@
+package life.qbic.business.offers.pricing
+
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+import spock.lang.Specification
+
+/**
+ * <p>Verifies that the fixed point pricing kernel computes the same prices as the decimal pricing
+ * of offers and items</p>
+ *
+ * <p>The number of random offers compared can be raised with the system property
+ * <code>pricing.differential.offers</code>, e.g. to one million for a thorough run. The seed can
+ * be set with <code>pricing.differential.seed</code>.</p>
+ *
+ * @since 1.11.0
+ */
+class FixedPointPricingKernelSpec extends Specification {
+
+    private static final int OFFER_COUNT = Integer.getInteger("pricing.differential.offers", 20_000)
+
+    private static final long SEED = Long.getLong("pricing.differential.seed", 20221018L)
+
+    private static final List<String> PRODUCT_CATEGORIES = ["Sequencing", "Proteomics", "Metabolomics",
+                                                            "Primary Bioinformatics", "Secondary Bioinformatics",
+                                                            "Project Management", "Data Storage",
+                                                            "External Service", "Unpriced Category"]
+
+    def "the fixed point kernel matches the exact prices of random offers"() {
+        given: "a reproducible source of random offers"
+        Random random = new Random(SEED)
+        List<String> mismatches = []
+
+        when: "random offers are priced by both kernels"
+        OFFER_COUNT.times {
+            OfferV2 offer = randomOffer(random)
+            OfferPrices exact = PricingKernel.EXACT.price(offer)
+            OfferPrices fixedPoint = PricingKernel.FIXED_POINT.price(offer)
+            if (!exact.hasSameAmounts(fixedPoint) && mismatches.size() < 10) {
+                mismatches << "${offer.identifier}: expected ${exact} but was ${fixedPoint}".toString()
+            }
+        }
+
+        then: "all prices are equal"
+        mismatches.isEmpty()
+    }
+
+    def "the fixed point item amounts match the item prices"() {
+        given: "random offers"
+        Random random = new Random(SEED + 1)
+        List<OfferV2> offers = (1..500).collect { randomOffer(random) }
+
+        expect: "every item amount is equal"
+        offers.every { OfferV2 offer ->
+            AffiliationCategory category = offer.selectedCustomerAffiliation.category
+            offer.items.every { ProductItem item -> hasSameAmounts(item, category) }
+        }
+    }
+
+    def "offers with quantities of more than four decimal places are priced exactly"() {
+        given: "an offer with a quantity that has five decimal places"
+        OfferV2 offer = new OfferV2(new Affiliation("", "", "", "", "", "Germany", AffiliationCategory.EXTERNAL), new OfferId("test", "abcd", 1))
+        offer.addItems([new ProductItem(offer, new Product("Sequencing", 12.5, 17.35), 1.23456)])
+
+        expect:
+        PricingKernel.FIXED_POINT.price(offer).hasSameAmounts(PricingKernel.EXACT.price(offer))
+    }
+
+    def "the plain inputs of random offers are priced like the offers"() {
+        given: "random offers"
+        Random random = new Random(SEED + 2)
+        List<OfferV2> offers = (1..500).collect { randomOffer(random) }
+
+        expect: "the prices of their plain inputs equal the exact prices"
+        offers.every { OfferV2 offer ->
+            List<PricingItem> items = offer.items.collect { ProductItem item -> PricingItem.of(item) }
+            AffiliationCategory category = offer.selectedCustomerAffiliation.category
+            FixedPointPricingKernel.priceItems(items, category, OfferV2.determineOverheadRate(category), offer.vatRatio)
+                    .hasSameAmounts(PricingKernel.EXACT.price(offer))
+        }
+    }
+
+    def "plain inputs with quantities of more than four decimal places are priced in decimal arithmetic"() {
+        given: "an offer with a quantity that has five decimal places"
+        OfferV2 offer = new OfferV2(new Affiliation("", "", "", "", "", "Germany", AffiliationCategory.EXTERNAL), new OfferId("test", "abcd", 1))
+        offer.addItems([new ProductItem(offer, new Product("Sequencing", 12.5, 17.35), 1.23456)])
+
+        when:
+        OfferPrices prices = FixedPointPricingKernel.priceItems([PricingItem.of("Sequencing", 12.5, 17.35, 1.23456)],
+                AffiliationCategory.EXTERNAL, OfferV2.determineOverheadRate(AffiliationCategory.EXTERNAL), offer.vatRatio)
+
+        then:
+        prices.hasSameAmounts(PricingKernel.EXACT.price(offer))
+    }
+
+    def "divideHalfUp rounds #dividend / #divisor to #expected"() {
+        expect:
+        FixedPointPricingKernel.divideHalfUp(dividend, divisor) == expected
+
+        where:
+        dividend | divisor | expected
+        14999    | 10000   | 1
+        15000    | 10000   | 2
+        25000    | 10000   | 3
+        -15000   | 10000   | -2
+        -14999   | 10000   | -1
+        0        | 10000   | 0
+    }
+
+    def "amounts are converted to cents like BigDecimal rounds them"() {
+        expect:
+        FixedPointPricingKernel.toCents(amount) == BigDecimal.valueOf(amount).setScale(2, java.math.RoundingMode.HALF_UP).unscaledValue().longValueExact()
+
+        where:
+        amount << [0d, 1.15d, 2.675d, 0.005d, 1234567.89d, 99.995d, 0.1d + 0.2d]
+    }
+
+    private static boolean hasSameAmounts(ProductItem item, AffiliationCategory affiliationCategory) {
+        Double unitPrice = affiliationCategory == AffiliationCategory.INTERNAL ? item.internalUnitPrice : item.externalUnitPrice
+        long unitCents = FixedPointPricingKernel.toCents(unitPrice)
+        long quantityUnits = FixedPointPricingKernel.toQuantityUnits(item.quantity)
+        int discount = FixedPointPricingKernel.discountBasisPoints(affiliationCategory, item.quantity, item.product.category, item.productCategory)
+        long unitDiscountCents = FixedPointPricingKernel.unitDiscountCents(unitCents, discount)
+        long discountCents = FixedPointPricingKernel.discountAmountCents(unitDiscountCents, quantityUnits)
+        long listCents = FixedPointPricingKernel.listPriceCents(unitCents, quantityUnits)
+        return item.unitPrice == BigDecimal.valueOf(unitCents, 2) &&
+                item.discountRate == BigDecimal.valueOf(discount, 4) &&
+                item.unitDiscountAmount == BigDecimal.valueOf(unitDiscountCents, 2) &&
+                item.discountAmount == BigDecimal.valueOf(discountCents, 2) &&
+                item.listPrice == BigDecimal.valueOf(listCents, 2) &&
+                item.salePrice == BigDecimal.valueOf(listCents - discountCents, 2)
+    }
+
+    private static OfferV2 randomOffer(Random random) {
+        AffiliationCategory category = AffiliationCategory.values()[random.nextInt(AffiliationCategory.values().length)]
+        String country = random.nextInt(4) == 0 ? "Austria" : "Germany"
+        Affiliation affiliation = new Affiliation("", "", "", "", "", country, category)
+        OfferV2 offer = new OfferV2(affiliation, new OfferId("diff", "abcd", random.nextInt(1000) + 1))
+        int itemCount = random.nextInt(25)
+        List<ProductItem> items = (0..<itemCount).collect {
+            Product product = new Product(PRODUCT_CATEGORIES[random.nextInt(PRODUCT_CATEGORIES.size())],
+                    randomPrice(random), randomPrice(random))
+            new ProductItem(offer, product, randomQuantity(random))
+        }
+        offer.addItems(items)
+        return offer
+    }
+
+    private static double randomPrice(Random random) {
+        if (random.nextInt(20) == 0) {
+            // prices of products created without rounding the unit price
+            return random.nextInt(10_000_000) / 1000d
+        }
+        return random.nextInt(10_000_000) / 100d
+    }
+
+    private static double randomQuantity(Random random) {
+        switch (random.nextInt(10)) {
+            case 0:
+                return random.nextInt(1000) / 100d
+            case 1:
+                return random.nextInt(10_000) + 1
+            default:
+                return random.nextInt(1200) + 1
+        }
+    }
+}
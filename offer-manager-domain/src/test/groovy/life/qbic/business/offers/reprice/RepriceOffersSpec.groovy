@@ -0,0 +1,156 @@
+package life.qbic.business.offers.reprice
+
+import life.qbic.business.exceptions.DatabaseQueryException
+import life.qbic.business.offers.OfferExistsException
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.offers.pricing.PricingKernel
+import life.qbic.business.persons.Person
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+import spock.lang.Specification
+
+/**
+ * <p>Tests the bulk re-pricing of offers</p>
+ *
+ * @since 1.11.0
+ */
+class RepriceOffersSpec extends Specification {
+
+    RepriceOffersDataSource dataSource = Mock()
+    RepriceOffersOutput output = Mock()
+
+    Product sequencing = product("SE_1", "Sequencing", 10.0, 20.0)
+    Product storage = product("DS_1", "Data Storage", 5.0, 6.0)
+
+    def "a preview reports the price changes without storing offers"() {
+        given: "two offers containing the updated product"
+        OfferV2 first = offer("first", [sequencing, storage])
+        OfferV2 second = offer("second", [sequencing])
+        dataSource.findOpenOffersContaining(["SE_1"] as Set, _) >> [first, second]
+        RepricingReport report = null
+
+        when: "the re-pricing is previewed"
+        new RepriceOffers(dataSource, output).previewRepricing([new ProductPriceUpdate("SE_1", 12.0, 24.0)])
+
+        then: "nothing is stored"
+        0 * dataSource.storeNextVersions(_)
+        0 * dataSource.storeNextVersion(_)
+        1 * output.repricedOffers(_) >> { arguments -> report = arguments[0] }
+
+        and: "the changes of both offers are reported"
+        report.isDryRun()
+        report.priceChanges*.offerId == [first.identifier, second.identifier]
+        report.priceChanges*.repricedOfferId*.version == [2, 2]
+        report.priceChanges.every { it.priceDifference > 0 }
+        report.storedOffers.isEmpty()
+    }
+
+    def "re-priced offers are stored as new versions with the updated prices"() {
+        given:
+        OfferV2 original = offer("original", [sequencing, storage])
+        dataSource.findOpenOffersContaining(_, _) >> [original]
+        List<OfferV2> stored = []
+        BigDecimal originalPrice = original.priceAfterTax
+
+        when:
+        new RepriceOffers(dataSource, output).repriceOffers([new ProductPriceUpdate("SE_1", 12.0, 24.0)])
+
+        then:
+        1 * dataSource.storeNextVersions(_) >> { arguments -> stored.addAll(arguments[0] as List<OfferV2>) }
+        1 * output.repricedOffers({ RepricingReport it -> it.storedOffers.size() == 1 && !it.dryRun })
+
+        and: "the new version holds the new prices and keeps the item order"
+        stored.size() == 1
+        stored[0].identifier == new OfferId("original", "abcd", 2)
+        stored[0].items*.externalUnitPrice == [24.0d, 6.0d]
+        stored[0].items*.offerPosition() == [0, 1]
+        stored[0].items[0].product.id == sequencing.id
+        stored[0].priceAfterTax > originalPrice
+
+        and: "the original offer is not modified"
+        original.items*.externalUnitPrice == [20.0d, 6.0d]
+        original.priceAfterTax == originalPrice
+    }
+
+    def "offers whose prices do not change are not re-priced"() {
+        given:
+        dataSource.findOpenOffersContaining(_, _) >> [offer("unchanged", [sequencing])]
+
+        when:
+        new RepriceOffers(dataSource, output).repriceOffers([new ProductPriceUpdate("SE_1", 10.0, 20.0)])
+
+        then:
+        0 * dataSource.storeNextVersions(_)
+        1 * output.repricedOffers({ RepricingReport it -> it.priceChanges.isEmpty() })
+    }
+
+    def "existing offers of a batch are skipped and the remaining offers are stored"() {
+        given: "three offers in one batch, one of them exists already"
+        List<OfferV2> offers = ["a", "b", "c"].collect { offer(it, [sequencing]) }
+        dataSource.findOpenOffersContaining(_, _) >> offers
+        dataSource.storeNextVersions(_) >> { throw new OfferExistsException("exists") }
+        dataSource.storeNextVersion({ OfferV2 it -> it.identifier.projectPart == "b" }) >> { throw new OfferExistsException("exists") }
+        RepricingReport report = null
+
+        when:
+        new RepriceOffers(dataSource, output, 2, 10, PricingKernel.FIXED_POINT)
+                .repriceOffers([new ProductPriceUpdate("SE_1", 11.0, 21.0)])
+
+        then:
+        1 * output.repricedOffers(_) >> { arguments -> report = arguments[0] }
+        report.storedOffers*.projectPart == ["a", "c"]
+        report.skippedDuplicates*.projectPart == ["b"]
+    }
+
+    def "offers are stored in batches"() {
+        given:
+        dataSource.findOpenOffersContaining(_, _) >> (1..5).collect { offer("offer$it", [sequencing]) }
+
+        when:
+        new RepriceOffers(dataSource, output, 3, 2, PricingKernel.EXACT)
+                .repriceOffers([new ProductPriceUpdate("SE_1", 11.0, 21.0)])
+
+        then:
+        2 * dataSource.storeNextVersions({ it.size() == 2 })
+        1 * dataSource.storeNextVersions({ it.size() == 1 })
+        1 * output.repricedOffers({ RepricingReport it -> it.storedOffers.size() == 5 })
+    }
+
+    def "a failing data source results in a failure notification"() {
+        given:
+        dataSource.findOpenOffersContaining(_, _) >> { throw new DatabaseQueryException("failed") }
+
+        when:
+        new RepriceOffers(dataSource, output).repriceOffers([new ProductPriceUpdate("SE_1", 11.0, 21.0)])
+
+        then:
+        1 * output.failNotification(_)
+        0 * output.repricedOffers(_)
+    }
+
+    private static Product product(String productId, String category, double internalPrice, double externalPrice) {
+        Product product = new Product(category, internalPrice, externalPrice)
+        product.setId(productId.hashCode())
+        product.setProductId(productId)
+        product.setProductName(productId)
+        return product
+    }
+
+    private static OfferV2 offer(String projectPart, List<Product> products) {
+        OfferV2 offer = new OfferV2(new Affiliation("", "", "", "", "", "Germany", AffiliationCategory.EXTERNAL),
+                new OfferId(projectPart, "abcd", 1))
+        offer.setProjectTitle("title $projectPart")
+        offer.setProjectObjective("objective")
+        offer.setCustomer(new Person("", "", "customer", "", "", [], UUID.randomUUID().toString()))
+        offer.setProjectManager(new Person("", "", "manager", "", "", [], UUID.randomUUID().toString()))
+        offer.addItems(products.withIndex().collect { Product product, int position ->
+            ProductItem item = new ProductItem(offer, product, 3.0)
+            item.setOfferPosition(position)
+            return item
+        })
+        return offer
+    }
+}
@@ -0,0 +1,92 @@
+package life.qbic.business.offers.simulation
+
+import life.qbic.business.offers.OfferV2
+import life.qbic.business.offers.identifier.OfferId
+import life.qbic.business.offers.pricing.OfferPrices
+import life.qbic.business.offers.pricing.PricingKernel
+import life.qbic.business.persons.affiliation.Affiliation
+import life.qbic.business.persons.affiliation.AffiliationCategory
+import life.qbic.business.products.Product
+import life.qbic.business.products.ProductItem
+import spock.lang.Specification
+
+/**
+ * <p>Verifies that the simulated prices equal the prices of offers with the same items</p>
+ *
+ * @since 1.11.0
+ */
+class PriceSimulatorSpec extends Specification {
+
+    private static final List<String> COUNTRIES = ["Germany", "Austria"]
+
+    private static final List<AffiliationCategory> CATEGORIES = AffiliationCategory.values().toList()
+
+    Product sequencing = new Product("Sequencing", 120.5, 150.25)
+    Product analysis = new Product("Primary Bioinformatics", 60.0, 80.0)
+    Product storage = new Product("Data Storage", 5.0, 7.5)
+    Product management = new Product("Project Management", 500.0, 650.0)
+    Product unpriced = new Product("Unpriced Category", 1000.0, 1000.0)
+
+    def "the simulated prices equal the prices of offers with the same items"() {
+        given: "a simulator for items with fixed and per sample quantities"
+        List<Double> sampleCounts = [0d, 1d, 10d, 24.5d, 50d, 200d, 1200d]
+        PriceSimulator simulator = new PriceSimulator([DraftItem.perSample(sequencing),
+                                                       DraftItem.perSample(analysis),
+                                                       DraftItem.fixed(storage, 3),
+                                                       DraftItem.fixed(management, 1.5),
+                                                       DraftItem.fixed(unpriced, 2)])
+
+        when: "the grid is simulated"
+        PriceMatrix matrix = simulator.simulate(sampleCounts, CATEGORIES, COUNTRIES)
+
+        then: "every entry equals the prices of an offer"
+        matrix.entries().size() == sampleCounts.size() * CATEGORIES.size() * COUNTRIES.size()
+        matrix.entries().every { PriceMatrix.Entry entry ->
+            OfferV2 offer = offer(entry.affiliationCategory, entry.country, [
+                    [sequencing, entry.sampleCount],
+                    [analysis, entry.sampleCount],
+                    [storage, 3d],
+                    [management, 1.5d],
+                    [unpriced, 2d]])
+            entry.prices.hasSameAmounts(PricingKernel.EXACT.price(offer))
+        }
+    }
+
+    def "quantities with more than four decimal places are simulated exactly"() {
+        given:
+        PriceSimulator simulator = new PriceSimulator([DraftItem.perSample(sequencing)])
+
+        when:
+        OfferPrices prices = simulator.simulate([1.23456d], [AffiliationCategory.EXTERNAL], ["Germany"])
+                .pricesFor(1.23456d, AffiliationCategory.EXTERNAL, "Germany")
+
+        then:
+        prices.hasSameAmounts(PricingKernel.EXACT.price(offer(AffiliationCategory.EXTERNAL, "Germany", [[sequencing, 1.23456d]])))
+    }
+
+    def "prices of combinations that were not simulated are not available"() {
+        given:
+        PriceMatrix matrix = new PriceSimulator([DraftItem.perSample(sequencing)])
+                .simulate([10d], [AffiliationCategory.INTERNAL], ["Germany"])
+
+        when:
+        matrix.pricesFor(20d, AffiliationCategory.INTERNAL, "Germany")
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "negative sample counts are rejected"() {
+        when:
+        new PriceSimulator([DraftItem.perSample(sequencing)]).simulate([-1d], CATEGORIES, COUNTRIES)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private static OfferV2 offer(AffiliationCategory category, String country, List<List> itemsAndQuantities) {
+        OfferV2 offer = new OfferV2(new Affiliation("", "", "", "", "", country, category), new OfferId("simulation", "abcd", 1))
+        offer.addItems(itemsAndQuantities.collect { new ProductItem(offer, it[0] as Product, it[1] as Double) })
+        return offer
+    }
+}
@@ -202,6 +202,39 @@ class ProductItemSpec extends Specification {
     affiliation << [internalAffiliation, externalAcademicAffiliation, externalAffiliation]
   }
 
+  def "expect the price snapshot to be reused as long as the pricing inputs do not change"() {
+    given: "An offer with an affiliation"
+    def offer = new OfferV2(internalAffiliation, new OfferId("test", "abc", 1))
+    and: "a product item with this offer"
+    def item = createItem(offer, "Primary Bioinformatics")
+
+    when: "the prices are requested twice"
+    ProductItemPrices first = item.getPrices()
+    ProductItemPrices second = item.getPrices()
+
+    then: "the same snapshot is provided"
+    first.is(second)
+    item.getSalePrice() == first.salePrice
+  }
+
+  def "expect the prices to be recomputed when the affiliation category of the offer changes"() {
+    given: "An offer with an internal affiliation"
+    def offer = new OfferV2(internalAffiliation, new OfferId("test", "abc", 1))
+    and: "a product item with this offer"
+    def item = createItem(offer, "Primary Bioinformatics")
+    ProductItemPrices internalPrices = item.getPrices()
+
+    when: "an external affiliation is selected"
+    offer.setSelectedCustomerAffiliation(externalAffiliation)
+    ProductItemPrices externalPrices = item.getPrices()
+
+    then: "the prices reflect the external unit price"
+    !internalPrices.is(externalPrices)
+    internalPrices.unitPrice == item.getProduct().internalUnitPrice
+    externalPrices.unitPrice == item.getProduct().externalUnitPrice
+    item.getUnitPrice() == item.getProduct().externalUnitPrice
+  }
+
   static ProductItem createItem(OfferV2 offer, String productCategory) {
     Product product = new Product()
     product.internalUnitPrice = 20.0
@@ -5,6 +5,7 @@ import life.qbic.business.exceptions.DatabaseQueryException
 import life.qbic.business.products.Product
 import life.qbic.business.products.ProductCategory
 import life.qbic.business.products.ProductDraft
+import life.qbic.business.products.ProductFingerprintIndex
 import spock.lang.Specification
 
 /**
@@ -101,4 +102,47 @@ class CreateProductSpec extends Specification {
         dataStatus == "stored"
     }
 
+    def "Create informs the output about duplicates known to the product index without querying the data source"() {
+        given: "a data source"
+        CreateProductDataSource dataSource = Mock(CreateProductDataSource)
+
+        and: "an index that knows a product with the same properties"
+        product.setUnit(productDraft.unit)
+        ProductFingerprintIndex productIndex = new ProductFingerprintIndex()
+        productIndex.add(product)
+
+        and: "an instance of the use case"
+        CreateProduct createProduct = new CreateProduct(dataSource, output, productIndex)
+
+        when: "the create method is called"
+        createProduct.create(productDraft)
+
+        then: "the output is informed about the duplicate"
+        1 * output.foundDuplicates([product])
+        0 * output.created(_)
+        0 * output.failNotification(_)
+        and: "the data source is not used"
+        0 * dataSource._
+    }
+
+    def "Create adds the stored product to the product index"() {
+        given: "a data source that stores a product"
+        CreateProductDataSource dataSource = Stub(CreateProductDataSource)
+        product.setUnit(productDraft.unit)
+        dataSource.findDuplicateProducts(productDraft) >> []
+        dataSource.store(productDraft) >> { product }
+
+        and: "an empty product index"
+        ProductFingerprintIndex productIndex = new ProductFingerprintIndex()
+
+        and: "an instance of the use case"
+        CreateProduct createProduct = new CreateProduct(dataSource, output, productIndex)
+
+        when: "the create method is called"
+        createProduct.create(productDraft)
+
+        then: "the stored product is known to the index"
+        productIndex.findDuplicates(productDraft) == [product]
+    }
+
 }